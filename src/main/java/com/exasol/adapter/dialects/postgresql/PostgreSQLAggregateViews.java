@@ -0,0 +1,174 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.exasol.adapter.AdapterProperties;
+import com.exasol.adapter.properties.PropertyValidationException;
+import com.exasol.adapter.properties.PropertyValidator;
+import com.exasol.adapter.sql.AggregateFunction;
+import com.exasol.errorreporting.ExaError;
+
+/**
+ * This class holds the declared aggregate materialized views that push-down queries on fact tables can be answered
+ * from.
+ * <p>
+ * A declaration names the materialized view, the fact table it aggregates, the columns it is grouped by and the
+ * measures it stores, for example
+ * {@code sales_daily ON sales GROUP BY store_id, sale_date MEASURES SUM(amount) AS amount_sum, COUNT(*) AS row_count}.
+ * Several declarations are separated by semicolons. The grouping columns keep their names in the view.
+ * </p>
+ */
+public final class PostgreSQLAggregateViews {
+    /** Name of adapter property with the declarations of aggregate materialized views **/
+    public static final String PROPERTY = "POSTGRESQL_AGGREGATE_VIEWS";
+    private static final String IDENTIFIER = "[A-Za-z_][A-Za-z0-9_$]*";
+    private static final Pattern DECLARATION = Pattern.compile("\\s*(" + IDENTIFIER + ")\\s+ON\\s+(" + IDENTIFIER
+            + ")\\s+GROUP\\s+BY\\s+(.+?)\\s+MEASURES\\s+(.+?)\\s*", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DIMENSION = Pattern.compile("\\s*(" + IDENTIFIER + ")\\s*");
+    private static final Pattern MEASURE = Pattern.compile("\\s*(SUM|COUNT|MIN|MAX)\\s*\\(\\s*(\\*|" + IDENTIFIER
+            + ")\\s*\\)\\s+AS\\s+(" + IDENTIFIER + ")\\s*", Pattern.CASE_INSENSITIVE);
+    private static final PostgreSQLAggregateViews NONE = new PostgreSQLAggregateViews(List.of());
+    private final List<AggregateView> views;
+
+    private PostgreSQLAggregateViews(final List<AggregateView> views) {
+        this.views = views;
+    }
+
+    /**
+     * Read the declared views from adapter properties.
+     *
+     * @param properties user-defined adapter properties
+     * @return declared aggregate views
+     */
+    public static PostgreSQLAggregateViews from(final AdapterProperties properties) {
+        if (!properties.containsKey(PROPERTY)) {
+            return NONE;
+        }
+        final List<AggregateView> views = new ArrayList<>();
+        for (final String declaration : properties.get(PROPERTY).split(";")) {
+            parse(declaration).ifPresent(views::add);
+        }
+        return new PostgreSQLAggregateViews(views);
+    }
+
+    /**
+     * @return no aggregate views
+     */
+    public static PostgreSQLAggregateViews none() {
+        return NONE;
+    }
+
+    /**
+     * Get the views that aggregate a fact table.
+     *
+     * @param factTableName name of the fact table
+     * @return views in the order of their declaration
+     */
+    public List<AggregateView> getViews(final String factTableName) {
+        final List<AggregateView> factTableViews = new ArrayList<>();
+        for (final AggregateView view : this.views) {
+            if (view.factTableName.equalsIgnoreCase(factTableName)) {
+                factTableViews.add(view);
+            }
+        }
+        return factTableViews;
+    }
+
+    private static Optional<AggregateView> parse(final String declaration) {
+        final Matcher matcher = DECLARATION.matcher(declaration);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        final Set<String> dimensions = new HashSet<>();
+        for (final String dimension : matcher.group(3).split(",")) {
+            final Matcher dimensionMatcher = DIMENSION.matcher(dimension);
+            if (!dimensionMatcher.matches()) {
+                return Optional.empty();
+            }
+            dimensions.add(dimensionMatcher.group(1).toUpperCase(Locale.ROOT));
+        }
+        final Map<String, String> measures = new HashMap<>();
+        for (final String measure : matcher.group(4).split(",")) {
+            final Matcher measureMatcher = MEASURE.matcher(measure);
+            if (!measureMatcher.matches() || (measureMatcher.group(2).equals("*")
+                    && !measureMatcher.group(1).equalsIgnoreCase(AggregateFunction.COUNT.name()))) {
+                return Optional.empty();
+            }
+            measures.put(createMeasureKey(measureMatcher.group(1), measureMatcher.group(2)), measureMatcher.group(3));
+        }
+        return Optional.of(new AggregateView(matcher.group(1), matcher.group(2), dimensions, measures));
+    }
+
+    private static String createMeasureKey(final String function, final String columnName) {
+        return (function + "(" + columnName + ")").toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * @return validator for the adapter property with the declarations
+     */
+    public static PropertyValidator validator() {
+        return PropertyValidator.optional(PROPERTY, PostgreSQLAggregateViews::validatePropertyValue);
+    }
+
+    private static void validatePropertyValue(final String value) throws PropertyValidationException {
+        for (final String declaration : value.split(";")) {
+            if (parse(declaration).isEmpty()) {
+                throw new PropertyValidationException(ExaError.messageBuilder("E-VSPG-34") //
+                        .message("Invalid declaration {{declaration}} in property {{property}}.", declaration.trim(),
+                                PROPERTY) //
+                        .mitigation("Use declarations like 'sales_daily ON sales GROUP BY store_id, sale_date"
+                                + " MEASURES SUM(amount) AS amount_sum, COUNT(*) AS row_count',"
+                                + " separated by semicolons.") //
+                        .toString());
+            }
+        }
+    }
+
+    /**
+     * Materialized view that stores the measures of a fact table grouped by some of its columns.
+     */
+    public static final class AggregateView {
+        private final String name;
+        private final String factTableName;
+        private final Set<String> dimensions;
+        private final Map<String, String> measures;
+
+        private AggregateView(final String name, final String factTableName, final Set<String> dimensions,
+                final Map<String, String> measures) {
+            this.name = name;
+            this.factTableName = factTableName;
+            this.dimensions = dimensions;
+            this.measures = measures;
+        }
+
+        /**
+         * @return name of the materialized view
+         */
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * Check if the view is grouped by a column of the fact table.
+         *
+         * @param columnName name of the column
+         * @return <code>true</code> if the view keeps the column
+         */
+        public boolean hasDimension(final String columnName) {
+            return this.dimensions.contains(columnName.toUpperCase(Locale.ROOT));
+        }
+
+        /**
+         * Get the view column that stores an aggregate of the fact table.
+         *
+         * @param function   aggregate function
+         * @param columnName name of the aggregated column or {@code *}
+         * @return name of the view column or empty if the view does not store the aggregate
+         */
+        public Optional<String> getMeasure(final AggregateFunction function, final String columnName) {
+            return Optional.ofNullable(this.measures.get(createMeasureKey(function.name(), columnName)));
+        }
+    }
+}
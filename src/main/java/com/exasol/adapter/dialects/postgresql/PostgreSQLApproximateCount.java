@@ -0,0 +1,97 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import java.sql.*;
+import java.util.List;
+import java.util.Optional;
+
+import com.exasol.adapter.AdapterProperties;
+import com.exasol.adapter.properties.BooleanProperty;
+import com.exasol.adapter.properties.PropertyValidator;
+import com.exasol.adapter.sql.*;
+
+/**
+ * This class answers unfiltered {@code COUNT(*)} push-downs from the planner statistics instead of scanning the table.
+ * <p>
+ * PostgreSQL keeps an estimate of the number of rows of each table in {@code pg_class.reltuples}, updated by
+ * {@code VACUUM}, {@code ANALYZE} and some DDL commands. The count of a partitioned or inheritance parent is the sum of
+ * the estimates of all its descendants. If any descendant has never been analyzed or has no statistics, such as a
+ * foreign table, the count is taken exactly as before.
+ * </p>
+ */
+public final class PostgreSQLApproximateCount {
+    /** Name of adapter property that switches on approximate counting **/
+    public static final String PROPERTY = "POSTGRESQL_APPROXIMATE_COUNT";
+    private static final String ROW_COUNT_QUERY = "WITH RECURSIVE tree(oid) AS (SELECT to_regclass(?)::oid"
+            + " UNION ALL SELECT i.inhrelid FROM pg_catalog.pg_inherits i JOIN tree ON i.inhparent = tree.oid)"
+            + " SELECT round(sum(CASE WHEN c.relkind = 'p' THEN 0 ELSE c.reltuples END))::bigint,"
+            + " bool_and(c.relkind = 'p' OR (c.relkind IN ('r', 'm') AND c.reltuples >= 0))"
+            + " FROM tree JOIN pg_catalog.pg_class c ON c.oid = tree.oid";
+
+    private PostgreSQLApproximateCount() {
+        // prevent instantiation
+    }
+
+    /**
+     * Check if unfiltered counts are answered from the planner statistics.
+     *
+     * @param properties user-defined adapter properties
+     * @return <code>true</code> if approximate counting is switched on
+     */
+    public static boolean isEnabled(final AdapterProperties properties) {
+        return properties.isEnabled(PROPERTY);
+    }
+
+    /**
+     * Check if a statement only counts all rows of a single table.
+     *
+     * @param statement push-down statement
+     * @return <code>true</code> for {@code SELECT COUNT(*) FROM table} without any other clause
+     */
+    static boolean isUnfilteredCountStar(final SqlStatement statement) {
+        if (!(statement instanceof SqlStatementSelect)) {
+            return false;
+        }
+        final SqlStatementSelect select = (SqlStatementSelect) statement;
+        if (!(select.getFromClause() instanceof SqlTable) || select.hasFilter() || select.hasGroupBy()
+                || select.hasHaving() || select.hasOrderBy() || select.hasLimit()
+                || !select.getSelectList().hasExplicitColumnsList()) {
+            return false;
+        }
+        final List<SqlNode> expressions = select.getSelectList().getExpressions();
+        if ((expressions.size() != 1) || !(expressions.get(0) instanceof SqlFunctionAggregate)) {
+            return false;
+        }
+        final SqlFunctionAggregate function = (SqlFunctionAggregate) expressions.get(0);
+        return (function.getFunction() == AggregateFunction.COUNT) && function.getArguments().isEmpty()
+                && !function.hasDistinct();
+    }
+
+    /**
+     * Read the estimated number of rows of a table and its descendants.
+     *
+     * @param connection         connection to the PostgreSQL database
+     * @param qualifiedTableName quoted name of the table, qualified with its schema
+     * @return estimated number of rows or empty if there is no usable estimate
+     * @throws SQLException if reading the statistics fails
+     */
+    static Optional<Long> readEstimatedRowCount(final Connection connection, final String qualifiedTableName)
+            throws SQLException {
+        try (final PreparedStatement statement = connection.prepareStatement(ROW_COUNT_QUERY)) {
+            statement.setString(1, qualifiedTableName);
+            try (final ResultSet result = statement.executeQuery()) {
+                if (result.next() && result.getBoolean(2)) {
+                    return Optional.of(result.getLong(1));
+                } else {
+                    return Optional.empty();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return validator for the adapter property that switches on approximate counting
+     */
+    public static PropertyValidator validator() {
+        return BooleanProperty.validator(PROPERTY);
+    }
+}
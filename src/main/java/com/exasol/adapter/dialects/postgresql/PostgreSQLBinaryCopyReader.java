@@ -0,0 +1,168 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import java.io.*;
+import java.math.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.*;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+import com.exasol.errorreporting.ExaError;
+
+/**
+ * This class decodes the output of {@code COPY ... TO STDOUT (FORMAT binary)} into Java values.
+ * <p>
+ * The binary format sends numbers, dates and timestamps in their internal representation, so they are decoded without
+ * parsing text. Columns of other types must be cast to {@code text} in the copied query.
+ * </p>
+ */
+final class PostgreSQLBinaryCopyReader {
+    private static final byte[] SIGNATURE = { 'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0 };
+    private static final Set<String> SUPPORTED_TYPES = Set.of("bool", "int2", "int4", "int8", "float4", "float8",
+            "numeric", "date", "timestamp", "timestamptz", "text", "varchar", "bpchar", "name");
+    private static final LocalDateTime POSTGRESQL_EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final int NUMERIC_NEGATIVE = 0x4000;
+    private static final int NUMERIC_POSITIVE = 0x0000;
+    private static final BigInteger NUMERIC_BASE = BigInteger.valueOf(10000);
+    private final DataInputStream stream;
+    private final List<String> typeNames;
+    private boolean headerRead = false;
+
+    /**
+     * Create a new instance of the {@link PostgreSQLBinaryCopyReader}.
+     *
+     * @param stream    output of the binary COPY
+     * @param typeNames PostgreSQL type names of the copied columns
+     */
+    PostgreSQLBinaryCopyReader(final InputStream stream, final List<String> typeNames) {
+        this.stream = new DataInputStream(new BufferedInputStream(stream, 65536));
+        this.typeNames = typeNames;
+    }
+
+    /**
+     * Check if the reader can decode a PostgreSQL type in binary format.
+     *
+     * @param typeName name of the PostgreSQL type
+     * @return <code>true</code> if the type is decoded directly
+     */
+    static boolean supportsType(final String typeName) {
+        return SUPPORTED_TYPES.contains(typeName);
+    }
+
+    /**
+     * Read the next row.
+     *
+     * @return values of the row or <code>null</code> after the last row
+     * @throws IOException if reading the stream fails or the stream is not in binary COPY format
+     */
+    Object[] readRow() throws IOException {
+        if (!this.headerRead) {
+            readHeader();
+            this.headerRead = true;
+        }
+        final short fieldCount = this.stream.readShort();
+        if (fieldCount == -1) {
+            return null;
+        } else if (fieldCount != this.typeNames.size()) {
+            throw createFormatException("Expected " + this.typeNames.size() + " fields but got " + fieldCount + ".");
+        }
+        final Object[] row = new Object[fieldCount];
+        for (int field = 0; field < fieldCount; ++field) {
+            final int length = this.stream.readInt();
+            row[field] = (length == -1) ? null : readValue(this.typeNames.get(field), length);
+        }
+        return row;
+    }
+
+    private void readHeader() throws IOException {
+        final byte[] signature = new byte[SIGNATURE.length];
+        this.stream.readFully(signature);
+        if (!Arrays.equals(signature, SIGNATURE)) {
+            throw createFormatException("The stream does not start with the binary COPY signature.");
+        }
+        this.stream.readInt(); // flags
+        final int extensionLength = this.stream.readInt();
+        if (this.stream.skipBytes(extensionLength) != extensionLength) {
+            throw createFormatException("The header extension is truncated.");
+        }
+    }
+
+    private Object readValue(final String typeName, final int length) throws IOException {
+        switch (typeName) {
+        case "bool":
+            return this.stream.readBoolean();
+        case "int2":
+            return (int) this.stream.readShort();
+        case "int4":
+            return this.stream.readInt();
+        case "int8":
+            return this.stream.readLong();
+        case "float4":
+            return Double.valueOf(Float.toString(this.stream.readFloat()));
+        case "float8":
+            return this.stream.readDouble();
+        case "numeric":
+            return readNumeric();
+        case "date":
+            return readDate();
+        case "timestamp":
+            return Timestamp.valueOf(readTimestamp());
+        case "timestamptz":
+            return Timestamp.from(readTimestamp().toInstant(ZoneOffset.UTC));
+        default:
+            final byte[] bytes = new byte[length];
+            this.stream.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /*
+     * A numeric is sent as a sequence of base 10000 digits, the weight of the first digit and the display scale.
+     */
+    private BigDecimal readNumeric() throws IOException {
+        final int digitCount = this.stream.readUnsignedShort();
+        final short weight = this.stream.readShort();
+        final int sign = this.stream.readUnsignedShort();
+        final int scale = this.stream.readUnsignedShort();
+        BigInteger unscaled = BigInteger.ZERO;
+        for (int digit = 0; digit < digitCount; ++digit) {
+            unscaled = unscaled.multiply(NUMERIC_BASE).add(BigInteger.valueOf(this.stream.readShort()));
+        }
+        if ((sign != NUMERIC_POSITIVE) && (sign != NUMERIC_NEGATIVE)) {
+            throw createUnrepresentableValueException("numeric NaN or infinity");
+        }
+        final BigDecimal value = new BigDecimal(unscaled, -4 * ((weight - digitCount) + 1)).setScale(scale,
+                RoundingMode.DOWN);
+        return (sign == NUMERIC_NEGATIVE) ? value.negate() : value;
+    }
+
+    private Date readDate() throws IOException {
+        final int days = this.stream.readInt();
+        if ((days == Integer.MAX_VALUE) || (days == Integer.MIN_VALUE)) {
+            throw createUnrepresentableValueException("date infinity");
+        }
+        return Date.valueOf(POSTGRESQL_EPOCH.toLocalDate().plusDays(days));
+    }
+
+    private LocalDateTime readTimestamp() throws IOException {
+        final long microseconds = this.stream.readLong();
+        if ((microseconds == Long.MAX_VALUE) || (microseconds == Long.MIN_VALUE)) {
+            throw createUnrepresentableValueException("timestamp infinity");
+        }
+        return POSTGRESQL_EPOCH.plus(microseconds, ChronoUnit.MICROS);
+    }
+
+    private static IOException createFormatException(final String detail) {
+        return new IOException(ExaError.messageBuilder("E-VSPG-24")
+                .message("Unable to decode binary COPY output from PostgreSQL: {{detail|uq}}", detail) //
+                .ticketMitigation().toString());
+    }
+
+    private static IOException createUnrepresentableValueException(final String value) {
+        return new IOException(ExaError.messageBuilder("E-VSPG-25")
+                .message("The PostgreSQL value {{value|uq}} has no Exasol equivalent.", value)
+                .mitigation("Exclude the value with a filter or import the column as text.").toString());
+    }
+}
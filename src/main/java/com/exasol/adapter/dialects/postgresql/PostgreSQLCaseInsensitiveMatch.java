@@ -0,0 +1,262 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import java.io.StringReader;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import jakarta.json.*;
+
+import com.exasol.adapter.AdapterException;
+import com.exasol.adapter.AdapterProperties;
+import com.exasol.adapter.dialects.SqlDialect;
+import com.exasol.adapter.dialects.postgresql.PostgreSQLDateRanges.ColumnTypeReader;
+import com.exasol.adapter.metadata.TableMetadata;
+import com.exasol.adapter.properties.BooleanProperty;
+import com.exasol.adapter.properties.PropertyValidator;
+import com.exasol.adapter.sql.*;
+
+/**
+ * This class rewrites case-insensitive filters like {@code UPPER(name) LIKE 'FOO%'} or {@code LOWER(name) = 'foo'}
+ * into the form that an index of the table supports.
+ * <p>
+ * PostgreSQL only uses an index for a filter on an expression if the index was built on the same expression. The
+ * metadata reader therefore records in the table's adapter notes which case-insensitive filters the indexes of the
+ * table support: {@code lower(col) =} for a B-tree index on {@code lower(col)}, {@code lower(col) LIKE} if the index
+ * uses a pattern operator class or the trigram operator class of {@code pg_trgm}, and {@code col ILIKE} for a trigram
+ * index on the bare column. A filter that no index supports in its original form is rendered with the other case
+ * function or as {@code ILIKE} on the bare column if an index supports that instead.
+ * </p>
+ * <p>
+ * Only constants whose letters are ASCII letters and already in the case of the function are rewritten. Other
+ * constants never match or depend on locale-specific case mapping. Values with special letters that map onto ASCII
+ * letters, like the Kelvin sign, can still match differently, which is why the rewrite needs to be switched on.
+ * </p>
+ */
+public final class PostgreSQLCaseInsensitiveMatch {
+    /** Name of adapter property that switches on the rewrite of case-insensitive filters **/
+    public static final String PROPERTY = "POSTGRESQL_CASE_INSENSITIVE_INDEXES";
+    /** Key of the table adapter notes that lists the case-insensitive filters supported by indexes **/
+    static final String ADAPTER_NOTES_KEY = "caseInsensitiveIndexes";
+    private static final String IDENTIFIER = "(\"(?:[^\"]|\"\")+\"|[a-z_][a-z0-9_$]*)";
+    private static final Pattern INDEX_DEFINITION = Pattern.compile("(\\w+) (\\w+) (?:(lower|upper)\\(" + IDENTIFIER
+            + "(?:::(?:text|character varying|bpchar))?\\)|" + IDENTIFIER + ")");
+    private static final Set<String> TRIGRAM_OPERATOR_CLASSES = Set.of("gin_trgm_ops", "gist_trgm_ops");
+    private static final Set<String> STRING_TYPES = Set.of("text", "varchar");
+    private final boolean enabled;
+    private final SqlNodeVisitor<String> generator;
+    private final SqlDialect dialect;
+    private final ColumnTypeReader columnTypeReader;
+    private final Map<String, Set<String>> indexedFilters = new HashMap<>();
+
+    /**
+     * Create a new instance of {@link PostgreSQLCaseInsensitiveMatch}.
+     *
+     * @param properties       user-defined adapter properties
+     * @param generator        generator for the SQL of columns and literals
+     * @param dialect          SQL dialect
+     * @param columnTypeReader reader for the PostgreSQL type name of a column
+     */
+    PostgreSQLCaseInsensitiveMatch(final AdapterProperties properties, final SqlNodeVisitor<String> generator,
+            final SqlDialect dialect, final ColumnTypeReader columnTypeReader) {
+        this.enabled = properties.isEnabled(PROPERTY);
+        this.generator = generator;
+        this.dialect = dialect;
+        this.columnTypeReader = columnTypeReader;
+    }
+
+    /**
+     * Get the case-insensitive filters that the indexes of a table support.
+     * <p>
+     * Each definition consists of the access method, the operator class and the leading key of an index, separated by
+     * blanks, for example {@code btree text_ops lower(name::text)}. The definitions are separated by semicolons.
+     * Definitions of other indexes are ignored.
+     * </p>
+     *
+     * @param definitions index definitions as read by the catalog query or <code>null</code> if the table has no
+     *                    indexes
+     * @return supported filters like {@code lower("name") =} or {@code "name" ILIKE}
+     */
+    static SortedSet<String> getIndexedFilters(final String definitions) {
+        final SortedSet<String> filters = new TreeSet<>();
+        if (definitions == null) {
+            return filters;
+        }
+        for (final String definition : definitions.split(";")) {
+            final Matcher matcher = INDEX_DEFINITION.matcher(definition);
+            if (matcher.matches()) {
+                addIndexedFilters(filters, matcher);
+            }
+        }
+        return filters;
+    }
+
+    private static void addIndexedFilters(final Set<String> filters, final Matcher matcher) {
+        final String accessMethod = matcher.group(1);
+        final String operatorClass = matcher.group(2);
+        final boolean trigram = TRIGRAM_OPERATOR_CLASSES.contains(operatorClass);
+        if (matcher.group(3) == null) {
+            if (trigram) {
+                filters.add(quote(matcher.group(5)) + " ILIKE");
+            }
+            return;
+        }
+        final String expression = matcher.group(3) + "(" + quote(matcher.group(4)) + ")";
+        if (accessMethod.equals("btree") || accessMethod.equals("hash")) {
+            filters.add(expression + " =");
+        }
+        if (trigram || (accessMethod.equals("btree") && operatorClass.endsWith("_pattern_ops"))) {
+            filters.add(expression + " LIKE");
+        }
+    }
+
+    private static String quote(final String identifier) {
+        return identifier.startsWith("\"") ? identifier : "\"" + identifier + "\"";
+    }
+
+    /**
+     * Remember a table of the push-down query, so that the filters on its columns can be matched with its indexes.
+     *
+     * @param table table reference
+     */
+    void addTable(final SqlTable table) {
+        if (this.enabled && (table.getMetadata() != null)) {
+            this.indexedFilters.put(table.getName(), readIndexedFilters(table.getMetadata()));
+        }
+    }
+
+    private static Set<String> readIndexedFilters(final TableMetadata metadata) {
+        final Set<String> filters = new HashSet<>();
+        if (metadata.hasAdapterNote()) {
+            try (final JsonReader reader = Json.createReader(new StringReader(metadata.getAdapterNotes()))) {
+                final JsonArray indexes = reader.readObject().getJsonArray(ADAPTER_NOTES_KEY);
+                if (indexes != null) {
+                    indexes.getValuesAs(JsonString.class).forEach(index -> filters.add(index.getString()));
+                }
+            } catch (final JsonException | ClassCastException exception) {
+                // adapter notes from older versions of the adapter do not list indexes
+            }
+        }
+        return filters;
+    }
+
+    /**
+     * Rewrite a pattern match on the upper-case or lower-case form of a column.
+     *
+     * @param predicate {@code LIKE} predicate
+     * @return rewritten predicate or empty if the predicate is kept
+     * @throws AdapterException if generating SQL fails
+     */
+    Optional<String> rewrite(final SqlPredicateLike predicate) throws AdapterException {
+        final Optional<SqlFunctionScalar> function = getCaseFunction(predicate.getLeft());
+        if (function.isEmpty() || !(predicate.getPattern() instanceof SqlLiteralString)
+                || !isStringLiteralOrNull(predicate.getEscapeChar())) {
+            return Optional.empty();
+        }
+        final String pattern = ((SqlLiteralString) predicate.getPattern()).getValue();
+        if (predicate.getEscapeChar() == null) {
+            return rewrite(function.get(), "LIKE", pattern, pattern, "");
+        } else if (((SqlLiteralString) predicate.getEscapeChar()).getValue().chars().noneMatch(Character::isLetter)) {
+            return rewrite(function.get(), "LIKE", pattern, pattern,
+                    " ESCAPE " + predicate.getEscapeChar().accept(this.generator));
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Rewrite a comparison of the upper-case or lower-case form of a column with a constant.
+     *
+     * @param predicate equality predicate
+     * @return rewritten predicate or empty if the predicate is kept
+     * @throws AdapterException if generating SQL fails
+     */
+    Optional<String> rewrite(final SqlPredicateEqual predicate) throws AdapterException {
+        final SqlNode left = predicate.getLeft();
+        final SqlNode right = predicate.getRight();
+        final boolean functionOnLeft = getCaseFunction(left).isPresent();
+        final Optional<SqlFunctionScalar> function = getCaseFunction(functionOnLeft ? left : right);
+        final SqlNode constant = functionOnLeft ? right : left;
+        if (function.isEmpty() || !(constant instanceof SqlLiteralString)) {
+            return Optional.empty();
+        }
+        final String value = ((SqlLiteralString) constant).getValue();
+        return rewrite(function.get(), "=", value, escapeWildcards(value), "");
+    }
+
+    private Optional<String> rewrite(final SqlFunctionScalar function, final String operator, final String value,
+            final String pattern, final String escape) throws AdapterException {
+        final boolean upper = function.getFunction() == ScalarFunction.UPPER;
+        final SqlColumn column = (SqlColumn) function.getArguments().get(0);
+        final Set<String> filters = getIndexedFilters(column);
+        final String columnName = this.dialect.applyQuote(column.getName());
+        if (!isInCase(value, upper) || filters.contains(createFilter(upper, columnName, operator))) {
+            return Optional.empty();
+        }
+        final String columnSql = column.accept(this.generator);
+        if (filters.contains(createFilter(!upper, columnName, operator))) {
+            final String otherCaseValue = upper ? value.toLowerCase(Locale.ROOT) : value.toUpperCase(Locale.ROOT);
+            return Optional.of((upper ? "LOWER(" : "UPPER(") + columnSql + ") " + operator + " "
+                    + this.dialect.getStringLiteral(otherCaseValue) + escape);
+        } else if (filters.contains(columnName + " ILIKE")
+                && STRING_TYPES.contains(this.columnTypeReader.read(column))) {
+            return Optional.of(columnSql + " ILIKE " + this.dialect.getStringLiteral(pattern) + escape);
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    /*
+     * Columns without a table name can only belong to the table if the query reads a single table.
+     */
+    private Set<String> getIndexedFilters(final SqlColumn column) {
+        if ((column.getTableName() == null) && (this.indexedFilters.size() == 1)) {
+            return this.indexedFilters.values().iterator().next();
+        }
+        return this.indexedFilters.getOrDefault(column.getTableName(), Collections.emptySet());
+    }
+
+    private static String createFilter(final boolean upper, final String columnName, final String operator) {
+        return (upper ? "upper(" : "lower(") + columnName + ") " + operator;
+    }
+
+    private Optional<SqlFunctionScalar> getCaseFunction(final SqlNode node) {
+        if (this.enabled && (node instanceof SqlFunctionScalar)) {
+            final SqlFunctionScalar function = (SqlFunctionScalar) node;
+            if (((function.getFunction() == ScalarFunction.UPPER) || (function.getFunction() == ScalarFunction.LOWER))
+                    && (function.getArguments().size() == 1) && (function.getArguments().get(0) instanceof SqlColumn)) {
+                return Optional.of(function);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static boolean isStringLiteralOrNull(final SqlNode node) {
+        return (node == null) || (node instanceof SqlLiteralString);
+    }
+
+    /*
+     * A constant is in the case of the function if it contains no letters but ASCII letters of that case. Any other
+     * letter either never matches the result of the function or is mapped depending on the locale.
+     */
+    private static boolean isInCase(final String value, final boolean upper) {
+        final char first = upper ? 'A' : 'a';
+        final char last = upper ? 'Z' : 'z';
+        return value.chars().filter(Character::isLetter)
+                .allMatch(character -> (character >= first) && (character <= last));
+    }
+
+    /*
+     * PostgreSQL uses the backslash as the default escape character of LIKE and ILIKE.
+     */
+    private static String escapeWildcards(final String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * @return validator for the adapter property that switches on the rewrite
+     */
+    public static PropertyValidator validator() {
+        return BooleanProperty.validator(PROPERTY);
+    }
+}
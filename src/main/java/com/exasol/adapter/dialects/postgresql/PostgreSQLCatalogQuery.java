@@ -0,0 +1,267 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import java.sql.*;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import com.exasol.adapter.AdapterProperties;
+
+/**
+ * This class builds the set-based queries against the PostgreSQL system catalog that read the metadata of all tables
+ * in the configured schema at once.
+ */
+final class PostgreSQLCatalogQuery {
+    /** Label of the result column that contains the fingerprint of a table */
+    static final String FINGERPRINT_COLUMN = "FINGERPRINT";
+    /** Label of the result column that contains the OID of a table */
+    static final String OID_COLUMN = "TABLE_OID";
+    /** Label of the result column that contains the definitions of the indexes of a table */
+    static final String INDEXES_COLUMN = "INDEXES";
+    /** Label of the result column that contains the kind of a relation, for example {@code r} for a regular table */
+    static final String RELKIND_COLUMN = "RELKIND";
+    /*
+     * Number of rows the driver fetches per round trip. With auto-commit switched off the driver then reads the result
+     * through a cursor instead of buffering the complete result set.
+     */
+    static final int FETCH_SIZE = 1000;
+    private static final String RELATIONS = " FROM pg_catalog.pg_namespace n" //
+            + " JOIN pg_catalog.pg_class c ON c.relnamespace = n.oid";
+    /*
+     * Same relations that DatabaseMetaData.getTables() returns for the table types TABLE, VIEW and SYSTEM TABLE plus
+     * partitioned tables.
+     */
+    private static final String SUPPORTED_RELATIONS = "((c.relkind IN ('r', 'p')" //
+            + " AND (n.nspname !~ '^pg_' OR n.nspname = 'pg_catalog'))" //
+            + " OR (c.relkind = 'v' AND n.nspname <> 'pg_catalog' AND n.nspname <> 'information_schema'))";
+    /*
+     * Access method, operator class and leading key of each valid index that is not partial. The key is rendered like
+     * "lower(name::text)".
+     */
+    private static final String INDEXES = "(SELECT string_agg(am.amname || ' ' || oc.opcname || ' '" //
+            + " || pg_catalog.pg_get_indexdef(i.indexrelid, 1, true), ';' ORDER BY i.indexrelid)" //
+            + " FROM pg_catalog.pg_index i" //
+            + " JOIN pg_catalog.pg_class ic ON ic.oid = i.indexrelid" //
+            + " JOIN pg_catalog.pg_am am ON am.oid = ic.relam" //
+            + " JOIN pg_catalog.pg_opclass oc ON oc.oid = i.indclass[0]" //
+            + " WHERE i.indrelid = c.oid AND i.indisvalid AND i.indpred IS NULL)";
+    /*
+     * Hash over everything that the mapping of a table depends on. The OID makes the fingerprint unique per table, so
+     * that a table that was dropped and re-created with the same structure is still detected as changed.
+     */
+    private static final String FINGERPRINT = "md5(c.oid || '/' || c.relname || '/'" //
+            + " || coalesce(pg_catalog.obj_description(c.oid, 'pg_class'), '') || '/'" //
+            + " || coalesce((SELECT string_agg(fa.attname || '/' || fa.atttypid || '/' || fa.atttypmod || '/'" //
+            + " || fa.attnotnull || '/' || fa.attidentity || '/'" //
+            + " || coalesce(pg_catalog.pg_get_expr(fd.adbin, fd.adrelid), '') || '/'" //
+            + " || coalesce(pg_catalog.col_description(fa.attrelid, fa.attnum), ''), '|' ORDER BY fa.attnum)" //
+            + " FROM pg_catalog.pg_attribute fa" //
+            + " LEFT JOIN pg_catalog.pg_attrdef fd ON fd.adrelid = fa.attrelid AND fd.adnum = fa.attnum" //
+            + " WHERE fa.attrelid = c.oid AND fa.attnum > 0 AND NOT fa.attisdropped), '') || '/'" //
+            + " || coalesce(" + INDEXES + ", ''))";
+    private static final String TABLES_SELECT = "SELECT c.oid AS \"TABLE_OID\", c.relname AS \"TABLE_NAME\","
+            + " d.description AS \"REMARKS\", " + FINGERPRINT + " AS \"FINGERPRINT\", " + INDEXES
+            + " AS \"INDEXES\", c.relkind AS \"RELKIND\"";
+    private static final String TABLE_COMMENTS = " LEFT JOIN pg_catalog.pg_description d ON d.objoid = c.oid" //
+            + " AND d.objsubid = 0 AND d.classoid = 'pg_catalog.pg_class'::regclass";
+    private static final String COLUMNS_SELECT = "SELECT a.attrelid, c.relname, a.attname, a.atttypid, a.atttypmod," //
+            + " t.typbasetype, t.typtypmod," //
+            + " a.attnotnull OR (t.typtype = 'd' AND t.typnotnull) AS attnotnull," //
+            + " nullif(a.attidentity, '') AS attidentity," //
+            + " pg_catalog.pg_get_expr(def.adbin, def.adrelid) AS adsrc, dsc.description";
+    private static final String COLUMN_DETAILS = " JOIN pg_catalog.pg_attribute a ON a.attrelid = c.oid" //
+            + " JOIN pg_catalog.pg_type t ON t.oid = a.atttypid" //
+            + " LEFT JOIN pg_catalog.pg_attrdef def ON def.adrelid = a.attrelid AND def.adnum = a.attnum" //
+            + " LEFT JOIN pg_catalog.pg_description dsc ON dsc.objoid = c.oid AND dsc.objsubid = a.attnum" //
+            + " AND dsc.classoid = 'pg_catalog.pg_class'::regclass";
+    /** Query for the number of connections that the server still accepts from regular users */
+    static final String FREE_CONNECTIONS = "SELECT current_setting('max_connections')::int" //
+            + " - current_setting('superuser_reserved_connections')::int - count(*)" //
+            + " FROM pg_catalog.pg_stat_activity WHERE backend_type = 'client backend'";
+    private final String sql;
+    private final List<Object> parameters;
+
+    private PostgreSQLCatalogQuery(final String sql, final List<Object> parameters) {
+        this.sql = sql;
+        this.parameters = parameters;
+    }
+
+    /**
+     * Create a query that lists all supported tables with their comments and fingerprints.
+     * <p>
+     * The result set uses the same column labels as {@link DatabaseMetaData#getTables} for table name and comment, so
+     * that it can be mapped by the regular table metadata reader. The additional column {@value #FINGERPRINT_COLUMN}
+     * contains a hash that changes whenever the structure of the table changes. The tables are ordered by their OID
+     * like the columns, so that both results can be read side by side.
+     * </p>
+     *
+     * @param properties user-defined adapter properties
+     * @return query for the table list
+     */
+    static PostgreSQLCatalogQuery tables(final AdapterProperties properties) {
+        return tables(properties, Collections.emptySet());
+    }
+
+    /**
+     * Create a query that lists the supported tables among the given relations with their comments and fingerprints.
+     *
+     * @param properties   user-defined adapter properties
+     * @param relationOids OIDs of the relations to list or an empty set to list all tables
+     * @return query for the table list
+     */
+    static PostgreSQLCatalogQuery tables(final AdapterProperties properties, final Set<Long> relationOids) {
+        final List<Object> parameters = new ArrayList<>();
+        final String sql = TABLES_SELECT + RELATIONS + TABLE_COMMENTS
+                + createRelationFilter(properties, relationOids, parameters) + " ORDER BY c.oid";
+        return new PostgreSQLCatalogQuery(sql, parameters);
+    }
+
+    /**
+     * Create a query that lists the columns of all supported tables ordered by table OID and column position.
+     *
+     * @param properties user-defined adapter properties
+     * @return query for the columns
+     */
+    static PostgreSQLCatalogQuery columns(final AdapterProperties properties) {
+        return columns(properties, Collections.emptySet());
+    }
+
+    /**
+     * Create a query that lists the columns of all supported tables except the ones with the given fingerprints.
+     *
+     * @param properties          user-defined adapter properties
+     * @param skippedFingerprints fingerprints of tables whose columns are already known
+     * @return query for the columns
+     */
+    static PostgreSQLCatalogQuery columns(final AdapterProperties properties,
+            final Collection<String> skippedFingerprints) {
+        return columns(properties, skippedFingerprints, Collections.emptySet(), 0, 1);
+    }
+
+    /**
+     * Create a query that lists the columns of one slice of the supported tables except the ones with the given
+     * fingerprints.
+     * <p>
+     * The tables are distributed over the slices by their OID, so that all columns of a table are contained in the same
+     * slice and the slices can be read in parallel.
+     * </p>
+     * <p>
+     * The tables are selected in a subquery that {@code OFFSET 0} keeps from being merged with the join of the
+     * attributes, so that the fingerprint is computed once per table and not once per column.
+     * </p>
+     *
+     * @param properties          user-defined adapter properties
+     * @param skippedFingerprints fingerprints of tables whose columns are already known
+     * @param relationOids        OIDs of the relations to read or an empty set to read all tables
+     * @param slice               index of the slice starting with 0
+     * @param numberOfSlices      total number of slices
+     * @return query for the columns
+     */
+    static PostgreSQLCatalogQuery columns(final AdapterProperties properties,
+            final Collection<String> skippedFingerprints, final Set<Long> relationOids, final int slice,
+            final int numberOfSlices) {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder builder = new StringBuilder(COLUMNS_SELECT);
+        builder.append(" FROM (SELECT c.oid, c.relname").append(RELATIONS) //
+                .append(createRelationFilter(properties, relationOids, parameters));
+        if (numberOfSlices > 1) {
+            builder.append(" AND c.oid::bigint % ").append(numberOfSlices).append(" = ").append(slice);
+        }
+        if (!skippedFingerprints.isEmpty()) {
+            builder.append(" AND NOT (").append(FINGERPRINT).append(" = ANY(?))");
+            parameters.add(skippedFingerprints);
+        }
+        builder.append(" OFFSET 0) c") //
+                .append(COLUMN_DETAILS) //
+                .append(" WHERE a.attnum > 0 AND NOT a.attisdropped");
+        appendPatternFilter(builder, parameters, "a.attname",
+                PostgreSQLNameFilter.getPatterns(properties, PostgreSQLNameFilter.INCLUDE_COLUMNS_PROPERTY),
+                PostgreSQLNameFilter.getPatterns(properties, PostgreSQLNameFilter.EXCLUDE_COLUMNS_PROPERTY));
+        builder.append(" ORDER BY c.oid, a.attnum");
+        return new PostgreSQLCatalogQuery(builder.toString(), parameters);
+    }
+
+    private static String createRelationFilter(final AdapterProperties properties, final Set<Long> relationOids,
+            final List<Object> parameters) {
+        final StringBuilder builder = new StringBuilder(" WHERE ");
+        builder.append(SUPPORTED_RELATIONS);
+        if (!relationOids.isEmpty()) {
+            builder.append(" AND c.oid = ANY(?::oid[])");
+            parameters.add(relationOids.stream().map(String::valueOf).collect(Collectors.toList()));
+        }
+        if (!PostgreSQLPartitionMapping.includesPartitions(properties)) {
+            builder.append(" AND NOT c.relispartition");
+        }
+        if (properties.getCatalogName() != null) {
+            builder.append(" AND current_database() = ?");
+            parameters.add(properties.getCatalogName());
+        }
+        if (properties.getSchemaName() != null) {
+            builder.append(" AND n.nspname LIKE ?");
+            parameters.add(properties.getSchemaName());
+        }
+        final List<String> filteredTables = properties.getFilteredTables();
+        if (!filteredTables.isEmpty()) {
+            builder.append(" AND c.relname = ANY(?)");
+            parameters.add(filteredTables);
+        }
+        appendPatternFilter(builder, parameters, "c.relname",
+                PostgreSQLNameFilter.getPatterns(properties, PostgreSQLNameFilter.INCLUDE_TABLES_PROPERTY),
+                PostgreSQLNameFilter.getPatterns(properties, PostgreSQLNameFilter.EXCLUDE_TABLES_PROPERTY));
+        return builder.toString();
+    }
+
+    private static void appendPatternFilter(final StringBuilder builder, final List<Object> parameters,
+            final String nameColumn, final List<String> includePatterns, final List<String> excludePatterns) {
+        if (!includePatterns.isEmpty()) {
+            builder.append(" AND ").append(nameColumn).append(" LIKE ANY(?)");
+            parameters.add(includePatterns);
+        }
+        if (!excludePatterns.isEmpty()) {
+            builder.append(" AND NOT (").append(nameColumn).append(" LIKE ANY(?))");
+            parameters.add(excludePatterns);
+        }
+    }
+
+    /**
+     * Get the SQL text of the query.
+     *
+     * @return SQL text
+     */
+    String getSql() {
+        return this.sql;
+    }
+
+    /**
+     * Get the values bound to the query's parameters.
+     *
+     * @return parameter values in order of their placeholders, lists of values are bound as text arrays
+     */
+    List<Object> getParameters() {
+        return this.parameters;
+    }
+
+    /**
+     * Prepare the query on a connection and bind its parameters.
+     * <p>
+     * The statement fetches the result in batches of {@value #FETCH_SIZE} rows if the connection is not in auto-commit
+     * mode.
+     * </p>
+     *
+     * @param connection connection to the PostgreSQL database
+     * @return prepared statement ready for execution
+     * @throws SQLException if preparing the statement fails
+     */
+    PreparedStatement prepare(final Connection connection) throws SQLException {
+        final PreparedStatement statement = connection.prepareStatement(this.sql);
+        statement.setFetchSize(FETCH_SIZE);
+        for (int i = 0; i < this.parameters.size(); ++i) {
+            final Object parameter = this.parameters.get(i);
+            if (parameter instanceof Collection) {
+                statement.setArray(i + 1, connection.createArrayOf("text", ((Collection<?>) parameter).toArray()));
+            } else {
+                statement.setString(i + 1, (String) parameter);
+            }
+        }
+        return statement;
+    }
+}
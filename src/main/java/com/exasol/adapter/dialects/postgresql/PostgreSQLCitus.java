@@ -0,0 +1,185 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import java.sql.*;
+import java.util.*;
+import java.util.regex.Pattern;
+
+import com.exasol.adapter.AdapterProperties;
+import com.exasol.adapter.properties.PropertyValidationException;
+import com.exasol.adapter.properties.PropertyValidator;
+import com.exasol.errorreporting.ExaError;
+
+/**
+ * This class reads the shards of tables distributed with the Citus extension and the worker nodes that hold them.
+ * <p>
+ * Queries on a distributed table normally run through the Citus coordinator. If the adapter knows an Exasol connection
+ * for each worker node, it can import the shards directly from the workers instead.
+ * </p>
+ */
+public final class PostgreSQLCitus {
+    /** Name of adapter property that maps the Citus worker nodes to Exasol connections **/
+    public static final String PROPERTY = "POSTGRESQL_CITUS_WORKERS";
+    private static final String WORKER = "[^\\s:=,]+:\\d+\\s*=\\s*[A-Za-z][A-Za-z0-9_]*";
+    private static final Pattern WORKER_MAPPING = Pattern.compile(WORKER + "(?:\\s*,\\s*" + WORKER + ")*");
+    private static final String DISTRIBUTION_COLUMN_QUERY = "SELECT column_to_column_name(logicalrelid, partkey)"
+            + " FROM pg_catalog.pg_dist_partition WHERE logicalrelid = to_regclass(?) AND partmethod = 'h'";
+    private static final String SHARDS_QUERY = "SELECT DISTINCT ON (s.shardid) s.shardid," //
+            + " shard_name(s.logicalrelid, s.shardid), n.nodename, n.nodeport" //
+            + " FROM pg_catalog.pg_dist_shard s" //
+            + " JOIN pg_catalog.pg_dist_placement p ON p.shardid = s.shardid" //
+            + " JOIN pg_catalog.pg_dist_node n ON n.groupid = p.groupid" //
+            + " WHERE s.logicalrelid = to_regclass(?) AND n.noderole = 'primary' AND n.isactive" //
+            + " ORDER BY s.shardid, n.nodeid";
+    private static final String SHARD_ID_QUERY = "SELECT get_shard_id_for_distribution_column("
+            + "to_regclass(?), ?::text)";
+
+    private PostgreSQLCitus() {
+        // prevent instantiation
+    }
+
+    /**
+     * Check if the adapter imports distributed tables directly from the Citus workers.
+     *
+     * @param properties user-defined adapter properties
+     * @return <code>true</code> if the worker connections are configured
+     */
+    public static boolean isEnabled(final AdapterProperties properties) {
+        return properties.containsKey(PROPERTY);
+    }
+
+    /**
+     * Read the Exasol connections for the Citus worker nodes from adapter properties.
+     *
+     * @param properties user-defined adapter properties
+     * @return names of the Exasol connections indexed by host and port of the worker node
+     */
+    static Map<String, String> getWorkerConnections(final AdapterProperties properties) {
+        final Map<String, String> connections = new HashMap<>();
+        for (final String mapping : properties.get(PROPERTY).split(",")) {
+            final String[] worker = mapping.split("=");
+            connections.put(worker[0].trim(), worker[1].trim());
+        }
+        return connections;
+    }
+
+    /**
+     * Read the distribution column of a hash-distributed table.
+     *
+     * @param connection         connection to the Citus coordinator
+     * @param qualifiedTableName quoted name of the table, qualified with its schema
+     * @return name of the distribution column or empty if the table is not hash-distributed
+     * @throws SQLException if reading the Citus metadata fails
+     */
+    static Optional<String> readDistributionColumn(final Connection connection, final String qualifiedTableName)
+            throws SQLException {
+        try (final PreparedStatement statement = connection.prepareStatement(DISTRIBUTION_COLUMN_QUERY)) {
+            statement.setString(1, qualifiedTableName);
+            try (final ResultSet result = statement.executeQuery()) {
+                return result.next() ? Optional.of(result.getString(1)) : Optional.empty();
+            }
+        }
+    }
+
+    /**
+     * Read the shards of a distributed table together with the worker node that holds them.
+     * <p>
+     * If a shard is replicated, the placement on the worker node that was added first is used.
+     * </p>
+     *
+     * @param connection         connection to the Citus coordinator
+     * @param qualifiedTableName quoted name of the table, qualified with its schema
+     * @return shards ordered by their ID
+     * @throws SQLException if reading the Citus metadata fails
+     */
+    static List<Shard> readShards(final Connection connection, final String qualifiedTableName) throws SQLException {
+        try (final PreparedStatement statement = connection.prepareStatement(SHARDS_QUERY)) {
+            statement.setString(1, qualifiedTableName);
+            try (final ResultSet result = statement.executeQuery()) {
+                final List<Shard> shards = new ArrayList<>();
+                while (result.next()) {
+                    shards.add(new Shard(result.getLong(1), result.getString(2),
+                            result.getString(3) + ":" + result.getInt(4)));
+                }
+                return shards;
+            }
+        }
+    }
+
+    /**
+     * Find the shards that contain the rows with the given values of the distribution column.
+     *
+     * @param connection         connection to the Citus coordinator
+     * @param qualifiedTableName quoted name of the table, qualified with its schema
+     * @param values             values of the distribution column as text
+     * @return IDs of the shards
+     * @throws SQLException if looking up the shards fails
+     */
+    static Set<Long> readShardIds(final Connection connection, final String qualifiedTableName,
+            final List<String> values) throws SQLException {
+        try (final PreparedStatement statement = connection.prepareStatement(SHARD_ID_QUERY)) {
+            final Set<Long> shardIds = new HashSet<>();
+            statement.setString(1, qualifiedTableName);
+            for (final String value : values) {
+                statement.setString(2, value);
+                try (final ResultSet result = statement.executeQuery()) {
+                    result.next();
+                    shardIds.add(result.getLong(1));
+                }
+            }
+            return shardIds;
+        }
+    }
+
+    /**
+     * @return validator for the adapter property with the worker connections
+     */
+    public static PropertyValidator validator() {
+        return PropertyValidator.optional(PROPERTY, PostgreSQLCitus::validatePropertyValue);
+    }
+
+    private static void validatePropertyValue(final String value) throws PropertyValidationException {
+        if (!WORKER_MAPPING.matcher(value.trim()).matches()) {
+            throw new PropertyValidationException(ExaError.messageBuilder("E-VSPG-22") //
+                    .message("Invalid value {{value}} for property {{property}}.", value, PROPERTY) //
+                    .mitigation("Use a comma-separated list of entries <host>:<port>=<connection name>"
+                            + " that name an Exasol connection for each Citus worker node.") //
+                    .toString());
+        }
+    }
+
+    /**
+     * Shard of a distributed table.
+     */
+    static final class Shard {
+        private final long id;
+        private final String name;
+        private final String worker;
+
+        Shard(final long id, final String name, final String worker) {
+            this.id = id;
+            this.name = name;
+            this.worker = worker;
+        }
+
+        /**
+         * @return ID of the shard
+         */
+        long getId() {
+            return this.id;
+        }
+
+        /**
+         * @return qualified name of the shard table on the worker node, quoted where necessary
+         */
+        String getName() {
+            return this.name;
+        }
+
+        /**
+         * @return host and port of the worker node that holds the shard
+         */
+        String getWorker() {
+            return this.worker;
+        }
+    }
+}
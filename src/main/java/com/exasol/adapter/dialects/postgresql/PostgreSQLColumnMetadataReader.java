@@ -1,22 +1,51 @@
 package com.exasol.adapter.dialects.postgresql;
 
 import java.sql.*;
+import java.util.*;
+import java.util.concurrent.*;
 import java.util.logging.Logger;
 
+import org.postgresql.core.BaseConnection;
+import org.postgresql.core.TypeInfo;
+
 import com.exasol.ExaMetadata;
 import com.exasol.adapter.AdapterProperties;
+import com.exasol.adapter.adapternotes.ColumnAdapterNotes;
+import com.exasol.adapter.adapternotes.ColumnAdapterNotesJsonConverter;
 import com.exasol.adapter.dialects.IdentifierConverter;
 import com.exasol.adapter.dialects.postgresql.PostgreSQLIdentifierMapping.CaseFolding;
-import com.exasol.adapter.jdbc.BaseColumnMetadataReader;
-import com.exasol.adapter.jdbc.JDBCTypeDescription;
+import com.exasol.adapter.jdbc.*;
+import com.exasol.adapter.metadata.ColumnMetadata;
 import com.exasol.adapter.metadata.DataType;
+import com.exasol.errorreporting.ExaError;
 
 /**
  * This class implements PostgreSQL-specific reading of column metadata.
+ * <p>
+ * Instead of asking the JDBC driver for the columns of each table separately, the reader fetches the columns of all
+ * tables in the schema with a single query on the system catalog when the first table is mapped. If the tables are
+ * mapped in order of their OID via {@link #mapColumns(long, String)}, the columns are read from a cursor alongside the
+ * tables, so that only one batch of rows is held in memory at a time. Otherwise the columns of all tables are read
+ * into memory and served from there. The data types are resolved with a {@link PostgreSQLTypeCatalog} that is read once
+ * per metadata read. Tables that are unchanged since the last scan according to the
+ * {@link PostgreSQLTableMetadataCache} are left out of that query. If the adapter property
+ * {@value PostgreSQLMetadataConnections#PROPERTY} allows more than one connection, the query is split into slices of
+ * tables that are read on additional connections in parallel. The slices are always read into memory.
+ * </p>
  */
 public class PostgreSQLColumnMetadataReader extends BaseColumnMetadataReader {
     private static final Logger LOGGER = Logger.getLogger(PostgreSQLColumnMetadataReader.class.getName());
     private static final String POSTGRES_VARBIT_TYPE_NAME = "varbit";
+    private static final int NUMERIC_OID = 1700;
+    private final IdentifierConverter identifierConverter;
+    private final PostgreSQLTableMetadataCache tableMetadataCache;
+    private Map<String, List<ColumnMetadata>> columnsByTable;
+    private PostgreSQLTypeCatalog typeCatalog;
+    private PreparedStatement cursorStatement;
+    private ResultSet cursor;
+    private boolean cursorHasRow;
+    private long cursorTableOid;
+    private TypeInfo cursorTypeInfo;
 
     /**
      * Create a new instance of the {@link PostgreSQLColumnMetadataReader}.
@@ -29,7 +58,15 @@ public class PostgreSQLColumnMetadataReader extends BaseColumnMetadataReader {
     public PostgreSQLColumnMetadataReader(final Connection connection, final AdapterProperties properties,
             final ExaMetadata exaMetadata,
             final IdentifierConverter identifierConverter) {
+        this(connection, properties, exaMetadata, identifierConverter, PostgreSQLTableMetadataCache.load(properties));
+    }
+
+    PostgreSQLColumnMetadataReader(final Connection connection, final AdapterProperties properties,
+            final ExaMetadata exaMetadata, final IdentifierConverter identifierConverter,
+            final PostgreSQLTableMetadataCache tableMetadataCache) {
         super(connection, properties, exaMetadata, identifierConverter);
+        this.identifierConverter = identifierConverter;
+        this.tableMetadataCache = tableMetadataCache;
     }
 
     @Override
@@ -64,14 +101,318 @@ public class PostgreSQLColumnMetadataReader extends BaseColumnMetadataReader {
 
     @Override
     public String readColumnName(final ResultSet columns) throws SQLException {
+        return convertColumnName(columns.getString(NAME_COLUMN));
+    }
+
+    private String convertColumnName(final String columnName) {
+        final String convertedName = this.identifierConverter.convert(columnName);
         if (getIdentifierMapping().equals(CaseFolding.CONVERT_TO_UPPER)) {
-            return super.readColumnName(columns).toUpperCase();
+            return convertedName.toUpperCase();
         } else {
-            return super.readColumnName(columns);
+            return convertedName;
         }
     }
 
     CaseFolding getIdentifierMapping() {
         return PostgreSQLIdentifierMapping.from(this.properties);
     }
+
+    @Override
+    public List<ColumnMetadata> mapColumns(final String tableName) {
+        if (this.columnsByTable == null) {
+            this.columnsByTable = readColumnsOfAllTables();
+        }
+        return this.columnsByTable.getOrDefault(tableName, Collections.emptyList());
+    }
+
+    /**
+     * Map the columns of a table, reading them from a cursor if possible.
+     * <p>
+     * The tables must be requested in ascending order of their OID. Columns of tables that are skipped are passed over
+     * in the cursor. Call {@link #closeCursor()} after the last table was mapped.
+     * </p>
+     *
+     * @param tableOid  OID of the table
+     * @param tableName name of the table
+     * @return list of mapped columns
+     */
+    List<ColumnMetadata> mapColumns(final long tableOid, final String tableName) {
+        try {
+            if ((this.cursor == null) && (this.columnsByTable == null)) {
+                startReadingColumns();
+            }
+            if (this.cursor != null) {
+                return readColumnsFromCursor(tableOid);
+            } else {
+                return this.columnsByTable.getOrDefault(tableName, Collections.emptyList());
+            }
+        } catch (final SQLException exception) {
+            throw createReadingException(exception);
+        }
+    }
+
+    private void startReadingColumns() throws SQLException {
+        this.typeCatalog = PostgreSQLTypeCatalog.load(this.connection);
+        final int numberOfSlices = getNumberOfSlices();
+        if (numberOfSlices == 1) {
+            openCursor();
+        } else {
+            this.columnsByTable = readColumnsInParallel(numberOfSlices);
+        }
+    }
+
+    private void openCursor() throws SQLException {
+        final PostgreSQLCatalogQuery query = PostgreSQLCatalogQuery.columns(this.properties,
+                this.tableMetadataCache.getKnownFingerprints(), this.tableMetadataCache.getRestrictedRelations(), 0, 1);
+        this.cursorTypeInfo = getTypeInfo(this.connection);
+        this.cursorStatement = query.prepare(this.connection);
+        this.cursor = this.cursorStatement.executeQuery();
+        advanceCursor();
+    }
+
+    private void advanceCursor() throws SQLException {
+        this.cursorHasRow = this.cursor.next();
+        if (this.cursorHasRow) {
+            this.cursorTableOid = this.cursor.getLong("attrelid");
+        }
+    }
+
+    private List<ColumnMetadata> readColumnsFromCursor(final long tableOid) throws SQLException {
+        final List<ColumnMetadata> columns = new ArrayList<>();
+        while (this.cursorHasRow && (this.cursorTableOid <= tableOid)) {
+            if (this.cursorTableOid == tableOid) {
+                addSupportedColumn(columns, mapCatalogColumn(this.cursor, this.cursorTypeInfo));
+            }
+            advanceCursor();
+        }
+        return columns;
+    }
+
+    /**
+     * Close the cursor opened by {@link #mapColumns(long, String)}.
+     *
+     * @throws SQLException if closing the cursor fails
+     */
+    void closeCursor() throws SQLException {
+        if (this.cursorStatement != null) {
+            final PreparedStatement statement = this.cursorStatement;
+            this.cursorStatement = null;
+            this.cursor = null;
+            this.cursorHasRow = false;
+            statement.close();
+        }
+    }
+
+    private Map<String, List<ColumnMetadata>> readColumnsOfAllTables() {
+        try {
+            this.typeCatalog = PostgreSQLTypeCatalog.load(this.connection);
+            final int numberOfSlices = getNumberOfSlices();
+            if (numberOfSlices == 1) {
+                return readColumns(this.connection, 0, 1);
+            } else {
+                return readColumnsInParallel(numberOfSlices);
+            }
+        } catch (final SQLException exception) {
+            throw createReadingException(exception);
+        }
+    }
+
+    private RemoteMetadataReaderException createReadingException(final SQLException exception) {
+        return new RemoteMetadataReaderException(ExaError.messageBuilder("E-VSPG-10")
+                .message("Unable to read column metadata from the PostgreSQL catalog for schema {{schemaName}}."
+                        + " Caused by: {{cause}}", getSchemaNameFilter(), exception.getMessage())
+                .toString(), exception);
+    }
+
+    /*
+     * Each additional connection occupies a backend on the PostgreSQL server, so the reader never takes more than half
+     * of the connection slots that are still free.
+     */
+    private int getNumberOfSlices() throws SQLException {
+        final int configuredConnections = PostgreSQLMetadataConnections.from(this.properties);
+        if (configuredConnections == 1) {
+            return 1;
+        }
+        try (final Statement statement = this.connection.createStatement();
+                final ResultSet result = statement.executeQuery(PostgreSQLCatalogQuery.FREE_CONNECTIONS)) {
+            final int freeConnections = result.next() ? result.getInt(1) : 0;
+            return Math.max(1, Math.min(configuredConnections, 1 + (freeConnections / 2)));
+        }
+    }
+
+    private Map<String, List<ColumnMetadata>> readColumns(final Connection sliceConnection, final int slice,
+            final int numberOfSlices) throws SQLException {
+        final PostgreSQLCatalogQuery query = PostgreSQLCatalogQuery.columns(this.properties,
+                this.tableMetadataCache.getKnownFingerprints(), this.tableMetadataCache.getRestrictedRelations(), slice,
+                numberOfSlices);
+        try (final PreparedStatement statement = query.prepare(sliceConnection);
+                final ResultSet columns = statement.executeQuery()) {
+            return mapCatalogColumns(columns, getTypeInfo(sliceConnection));
+        }
+    }
+
+    /*
+     * The tables are distributed over the slices by OID, so every table is contained in exactly one slice and merging
+     * the slices does not depend on the order in which the workers finish.
+     */
+    private Map<String, List<ColumnMetadata>> readColumnsInParallel(final int numberOfSlices) throws SQLException {
+        LOGGER.fine(() -> "Reading column metadata in " + numberOfSlices + " slices in parallel.");
+        final ExecutorService executor = Executors.newFixedThreadPool(numberOfSlices - 1);
+        try {
+            final List<Future<Map<String, List<ColumnMetadata>>>> workerSlices = new ArrayList<>();
+            for (int slice = 1; slice < numberOfSlices; ++slice) {
+                final int workerSlice = slice;
+                workerSlices.add(executor.submit(() -> readColumnsOnWorkerConnection(workerSlice, numberOfSlices)));
+            }
+            final Map<String, List<ColumnMetadata>> columns = new HashMap<>(
+                    readColumns(this.connection, 0, numberOfSlices));
+            for (final Future<Map<String, List<ColumnMetadata>>> workerSlice : workerSlices) {
+                columns.putAll(awaitSlice(workerSlice));
+            }
+            return columns;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<String, List<ColumnMetadata>> readColumnsOnWorkerConnection(final int slice, final int numberOfSlices)
+            throws SQLException {
+        try (final Connection workerConnection = openWorkerConnection()) {
+            return readColumns(workerConnection, slice, numberOfSlices);
+        }
+    }
+
+    /**
+     * Open an additional connection to the PostgreSQL database for reading a slice of the column metadata.
+     *
+     * @return new connection
+     * @throws SQLException if the connection cannot be established
+     */
+    Connection openWorkerConnection() throws SQLException {
+        return new RemoteConnectionFactory(this.exaMetadata, this.properties).getConnection();
+    }
+
+    private static Map<String, List<ColumnMetadata>> awaitSlice(
+            final Future<Map<String, List<ColumnMetadata>>> workerSlice) throws SQLException {
+        try {
+            return workerSlice.get();
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new RemoteMetadataReaderException(ExaError.messageBuilder("E-VSPG-13")
+                    .message("Interrupted while waiting for column metadata read on a parallel connection.")
+                    .toString(), exception);
+        } catch (final ExecutionException exception) {
+            final Throwable cause = exception.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else {
+                throw new RemoteMetadataReaderException(ExaError.messageBuilder("E-VSPG-14")
+                        .message("Unable to read column metadata on a parallel connection. Caused by: {{cause}}",
+                                cause.getMessage())
+                        .toString(), cause);
+            }
+        }
+    }
+
+    private static TypeInfo getTypeInfo(final Connection connection) throws SQLException {
+        return connection.unwrap(BaseConnection.class).getTypeInfo();
+    }
+
+    private Map<String, List<ColumnMetadata>> mapCatalogColumns(final ResultSet columns, final TypeInfo typeInfo)
+            throws SQLException {
+        final Map<String, List<ColumnMetadata>> mappedColumns = new HashMap<>();
+        while (columns.next()) {
+            addSupportedColumn(mappedColumns.computeIfAbsent(columns.getString("relname"), name -> new ArrayList<>()),
+                    mapCatalogColumn(columns, typeInfo));
+        }
+        return mappedColumns;
+    }
+
+    private static void addSupportedColumn(final List<ColumnMetadata> columns, final ColumnMetadata metadata) {
+        if (metadata.getType().isSupported()) {
+            columns.add(metadata);
+        } else {
+            LOGGER.fine(() -> "Column \"" + metadata.getName() + "\" of type \"" + metadata.getOriginalTypeName()
+                    + "\" not supported by Virtual Schema. Skipping column in mapping.");
+        }
+    }
+
+    private ColumnMetadata mapCatalogColumn(final ResultSet column, final TypeInfo typeInfo) throws SQLException {
+        final String defaultValue = column.getString("adsrc");
+        final JDBCTypeDescription jdbcTypeDescription = readCatalogTypeDescription(column, typeInfo, defaultValue);
+        final ColumnAdapterNotes columnAdapterNotes = ColumnAdapterNotes.builder()
+                .jdbcDataType(jdbcTypeDescription.getJdbcType()) //
+                .typeName(jdbcTypeDescription.getTypeName()) //
+                .build();
+        final boolean notNull = column.getBoolean("attnotnull");
+        final boolean identity = isSequenceDefault(defaultValue) || (column.getString("attidentity") != null);
+        return ColumnMetadata.builder() //
+                .name(convertColumnName(column.getString("attname"))) //
+                .adapterNotes(ColumnAdapterNotesJsonConverter.getInstance().convertToJson(columnAdapterNotes)) //
+                .type(mapJdbcType(jdbcTypeDescription)) //
+                .nullable(!notNull) //
+                .identity(identity) //
+                .defaultValue(defaultValue == null ? "" : defaultValue) //
+                .comment(Objects.requireNonNullElse(column.getString("description"), "")) //
+                .originalTypeName(Objects.requireNonNullElse(jdbcTypeDescription.getTypeName(), "")) //
+                .build();
+    }
+
+    /*
+     * The type resolution follows the one in the PostgreSQL JDBC driver's DatabaseMetaData.getColumns(), so that the
+     * mapping is identical to the one based on the driver's column metadata.
+     */
+    private JDBCTypeDescription readCatalogTypeDescription(final ResultSet column, final TypeInfo typeInfo,
+            final String defaultValue) throws SQLException {
+        final int typeOid = (int) column.getLong("atttypid");
+        final int typeModifier = column.getInt("atttypmod");
+        final int jdbcType = this.typeCatalog.getJdbcType(typeOid);
+        final String typeName = getCatalogTypeName(this.typeCatalog.getTypeName(typeOid), defaultValue);
+        final int decimalScale;
+        final int precisionOrSize;
+        if (jdbcType == Types.DISTINCT) {
+            final int baseTypeOid = (int) column.getLong("typbasetype");
+            final int domainTypeModifier = column.getInt("typtypmod");
+            if (domainTypeModifier == -1) {
+                decimalScale = typeInfo.getScale(baseTypeOid, typeModifier);
+                precisionOrSize = typeInfo.getPrecision(baseTypeOid, typeModifier);
+            } else if (baseTypeOid == NUMERIC_OID) {
+                decimalScale = typeInfo.getScale(baseTypeOid, domainTypeModifier);
+                precisionOrSize = typeInfo.getPrecision(baseTypeOid, domainTypeModifier);
+            } else {
+                decimalScale = typeInfo.getScale(baseTypeOid, typeModifier);
+                precisionOrSize = domainTypeModifier;
+            }
+        } else {
+            decimalScale = typeInfo.getScale(typeOid, typeModifier);
+            final int precision = typeInfo.getPrecision(typeOid, typeModifier);
+            precisionOrSize = ((jdbcType != Types.NUMERIC) && (precision == 0))
+                    ? typeInfo.getDisplaySize(typeOid, typeModifier)
+                    : precision;
+        }
+        return new JDBCTypeDescription(jdbcType, decimalScale, precisionOrSize, precisionOrSize, typeName);
+    }
+
+    private static String getCatalogTypeName(final String typeName, final String defaultValue) {
+        if ((typeName != null) && isSequenceDefault(defaultValue)) {
+            switch (typeName) {
+                case "int2":
+                    return "smallserial";
+                case "int4":
+                    return "serial";
+                case "int8":
+                    return "bigserial";
+                default:
+                    return typeName;
+            }
+        } else {
+            return typeName;
+        }
+    }
+
+    private static boolean isSequenceDefault(final String defaultValue) {
+        return (defaultValue != null) && defaultValue.contains("nextval(");
+    }
 }
@@ -0,0 +1,211 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.exasol.adapter.jdbc.ConnectionFactory;
+import com.exasol.errorreporting.ExaError;
+
+/**
+ * This class pools physical connections to one PostgreSQL database with the same credentials.
+ * <p>
+ * The pools live in a static registry, so they survive the individual adapter calls for as long as the adapter's JVM
+ * lives. Connections are validated before they are handed out. Connections that were idle for longer than the idle
+ * timeout are closed whenever the pool is used, because a UDF VM offers no place for a background thread.
+ * </p>
+ */
+final class PostgreSQLConnectionPool {
+    private static final Logger LOGGER = Logger.getLogger(PostgreSQLConnectionPool.class.getName());
+    private static final Map<List<String>, PostgreSQLConnectionPool> POOLS = new ConcurrentHashMap<>();
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+    private final Deque<IdleConnection> idleConnections = new ArrayDeque<>();
+    private final Duration maximumWait;
+    private int maximumSize;
+    private Duration idleTimeout;
+    private int openConnections = 0;
+
+    PostgreSQLConnectionPool(final int maximumSize, final Duration idleTimeout, final Duration maximumWait) {
+        this.maximumSize = maximumSize;
+        this.idleTimeout = idleTimeout;
+        this.maximumWait = maximumWait;
+    }
+
+    /**
+     * Get the pool for a connection definition, creating it if necessary.
+     *
+     * @param key         connection definition and credentials that identify the pool
+     * @param maximumSize maximum number of open connections
+     * @param idleTimeout time after which an idle connection is closed
+     * @return connection pool
+     */
+    static PostgreSQLConnectionPool get(final List<String> key, final int maximumSize, final Duration idleTimeout) {
+        final PostgreSQLConnectionPool pool = POOLS.computeIfAbsent(key,
+                k -> new PostgreSQLConnectionPool(maximumSize, idleTimeout, Duration.ofSeconds(30)));
+        pool.configure(maximumSize, idleTimeout);
+        return pool;
+    }
+
+    /**
+     * Close all idle connections of all pools and forget the pools.
+     */
+    static void closeAll() {
+        POOLS.values().forEach(PostgreSQLConnectionPool::closeIdleConnections);
+        POOLS.clear();
+    }
+
+    private synchronized void configure(final int newMaximumSize, final Duration newIdleTimeout) {
+        this.maximumSize = newMaximumSize;
+        this.idleTimeout = newIdleTimeout;
+    }
+
+    /**
+     * Borrow a connection from the pool.
+     * <p>
+     * Idle connections are reused if they are still valid. If there is no idle connection and the pool is not full, a
+     * new connection is opened. Otherwise the caller waits until another connection is released.
+     * </p>
+     *
+     * @param physicalConnections factory that opens new physical connections
+     * @return connection that must be given back with {@link #release(Connection)}
+     * @throws SQLException if opening a connection fails or no connection becomes available in time
+     */
+    synchronized Connection borrow(final ConnectionFactory physicalConnections) throws SQLException {
+        final long deadline = System.nanoTime() + this.maximumWait.toNanos();
+        while (true) {
+            evictIdleConnections();
+            final IdleConnection idleConnection = this.idleConnections.pollFirst();
+            if (idleConnection != null) {
+                if (isValid(idleConnection.connection)) {
+                    return idleConnection.connection;
+                }
+                LOGGER.fine("Discarding pooled connection that failed validation.");
+                discard(idleConnection.connection);
+            } else if (this.openConnections < this.maximumSize) {
+                return open(physicalConnections);
+            } else {
+                awaitRelease(deadline);
+            }
+        }
+    }
+
+    private Connection open(final ConnectionFactory physicalConnections) throws SQLException {
+        ++this.openConnections;
+        try {
+            return physicalConnections.getConnection();
+        } catch (final SQLException | RuntimeException exception) {
+            --this.openConnections;
+            throw exception;
+        }
+    }
+
+    private void awaitRelease(final long deadline) throws SQLException {
+        final long remainingNanos = deadline - System.nanoTime();
+        if (remainingNanos <= 0) {
+            throw new SQLException(ExaError.messageBuilder("E-VSPG-18")
+                    .message("All {{size}} pooled connections to PostgreSQL are in use.", this.maximumSize)
+                    .mitigation("Increase the value of property {{property}}.",
+                            PostgreSQLConnectionPooling.SIZE_PROPERTY)
+                    .toString());
+        }
+        try {
+            wait(TimeUnit.NANOSECONDS.toMillis(remainingNanos) + 1);
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(ExaError.messageBuilder("E-VSPG-19")
+                    .message("Interrupted while waiting for a pooled connection to PostgreSQL.").toString(), exception);
+        }
+    }
+
+    /**
+     * Give a borrowed connection back to the pool.
+     * <p>
+     * An open transaction is rolled back. Connections that are closed or cannot be reset are discarded.
+     * </p>
+     *
+     * @param connection connection to give back
+     */
+    synchronized void release(final Connection connection) {
+        if (reset(connection)) {
+            this.idleConnections.addFirst(new IdleConnection(connection, System.nanoTime()));
+        } else {
+            discard(connection);
+        }
+        evictIdleConnections();
+        notifyAll();
+    }
+
+    private static boolean reset(final Connection connection) {
+        try {
+            if (connection.isClosed()) {
+                return false;
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            return true;
+        } catch (final SQLException exception) {
+            return false;
+        }
+    }
+
+    /*
+     * The idle connections are ordered from most to least recently used, so the connections to evict are at the end.
+     */
+    private void evictIdleConnections() {
+        final long now = System.nanoTime();
+        while (!this.idleConnections.isEmpty()
+                && ((now - this.idleConnections.peekLast().idleSince) >= this.idleTimeout.toNanos())) {
+            LOGGER.fine("Closing pooled connection that exceeded the idle timeout.");
+            discard(this.idleConnections.pollLast().connection);
+        }
+    }
+
+    private synchronized void closeIdleConnections() {
+        while (!this.idleConnections.isEmpty()) {
+            discard(this.idleConnections.pollFirst().connection);
+        }
+    }
+
+    private static boolean isValid(final Connection connection) {
+        try {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (final SQLException exception) {
+            return false;
+        }
+    }
+
+    private void discard(final Connection connection) {
+        --this.openConnections;
+        try {
+            connection.close();
+        } catch (final SQLException exception) {
+            LOGGER.log(Level.FINE, "Unable to close discarded pooled connection.", exception);
+        }
+    }
+
+    /**
+     * Get the number of open connections, borrowed or idle.
+     *
+     * @return number of open connections
+     */
+    synchronized int getOpenConnections() {
+        return this.openConnections;
+    }
+
+    private static final class IdleConnection {
+        private final Connection connection;
+        private final long idleSince;
+
+        private IdleConnection(final Connection connection, final long idleSince) {
+            this.connection = connection;
+            this.idleSince = idleSince;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import java.time.Duration;
+
+import com.exasol.adapter.AdapterProperties;
+import com.exasol.adapter.properties.PropertyValidationException;
+import com.exasol.adapter.properties.PropertyValidator;
+import com.exasol.errorreporting.ExaError;
+
+/**
+ * This class defines the adapter properties that switch on pooling of the connections to PostgreSQL.
+ * <p>
+ * Pooled connections stay open between adapter calls for as long as the UDF VM of the adapter lives, so that
+ * subsequent calls do not need to establish a new connection.
+ * </p>
+ */
+public final class PostgreSQLConnectionPooling {
+    /** Name of adapter property with the maximum number of pooled connections **/
+    public static final String SIZE_PROPERTY = "POSTGRESQL_CONNECTION_POOL_SIZE";
+    /** Name of adapter property with the seconds after which an idle pooled connection is closed **/
+    public static final String IDLE_TIMEOUT_PROPERTY = "POSTGRESQL_CONNECTION_POOL_IDLE_TIMEOUT";
+    static final int MAXIMUM_SIZE = 32;
+    static final int DEFAULT_IDLE_TIMEOUT_SECONDS = 300;
+
+    private PostgreSQLConnectionPooling() {
+        // prevent instantiation
+    }
+
+    /**
+     * Check if connection pooling is switched on.
+     *
+     * @param properties user-defined adapter properties
+     * @return <code>true</code> if the pool size is set
+     */
+    public static boolean isEnabled(final AdapterProperties properties) {
+        return properties.containsKey(SIZE_PROPERTY);
+    }
+
+    /**
+     * Read the maximum number of pooled connections from adapter properties.
+     *
+     * @param properties user-defined adapter properties
+     * @return maximum number of connections in the pool
+     */
+    static int getPoolSize(final AdapterProperties properties) {
+        return Integer.parseInt(properties.get(SIZE_PROPERTY));
+    }
+
+    /**
+     * Read the idle timeout of pooled connections from adapter properties.
+     *
+     * @param properties user-defined adapter properties
+     * @return time after which an idle connection is closed
+     */
+    static Duration getIdleTimeout(final AdapterProperties properties) {
+        return Duration.ofSeconds(properties.containsKey(IDLE_TIMEOUT_PROPERTY) //
+                ? Integer.parseInt(properties.get(IDLE_TIMEOUT_PROPERTY))
+                : DEFAULT_IDLE_TIMEOUT_SECONDS);
+    }
+
+    /**
+     * @return validator for the adapter properties controlling the connection pool
+     */
+    public static PropertyValidator validator() {
+        return PropertyValidator.chain() //
+                .add(PropertyValidator.optional(SIZE_PROPERTY, value -> validateRange(SIZE_PROPERTY, value, 1,
+                        MAXIMUM_SIZE)))
+                .add(PropertyValidator.optional(IDLE_TIMEOUT_PROPERTY,
+                        value -> validateRange(IDLE_TIMEOUT_PROPERTY, value, 0, Integer.MAX_VALUE)));
+    }
+
+    private static void validateRange(final String property, final String value, final int minimum,
+            final int maximum) throws PropertyValidationException {
+        if (!isInRange(value, minimum, maximum)) {
+            throw new PropertyValidationException(ExaError.messageBuilder("E-VSPG-17") //
+                    .message("Invalid value {{value}} for property {{property}}.", value, property) //
+                    .mitigation("Use an integer between {{minimum}} and {{maximum}}.", minimum, maximum) //
+                    .toString());
+        }
+    }
+
+    private static boolean isInRange(final String value, final int minimum, final int maximum) {
+        try {
+            final int number = Integer.parseInt(value);
+            return (number >= minimum) && (number <= maximum);
+        } catch (final NumberFormatException exception) {
+            return false;
+        }
+    }
+}
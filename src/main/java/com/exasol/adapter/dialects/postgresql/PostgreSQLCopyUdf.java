@@ -0,0 +1,210 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyInputStream;
+
+import com.exasol.*;
+import com.exasol.adapter.AdapterProperties;
+import com.exasol.adapter.properties.PropertyValidationException;
+import com.exasol.adapter.properties.PropertyValidator;
+import com.exasol.errorreporting.ExaError;
+
+/**
+ * This class is a set-returning UDF that imports query results from PostgreSQL with a binary COPY.
+ * <p>
+ * IMPORT FROM JDBC fetches all values as text, which makes importing wide numeric and timestamp tables CPU-bound. The
+ * UDF instead streams {@code COPY (query) TO STDOUT (FORMAT binary)} and decodes the values directly. Each input row
+ * holds the name of an Exasol connection and a query. When the adapter splits a query into slices, it groups the rows
+ * by slice, so that Exasol distributes the slices over the cluster nodes.
+ * </p>
+ */
+public final class PostgreSQLCopyUdf {
+    /** Name of adapter property that names the UDF script used for importing with binary COPY **/
+    public static final String PROPERTY = "POSTGRESQL_COPY_UDF";
+    private static final Logger LOGGER = Logger.getLogger(PostgreSQLCopyUdf.class.getName());
+    private static final String IDENTIFIER = "[A-Za-z][A-Za-z0-9_]*";
+    private static final Pattern SCRIPT_NAME = Pattern.compile(IDENTIFIER + "(?:\\." + IDENTIFIER + ")?");
+
+    private PostgreSQLCopyUdf() {
+        // prevent instantiation
+    }
+
+    /**
+     * Check if the adapter imports push-down queries through the binary COPY UDF.
+     *
+     * @param properties user-defined adapter properties
+     * @return <code>true</code> if the UDF script is configured
+     */
+    public static boolean isEnabled(final AdapterProperties properties) {
+        return properties.containsKey(PROPERTY);
+    }
+
+    /**
+     * Get the name of the UDF script.
+     *
+     * @param properties user-defined adapter properties
+     * @return name of the UDF script, optionally qualified with its schema
+     */
+    static String getScriptName(final AdapterProperties properties) {
+        return properties.get(PROPERTY).trim();
+    }
+
+    /**
+     * @return validator for the adapter property with the UDF script name
+     */
+    public static PropertyValidator validator() {
+        return PropertyValidator.optional(PROPERTY, PostgreSQLCopyUdf::validatePropertyValue);
+    }
+
+    private static void validatePropertyValue(final String value) throws PropertyValidationException {
+        if (!SCRIPT_NAME.matcher(value.trim()).matches()) {
+            throw new PropertyValidationException(ExaError.messageBuilder("E-VSPG-23") //
+                    .message("Invalid value {{value}} for property {{property}}.", value, PROPERTY) //
+                    .mitigation("Use the name of the UDF script, optionally qualified with its schema.") //
+                    .toString());
+        }
+    }
+
+    /**
+     * Copy the results of the queries in the input rows and emit them.
+     * <p>
+     * This is the entry point that Exasol calls for each group of input rows.
+     * </p>
+     *
+     * @param exaMetadata metadata of the UDF call
+     * @param iterator    iterator over input rows with a connection name and a query
+     * @throws Exception if copying a query result fails
+     */
+    public static void run(final ExaMetadata exaMetadata, final ExaIterator iterator) throws Exception {
+        final Map<String, Connection> connections = new HashMap<>();
+        try {
+            do {
+                final String connectionName = iterator.getString(0);
+                Connection connection = connections.get(connectionName);
+                if (connection == null) {
+                    connection = connect(exaMetadata.getConnection(connectionName));
+                    connections.put(connectionName, connection);
+                }
+                copy(connection, iterator.getString(1), getOutputTypes(exaMetadata), iterator);
+            } while (iterator.next());
+        } finally {
+            for (final Connection connection : connections.values()) {
+                connection.close();
+            }
+        }
+    }
+
+    private static Connection connect(final ExaConnectionInformation connectionInformation) throws SQLException {
+        return DriverManager.getConnection(connectionInformation.getAddress(), connectionInformation.getUser(),
+                connectionInformation.getPassword());
+    }
+
+    private static Class<?>[] getOutputTypes(final ExaMetadata exaMetadata) throws ExaIterationException {
+        final Class<?>[] types = new Class<?>[(int) exaMetadata.getOutputColumnCount()];
+        for (int column = 0; column < types.length; ++column) {
+            types[column] = exaMetadata.getOutputColumnType(column);
+        }
+        return types;
+    }
+
+    private static void copy(final Connection connection, final String query, final Class<?>[] outputTypes,
+            final ExaIterator iterator) throws SQLException, IOException, ExaIterationException,
+            ExaDataTypeException {
+        final List<String> typeNames = describe(connection, query);
+        final String copyStatement = createCopyStatement(query, typeNames);
+        LOGGER.fine(() -> "Copying query result from PostgreSQL:\n" + copyStatement);
+        try (final PGCopyInputStream stream = new PGCopyInputStream(connection.unwrap(PGConnection.class),
+                copyStatement)) {
+            final PostgreSQLBinaryCopyReader reader = new PostgreSQLBinaryCopyReader(stream,
+                    createCopiedTypeNames(typeNames));
+            Object[] row = reader.readRow();
+            while (row != null) {
+                for (int column = 0; column < row.length; ++column) {
+                    row[column] = convert(row[column], outputTypes[column]);
+                }
+                iterator.emit(row);
+                row = reader.readRow();
+            }
+        }
+    }
+
+    private static List<String> describe(final Connection connection, final String query) throws SQLException {
+        try (final PreparedStatement statement = connection.prepareStatement(query)) {
+            final ResultSetMetaData metadata = statement.getMetaData();
+            final List<String> typeNames = new ArrayList<>(metadata.getColumnCount());
+            for (int column = 1; column <= metadata.getColumnCount(); ++column) {
+                typeNames.add(metadata.getColumnTypeName(column));
+            }
+            return typeNames;
+        }
+    }
+
+    /**
+     * Create the COPY statement for a query.
+     * <p>
+     * The columns of the query are renamed by position, because the names generated for a push-down query are not
+     * necessarily unique. Columns with types that the reader cannot decode are cast to text.
+     * </p>
+     *
+     * @param query     query to copy
+     * @param typeNames PostgreSQL type names of the query's columns
+     * @return COPY statement
+     */
+    static String createCopyStatement(final String query, final List<String> typeNames) {
+        final StringJoiner selectList = new StringJoiner(", ");
+        final StringJoiner columnNames = new StringJoiner(", ");
+        for (int column = 0; column < typeNames.size(); ++column) {
+            final String columnName = "\"c" + (column + 1) + "\"";
+            columnNames.add(columnName);
+            selectList.add(PostgreSQLBinaryCopyReader.supportsType(typeNames.get(column)) //
+                    ? columnName
+                    : columnName + "::text");
+        }
+        return "COPY (SELECT " + selectList + " FROM (" + query + ") AS \"t\"(" + columnNames
+                + ")) TO STDOUT (FORMAT binary)";
+    }
+
+    private static List<String> createCopiedTypeNames(final List<String> typeNames) {
+        final List<String> copiedTypeNames = new ArrayList<>(typeNames.size());
+        for (final String typeName : typeNames) {
+            copiedTypeNames.add(PostgreSQLBinaryCopyReader.supportsType(typeName) ? typeName : "text");
+        }
+        return copiedTypeNames;
+    }
+
+    /**
+     * Convert a decoded value to the Java type that Exasol expects for an output column.
+     *
+     * @param value      decoded value
+     * @param outputType Java type of the output column
+     * @return converted value
+     */
+    static Object convert(final Object value, final Class<?> outputType) {
+        if ((value == null) || outputType.isInstance(value)) {
+            return value;
+        } else if (outputType == String.class) {
+            return (value instanceof BigDecimal) ? ((BigDecimal) value).toPlainString() : value.toString();
+        } else if (outputType == Double.class) {
+            return (value instanceof Number) ? ((Number) value).doubleValue() : Double.valueOf(value.toString());
+        } else if ((outputType == Integer.class) || (outputType == Long.class) || (outputType == BigDecimal.class)) {
+            final BigDecimal number = (value instanceof BigDecimal) ? (BigDecimal) value
+                    : new BigDecimal(value.toString());
+            if (outputType == Integer.class) {
+                return number.intValueExact();
+            } else if (outputType == Long.class) {
+                return number.longValueExact();
+            } else {
+                return number;
+            }
+        } else {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.*;
+
+import com.exasol.adapter.AdapterException;
+import com.exasol.adapter.dialects.SqlDialect;
+import com.exasol.adapter.sql.*;
+
+/**
+ * This class rewrites comparisons of date parts and date arithmetic with constants into range predicates on the bare
+ * column.
+ * <p>
+ * The SQL generator renders {@code YEAR(col)} as {@code CAST(DATE_PART('YEAR', col) AS DECIMAL(4,0))} and
+ * {@code ADD_DAYS(col, n)} as {@code col + make_interval(days => n)}. PostgreSQL cannot use an index or prune
+ * partitions for a condition on such an expression. Comparing the bare column with a computed bound selects the same
+ * rows:
+ * </p>
+ * <ul>
+ * <li>{@code YEAR(col) = 2024} becomes {@code col >= DATE '2024-01-01' AND col < DATE '2025-01-01'}, and the other
+ * comparison operators become one of the two bounds.</li>
+ * <li>Equalities of {@code YEAR}, {@code MONTH} and {@code DAY} of the same column in one conjunction become the range
+ * of that month or day.</li>
+ * <li>{@code ADD_DAYS(col, 7) < DATE '2024-01-01'} becomes
+ * {@code col < (DATE '2024-01-01' - make_interval(days => 7))}. Only units of fixed length are moved to the other side.
+ * Adding days to a {@code timestamptz} is not, because of daylight saving time. For hours, minutes and seconds the
+ * constant is converted to {@code timestamptz} first, so that the interval is subtracted in absolute time.</li>
+ * </ul>
+ */
+final class PostgreSQLDateRanges {
+    private static final Map<ScalarFunction, String> FIXED_INTERVAL_UNITS = Map.of(ScalarFunction.ADD_DAYS, "days",
+            ScalarFunction.ADD_WEEKS, "weeks", ScalarFunction.ADD_HOURS, "hours", ScalarFunction.ADD_MINUTES, "mins",
+            ScalarFunction.ADD_SECONDS, "secs");
+    private static final Set<ScalarFunction> CALENDAR_DAY_FUNCTIONS = Set.of(ScalarFunction.ADD_DAYS,
+            ScalarFunction.ADD_WEEKS);
+    private static final int MAX_YEAR = 9998;
+    private final SqlNodeVisitor<String> generator;
+    private final SqlDialect dialect;
+    private final ColumnTypeReader columnTypeReader;
+
+    /**
+     * Create a new instance of {@link PostgreSQLDateRanges}.
+     *
+     * @param generator        generator for the SQL of columns and literals
+     * @param dialect          SQL dialect
+     * @param columnTypeReader reader for the PostgreSQL type name of a column
+     */
+    PostgreSQLDateRanges(final SqlNodeVisitor<String> generator, final SqlDialect dialect,
+            final ColumnTypeReader columnTypeReader) {
+        this.generator = generator;
+        this.dialect = dialect;
+        this.columnTypeReader = columnTypeReader;
+    }
+
+    /**
+     * Rewrite a comparison into a range predicate.
+     *
+     * @param comparison equality, less or less-or-equal comparison
+     * @return range predicate or empty if the comparison is not on a date part or date arithmetic of a column
+     * @throws AdapterException if generating SQL fails
+     */
+    Optional<String> rewrite(final AbstractSqlBinaryEquality comparison) throws AdapterException {
+        final Optional<Comparison> normalized = Comparison.of(comparison);
+        if (normalized.isEmpty()) {
+            return Optional.empty();
+        }
+        final Comparison columnComparison = normalized.get();
+        final ScalarFunction function = columnComparison.function.getFunction();
+        if (function == ScalarFunction.YEAR) {
+            return rewriteYear(columnComparison);
+        } else if (FIXED_INTERVAL_UNITS.containsKey(function)) {
+            return rewriteAddition(columnComparison);
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    private Optional<String> rewriteYear(final Comparison comparison) throws AdapterException {
+        final Optional<Integer> year = getInteger(comparison.constant);
+        if (year.isEmpty() || (year.get() < 1) || (year.get() > MAX_YEAR)) {
+            return Optional.empty();
+        }
+        final String column = comparison.getColumn().accept(this.generator);
+        final String start = toDateLiteral(LocalDate.of(year.get(), 1, 1));
+        final String end = toDateLiteral(LocalDate.of(year.get() + 1, 1, 1));
+        switch (comparison.operator) {
+        case "=":
+            return Optional.of(createRange(column, start, end));
+        case "<":
+            return Optional.of(column + " < " + start);
+        case "<=":
+            return Optional.of(column + " < " + end);
+        case ">":
+            return Optional.of(column + " >= " + end);
+        default:
+            return Optional.of(column + " >= " + start);
+        }
+    }
+
+    /*
+     * Hours, minutes and seconds are added to a timestamptz as absolute time, so the constant is converted to a
+     * timestamptz before the interval is subtracted. Subtracting from the timestamp would use wall-clock time, which
+     * differs across a change of daylight saving time.
+     */
+    private Optional<String> rewriteAddition(final Comparison comparison) throws AdapterException {
+        final ScalarFunction function = comparison.function.getFunction();
+        final SqlNode amount = comparison.function.getArguments().get(1);
+        if (!((comparison.constant instanceof SqlLiteralDate) || (comparison.constant instanceof SqlLiteralTimestamp))
+                || !(amount instanceof SqlLiteralExactnumeric)) {
+            return Optional.empty();
+        }
+        final boolean timestampWithTimeZone = "timestamptz"
+                .equals(this.columnTypeReader.read(comparison.getColumn()));
+        if (timestampWithTimeZone && CALENDAR_DAY_FUNCTIONS.contains(function)) {
+            return Optional.empty();
+        }
+        final String constant = comparison.constant.accept(this.generator);
+        return Optional.of(comparison.getColumn().accept(this.generator) + " " + comparison.operator + " ("
+                + (timestampWithTimeZone ? "CAST(" + constant + " AS timestamptz)" : constant) + " - make_interval("
+                + FIXED_INTERVAL_UNITS.get(function) + " => " + amount.accept(this.generator) + "))");
+    }
+
+    /**
+     * Rewrite equalities of {@code YEAR}, {@code MONTH} and {@code DAY} of the same column in a conjunction into the
+     * range of a month or a day.
+     *
+     * @param conjunction conjunction of predicates
+     * @return conjunction with the range predicates or empty if it has no such equalities
+     * @throws AdapterException if generating SQL fails
+     */
+    Optional<String> rewrite(final SqlPredicateAnd conjunction) throws AdapterException {
+        final Map<String, Map<ScalarFunction, Comparison>> datePartsByColumn = new LinkedHashMap<>();
+        for (final SqlNode operand : conjunction.getAndedPredicates()) {
+            if (operand instanceof SqlPredicateEqual) {
+                final Optional<Comparison> comparison = Comparison.of((SqlPredicateEqual) operand);
+                if (comparison.isPresent() && getInteger(comparison.get().constant).isPresent()) {
+                    datePartsByColumn
+                            .computeIfAbsent(comparison.get().getColumn().accept(this.generator),
+                                    key -> new EnumMap<>(ScalarFunction.class))
+                            .putIfAbsent(comparison.get().function.getFunction(), comparison.get());
+                }
+            }
+        }
+        final Map<SqlNode, String> ranges = new HashMap<>();
+        final Set<SqlNode> replacedOperands = new HashSet<>();
+        for (final Map<ScalarFunction, Comparison> dateParts : datePartsByColumn.values()) {
+            final Optional<String> range = createDatePartRange(dateParts);
+            if (range.isPresent()) {
+                final List<Comparison> parts = getRangeParts(dateParts);
+                ranges.put(parts.get(0).predicate, range.get());
+                parts.forEach(part -> replacedOperands.add(part.predicate));
+            }
+        }
+        if (ranges.isEmpty()) {
+            return Optional.empty();
+        }
+        final StringJoiner operands = new StringJoiner(" AND ", "(", ")");
+        for (final SqlNode operand : conjunction.getAndedPredicates()) {
+            if (ranges.containsKey(operand)) {
+                operands.add(ranges.get(operand));
+            } else if (!replacedOperands.contains(operand)) {
+                operands.add(operand.accept(this.generator));
+            }
+        }
+        return Optional.of(operands.toString());
+    }
+
+    private static List<Comparison> getRangeParts(final Map<ScalarFunction, Comparison> dateParts) {
+        final List<Comparison> parts = new ArrayList<>(
+                List.of(dateParts.get(ScalarFunction.YEAR), dateParts.get(ScalarFunction.MONTH)));
+        if (dateParts.containsKey(ScalarFunction.DAY)) {
+            parts.add(dateParts.get(ScalarFunction.DAY));
+        }
+        return parts;
+    }
+
+    /*
+     * An impossible date, like the 30th of February, is left to PostgreSQL, where the condition is simply false.
+     */
+    private Optional<String> createDatePartRange(final Map<ScalarFunction, Comparison> dateParts)
+            throws AdapterException {
+        if (!dateParts.containsKey(ScalarFunction.YEAR) || !dateParts.containsKey(ScalarFunction.MONTH)) {
+            return Optional.empty();
+        }
+        final int year = getInteger(dateParts.get(ScalarFunction.YEAR).constant).get();
+        final int month = getInteger(dateParts.get(ScalarFunction.MONTH).constant).get();
+        final Comparison day = dateParts.get(ScalarFunction.DAY);
+        try {
+            if ((year < 1) || (year > MAX_YEAR)) {
+                return Optional.empty();
+            }
+            final LocalDate start = LocalDate.of(year, month, (day == null) ? 1 : getInteger(day.constant).get());
+            final LocalDate end = (day == null) ? start.plusMonths(1) : start.plusDays(1);
+            final String column = dateParts.get(ScalarFunction.YEAR).getColumn().accept(this.generator);
+            return Optional.of(createRange(column, toDateLiteral(start), toDateLiteral(end)));
+        } catch (final DateTimeException exception) {
+            return Optional.empty();
+        }
+    }
+
+    private static String createRange(final String column, final String start, final String end) {
+        return "(" + column + " >= " + start + " AND " + column + " < " + end + ")";
+    }
+
+    private String toDateLiteral(final LocalDate date) {
+        return "DATE " + this.dialect.getStringLiteral(date.toString());
+    }
+
+    private static Optional<Integer> getInteger(final SqlNode node) {
+        if (!(node instanceof SqlLiteralExactnumeric)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(((SqlLiteralExactnumeric) node).getValue().intValueExact());
+        } catch (final ArithmeticException exception) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Reader for the PostgreSQL type name of a column.
+     */
+    @FunctionalInterface
+    interface ColumnTypeReader {
+        /**
+         * Read the type name of a column.
+         *
+         * @param column column
+         * @return PostgreSQL type name
+         * @throws AdapterException if the type cannot be read
+         */
+        String read(SqlColumn column) throws AdapterException;
+    }
+
+    /**
+     * Comparison of a scalar function on a column with a constant, with the function on the left.
+     */
+    private static final class Comparison {
+        private static final Set<ScalarFunction> SUPPORTED_FUNCTIONS = Set.of(ScalarFunction.YEAR,
+                ScalarFunction.MONTH, ScalarFunction.DAY, ScalarFunction.ADD_DAYS, ScalarFunction.ADD_WEEKS,
+                ScalarFunction.ADD_HOURS, ScalarFunction.ADD_MINUTES, ScalarFunction.ADD_SECONDS);
+        private final SqlNode predicate;
+        private final SqlFunctionScalar function;
+        private final String operator;
+        private final SqlNode constant;
+
+        private Comparison(final SqlNode predicate, final SqlFunctionScalar function, final String operator,
+                final SqlNode constant) {
+            this.predicate = predicate;
+            this.function = function;
+            this.operator = operator;
+            this.constant = constant;
+        }
+
+        private static Optional<Comparison> of(final AbstractSqlBinaryEquality comparison) {
+            final String operator = getOperator(comparison);
+            if (operator == null) {
+                return Optional.empty();
+            } else if (isFunctionOfColumn(comparison.getLeft()) && isConstant(comparison.getRight())) {
+                return Optional.of(new Comparison(comparison, (SqlFunctionScalar) comparison.getLeft(), operator,
+                        comparison.getRight()));
+            } else if (isFunctionOfColumn(comparison.getRight()) && isConstant(comparison.getLeft())) {
+                return Optional.of(new Comparison(comparison, (SqlFunctionScalar) comparison.getRight(),
+                        operator.replace('<', '>'), comparison.getLeft()));
+            } else {
+                return Optional.empty();
+            }
+        }
+
+        private static String getOperator(final AbstractSqlBinaryEquality comparison) {
+            if (comparison instanceof SqlPredicateEqual) {
+                return "=";
+            } else if (comparison instanceof SqlPredicateLess) {
+                return "<";
+            } else if (comparison instanceof SqlPredicateLessEqual) {
+                return "<=";
+            } else {
+                return null;
+            }
+        }
+
+        private static boolean isFunctionOfColumn(final SqlNode node) {
+            return (node instanceof SqlFunctionScalar)
+                    && SUPPORTED_FUNCTIONS.contains(((SqlFunctionScalar) node).getFunction())
+                    && (((SqlFunctionScalar) node).getArguments().get(0) instanceof SqlColumn);
+        }
+
+        private static boolean isConstant(final SqlNode node) {
+            return (node instanceof SqlLiteralExactnumeric) || (node instanceof SqlLiteralDate)
+                    || (node instanceof SqlLiteralTimestamp);
+        }
+
+        private SqlColumn getColumn() {
+            return (SqlColumn) this.function.getArguments().get(0);
+        }
+    }
+}
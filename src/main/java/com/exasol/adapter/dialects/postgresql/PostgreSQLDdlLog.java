@@ -0,0 +1,161 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import java.sql.*;
+import java.util.*;
+import java.util.regex.Pattern;
+
+import com.exasol.adapter.AdapterProperties;
+import com.exasol.adapter.properties.PropertyValidationException;
+import com.exasol.adapter.properties.PropertyValidator;
+import com.exasol.errorreporting.ExaError;
+
+/**
+ * This class reads the log table that an event trigger in PostgreSQL fills with DDL events.
+ * <p>
+ * Each entry of the log has the ID of the transaction that wrote it and the OID of the relation the DDL command
+ * affected. Commands on indexes
+ * log the OID of the index, which is resolved to the indexed table. Entries without a relation stand for changes that
+ * can affect any table, like changes of data types or dropped indexes, whose table is no longer known. The installation
+ * of the log table and the event trigger is described in the user guide.
+ * </p>
+ * <p>
+ * The position in the log is the oldest transaction that was still running when the log was read, not the ID of the
+ * last entry. IDs from a sequence are assigned when an entry is inserted, so a long DDL transaction can commit an entry
+ * with a lower ID after entries with higher IDs were already read. All transactions that were still running are at or
+ * after the position, so their entries are read by the next refresh. Entries of transactions after the position that
+ * were already committed are read again, which only scans their relations once more.
+ * </p>
+ */
+public final class PostgreSQLDdlLog {
+    /** Name of adapter property with the qualified name of the DDL log table **/
+    public static final String PROPERTY = "POSTGRESQL_DDL_LOG_TABLE";
+    /*
+     * Oldest transaction that was running when the statement's snapshot was taken. Transactions that commit later all
+     * have this ID or a higher one.
+     */
+    private static final String POSITION = "pg_catalog.pg_snapshot_xmin(pg_catalog.pg_current_snapshot())"
+            + "::text::bigint";
+    private static final Pattern TABLE_NAME = Pattern.compile("(?:[a-z_][a-z0-9_$]*\\.)?[a-z_][a-z0-9_$]*");
+    private final long position;
+    private final Set<Long> changedRelations;
+    private final boolean typesChanged;
+
+    private PostgreSQLDdlLog(final long position, final Set<Long> changedRelations, final boolean typesChanged) {
+        this.position = position;
+        this.changedRelations = changedRelations;
+        this.typesChanged = typesChanged;
+    }
+
+    /**
+     * Check if the adapter reads a DDL log.
+     *
+     * @param properties user-defined adapter properties
+     * @return <code>true</code> if the DDL log table is configured
+     */
+    public static boolean isEnabled(final AdapterProperties properties) {
+        return properties.containsKey(PROPERTY);
+    }
+
+    /**
+     * Read the current position in the DDL log.
+     *
+     * @param connection connection to the PostgreSQL database
+     * @return ID of the oldest transaction that is still running
+     * @throws SQLException if reading the position fails
+     */
+    static long readPosition(final Connection connection) throws SQLException {
+        try (final Statement statement = connection.createStatement();
+                final ResultSet result = statement.executeQuery("SELECT " + POSITION)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    /**
+     * Read the changes logged after a given position.
+     * <p>
+     * Index OIDs logged by older versions of the event trigger are resolved to their tables here, as long as the index
+     * still exists.
+     * </p>
+     *
+     * @param connection connection to the PostgreSQL database
+     * @param properties user-defined adapter properties
+     * @param position   position returned by the last read of the log
+     * @return changes after the given position
+     * @throws SQLException if reading the log fails
+     */
+    static PostgreSQLDdlLog readSince(final Connection connection, final AdapterProperties properties,
+            final long position) throws SQLException {
+        final String sql = "SELECT " + POSITION + "," //
+                + " array_agg(DISTINCT coalesce(i.indrelid, l.relation)::bigint)" //
+                + " FILTER (WHERE l.relation IS NOT NULL)," //
+                + " coalesce(bool_or(l.relation IS NULL), false)" //
+                + " FROM " + properties.get(PROPERTY) + " l" //
+                + " LEFT JOIN pg_catalog.pg_index i ON i.indexrelid = l.relation" //
+                + " WHERE l.xact_id >= ?::text::xid8";
+        try (final PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, position);
+            try (final ResultSet result = statement.executeQuery()) {
+                result.next();
+                return new PostgreSQLDdlLog(result.getLong(1), readRelations(result.getArray(2)),
+                        result.getBoolean(3));
+            }
+        }
+    }
+
+    private static Set<Long> readRelations(final Array relations) throws SQLException {
+        if (relations == null) {
+            return Collections.emptySet();
+        } else {
+            final Set<Long> oids = new HashSet<>();
+            for (final Object oid : (Object[]) relations.getArray()) {
+                oids.add(((Number) oid).longValue());
+            }
+            return oids;
+        }
+    }
+
+    /**
+     * Get the position up to which the log was read.
+     *
+     * @return position in the log
+     */
+    long getPosition() {
+        return this.position;
+    }
+
+    /**
+     * Get the relations affected by the logged DDL commands.
+     *
+     * @return OIDs of the changed relations
+     */
+    Set<Long> getChangedRelations() {
+        return this.changedRelations;
+    }
+
+    /**
+     * Check if the log contains changes that can affect all tables, like changes of data types.
+     *
+     * @return <code>true</code> if a full scan is required
+     */
+    boolean requiresFullScan() {
+        return this.typesChanged;
+    }
+
+    /**
+     * @return validator for the adapter property with the DDL log table
+     */
+    public static PropertyValidator validator() {
+        return PropertyValidator.optional(PROPERTY, PostgreSQLDdlLog::validatePropertyValue);
+    }
+
+    private static void validatePropertyValue(final String value) throws PropertyValidationException {
+        if (!TABLE_NAME.matcher(value).matches()) {
+            throw new PropertyValidationException(ExaError.messageBuilder("E-VSPG-16") //
+                    .message("Invalid value {{value}} for property {{property}}.", value, PROPERTY) //
+                    .mitigation("Use the name of the log table, optionally qualified with its schema,"
+                            + " in lower case and without quotes.") //
+                    .toString());
+        }
+    }
+}
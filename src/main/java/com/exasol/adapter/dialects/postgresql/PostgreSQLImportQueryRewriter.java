@@ -0,0 +1,717 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import java.sql.*;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import com.exasol.ExaMetadata;
+import com.exasol.adapter.AdapterException;
+import com.exasol.adapter.AdapterProperties;
+import com.exasol.adapter.dialects.SqlDialect;
+import com.exasol.adapter.dialects.postgresql.PostgreSQLCitus.Shard;
+import com.exasol.adapter.dialects.postgresql.PostgreSQLPartitions.Partition;
+import com.exasol.adapter.dialects.rewriting.*;
+import com.exasol.adapter.jdbc.ConnectionFactory;
+import com.exasol.adapter.jdbc.RemoteMetadataReader;
+import com.exasol.adapter.metadata.DataType;
+import com.exasol.adapter.properties.DataTypeDetection;
+import com.exasol.adapter.sql.*;
+
+/**
+ * This class rewrites push-down queries into an IMPORT statement that can scan large tables in parallel slices.
+ * <p>
+ * Exasol runs the STATEMENT clauses of an IMPORT in parallel. If a query only projects and filters the rows of a single
+ * table that is larger than the configured minimum, the scan is split into ranges of the table's physical blocks,
+ * addressed by their {@code ctid}. PostgreSQL 14 and later reads such a range with a TID range scan, so each slice only
+ * reads its own blocks.
+ * </p>
+ * <p>
+ * Partitioned tables are instead split by their leaf partitions. Partitions that the filter excludes are pruned, and
+ * the remaining partitions are queried directly.
+ * </p>
+ * <p>
+ * Tables distributed with Citus are imported directly from the shards on the worker nodes, bypassing the coordinator.
+ * Equality and IN conditions on the distribution column restrict the import to the matching shards. All other queries
+ * are imported with a single statement.
+ * </p>
+ * <p>
+ * Unfiltered counts can be answered from the planner statistics, see {@link PostgreSQLApproximateCount}.
+ * </p>
+ * <p>
+ * If a budget or a minimum number of rows for slicing is configured, the rewriter first asks the PostgreSQL planner
+ * for an estimate of the result. See {@link PostgreSQLPushdownEstimate}.
+ * </p>
+ * <p>
+ * If Exasol does not send the data types of the result columns, the rewriter derives them from the statement where
+ * possible, so that the query does not need to be described on PostgreSQL. See {@link PostgreSQLResultTypes}.
+ * </p>
+ * <p>
+ * Rewritten statements can be cached across adapter calls, see {@link PostgreSQLPushdownCache}. Results of queries
+ * on tables can be materialized in Exasol and read locally while the tables are unchanged, see
+ * {@link PostgreSQLResultCache}.
+ * </p>
+ * <p>
+ * With partial aggregation switched on, aggregations on a single table are sliced as well. Each slice computes
+ * partial aggregates and an outer query combines them, see {@link PostgreSQLPartialAggregation}.
+ * </p>
+ * <p>
+ * If the binary COPY UDF is configured, the rewriter selects from the UDF instead of importing, with one input row per
+ * slice. See {@link PostgreSQLCopyUdf}.
+ * </p>
+ */
+final class PostgreSQLImportQueryRewriter extends ImportIntoTemporaryTableQueryRewriter {
+    private static final Logger LOGGER = Logger.getLogger(PostgreSQLImportQueryRewriter.class.getName());
+    static final int MINIMUM_SERVER_VERSION = 140000;
+    private static final String TABLE_SIZE_QUERY = "SELECT c.relpages, current_setting('server_version_num')::int,"
+            + " c.relkind FROM pg_catalog.pg_class c WHERE c.oid = to_regclass(?)";
+    /**
+     * Partitions and Citus shards can change without a refresh of the virtual schema, so statements that read them
+     * from the catalog are not cached.
+     */
+    private boolean cacheable = true;
+
+    /**
+     * Create a new instance of the {@link PostgreSQLImportQueryRewriter}.
+     *
+     * @param dialect              PostgreSQL SQL dialect
+     * @param remoteMetadataReader reader for the metadata of the remote data source
+     * @param connectionFactory    factory for the JDBC connection to the remote data source
+     */
+    PostgreSQLImportQueryRewriter(final SqlDialect dialect, final RemoteMetadataReader remoteMetadataReader,
+            final ConnectionFactory connectionFactory) {
+        super(dialect, remoteMetadataReader, connectionFactory);
+    }
+
+    @Override
+    public String rewrite(final SqlStatement statement, final List<DataType> selectListDataTypes,
+            final ExaMetadata exaMetadata, final AdapterProperties properties) throws AdapterException, SQLException {
+        if (PostgreSQLApproximateCount.isEnabled(properties)
+                && PostgreSQLApproximateCount.isUnfilteredCountStar(statement)) {
+            final Optional<String> countStatement = rewriteApproximateCount((SqlStatementSelect) statement,
+                    selectListDataTypes, properties);
+            if (countStatement.isPresent()) {
+                return countStatement.get();
+            }
+        }
+        if (PostgreSQLResultCache.isEnabled(properties) && (statement instanceof SqlStatementSelect)) {
+            final Optional<List<String>> tables = collectTables(((SqlStatementSelect) statement).getFromClause(),
+                    properties);
+            if (tables.isPresent()) {
+                return rewriteWithResultCache(statement, tables.get(), selectListDataTypes, exaMetadata, properties);
+            }
+        }
+        return rewriteWithPushdownCache(statement, selectListDataTypes, exaMetadata, properties);
+    }
+
+    /*
+     * The count is returned as a constant row of the type that Exasol expects for the select list.
+     */
+    private Optional<String> rewriteApproximateCount(final SqlStatementSelect select,
+            final List<DataType> selectListDataTypes, final AdapterProperties properties) throws SQLException {
+        final String qualifiedTableName = qualify((SqlTable) select.getFromClause(), this.dialect, properties);
+        final Optional<Long> rowCount = PostgreSQLApproximateCount
+                .readEstimatedRowCount(this.connectionFactory.getConnection(), qualifiedTableName);
+        if (rowCount.isEmpty()) {
+            LOGGER.fine(() -> "No row estimate for " + qualifiedTableName + ". Counting exactly.");
+            return Optional.empty();
+        }
+        final DataType type = selectListDataTypes.isEmpty() ? PostgreSQLResultTypes.derive(select).get().get(0)
+                : selectListDataTypes.get(0);
+        LOGGER.fine(() -> "Answering count of " + qualifiedTableName + " with estimate " + rowCount.get() + ".");
+        return Optional.of("SELECT CAST(" + rowCount.get() + " AS " + type + ")");
+    }
+
+    /*
+     * Only joins of tables are cached, so that the freshness token covers every relation the push-down reads.
+     */
+    private Optional<List<String>> collectTables(final SqlNode fromClause, final AdapterProperties properties) {
+        if (fromClause instanceof SqlTable) {
+            return Optional.of(List.of(qualify((SqlTable) fromClause, this.dialect, properties)));
+        } else if (fromClause instanceof SqlJoin) {
+            final Optional<List<String>> left = collectTables(((SqlJoin) fromClause).getLeft(), properties);
+            final Optional<List<String>> right = collectTables(((SqlJoin) fromClause).getRight(), properties);
+            if (left.isPresent() && right.isPresent()) {
+                final List<String> tables = new ArrayList<>(left.get());
+                tables.addAll(right.get());
+                return Optional.of(tables);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /*
+     * The freshness token is read before the result is imported, so that changes made during the import invalidate the
+     * cached result on the next push-down. If the cache table cannot be created, the push-down imports directly.
+     */
+    private String rewriteWithResultCache(final SqlStatement statement, final List<String> tables,
+            final List<DataType> selectListDataTypes, final ExaMetadata exaMetadata,
+            final AdapterProperties properties) throws AdapterException, SQLException {
+        final Optional<String> token = PostgreSQLResultCache.readFreshnessToken(this.connectionFactory.getConnection(),
+                tables);
+        if (token.isEmpty()) {
+            return rewriteWithPushdownCache(statement, selectListDataTypes, exaMetadata, properties);
+        }
+        final String key = PostgreSQLPushdownCache.createKey(selectListDataTypes, statement, properties);
+        final Optional<String> cacheTable = PostgreSQLResultCache.lookup(key, token.get(),
+                PostgreSQLResultCache.getTimeToLive(properties));
+        if (cacheTable.isPresent()) {
+            return "SELECT * FROM " + cacheTable.get();
+        }
+        final String rewrittenStatement = rewriteWithPushdownCache(statement, selectListDataTypes, exaMetadata,
+                properties);
+        try (final Connection exasolConnection = PostgreSQLResultCache.connect(exaMetadata, properties)) {
+            return "SELECT * FROM " + PostgreSQLResultCache.materialize(exasolConnection, key, token.get(),
+                    rewrittenStatement, properties);
+        } catch (final SQLException exception) {
+            LOGGER.warning(() -> "Unable to materialize push-down result in the result cache. Importing directly: "
+                    + exception.getMessage());
+            return rewrittenStatement;
+        }
+    }
+
+    /*
+     * A cached statement says nothing about the current size of the data, so the budget is checked before the lookup.
+     */
+    private String rewriteWithPushdownCache(final SqlStatement statement, final List<DataType> selectListDataTypes,
+            final ExaMetadata exaMetadata, final AdapterProperties properties) throws AdapterException, SQLException {
+        if (!PostgreSQLPushdownCache.isEnabled(properties)) {
+            return rewriteStatement(statement, estimate(statement, properties), selectListDataTypes, exaMetadata,
+                    properties);
+        }
+        final Optional<PostgreSQLPushdownEstimate> budgetEstimate = PostgreSQLPushdownEstimate.hasBudget(properties)
+                ? estimate(statement, properties)
+                : Optional.empty();
+        final PostgreSQLPushdownCache cache = PostgreSQLPushdownCache.get(properties);
+        final String key = PostgreSQLPushdownCache.createKey(selectListDataTypes, statement, properties);
+        final Optional<String> cachedStatement = cache.lookup(key);
+        if (cachedStatement.isPresent()) {
+            return cachedStatement.get();
+        }
+        final String rewrittenStatement = rewriteStatement(statement,
+                budgetEstimate.isPresent() ? budgetEstimate : estimate(statement, properties), selectListDataTypes,
+                exaMetadata, properties);
+        if (this.cacheable) {
+            cache.put(key, rewrittenStatement);
+        }
+        return rewrittenStatement;
+    }
+
+    private String rewriteStatement(final SqlStatement statement, final Optional<PostgreSQLPushdownEstimate> estimate,
+            final List<DataType> selectListDataTypes, final ExaMetadata exaMetadata, final AdapterProperties properties)
+            throws AdapterException, SQLException {
+        final List<DataType> dataTypes = selectListDataTypes.isEmpty() ? deriveDataTypes(statement)
+                : selectListDataTypes;
+        if (isRewritingEnabled(properties) && !dataTypes.isEmpty()
+                && (DataTypeDetection.from(properties).getStrategy() == DataTypeDetection.Strategy.EXASOL_CALCULATED)) {
+            final String columnsDescription = SqlGenerationHelper.createColumnsDescriptionFromDataTypes(dataTypes);
+            final List<Slice> slices = (statement instanceof SqlStatementSelect)
+                    ? createSlices((SqlStatementSelect) statement, estimate, properties)
+                    : List.of();
+            final Optional<String> aggregationStatement = (slices.isEmpty()
+                    && PostgreSQLPartialAggregation.isEnabled(properties) && (statement instanceof SqlStatementSelect))
+                            ? rewritePartialAggregation((SqlStatementSelect) statement, dataTypes, exaMetadata,
+                                    properties)
+                            : Optional.empty();
+            final Optional<String> rewrittenStatement;
+            if (aggregationStatement.isPresent()) {
+                rewrittenStatement = aggregationStatement;
+            } else if (PostgreSQLCopyUdf.isEnabled(properties) && properties.hasConnectionName()) {
+                rewrittenStatement = Optional.of(generateCopyStatement(columnsDescription, slices.isEmpty()
+                        ? List.of(new Slice(null, createPushdownQuery(statement, properties)))
+                        : slices, properties));
+            } else if (!slices.isEmpty()) {
+                rewrittenStatement = Optional
+                        .of(generateImportStatement(columnsDescription, slices, exaMetadata, properties));
+            } else {
+                rewrittenStatement = Optional.empty();
+            }
+            if (rewrittenStatement.isPresent()) {
+                LOGGER.finer(() -> "Rewritten push-down statement:\n" + rewrittenStatement.get());
+                return rewrittenStatement.get();
+            }
+        }
+        return super.rewrite(statement, dataTypes, exaMetadata, properties);
+    }
+
+    /*
+     * The planner estimates the rows of the aggregated result, which says nothing about the size of the scan, so the
+     * slices are created without the estimate.
+     */
+    private Optional<String> rewritePartialAggregation(final SqlStatementSelect select,
+            final List<DataType> dataTypes, final ExaMetadata exaMetadata, final AdapterProperties properties)
+            throws AdapterException, SQLException {
+        if (!TableScan.isSliceable(select, properties) || !PostgreSQLAggregateViews.from(properties)
+                .getViews(((SqlTable) select.getFromClause()).getName()).isEmpty()) {
+            return Optional.empty();
+        }
+        final SliceGenerator generator = new SliceGenerator(this.dialect, createContext(properties), properties);
+        final Optional<PostgreSQLPartialAggregation> aggregation = PostgreSQLPartialAggregation.from(select,
+                dataTypes, generator);
+        if (aggregation.isEmpty()) {
+            return Optional.empty();
+        }
+        final TableScan scan = TableScan.create(select, aggregation.get().getSelectList(),
+                aggregation.get().getGroupBy(), generator, this.dialect, properties);
+        final List<Slice> slices = createSlices(scan, Optional.empty(), properties);
+        if (slices.isEmpty()) {
+            return Optional.empty();
+        }
+        final String columnsDescription = SqlGenerationHelper
+                .createColumnsDescriptionFromDataTypes(aggregation.get().getPartialTypes());
+        final String partialStatement = (PostgreSQLCopyUdf.isEnabled(properties) && properties.hasConnectionName())
+                ? generateCopyStatement(columnsDescription, slices, properties)
+                : generateImportStatement(columnsDescription, slices, exaMetadata, properties);
+        LOGGER.fine(() -> "Aggregating " + scan.qualifiedTableName + " partially in " + slices.size() + " slices.");
+        return Optional.of(aggregation.get().combine(partialStatement));
+    }
+
+    /*
+     * The budget is checked before anything is imported, so that a query that is too large fails fast.
+     */
+    private Optional<PostgreSQLPushdownEstimate> estimate(final SqlStatement statement,
+            final AdapterProperties properties) throws AdapterException, SQLException {
+        if (!PostgreSQLPushdownEstimate.isEnabled(properties)) {
+            return Optional.empty();
+        }
+        final PostgreSQLPushdownEstimate estimate = PostgreSQLPushdownEstimate
+                .explain(this.connectionFactory.getConnection(), createPushdownQuery(statement, properties));
+        LOGGER.fine(() -> "Estimated push-down result: " + estimate + ".");
+        estimate.checkBudget(properties);
+        return Optional.of(estimate);
+    }
+
+    /*
+     * An empty list makes the base class describe the push-down query on PostgreSQL.
+     */
+    private static List<DataType> deriveDataTypes(final SqlStatement statement) {
+        final Optional<List<DataType>> dataTypes = PostgreSQLResultTypes.derive(statement);
+        if (dataTypes.isPresent()) {
+            LOGGER.finer(() -> "Derived import column types locally: " + dataTypes.get());
+            return dataTypes.get();
+        } else {
+            LOGGER.finer("Describing push-down query to determine import column types.");
+            return List.of();
+        }
+    }
+
+    private static boolean isRewritingEnabled(final AdapterProperties properties) {
+        return PostgreSQLCitus.isEnabled(properties) || PostgreSQLParallelImport.isEnabled(properties)
+                || PostgreSQLCopyUdf.isEnabled(properties);
+    }
+
+    private String createPushdownQuery(final SqlStatement statement, final AdapterProperties properties)
+            throws AdapterException {
+        return this.dialect.getSqlGenerator(createContext(properties)).generateSqlFor(statement);
+    }
+
+    private static SqlGenerationContext createContext(final AdapterProperties properties) {
+        return new SqlGenerationContext(properties.getCatalogName(), properties.getSchemaName(), false);
+    }
+
+    /*
+     * An empty list means that the query is imported with a single statement through the virtual schema's connection.
+     */
+    private List<Slice> createSlices(final SqlStatementSelect select,
+            final Optional<PostgreSQLPushdownEstimate> estimate, final AdapterProperties properties)
+            throws AdapterException, SQLException {
+        final Optional<TableScan> scan = TableScan.from(select, this.dialect, properties);
+        return scan.isEmpty() ? List.of() : createSlices(scan.get(), estimate, properties);
+    }
+
+    private List<Slice> createSlices(final TableScan scan, final Optional<PostgreSQLPushdownEstimate> estimate,
+            final AdapterProperties properties) throws SQLException {
+        if (PostgreSQLCitus.isEnabled(properties)) {
+            final List<Slice> shardSlices = createShardSlices(scan, properties);
+            if (!shardSlices.isEmpty()) {
+                return shardSlices;
+            }
+        }
+        if (PostgreSQLParallelImport.isEnabled(properties)
+                && estimate.map(rows -> rows.isWorthSplitting(properties)).orElse(true)) {
+            final List<Slice> slices = createTableSlices(scan, properties);
+            if (slices.size() > 1) {
+                return slices;
+            }
+        }
+        return List.of();
+    }
+
+    /*
+     * Exasol uses one connection per IMPORT, so the slices of each connection are imported by a separate IMPORT and
+     * the results are combined with UNION ALL.
+     */
+    private String generateImportStatement(final String columnsDescription, final List<Slice> slices,
+            final ExaMetadata exaMetadata, final AdapterProperties properties) throws AdapterException {
+        final Map<String, List<String>> queriesByConnection = new LinkedHashMap<>();
+        for (final Slice slice : slices) {
+            queriesByConnection.computeIfAbsent(slice.connectionName, key -> new ArrayList<>()).add(slice.query);
+        }
+        final List<String> imports = new ArrayList<>();
+        for (final Map.Entry<String, List<String>> entry : queriesByConnection.entrySet()) {
+            final String connectionDefinition = (entry.getKey() == null)
+                    ? this.connectionDefinitionBuilder.buildConnectionDefinition(properties,
+                            getConnectionInformation(exaMetadata, properties))
+                    : "AT " + entry.getKey();
+            imports.add(generateImportStatement(columnsDescription, connectionDefinition, entry.getValue()));
+        }
+        if (imports.size() == 1) {
+            return imports.get(0);
+        } else {
+            return imports.stream().map(importStatement -> "SELECT * FROM (" + importStatement + ")")
+                    .collect(Collectors.joining(" UNION ALL "));
+        }
+    }
+
+    private static String generateImportStatement(final String columnsDescription, final String connectionDefinition,
+            final List<String> queries) {
+        final StringBuilder builder = new StringBuilder("IMPORT INTO (").append(columnsDescription)
+                .append(") FROM JDBC ").append(connectionDefinition);
+        for (final String query : queries) {
+            builder.append(" STATEMENT ").append(toLiteral(query));
+        }
+        return builder.toString();
+    }
+
+    /*
+     * The UDF is a SET script, so grouping the input rows by slice lets Exasol run the slices on different nodes.
+     */
+    private static String generateCopyStatement(final String columnsDescription, final List<Slice> slices,
+            final AdapterProperties properties) {
+        final StringJoiner rows = new StringJoiner(", ");
+        for (int index = 0; index < slices.size(); ++index) {
+            final Slice slice = slices.get(index);
+            rows.add("(" + (index + 1) + ", "
+                    + toLiteral((slice.connectionName == null) ? properties.getConnectionName() : slice.connectionName)
+                    + ", " + toLiteral(slice.query) + ")");
+        }
+        return "SELECT " + PostgreSQLCopyUdf.getScriptName(properties) + "(CONNECTION_NAME, PUSHDOWN_QUERY) EMITS ("
+                + columnsDescription + ") FROM VALUES " + rows
+                + " AS SLICES(SLICE_ID, CONNECTION_NAME, PUSHDOWN_QUERY) GROUP BY SLICE_ID";
+    }
+
+    private static String toLiteral(final String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+
+    private List<Slice> createShardSlices(final TableScan scan, final AdapterProperties properties)
+            throws SQLException {
+        final Connection connection = this.connectionFactory.getConnection();
+        final Optional<String> distributionColumn = PostgreSQLCitus.readDistributionColumn(connection,
+                scan.qualifiedTableName);
+        if (distributionColumn.isEmpty()) {
+            return List.of();
+        }
+        this.cacheable = false;
+        final List<Shard> shards = selectShards(connection, scan, quote(distributionColumn.get()));
+        final Map<String, String> workerConnections = PostgreSQLCitus.getWorkerConnections(properties);
+        final List<Slice> slices = new ArrayList<>(shards.size());
+        for (final Shard shard : shards) {
+            final String workerConnection = workerConnections.get(shard.getWorker());
+            if (workerConnection == null) {
+                LOGGER.warning(() -> "No connection configured for Citus worker " + shard.getWorker()
+                        + ". Importing " + scan.qualifiedTableName + " through the coordinator.");
+                return List.of();
+            }
+            slices.add(new Slice(workerConnection, scan.createQuery(shard.getName())));
+        }
+        LOGGER.fine(() -> "Importing " + scan.qualifiedTableName + " from " + shards.size() + " Citus shards.");
+        return slices;
+    }
+
+    private List<Shard> selectShards(final Connection connection, final TableScan scan,
+            final String distributionColumn) throws SQLException {
+        final List<Shard> shards = PostgreSQLCitus.readShards(connection, scan.qualifiedTableName);
+        final Optional<List<String>> values = findDistributionValues(scan.filterNode, distributionColumn);
+        if (values.isEmpty()) {
+            return shards;
+        }
+        final Set<Long> shardIds = PostgreSQLCitus.readShardIds(connection, scan.qualifiedTableName, values.get());
+        return shards.stream().filter(shard -> shardIds.contains(shard.getId())).collect(Collectors.toList());
+    }
+
+    /*
+     * Only conditions that must hold for every row can route the query to shards, so the search does not descend into
+     * OR or NOT.
+     */
+    private Optional<List<String>> findDistributionValues(final SqlNode filter, final String distributionColumn) {
+        if (filter instanceof SqlPredicateAnd) {
+            for (final SqlNode operand : ((SqlPredicateAnd) filter).getAndedPredicates()) {
+                final Optional<List<String>> values = findDistributionValues(operand, distributionColumn);
+                if (values.isPresent()) {
+                    return values;
+                }
+            }
+        } else if (filter instanceof SqlPredicateEqual) {
+            final SqlPredicateEqual equal = (SqlPredicateEqual) filter;
+            if (isColumn(equal.getLeft(), distributionColumn)) {
+                return getLiteralValues(List.of(equal.getRight()));
+            } else if (isColumn(equal.getRight(), distributionColumn)) {
+                return getLiteralValues(List.of(equal.getLeft()));
+            }
+        } else if ((filter instanceof SqlPredicateInConstList)
+                && isColumn(((SqlPredicateInConstList) filter).getExpression(), distributionColumn)) {
+            return getLiteralValues(((SqlPredicateInConstList) filter).getInArguments());
+        }
+        return Optional.empty();
+    }
+
+    private boolean isColumn(final SqlNode node, final String quotedColumnName) {
+        return (node instanceof SqlColumn) && this.dialect.applyQuote(((SqlColumn) node).getName())
+                .equals(quotedColumnName);
+    }
+
+    private static Optional<List<String>> getLiteralValues(final List<SqlNode> nodes) {
+        final List<String> values = new ArrayList<>(nodes.size());
+        for (final SqlNode node : nodes) {
+            if (node instanceof SqlLiteralExactnumeric) {
+                values.add(((SqlLiteralExactnumeric) node).getValue().toPlainString());
+            } else if (node instanceof SqlLiteralString) {
+                values.add(((SqlLiteralString) node).getValue());
+            } else if (node instanceof SqlLiteralDate) {
+                values.add(((SqlLiteralDate) node).getValue());
+            } else {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(values);
+    }
+
+    private List<Slice> createTableSlices(final TableScan scan, final AdapterProperties properties)
+            throws SQLException {
+        final TableSize size = readTableSize(scan.qualifiedTableName);
+        if (size.isPartitioned()) {
+            return createPartitionSlices(scan, properties);
+        } else if (size.supportsBlockRanges() && (size.pages >= 2)
+                && (size.pages >= PostgreSQLParallelImport.getMinimumPages(properties))) {
+            final String prefix = "SELECT " + scan.selectList + " FROM " + scan.fromClause + " WHERE ";
+            final String suffix = ((scan.filter == null) ? "" : " AND (" + scan.filter + ")")
+                    + ((scan.groupBy == null) ? "" : " GROUP BY " + scan.groupBy);
+            return createBlockRanges(size.pages, PostgreSQLParallelImport.getSlices(properties)).stream() //
+                    .map(blockRange -> new Slice(null, prefix + blockRange + suffix)) //
+                    .collect(Collectors.toList());
+        } else {
+            return List.of();
+        }
+    }
+
+    /*
+     * If there are more partitions than slices, a slice reads several partitions with UNION ALL.
+     */
+    private List<Slice> createPartitionSlices(final TableScan scan, final AdapterProperties properties)
+            throws SQLException {
+        this.cacheable = false;
+        final Connection connection = this.connectionFactory.getConnection();
+        final List<Partition> leafPartitions = PostgreSQLPartitions.readLeafPartitions(connection,
+                scan.qualifiedTableName);
+        final List<Partition> partitions = ((scan.filter != null) && (leafPartitions.size() > 1))
+                ? PostgreSQLPartitions.prune(connection, leafPartitions,
+                        "SELECT 1 FROM " + scan.fromClause + " WHERE " + scan.filter)
+                : leafPartitions;
+        LOGGER.fine(() -> "Importing " + scan.qualifiedTableName + " from " + partitions.size() + " of "
+                + leafPartitions.size() + " partitions.");
+        final List<Slice> slices = new ArrayList<>();
+        for (final List<Partition> slicePartitions : PostgreSQLPartitions.distribute(partitions,
+                PostgreSQLParallelImport.getSlices(properties))) {
+            slices.add(new Slice(null, slicePartitions.stream() //
+                    .map(partition -> scan.createQuery(quote(partition.getSchema()) + "." + quote(partition.getName())))
+                    .collect(Collectors.joining(" UNION ALL "))));
+        }
+        return slices;
+    }
+
+    private static String qualify(final SqlTable table, final SqlDialect dialect, final AdapterProperties properties) {
+        final String schemaName = properties.getSchemaName();
+        final String tableName = dialect.applyQuote(table.getName());
+        return ((schemaName == null) || schemaName.isEmpty()) //
+                ? tableName
+                : dialect.applyQuote(schemaName) + "." + tableName;
+    }
+
+    private static String quote(final String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    private TableSize readTableSize(final String qualifiedTableName) throws SQLException {
+        try (final PreparedStatement statement = this.connectionFactory.getConnection()
+                .prepareStatement(TABLE_SIZE_QUERY)) {
+            statement.setString(1, qualifiedTableName);
+            try (final ResultSet result = statement.executeQuery()) {
+                if (result.next()) {
+                    return new TableSize(result.getLong(1), result.getInt(2), result.getString(3));
+                } else {
+                    return new TableSize(0, 0, null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Split the blocks of a table into contiguous ranges of about the same size.
+     * <p>
+     * The first range is open at the bottom and the last range is open at the top, so that blocks added after the size
+     * of the table was estimated are still read.
+     * </p>
+     *
+     * @param pages  estimated number of blocks of the table, at least two
+     * @param slices maximum number of ranges
+     * @return conditions on the {@code ctid} that select the ranges
+     */
+    static List<String> createBlockRanges(final long pages, final int slices) {
+        final int rangeCount = (int) Math.min(slices, pages);
+        final List<String> ranges = new ArrayList<>(rangeCount);
+        for (int range = 0; range < rangeCount; ++range) {
+            final long firstBlock = (pages * range) / rangeCount;
+            final long endBlock = (pages * (range + 1)) / rangeCount;
+            if (range == 0) {
+                ranges.add("ctid < " + tid(endBlock));
+            } else if (range == (rangeCount - 1)) {
+                ranges.add("ctid >= " + tid(firstBlock));
+            } else {
+                ranges.add("ctid >= " + tid(firstBlock) + " AND ctid < " + tid(endBlock));
+            }
+        }
+        return ranges;
+    }
+
+    private static String tid(final long block) {
+        return "'(" + block + ",0)'::tid";
+    }
+
+    /**
+     * Query that projects and filters the rows of a single table, optionally grouping them.
+     */
+    private static final class TableScan {
+        private final String qualifiedTableName;
+        private final String tableAlias;
+        private final String selectList;
+        private final String fromClause;
+        private final SqlNode filterNode;
+        private final String filter;
+        private final String groupBy;
+
+        private TableScan(final String qualifiedTableName, final String tableAlias, final String selectList,
+                final String fromClause, final SqlNode filterNode, final String filter, final String groupBy) {
+            this.qualifiedTableName = qualifiedTableName;
+            this.tableAlias = tableAlias;
+            this.selectList = selectList;
+            this.fromClause = fromClause;
+            this.filterNode = filterNode;
+            this.filter = filter;
+            this.groupBy = groupBy;
+        }
+
+        private static Optional<TableScan> from(final SqlStatementSelect select, final SqlDialect dialect,
+                final AdapterProperties properties) throws AdapterException {
+            if (!isSliceable(select, properties) || select.hasGroupBy()) {
+                return Optional.empty();
+            }
+            final SliceGenerator generator = new SliceGenerator(dialect, createContext(properties), properties);
+            final String selectList = select.getSelectList().accept(generator);
+            if (generator.hasAggregate) {
+                return Optional.empty();
+            }
+            return Optional.of(create(select, selectList, null, generator, dialect, properties));
+        }
+
+        /*
+         * Having, ordering and limits apply to the complete result and cannot be computed per slice.
+         */
+        private static boolean isSliceable(final SqlStatementSelect select, final AdapterProperties properties) {
+            if (!(select.getFromClause() instanceof SqlTable) || select.hasHaving() || select.hasOrderBy()
+                    || select.hasLimit()) {
+                return false;
+            }
+            final SqlTable table = (SqlTable) select.getFromClause();
+            return PostgreSQLTableSample.from(properties).getClause(table.getName(), table.getMetadata()).isEmpty();
+        }
+
+        private static TableScan create(final SqlStatementSelect select, final String selectList,
+                final String groupBy, final SliceGenerator generator, final SqlDialect dialect,
+                final AdapterProperties properties) throws AdapterException {
+            final SqlTable table = (SqlTable) select.getFromClause();
+            return new TableScan(qualify(table, dialect, properties),
+                    dialect.applyQuote(table.hasAlias() ? table.getAlias() : table.getName()), selectList,
+                    table.accept(generator), select.getWhereClause(),
+                    select.hasFilter() ? select.getWhereClause().accept(generator) : null, groupBy);
+        }
+
+        /*
+         * The relation is queried under the name or alias of the original table, so that qualified column references
+         * stay valid.
+         */
+        private String createQuery(final String relation) {
+            return "SELECT " + this.selectList + " FROM " + relation + " " + this.tableAlias
+                    + ((this.filter == null) ? "" : " WHERE " + this.filter)
+                    + ((this.groupBy == null) ? "" : " GROUP BY " + this.groupBy);
+        }
+    }
+
+    /**
+     * Query that reads a part of the result through an Exasol connection.
+     */
+    private static final class Slice {
+        /** Name of the Exasol connection or <code>null</code> for the connection of the virtual schema */
+        private final String connectionName;
+        private final String query;
+
+        private Slice(final String connectionName, final String query) {
+            this.connectionName = connectionName;
+            this.query = query;
+        }
+    }
+
+    private static final class TableSize {
+        private final long pages;
+        private final int serverVersion;
+        private final String kind;
+
+        private TableSize(final long pages, final int serverVersion, final String kind) {
+            this.pages = pages;
+            this.serverVersion = serverVersion;
+            this.kind = kind;
+        }
+
+        private boolean isPartitioned() {
+            return "p".equals(this.kind) && (this.serverVersion >= PostgreSQLPartitions.MINIMUM_SERVER_VERSION);
+        }
+
+        /*
+         * Servers that cannot read ctid ranges efficiently would scan the whole table for each slice.
+         */
+        private boolean supportsBlockRanges() {
+            return "r".equals(this.kind) && (this.serverVersion >= MINIMUM_SERVER_VERSION);
+        }
+    }
+
+    /**
+     * This generator additionally records if the generated SQL contains aggregate functions, which cannot be computed
+     * per slice.
+     */
+    private static final class SliceGenerator extends PostgresSQLSqlGenerationVisitor {
+        private boolean hasAggregate = false;
+
+        private SliceGenerator(final SqlDialect dialect, final SqlGenerationContext context,
+                final AdapterProperties properties) {
+            super(dialect, context, properties);
+        }
+
+        @Override
+        public String visit(final SqlFunctionAggregate function) throws AdapterException {
+            this.hasAggregate = true;
+            return super.visit(function);
+        }
+
+        @Override
+        public String visit(final SqlFunctionAggregateGroupConcat function) throws AdapterException {
+            this.hasAggregate = true;
+            return super.visit(function);
+        }
+
+        @Override
+        public String visit(final SqlFunctionAggregateListagg function) throws AdapterException {
+            this.hasAggregate = true;
+            return super.visit(function);
+        }
+    }
+}
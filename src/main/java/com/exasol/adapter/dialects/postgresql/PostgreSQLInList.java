@@ -0,0 +1,186 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import com.exasol.adapter.AdapterException;
+import com.exasol.adapter.AdapterProperties;
+import com.exasol.adapter.dialects.SqlDialect;
+import com.exasol.adapter.properties.PropertyValidationException;
+import com.exasol.adapter.properties.PropertyValidator;
+import com.exasol.adapter.sql.*;
+import com.exasol.errorreporting.ExaError;
+
+/**
+ * This class renders long {@code IN} lists of constants in a form that PostgreSQL parses and plans faster.
+ * <p>
+ * Filters from BI tools can contain thousands of constants. PostgreSQL parses each constant of an {@code IN} list as a
+ * separate expression. A list above the array threshold is therefore rendered as {@code = ANY('{...}'::type[])} with a
+ * single array literal of the column's type, so that indexes on the column stay usable. A list above the values
+ * threshold is rendered as {@code IN (VALUES ...)}, which the planner turns into a hashed semi-join.
+ * </p>
+ * <p>
+ * Only lists that compare a column of a supported type with literals of the matching kind are rewritten. All other
+ * lists keep the plain {@code IN} form. Both forms treat {@code NULL} in the same way as the plain list.
+ * </p>
+ * <p>
+ * Both rewrites are opt-in. A list is only rewritten if the property with the threshold of the form is set.
+ * </p>
+ */
+public final class PostgreSQLInList {
+    /** Name of adapter property with the minimum number of constants rendered as an array **/
+    public static final String ARRAY_MIN_SIZE_PROPERTY = "POSTGRESQL_IN_LIST_ARRAY_MIN_SIZE";
+    /** Name of adapter property with the minimum number of constants rendered as a {@code VALUES} list **/
+    public static final String VALUES_MIN_SIZE_PROPERTY = "POSTGRESQL_IN_LIST_VALUES_MIN_SIZE";
+    private static final int DISABLED = Integer.MAX_VALUE;
+    private static final Map<String, BigDecimal[]> INTEGER_RANGES = Map.of( //
+            "int2", createRange(Short.MIN_VALUE, Short.MAX_VALUE), //
+            "int4", createRange(Integer.MIN_VALUE, Integer.MAX_VALUE), //
+            "int8", createRange(Long.MIN_VALUE, Long.MAX_VALUE));
+    /*
+     * The metadata reader names sequence-backed columns after their pseudo-type, which cannot be used in a cast.
+     */
+    private static final Map<String, String> SERIAL_TYPES = Map.of("smallserial", "int2", "serial", "int4",
+            "bigserial", "int8");
+    /*
+     * float4 is missing on purpose: the plain list compares the column as float8 with the constant, while the array
+     * rounds the constant to float4 and so matches rows the plain list does not.
+     */
+    private static final Set<String> NUMERIC_TYPES = Set.of("numeric", "float8");
+    private static final Set<String> STRING_TYPES = Set.of("text", "varchar", "bpchar", "uuid");
+    private final int arrayMinSize;
+    private final int valuesMinSize;
+
+    private PostgreSQLInList(final int arrayMinSize, final int valuesMinSize) {
+        this.arrayMinSize = arrayMinSize;
+        this.valuesMinSize = valuesMinSize;
+    }
+
+    /**
+     * Read the thresholds from adapter properties.
+     *
+     * @param properties user-defined adapter properties
+     * @return rendering of {@code IN} lists
+     */
+    public static PostgreSQLInList from(final AdapterProperties properties) {
+        return new PostgreSQLInList(getSize(properties, ARRAY_MIN_SIZE_PROPERTY),
+                getSize(properties, VALUES_MIN_SIZE_PROPERTY));
+    }
+
+    private static int getSize(final AdapterProperties properties, final String property) {
+        return properties.containsKey(property) ? Integer.parseInt(properties.get(property)) : DISABLED;
+    }
+
+    private static BigDecimal[] createRange(final long min, final long max) {
+        return new BigDecimal[] { BigDecimal.valueOf(min), BigDecimal.valueOf(max) };
+    }
+
+    /**
+     * Check if an {@code IN} list is long enough to be rewritten.
+     *
+     * @param predicate {@code IN} predicate
+     * @return <code>true</code> if the list reaches one of the thresholds
+     */
+    boolean isLong(final SqlPredicateInConstList predicate) {
+        return predicate.getInArguments().size() >= Math.min(this.arrayMinSize, this.valuesMinSize);
+    }
+
+    /**
+     * Render a long {@code IN} list of constants.
+     *
+     * @param predicate      {@code IN} predicate
+     * @param columnTypeName PostgreSQL type of the compared column
+     * @param generator      generator for the SQL of the expression and the constants
+     * @param dialect        SQL dialect
+     * @return rendered predicate or empty if the list keeps the plain {@code IN} form
+     * @throws AdapterException if generating SQL fails
+     */
+    Optional<String> render(final SqlPredicateInConstList predicate, final String columnTypeName,
+            final SqlNodeVisitor<String> generator, final SqlDialect dialect) throws AdapterException {
+        final String typeName = SERIAL_TYPES.getOrDefault(columnTypeName, columnTypeName);
+        final List<SqlNode> arguments = predicate.getInArguments();
+        if (!arguments.stream().allMatch(argument -> matchesType(argument, typeName))) {
+            return Optional.empty();
+        }
+        final String expression = predicate.getExpression().accept(generator);
+        if (arguments.size() >= this.valuesMinSize) {
+            final StringJoiner rows = new StringJoiner(", ", expression + " IN (VALUES ", ")");
+            rows.add("(CAST(" + arguments.get(0).accept(generator) + " AS " + typeName + "))");
+            for (final SqlNode argument : arguments.subList(1, arguments.size())) {
+                rows.add("(" + argument.accept(generator) + ")");
+            }
+            return Optional.of(rows.toString());
+        }
+        final StringJoiner elements = new StringJoiner(",", "{", "}");
+        for (final SqlNode argument : arguments) {
+            elements.add(createArrayElement(argument));
+        }
+        return Optional.of(expression + " = ANY(" + dialect.getStringLiteral(elements.toString()) + "::" + typeName
+                + "[])");
+    }
+
+    /*
+     * Integer columns only get integral constants within the range of the type. The cast of the array or of the first
+     * VALUES row would fail on a fraction or on a constant out of range, where the plain list would simply not match.
+     */
+    private static boolean matchesType(final SqlNode argument, final String typeName) {
+        if (INTEGER_RANGES.containsKey(typeName)) {
+            return (argument instanceof SqlLiteralExactnumeric)
+                    && isIntegerInRange(((SqlLiteralExactnumeric) argument).getValue(), INTEGER_RANGES.get(typeName));
+        } else if (NUMERIC_TYPES.contains(typeName)) {
+            return (argument instanceof SqlLiteralExactnumeric) || (argument instanceof SqlLiteralDouble);
+        } else if (STRING_TYPES.contains(typeName)) {
+            return argument instanceof SqlLiteralString;
+        } else if ("date".equals(typeName)) {
+            return argument instanceof SqlLiteralDate;
+        } else {
+            return false;
+        }
+    }
+
+    private static boolean isIntegerInRange(final BigDecimal value, final BigDecimal[] range) {
+        return (value.stripTrailingZeros().scale() <= 0) && (value.compareTo(range[0]) >= 0)
+                && (value.compareTo(range[1]) <= 0);
+    }
+
+    private static String createArrayElement(final SqlNode argument) {
+        if (argument instanceof SqlLiteralExactnumeric) {
+            return ((SqlLiteralExactnumeric) argument).getValue().toPlainString();
+        } else if (argument instanceof SqlLiteralDouble) {
+            return BigDecimal.valueOf(((SqlLiteralDouble) argument).getValue()).toString();
+        } else if (argument instanceof SqlLiteralDate) {
+            return quoteArrayElement(((SqlLiteralDate) argument).getValue());
+        } else {
+            return quoteArrayElement(((SqlLiteralString) argument).getValue());
+        }
+    }
+
+    private static String quoteArrayElement(final String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    /**
+     * @return validator for the adapter properties with the thresholds
+     */
+    public static PropertyValidator validator() {
+        return PropertyValidator.chain() //
+                .add(PropertyValidator.optional(ARRAY_MIN_SIZE_PROPERTY,
+                        value -> validateSize(ARRAY_MIN_SIZE_PROPERTY, value)))
+                .add(PropertyValidator.optional(VALUES_MIN_SIZE_PROPERTY,
+                        value -> validateSize(VALUES_MIN_SIZE_PROPERTY, value)));
+    }
+
+    private static void validateSize(final String property, final String value) throws PropertyValidationException {
+        try {
+            if (Integer.parseInt(value) >= 2) {
+                return;
+            }
+        } catch (final NumberFormatException exception) {
+            // reported below
+        }
+        throw new PropertyValidationException(ExaError.messageBuilder("E-VSPG-35") //
+                .message("Invalid value {{value}} for property {{property}}.", value, property) //
+                .mitigation("Use an integer of at least 2.") //
+                .toString());
+    }
+}
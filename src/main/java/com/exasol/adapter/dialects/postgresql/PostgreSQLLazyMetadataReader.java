@@ -0,0 +1,86 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import com.exasol.adapter.adapternotes.SchemaAdapterNotes;
+import com.exasol.adapter.jdbc.*;
+import com.exasol.adapter.metadata.SchemaMetadata;
+
+/**
+ * This class defers creating the actual remote metadata reader until its first use.
+ * <p>
+ * Creating the {@link PostgreSQLMetadataReader} requires a connection to PostgreSQL. Most push-down requests never use
+ * the metadata reader, so they do not need to pay for establishing that connection.
+ * </p>
+ */
+final class PostgreSQLLazyMetadataReader implements RemoteMetadataReader {
+    private final Supplier<RemoteMetadataReader> factory;
+    private RemoteMetadataReader delegate;
+
+    /**
+     * Create a new instance of the {@link PostgreSQLLazyMetadataReader}.
+     *
+     * @param factory factory that creates the actual remote metadata reader
+     */
+    PostgreSQLLazyMetadataReader(final Supplier<RemoteMetadataReader> factory) {
+        this.factory = factory;
+    }
+
+    private synchronized RemoteMetadataReader getDelegate() {
+        if (this.delegate == null) {
+            this.delegate = this.factory.get();
+        }
+        return this.delegate;
+    }
+
+    /**
+     * Check whether the actual remote metadata reader was created.
+     *
+     * @return <code>true</code> if the remote metadata reader was already used
+     */
+    synchronized boolean isInitialized() {
+        return this.delegate != null;
+    }
+
+    @Override
+    public String getCatalogNameFilter() {
+        return getDelegate().getCatalogNameFilter();
+    }
+
+    @Override
+    public String getSchemaNameFilter() {
+        return getDelegate().getSchemaNameFilter();
+    }
+
+    @Override
+    public SchemaMetadata readRemoteSchemaMetadata() {
+        return getDelegate().readRemoteSchemaMetadata();
+    }
+
+    @Override
+    public SchemaMetadata readRemoteSchemaMetadata(final List<String> tables) {
+        return getDelegate().readRemoteSchemaMetadata(tables);
+    }
+
+    @Override
+    public SchemaAdapterNotes getSchemaAdapterNotes() {
+        return getDelegate().getSchemaAdapterNotes();
+    }
+
+    @Override
+    public ColumnMetadataReader getColumnMetadataReader() {
+        return getDelegate().getColumnMetadataReader();
+    }
+
+    @Override
+    public TableMetadataReader getTableMetadataReader() {
+        return getDelegate().getTableMetadataReader();
+    }
+
+    @Override
+    public Set<String> getSupportedTableTypes() {
+        return getDelegate().getSupportedTableTypes();
+    }
+}
@@ -0,0 +1,57 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import com.exasol.adapter.AdapterProperties;
+import com.exasol.adapter.properties.PropertyValidationException;
+import com.exasol.adapter.properties.PropertyValidator;
+import com.exasol.errorreporting.ExaError;
+
+/**
+ * This class defines how many connections the adapter may use in parallel for reading the column metadata.
+ */
+public final class PostgreSQLMetadataConnections {
+    /** Name of adapter property controlling the number of connections used for reading metadata **/
+    public static final String PROPERTY = "POSTGRESQL_METADATA_CONNECTIONS";
+    static final int DEFAULT = 1;
+    static final int MAXIMUM = 16;
+
+    private PostgreSQLMetadataConnections() {
+        // prevent instantiation
+    }
+
+    /**
+     * Read the number of metadata connections from adapter properties.
+     *
+     * @param properties adapter properties to read the number of connections from
+     * @return number of connections from properties or default value
+     */
+    public static int from(final AdapterProperties properties) {
+        return properties.containsKey(PROPERTY) //
+                ? Integer.parseInt(properties.get(PROPERTY))
+                : DEFAULT;
+    }
+
+    /**
+     * @return validator for adapter property controlling the number of metadata connections
+     */
+    public static PropertyValidator validator() {
+        return PropertyValidator.optional(PROPERTY, PostgreSQLMetadataConnections::validatePropertyValue);
+    }
+
+    private static void validatePropertyValue(final String value) throws PropertyValidationException {
+        if (!isInRange(value)) {
+            throw new PropertyValidationException(ExaError.messageBuilder("E-VSPG-12") //
+                    .message("Invalid value {{value}} for property {{property}}.", value, PROPERTY) //
+                    .mitigation("Use an integer between 1 and {{maximum}}.", MAXIMUM) //
+                    .toString());
+        }
+    }
+
+    private static boolean isInRange(final String value) {
+        try {
+            final int connections = Integer.parseInt(value);
+            return (connections >= 1) && (connections <= MAXIMUM);
+        } catch (final NumberFormatException exception) {
+            return false;
+        }
+    }
+}
@@ -1,16 +1,44 @@
 package com.exasol.adapter.dialects.postgresql;
 
-import java.sql.Connection;
+import java.sql.*;
+import java.util.*;
+import java.util.logging.Logger;
 
 import com.exasol.ExaMetadata;
 import com.exasol.adapter.AdapterProperties;
+import com.exasol.adapter.adapternotes.SchemaAdapterNotesJsonConverter;
 import com.exasol.adapter.dialects.IdentifierConverter;
 import com.exasol.adapter.jdbc.*;
+import com.exasol.adapter.metadata.SchemaMetadata;
+import com.exasol.adapter.metadata.TableMetadata;
+import com.exasol.errorreporting.ExaError;
 
 /**
  * This class implements a reader for PostgreSQL-specific metadata.
+ * <p>
+ * The reader lists the tables of the schema with a query on the PostgreSQL system catalog instead of using
+ * {@link DatabaseMetaData}. Together with the {@link PostgreSQLColumnMetadataReader} reading the columns of all tables
+ * at once, this keeps the number of round trips to the database independent of the number of tables. On a refresh
+ * only the tables whose fingerprint changed since the last scan are mapped again.
+ * </p>
+ * <p>
+ * The catalog is read inside a read-only transaction, because the PostgreSQL JDBC driver only fetches results in
+ * batches instead of buffering them completely when auto-commit is off. Tables and columns are streamed side by side,
+ * so that the memory needed for reading very large schemas is bounded by the size of the mapped metadata.
+ * </p>
+ * <p>
+ * If the adapter property {@value PostgreSQLDdlLog#PROPERTY} is set, a refresh reads the DDL log written by an event
+ * trigger in PostgreSQL and scans only the relations changed since the last scan.
+ * </p>
  */
 public class PostgreSQLMetadataReader extends AbstractRemoteMetadataReader {
+    private static final Logger LOGGER = Logger.getLogger(PostgreSQLMetadataReader.class.getName());
+    /*
+     * Initialized lazily because the superclass constructor already creates the table and column metadata readers that
+     * need to share the cache. The field must therefore not have an initializer.
+     */
+    private PostgreSQLTableMetadataCache tableMetadataCache;
+
     /**
      * Create a new instance of the {@link PostgreSQLMetadataReader}.
      *
@@ -25,17 +53,100 @@ public class PostgreSQLMetadataReader extends AbstractRemoteMetadataReader {
     @Override
     public BaseTableMetadataReader createTableMetadataReader() {
         return new PostgreSQLTableMetadataReader(this.connection, getColumnMetadataReader(), this.properties,
-                this.exaMetadata, getIdentifierConverter());
+                this.exaMetadata, getIdentifierConverter(), getTableMetadataCache());
     }
 
     @Override
     public ColumnMetadataReader createColumnMetadataReader() {
         return new PostgreSQLColumnMetadataReader(this.connection, this.properties, exaMetadata,
-                getIdentifierConverter());
+                getIdentifierConverter(), getTableMetadataCache());
+    }
+
+    private PostgreSQLTableMetadataCache getTableMetadataCache() {
+        if (this.tableMetadataCache == null) {
+            this.tableMetadataCache = PostgreSQLTableMetadataCache.load(this.properties);
+        }
+        return this.tableMetadataCache;
     }
 
     @Override
     public IdentifierConverter createIdentifierConverter() {
         return new PostgreSQLIdentifierConverter(this.properties);
     }
+
+    @Override
+    public SchemaMetadata readRemoteSchemaMetadata() {
+        return readRemoteSchemaMetadata(Collections.emptyList());
+    }
+
+    @Override
+    public SchemaMetadata readRemoteSchemaMetadata(final List<String> selectedTables) {
+        try {
+            final String adapterNotes = SchemaAdapterNotesJsonConverter.getInstance()
+                    .convertToJson(getSchemaAdapterNotes());
+            return new SchemaMetadata(adapterNotes, readTableMetadata(selectedTables));
+        } catch (final SQLException exception) {
+            throw new RemoteMetadataReaderException(ExaError.messageBuilder("E-VSPG-11")
+                    .message("Unable to read the list of tables from the PostgreSQL catalog. Caused by: {{cause}}",
+                            exception.getMessage())
+                    .toString(), exception);
+        }
+    }
+
+    private List<TableMetadata> readTableMetadata(final List<String> selectedTables) throws SQLException {
+        if (PostgreSQLDdlLog.isEnabled(this.properties) && selectedTables.isEmpty()) {
+            return readChangedTableMetadata();
+        } else {
+            return scanTables(selectedTables);
+        }
+    }
+
+    /*
+     * The log position is read before the scan, so that DDL commands running concurrently with the scan are processed
+     * again by the next refresh instead of being lost.
+     */
+    private List<TableMetadata> readChangedTableMetadata() throws SQLException {
+        final PostgreSQLTableMetadataCache cache = getTableMetadataCache();
+        final OptionalLong previousPosition = cache.getDdlLogPosition();
+        if (previousPosition.isEmpty()) {
+            cache.setDdlLogPosition(PostgreSQLDdlLog.readPosition(this.connection));
+            return scanTables(Collections.emptyList());
+        }
+        final PostgreSQLDdlLog ddlLog = PostgreSQLDdlLog.readSince(this.connection, this.properties,
+                previousPosition.getAsLong());
+        cache.setDdlLogPosition(ddlLog.getPosition());
+        if (ddlLog.requiresFullScan()) {
+            LOGGER.fine("DDL log contains changes that can affect any table. Scanning all tables.");
+            return scanTables(Collections.emptyList());
+        } else if (ddlLog.getChangedRelations().isEmpty()) {
+            LOGGER.fine("DDL log contains no changes since the last scan.");
+            final List<TableMetadata> tables = cache.getUnchangedTables();
+            cache.save(false);
+            return tables;
+        } else {
+            LOGGER.fine(() -> "Scanning " + ddlLog.getChangedRelations().size()
+                    + " relations changed since the last scan.");
+            cache.restrictToRelations(ddlLog.getChangedRelations());
+            final List<TableMetadata> tables = new ArrayList<>(cache.getUnchangedTables());
+            tables.addAll(scanTables(Collections.emptyList()));
+            return tables;
+        }
+    }
+
+    private List<TableMetadata> scanTables(final List<String> selectedTables) throws SQLException {
+        logTablesScan(getCatalogNameFilter(), getSchemaNameFilter());
+        final boolean autoCommit = this.connection.getAutoCommit();
+        this.connection.setAutoCommit(false);
+        final PostgreSQLCatalogQuery query = PostgreSQLCatalogQuery.tables(this.properties,
+                getTableMetadataCache().getRestrictedRelations());
+        try (final PreparedStatement statement = query.prepare(this.connection);
+                final ResultSet tables = statement.executeQuery()) {
+            return this.tableMetadataReader.mapTables(tables, selectedTables);
+        } finally {
+            if (autoCommit) {
+                this.connection.rollback();
+                this.connection.setAutoCommit(true);
+            }
+        }
+    }
 }
@@ -0,0 +1,81 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import static com.exasol.adapter.AdapterProperties.TABLE_FILTER_PROPERTY;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import com.exasol.adapter.AdapterProperties;
+import com.exasol.adapter.properties.PropertyValidationException;
+import com.exasol.adapter.properties.PropertyValidator;
+import com.exasol.errorreporting.ExaError;
+
+/**
+ * This class defines the adapter properties that restrict the tables and columns read from PostgreSQL.
+ * <p>
+ * Each property contains a comma-separated list of patterns in the syntax of the SQL <code>LIKE</code> predicate. The
+ * patterns are evaluated by PostgreSQL as part of the catalog queries, so that objects which are filtered out are
+ * never read by the adapter.
+ * </p>
+ */
+public final class PostgreSQLNameFilter {
+    /** Name of adapter property with patterns for tables to include **/
+    public static final String INCLUDE_TABLES_PROPERTY = "POSTGRESQL_INCLUDE_TABLES";
+    /** Name of adapter property with patterns for tables to exclude **/
+    public static final String EXCLUDE_TABLES_PROPERTY = "POSTGRESQL_EXCLUDE_TABLES";
+    /** Name of adapter property with patterns for columns to include **/
+    public static final String INCLUDE_COLUMNS_PROPERTY = "POSTGRESQL_INCLUDE_COLUMNS";
+    /** Name of adapter property with patterns for columns to exclude **/
+    public static final String EXCLUDE_COLUMNS_PROPERTY = "POSTGRESQL_EXCLUDE_COLUMNS";
+    static final List<String> PROPERTIES = List.of(INCLUDE_TABLES_PROPERTY, EXCLUDE_TABLES_PROPERTY,
+            INCLUDE_COLUMNS_PROPERTY, EXCLUDE_COLUMNS_PROPERTY);
+
+    private PostgreSQLNameFilter() {
+        // prevent instantiation
+    }
+
+    /**
+     * Read the list of patterns from an adapter property.
+     *
+     * @param properties   adapter properties to read the patterns from
+     * @param propertyName name of the property
+     * @return list of patterns or an empty list if the property is not set
+     */
+    static List<String> getPatterns(final AdapterProperties properties, final String propertyName) {
+        if (properties.containsKey(propertyName)) {
+            return Arrays.stream(properties.get(propertyName).split(",")) //
+                    .map(String::trim) //
+                    .collect(Collectors.toList());
+        } else {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * @return validator for the adapter properties that filter tables and columns
+     */
+    public static PropertyValidator validator() {
+        return new Validator();
+    }
+
+    private static class Validator implements PropertyValidator {
+        @Override
+        public void validate(final AdapterProperties properties) throws PropertyValidationException {
+            validateList(properties, TABLE_FILTER_PROPERTY, properties.getFilteredTables());
+            for (final String propertyName : PROPERTIES) {
+                validateList(properties, propertyName, getPatterns(properties, propertyName));
+            }
+        }
+
+        private static void validateList(final AdapterProperties properties, final String propertyName,
+                final List<String> entries) throws PropertyValidationException {
+            if (properties.containsKey(propertyName) && entries.stream().anyMatch(String::isEmpty)) {
+                throw new PropertyValidationException(ExaError.messageBuilder("E-VSPG-15") //
+                        .message("Value {{value}} for property {{property}} contains an empty entry.",
+                                properties.get(propertyName), propertyName) //
+                        .mitigation("Provide a comma-separated list of non-empty names or patterns.") //
+                        .toString());
+            }
+        }
+    }
+}
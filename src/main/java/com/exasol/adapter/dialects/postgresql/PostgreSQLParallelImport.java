@@ -0,0 +1,84 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import com.exasol.adapter.AdapterProperties;
+import com.exasol.adapter.properties.PropertyValidationException;
+import com.exasol.adapter.properties.PropertyValidator;
+import com.exasol.errorreporting.ExaError;
+
+/**
+ * This class defines the adapter properties that switch on splitting large table scans into parallel slices.
+ */
+public final class PostgreSQLParallelImport {
+    /** Name of adapter property with the number of slices a large table scan is split into **/
+    public static final String SLICES_PROPERTY = "POSTGRESQL_IMPORT_SLICES";
+    /** Name of adapter property with the minimum number of pages of a table that is scanned in slices **/
+    public static final String MIN_PAGES_PROPERTY = "POSTGRESQL_IMPORT_SLICE_MIN_PAGES";
+    static final int MAXIMUM_SLICES = 64;
+    static final int DEFAULT_MIN_PAGES = 16384;
+
+    private PostgreSQLParallelImport() {
+        // prevent instantiation
+    }
+
+    /**
+     * Check if table scans are split into slices.
+     *
+     * @param properties user-defined adapter properties
+     * @return <code>true</code> if the number of slices is set
+     */
+    public static boolean isEnabled(final AdapterProperties properties) {
+        return properties.containsKey(SLICES_PROPERTY);
+    }
+
+    /**
+     * Read the number of slices from adapter properties.
+     *
+     * @param properties user-defined adapter properties
+     * @return number of slices a large table scan is split into
+     */
+    static int getSlices(final AdapterProperties properties) {
+        return Integer.parseInt(properties.get(SLICES_PROPERTY));
+    }
+
+    /**
+     * Read the minimum size of a table that is scanned in slices from adapter properties.
+     *
+     * @param properties user-defined adapter properties
+     * @return minimum number of 8 KiB pages
+     */
+    static long getMinimumPages(final AdapterProperties properties) {
+        return properties.containsKey(MIN_PAGES_PROPERTY) //
+                ? Long.parseLong(properties.get(MIN_PAGES_PROPERTY))
+                : DEFAULT_MIN_PAGES;
+    }
+
+    /**
+     * @return validator for the adapter properties controlling the parallel import
+     */
+    public static PropertyValidator validator() {
+        return PropertyValidator.chain() //
+                .add(PropertyValidator.optional(SLICES_PROPERTY,
+                        value -> validateRange(SLICES_PROPERTY, value, 2, MAXIMUM_SLICES)))
+                .add(PropertyValidator.optional(MIN_PAGES_PROPERTY,
+                        value -> validateRange(MIN_PAGES_PROPERTY, value, 0, Integer.MAX_VALUE)));
+    }
+
+    private static void validateRange(final String property, final String value, final int minimum,
+            final int maximum) throws PropertyValidationException {
+        if (!isInRange(value, minimum, maximum)) {
+            throw new PropertyValidationException(ExaError.messageBuilder("E-VSPG-21") //
+                    .message("Invalid value {{value}} for property {{property}}.", value, property) //
+                    .mitigation("Use an integer between {{minimum}} and {{maximum}}.", minimum, maximum) //
+                    .toString());
+        }
+    }
+
+    private static boolean isInRange(final String value, final int minimum, final int maximum) {
+        try {
+            final int number = Integer.parseInt(value);
+            return (number >= minimum) && (number <= maximum);
+        } catch (final NumberFormatException exception) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import java.util.*;
+
+import com.exasol.adapter.AdapterException;
+import com.exasol.adapter.AdapterProperties;
+import com.exasol.adapter.metadata.DataType;
+import com.exasol.adapter.properties.BooleanProperty;
+import com.exasol.adapter.properties.PropertyValidator;
+import com.exasol.adapter.sql.*;
+
+/**
+ * This class splits an aggregation into partial aggregates that PostgreSQL computes per import slice and an outer
+ * query that Exasol uses to combine them.
+ * <p>
+ * Aggregations cannot be imported in parallel slices as they are, since each slice only sees a part of the rows. Many
+ * aggregates can be decomposed, though: counts and sums of the slices add up, minimums and maximums are taken again,
+ * averages are divided from sums and counts, and variances and standard deviations are combined from the count, the
+ * mean and the sum of squared deviations of each slice. Each slice then returns at most one row per group instead of
+ * all rows.
+ * </p>
+ * <p>
+ * The partial columns are named {@code c1}, {@code c2} and so on, in the same way as the columns of a regular
+ * IMPORT. The grouping columns come first. Values that the combination needs per group before aggregating, like the
+ * mean of a group, are computed as window functions in columns named {@code w1}, {@code w2} and so on.
+ * </p>
+ */
+public final class PostgreSQLPartialAggregation {
+    /** Name of adapter property that switches on partial aggregation in import slices **/
+    public static final String PROPERTY = "POSTGRESQL_PARTIAL_AGGREGATION";
+    private static final DataType COUNT_TYPE = DataType.createDecimal(36, 0);
+    private static final DataType MOMENT_TYPE = DataType.createDouble();
+    private final List<String> partialExpressions = new ArrayList<>();
+    private final List<DataType> partialTypes = new ArrayList<>();
+    private final List<String> windowExpressions = new ArrayList<>();
+    private final List<String> combinedExpressions = new ArrayList<>();
+    private final List<String> groupBy = new ArrayList<>();
+
+    private PostgreSQLPartialAggregation() {
+        // created by from()
+    }
+
+    /**
+     * Check if aggregations are computed per import slice.
+     *
+     * @param properties user-defined adapter properties
+     * @return <code>true</code> if partial aggregation is switched on
+     */
+    public static boolean isEnabled(final AdapterProperties properties) {
+        return properties.isEnabled(PROPERTY);
+    }
+
+    /**
+     * Split an aggregation into partial aggregates.
+     *
+     * @param select    push-down statement
+     * @param dataTypes data types of the select list that Exasol expects
+     * @param generator generator for the PostgreSQL SQL of the arguments and grouping columns
+     * @return partial aggregation or empty if the select list contains anything but grouping columns and decomposable
+     *         aggregates
+     * @throws AdapterException if generating SQL fails
+     */
+    static Optional<PostgreSQLPartialAggregation> from(final SqlStatementSelect select,
+            final List<DataType> dataTypes, final SqlNodeVisitor<String> generator) throws AdapterException {
+        if (!select.getSelectList().hasExplicitColumnsList()) {
+            return Optional.empty();
+        }
+        final PostgreSQLPartialAggregation aggregation = new PostgreSQLPartialAggregation();
+        final Map<String, Integer> groupColumns = new HashMap<>();
+        if (select.hasGroupBy()) {
+            for (final SqlNode node : select.getGroupBy().getExpressions()) {
+                if (!(node instanceof SqlColumn)) {
+                    return Optional.empty();
+                }
+                final SqlColumn column = (SqlColumn) node;
+                final String expression = column.accept(generator);
+                aggregation.groupBy.add(expression);
+                groupColumns.put(column.getName(), aggregation.addPartial(expression, column.getMetadata().getType()));
+            }
+        }
+        boolean hasAggregate = false;
+        final List<SqlNode> selectList = select.getSelectList().getExpressions();
+        for (int index = 0; index < selectList.size(); ++index) {
+            final SqlNode node = selectList.get(index);
+            final Optional<String> combined;
+            if ((node instanceof SqlColumn) && groupColumns.containsKey(((SqlColumn) node).getName())) {
+                combined = Optional.of(partialColumn(groupColumns.get(((SqlColumn) node).getName())));
+            } else if (node instanceof SqlFunctionAggregate) {
+                hasAggregate = true;
+                combined = aggregation.decompose((SqlFunctionAggregate) node, dataTypes.get(index), generator);
+            } else {
+                combined = Optional.empty();
+            }
+            if (combined.isEmpty()) {
+                return Optional.empty();
+            }
+            aggregation.combinedExpressions.add("CAST(" + combined.get() + " AS " + dataTypes.get(index) + ")");
+        }
+        return hasAggregate ? Optional.of(aggregation) : Optional.empty();
+    }
+
+    private Optional<String> decompose(final SqlFunctionAggregate function, final DataType type,
+            final SqlNodeVisitor<String> generator) throws AdapterException {
+        final List<SqlNode> arguments = function.getArguments();
+        final AggregateFunction aggregateFunction = function.getFunction();
+        if ((aggregateFunction == AggregateFunction.COUNT) && arguments.isEmpty() && !function.hasDistinct()) {
+            return Optional.of("SUM(" + partialColumn(addPartial("COUNT(*)", COUNT_TYPE)) + ")");
+        }
+        if ((arguments.size() != 1) || (function.hasDistinct() && (aggregateFunction != AggregateFunction.MIN)
+                && (aggregateFunction != AggregateFunction.MAX))) {
+            return Optional.empty();
+        }
+        final String argument = arguments.get(0).accept(generator);
+        switch (aggregateFunction) {
+        case COUNT:
+            return Optional.of("SUM(" + partialColumn(addPartial("COUNT(" + argument + ")", COUNT_TYPE)) + ")");
+        case SUM:
+        case MIN:
+        case MAX:
+            return Optional.of(aggregateFunction.name() + "("
+                    + partialColumn(addPartial(aggregateFunction.name() + "(" + argument + ")", type)) + ")");
+        case AVG:
+            return Optional.of(createAverage(argument));
+        case VAR_POP:
+            return Optional.of(createVariance(argument, false));
+        case VARIANCE:
+        case VAR_SAMP:
+            return Optional.of(createVariance(argument, true));
+        case STDDEV_POP:
+            return Optional.of("SQRT(" + createVariance(argument, false) + ")");
+        case STDDEV:
+        case STDDEV_SAMP:
+            return Optional.of("SQRT(" + createVariance(argument, true) + ")");
+        default:
+            return Optional.empty();
+        }
+    }
+
+    private String createAverage(final String argument) {
+        final String sum = partialColumn(addPartial("SUM(" + toDouble(argument) + ")", MOMENT_TYPE));
+        final String count = partialColumn(addPartial("COUNT(" + argument + ")", COUNT_TYPE));
+        return "SUM(" + sum + ") / NULLIF(SUM(" + count + "), 0)";
+    }
+
+    /*
+     * Each slice i returns its count n_i, its mean m_i and the sum of squared deviations from its mean
+     * M2_i = var_pop_i * n_i, which PostgreSQL computes without cancellation. The slices are combined as in Chan et
+     * al.'s parallel algorithm: M2 = sum(M2_i) + sum(n_i * (m_i - m)^2) with the mean m of the group. Both terms only
+     * contain deviations from a mean, so the precision does not depend on the magnitude of the values, unlike the
+     * formula on the sum of squares. The variance is M2 / n for the population and M2 / (n - 1) for a sample. NULLIF
+     * returns NULL instead of dividing by zero, matching the result of the aggregate on too few rows, and GREATEST
+     * keeps rounding from producing a negative variance.
+     */
+    private String createVariance(final String argument, final boolean sample) {
+        final String count = partialColumn(addPartial("COUNT(" + argument + ")", COUNT_TYPE));
+        final String mean = partialColumn(addPartial("AVG(" + toDouble(argument) + ")", MOMENT_TYPE));
+        final String deviations = partialColumn(
+                addPartial("VAR_POP(" + toDouble(argument) + ") * COUNT(" + argument + ")", MOMENT_TYPE));
+        final String groupMean = windowColumn(addWindow(
+                "SUM(" + count + " * " + mean + ")" + createWindow() + " / NULLIF(SUM(" + count + ")" + createWindow()
+                        + ", 0)"));
+        return "GREATEST((SUM(" + deviations + ") + SUM(" + count + " * POWER(" + mean + " - " + groupMean
+                + ", 2))) / NULLIF(SUM(" + count + ")" + (sample ? " - 1" : "") + ", 0), 0)";
+    }
+
+    private String createWindow() {
+        if (this.groupBy.isEmpty()) {
+            return " OVER ()";
+        }
+        final StringJoiner partition = new StringJoiner(", ", " OVER (PARTITION BY ", ")");
+        for (int number = 1; number <= this.groupBy.size(); ++number) {
+            partition.add(partialColumn(number));
+        }
+        return partition.toString();
+    }
+
+    private static String toDouble(final String argument) {
+        return "CAST(" + argument + " AS DOUBLE PRECISION)";
+    }
+
+    private int addPartial(final String expression, final DataType type) {
+        this.partialExpressions.add(expression);
+        this.partialTypes.add(type);
+        return this.partialExpressions.size();
+    }
+
+    private static String partialColumn(final int number) {
+        return "c" + number;
+    }
+
+    private int addWindow(final String expression) {
+        this.windowExpressions.add(expression);
+        return this.windowExpressions.size();
+    }
+
+    private static String windowColumn(final int number) {
+        return "w" + number;
+    }
+
+    /**
+     * @return select list of the partial aggregation in PostgreSQL
+     */
+    String getSelectList() {
+        return String.join(", ", this.partialExpressions);
+    }
+
+    /**
+     * @return grouping columns of the partial aggregation in PostgreSQL or <code>null</code> if it has no groups
+     */
+    String getGroupBy() {
+        return this.groupBy.isEmpty() ? null : String.join(", ", this.groupBy);
+    }
+
+    /**
+     * @return data types of the partial columns
+     */
+    List<DataType> getPartialTypes() {
+        return this.partialTypes;
+    }
+
+    /**
+     * Create the Exasol query that combines the partial aggregates.
+     *
+     * @param partialStatement Exasol statement that imports the partial aggregates of all slices
+     * @return combining query
+     */
+    String combine(final String partialStatement) {
+        final StringBuilder builder = new StringBuilder("SELECT ") //
+                .append(String.join(", ", this.combinedExpressions)) //
+                .append(" FROM (").append(createWindowStatement(partialStatement)).append(")");
+        if (!this.groupBy.isEmpty()) {
+            final StringJoiner groupColumns = new StringJoiner(", ", " GROUP BY ", "");
+            for (int number = 1; number <= this.groupBy.size(); ++number) {
+                groupColumns.add(partialColumn(number));
+            }
+            builder.append(groupColumns);
+        }
+        return builder.toString();
+    }
+
+    private String createWindowStatement(final String partialStatement) {
+        if (this.windowExpressions.isEmpty()) {
+            return partialStatement;
+        }
+        final StringJoiner columns = new StringJoiner(", ", "SELECT ", " FROM (" + partialStatement + ")");
+        for (int number = 1; number <= this.partialExpressions.size(); ++number) {
+            columns.add(partialColumn(number));
+        }
+        for (int number = 1; number <= this.windowExpressions.size(); ++number) {
+            columns.add(this.windowExpressions.get(number - 1) + " AS " + windowColumn(number));
+        }
+        return columns.toString();
+    }
+
+    /**
+     * @return validator for the adapter property that switches on partial aggregation
+     */
+    public static PropertyValidator validator() {
+        return BooleanProperty.validator(PROPERTY);
+    }
+}
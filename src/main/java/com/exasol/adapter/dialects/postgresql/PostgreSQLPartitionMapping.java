@@ -0,0 +1,38 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import com.exasol.adapter.AdapterProperties;
+import com.exasol.adapter.properties.BooleanProperty;
+import com.exasol.adapter.properties.PropertyValidator;
+
+/**
+ * This class defines how the adapter maps tables that use PostgreSQL's declarative partitioning.
+ * <p>
+ * By default only the partitioned table is mapped and its partitions are hidden, since queries on the partitioned
+ * table already cover all partitions.
+ * </p>
+ */
+public final class PostgreSQLPartitionMapping {
+    /** Name of adapter property that controls whether partitions are mapped as separate tables **/
+    public static final String PROPERTY = "POSTGRESQL_INCLUDE_PARTITIONS";
+
+    private PostgreSQLPartitionMapping() {
+        // prevent instantiation
+    }
+
+    /**
+     * Check whether partitions are mapped as separate tables.
+     *
+     * @param properties adapter properties
+     * @return <code>true</code> if partitions are mapped in addition to the partitioned tables
+     */
+    public static boolean includesPartitions(final AdapterProperties properties) {
+        return properties.isEnabled(PROPERTY);
+    }
+
+    /**
+     * @return validator for adapter property controlling the mapping of partitions
+     */
+    public static PropertyValidator validator() {
+        return BooleanProperty.validator(PROPERTY);
+    }
+}
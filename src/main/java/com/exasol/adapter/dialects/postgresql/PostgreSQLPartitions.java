@@ -0,0 +1,150 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import java.sql.*;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * This class reads the leaf partitions of a partitioned table and prunes the partitions that a filter excludes.
+ * <p>
+ * The partition bounds can have any data type and can be nested over several levels, so the adapter does not evaluate
+ * them itself. Instead it lets the PostgreSQL planner prune the partitions of the filtered query and keeps the
+ * partitions that remain in the plan.
+ * </p>
+ */
+final class PostgreSQLPartitions {
+    static final int MINIMUM_SERVER_VERSION = 120000;
+    private static final String LEAF_PARTITIONS_QUERY = "SELECT n.nspname, c.relname, c.relpages" //
+            + " FROM pg_catalog.pg_partition_tree(to_regclass(?)) t" //
+            + " JOIN pg_catalog.pg_class c ON c.oid = t.relid" //
+            + " JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace" //
+            + " WHERE t.isleaf ORDER BY c.relpages DESC, c.oid";
+    private static final Pattern RELATION_NAME = Pattern.compile("\"Relation Name\": \"((?:[^\"\\\\]|\\\\.)*)\"");
+
+    private PostgreSQLPartitions() {
+        // prevent instantiation
+    }
+
+    /**
+     * Read the leaf partitions of a partitioned table.
+     *
+     * @param connection         connection to the PostgreSQL database
+     * @param qualifiedTableName quoted name of the partitioned table, qualified with its schema
+     * @return leaf partitions ordered from the largest to the smallest
+     * @throws SQLException if reading the partitions fails
+     */
+    static List<Partition> readLeafPartitions(final Connection connection, final String qualifiedTableName)
+            throws SQLException {
+        try (final PreparedStatement statement = connection.prepareStatement(LEAF_PARTITIONS_QUERY)) {
+            statement.setString(1, qualifiedTableName);
+            try (final ResultSet result = statement.executeQuery()) {
+                final List<Partition> partitions = new ArrayList<>();
+                while (result.next()) {
+                    partitions.add(new Partition(result.getString(1), result.getString(2), result.getLong(3)));
+                }
+                return partitions;
+            }
+        }
+    }
+
+    /**
+     * Remove the partitions that the planner excludes for a filtered query.
+     * <p>
+     * The plan only names the partitions, not their schemas, so a partition is kept if any scanned relation has its
+     * name.
+     * </p>
+     *
+     * @param connection  connection to the PostgreSQL database
+     * @param partitions  leaf partitions of the queried table
+     * @param filterQuery query on the partitioned table with the pushed-down filter
+     * @return partitions that can contain rows matching the filter
+     * @throws SQLException if explaining the query fails
+     */
+    static List<Partition> prune(final Connection connection, final List<Partition> partitions,
+            final String filterQuery) throws SQLException {
+        final Set<String> scannedRelations = readScannedRelations(connection, filterQuery);
+        return partitions.stream() //
+                .filter(partition -> scannedRelations.contains(partition.getName())) //
+                .collect(Collectors.toList());
+    }
+
+    private static Set<String> readScannedRelations(final Connection connection, final String query)
+            throws SQLException {
+        try (final Statement statement = connection.createStatement();
+                final ResultSet result = statement.executeQuery("EXPLAIN (FORMAT JSON) " + query)) {
+            final Set<String> relations = new HashSet<>();
+            while (result.next()) {
+                final Matcher matcher = RELATION_NAME.matcher(result.getString(1));
+                while (matcher.find()) {
+                    relations.add(matcher.group(1).replaceAll("\\\\(.)", "$1"));
+                }
+            }
+            return relations;
+        }
+    }
+
+    /**
+     * Distribute partitions over a number of slices so that all slices have about the same number of pages.
+     *
+     * @param partitions partitions ordered from the largest to the smallest
+     * @param slices     maximum number of slices
+     * @return non-empty slices, each with at least one partition
+     */
+    static List<List<Partition>> distribute(final List<Partition> partitions, final int slices) {
+        final int sliceCount = Math.min(slices, partitions.size());
+        final List<List<Partition>> distribution = new ArrayList<>(sliceCount);
+        final long[] pages = new long[sliceCount];
+        for (int slice = 0; slice < sliceCount; ++slice) {
+            distribution.add(new ArrayList<>());
+        }
+        for (final Partition partition : partitions) {
+            int smallestSlice = 0;
+            for (int slice = 1; slice < sliceCount; ++slice) {
+                if (pages[slice] < pages[smallestSlice]) {
+                    smallestSlice = slice;
+                }
+            }
+            distribution.get(smallestSlice).add(partition);
+            pages[smallestSlice] += Math.max(partition.getPages(), 0);
+        }
+        return distribution;
+    }
+
+    /**
+     * Leaf partition of a partitioned table.
+     */
+    static final class Partition {
+        private final String schema;
+        private final String name;
+        private final long pages;
+
+        Partition(final String schema, final String name, final long pages) {
+            this.schema = schema;
+            this.name = name;
+            this.pages = pages;
+        }
+
+        /**
+         * @return name of the schema that contains the partition
+         */
+        String getSchema() {
+            return this.schema;
+        }
+
+        /**
+         * @return name of the partition
+         */
+        String getName() {
+            return this.name;
+        }
+
+        /**
+         * @return estimated number of pages of the partition
+         */
+        long getPages() {
+            return this.pages;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+import com.exasol.ExaConnectionAccessException;
+import com.exasol.ExaConnectionInformation;
+import com.exasol.ExaMetadata;
+import com.exasol.adapter.AdapterProperties;
+import com.exasol.adapter.jdbc.*;
+import com.exasol.errorreporting.ExaError;
+
+/**
+ * This class provides a connection from a {@link PostgreSQLConnectionPool} to the SQL dialect.
+ * <p>
+ * Like the {@link RemoteConnectionFactory} the factory hands out the same connection until it is released. The dialect
+ * releases the connection at the end of each adapter call, which gives it back to the pool instead of closing it.
+ * </p>
+ */
+final class PostgreSQLPooledConnectionFactory implements ConnectionFactory {
+    private final ExaMetadata exaMetadata;
+    private final AdapterProperties properties;
+    private PostgreSQLConnectionPool pool;
+    private Connection connection;
+
+    /**
+     * Create a new instance of the {@link PostgreSQLPooledConnectionFactory}.
+     *
+     * @param exaMetadata metadata of the Exasol database
+     * @param properties  user-defined adapter properties
+     */
+    PostgreSQLPooledConnectionFactory(final ExaMetadata exaMetadata, final AdapterProperties properties) {
+        this.exaMetadata = exaMetadata;
+        this.properties = properties;
+    }
+
+    @Override
+    public synchronized Connection getConnection() throws SQLException {
+        if (this.connection == null) {
+            this.pool = PostgreSQLConnectionPool.get(createPoolKey(),
+                    PostgreSQLConnectionPooling.getPoolSize(this.properties),
+                    PostgreSQLConnectionPooling.getIdleTimeout(this.properties));
+            this.connection = this.pool
+                    .borrow(() -> new RemoteConnectionFactory(this.exaMetadata, this.properties).getConnection());
+        }
+        return this.connection;
+    }
+
+    private List<String> createPoolKey() {
+        final String connectionName = this.properties.getConnectionName();
+        try {
+            final ExaConnectionInformation connectionInformation = this.exaMetadata.getConnection(connectionName);
+            return Arrays.asList(connectionName, connectionInformation.getAddress(), connectionInformation.getUser(),
+                    connectionInformation.getPassword());
+        } catch (final ExaConnectionAccessException exception) {
+            throw new RemoteConnectionException(ExaError.messageBuilder("E-VSPG-20")
+                    .message("Could not access the connection information of connection {{connectionName}}.",
+                            connectionName)
+                    .toString(), exception);
+        }
+    }
+
+    /**
+     * Give the connection back to the pool.
+     */
+    synchronized void release() {
+        if (this.connection != null) {
+            this.pool.release(this.connection);
+            this.connection = null;
+        }
+    }
+}
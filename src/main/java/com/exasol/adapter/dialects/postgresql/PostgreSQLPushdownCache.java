@@ -0,0 +1,578 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.logging.Logger;
+
+import com.exasol.adapter.AdapterException;
+import com.exasol.adapter.AdapterProperties;
+import com.exasol.adapter.metadata.DataType;
+import com.exasol.adapter.properties.PropertyValidationException;
+import com.exasol.adapter.properties.PropertyValidator;
+import com.exasol.adapter.sql.*;
+import com.exasol.errorreporting.ExaError;
+
+/**
+ * This class caches rewritten push-down statements in the UDF VM of the adapter.
+ * <p>
+ * BI tools send the same push-down requests over and over. The cache is keyed by a fingerprint of the request: a
+ * canonical form of the statement tree including the metadata of the queried virtual tables, the data types of the
+ * select list and the adapter properties. A refresh of the virtual schema changes the table metadata, so entries
+ * created from outdated metadata are never hit again and age out of the cache.
+ * </p>
+ * <p>
+ * The least recently used entry is evicted when the cache is full. Like the connection pool, the cache lives for as
+ * long as the adapter's JVM.
+ * </p>
+ */
+public final class PostgreSQLPushdownCache {
+    /** Name of adapter property with the maximum number of cached push-down statements **/
+    public static final String SIZE_PROPERTY = "POSTGRESQL_PUSHDOWN_CACHE_SIZE";
+    static final int MAXIMUM_SIZE = 100000;
+    private static final Logger LOGGER = Logger.getLogger(PostgreSQLPushdownCache.class.getName());
+    private static final PostgreSQLPushdownCache INSTANCE = new PostgreSQLPushdownCache();
+    private final Map<String, String> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private int maximumSize = 0;
+    private long hits = 0;
+    private long misses = 0;
+
+    private PostgreSQLPushdownCache() {
+        // use get()
+    }
+
+    /**
+     * Check if push-down statements are cached.
+     *
+     * @param properties user-defined adapter properties
+     * @return <code>true</code> if the cache size is set
+     */
+    public static boolean isEnabled(final AdapterProperties properties) {
+        return properties.containsKey(SIZE_PROPERTY);
+    }
+
+    /**
+     * Get the cache of this JVM, resized to the configured size.
+     *
+     * @param properties user-defined adapter properties
+     * @return push-down cache
+     */
+    static PostgreSQLPushdownCache get(final AdapterProperties properties) {
+        INSTANCE.resize(Integer.parseInt(properties.get(SIZE_PROPERTY)));
+        return INSTANCE;
+    }
+
+    /**
+     * Create the cache key of a push-down request.
+     * <p>
+     * The key is built from a canonical form of the statement tree instead of the generated push-down query, so that
+     * a cache hit does not run the SQL generator.
+     * </p>
+     *
+     * @param selectListDataTypes data types of the select list sent by Exasol
+     * @param statement           push-down statement
+     * @param properties          user-defined adapter properties
+     * @return SHA-256 fingerprint of the request
+     * @throws AdapterException if the statement cannot be traversed
+     */
+    static String createKey(final List<DataType> selectListDataTypes, final SqlStatement statement,
+            final AdapterProperties properties) throws AdapterException {
+        final Map<String, String> sortedProperties = new TreeMap<>();
+        for (final Map.Entry<String, String> property : properties.entrySet()) {
+            sortedProperties.put(property.getKey(), property.getValue());
+        }
+        final StringBuilder builder = new StringBuilder();
+        statement.accept(new CanonicalForm(builder));
+        builder.append('\n').append(selectListDataTypes).append('\n').append(sortedProperties);
+        return hash(builder.toString());
+    }
+
+    private static String hash(final String value) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder builder = new StringBuilder(digest.length * 2);
+            for (final byte digestByte : digest) {
+                builder.append(String.format("%02x", digestByte));
+            }
+            return builder.toString();
+        } catch (final NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(ExaError.messageBuilder("E-VSPG-27")
+                    .message("Unable to create fingerprint of push-down request.").ticketMitigation().toString(),
+                    exception);
+        }
+    }
+
+    private synchronized void resize(final int newMaximumSize) {
+        this.maximumSize = newMaximumSize;
+        evict();
+    }
+
+    /**
+     * Look up a rewritten push-down statement.
+     *
+     * @param key cache key of the push-down request
+     * @return cached statement or empty on a cache miss
+     */
+    synchronized Optional<String> lookup(final String key) {
+        final String statement = this.entries.get(key);
+        if (statement == null) {
+            ++this.misses;
+        } else {
+            ++this.hits;
+        }
+        LOGGER.fine(() -> "Push-down cache " + ((statement == null) ? "miss" : "hit") + ". Hits: " + this.hits
+                + ", misses: " + this.misses + ", entries: " + this.entries.size() + ".");
+        return Optional.ofNullable(statement);
+    }
+
+    /**
+     * Add a rewritten push-down statement.
+     *
+     * @param key       cache key of the push-down request
+     * @param statement rewritten statement
+     */
+    synchronized void put(final String key, final String statement) {
+        this.entries.put(key, statement);
+        evict();
+    }
+
+    private void evict() {
+        final Iterator<String> leastRecentlyUsed = this.entries.keySet().iterator();
+        while (this.entries.size() > this.maximumSize) {
+            leastRecentlyUsed.next();
+            leastRecentlyUsed.remove();
+        }
+    }
+
+    /**
+     * Remove all entries and reset the counters.
+     */
+    synchronized void clear() {
+        this.entries.clear();
+        this.hits = 0;
+        this.misses = 0;
+    }
+
+    /**
+     * @return number of lookups that found a cached statement
+     */
+    synchronized long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * @return number of lookups that found no cached statement
+     */
+    synchronized long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * @return number of cached statements
+     */
+    synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * @return validator for the adapter property with the cache size
+     */
+    public static PropertyValidator validator() {
+        return PropertyValidator.optional(SIZE_PROPERTY, PostgreSQLPushdownCache::validatePropertyValue);
+    }
+
+    private static void validatePropertyValue(final String value) throws PropertyValidationException {
+        if (!isInRange(value)) {
+            throw new PropertyValidationException(ExaError.messageBuilder("E-VSPG-26") //
+                    .message("Invalid value {{value}} for property {{property}}.", value, SIZE_PROPERTY) //
+                    .mitigation("Use an integer between 1 and {{maximum}}.", MAXIMUM_SIZE) //
+                    .toString());
+        }
+    }
+
+    private static boolean isInRange(final String value) {
+        try {
+            final int size = Integer.parseInt(value);
+            return (size >= 1) && (size <= MAXIMUM_SIZE);
+        } catch (final NumberFormatException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes a statement tree in a canonical form. Every node is written as its type followed by its attributes and
+     * children in parentheses. Values are prefixed with their length, so that different trees never have the same
+     * form.
+     */
+    private static final class CanonicalForm implements SqlNodeVisitor<Void> {
+        private final StringBuilder builder;
+
+        private CanonicalForm(final StringBuilder builder) {
+            this.builder = builder;
+        }
+
+        private void open(final SqlNode node) {
+            this.builder.append(node.getType()).append('(');
+        }
+
+        private Void close() {
+            this.builder.append(')');
+            return null;
+        }
+
+        private void appendValue(final Object value) {
+            if (value == null) {
+                this.builder.append('-');
+            } else {
+                final String text = value.toString();
+                this.builder.append(text.length()).append(':').append(text);
+            }
+        }
+
+        private void appendNode(final SqlNode node) throws AdapterException {
+            if (node == null) {
+                this.builder.append('-');
+            } else {
+                node.accept(this);
+            }
+        }
+
+        private void appendNodes(final List<SqlNode> nodes) throws AdapterException {
+            if (nodes == null) {
+                this.builder.append('-');
+            } else {
+                this.builder.append('[');
+                for (final SqlNode node : nodes) {
+                    appendNode(node);
+                }
+                this.builder.append(']');
+            }
+        }
+
+        private Void appendLeaf(final SqlNode node, final Object value) {
+            open(node);
+            appendValue(value);
+            return close();
+        }
+
+        private Void appendBinary(final SqlNode node, final SqlNode left, final SqlNode right)
+                throws AdapterException {
+            open(node);
+            appendNode(left);
+            appendNode(right);
+            return close();
+        }
+
+        private Void appendUnary(final SqlNode node, final SqlNode expression) throws AdapterException {
+            open(node);
+            appendNode(expression);
+            return close();
+        }
+
+        private Void appendList(final SqlNode node, final List<SqlNode> nodes) throws AdapterException {
+            open(node);
+            appendNodes(nodes);
+            return close();
+        }
+
+        @Override
+        public Void visit(final SqlStatementSelect select) throws AdapterException {
+            open(select);
+            appendNode(select.getSelectList());
+            appendNode(select.getFromClause());
+            appendNode(select.getWhereClause());
+            appendNode(select.getGroupBy());
+            appendNode(select.getHaving());
+            appendNode(select.getOrderBy());
+            appendNode(select.getLimit());
+            return close();
+        }
+
+        @Override
+        public Void visit(final SqlSelectList selectList) throws AdapterException {
+            return appendList(selectList, selectList.getExpressions());
+        }
+
+        @Override
+        public Void visit(final SqlGroupBy groupBy) throws AdapterException {
+            open(groupBy);
+            appendValue(groupBy.isSingleGroupAggregation());
+            appendNodes(groupBy.getExpressions());
+            return close();
+        }
+
+        @Override
+        public Void visit(final SqlColumn column) {
+            open(column);
+            appendValue(column.getId());
+            appendValue(column.getName());
+            appendValue(column.getTableName());
+            appendValue(column.getTableAlias());
+            appendValue(column.getMetadata());
+            return close();
+        }
+
+        @Override
+        public Void visit(final SqlFunctionAggregate function) throws AdapterException {
+            open(function);
+            appendValue(function.getFunctionName());
+            appendValue(function.hasDistinct());
+            appendNodes(function.getArguments());
+            return close();
+        }
+
+        @Override
+        public Void visit(final SqlFunctionAggregateGroupConcat function) throws AdapterException {
+            open(function);
+            appendValue(function.hasDistinct());
+            appendNode(function.getArgument());
+            appendNode(function.getOrderBy());
+            appendNode(function.getSeparator());
+            return close();
+        }
+
+        @Override
+        public Void visit(final SqlFunctionAggregateListagg function) throws AdapterException {
+            open(function);
+            appendValue(function.hasDistinct());
+            appendNode(function.getArgument());
+            appendNode(function.getOrderBy());
+            appendNode(function.getSeparator());
+            final SqlFunctionAggregateListagg.Behavior overflowBehavior = function.getOverflowBehavior();
+            appendValue(overflowBehavior.getBehaviorType());
+            if (overflowBehavior.getBehaviorType() == SqlFunctionAggregateListagg.BehaviorType.TRUNCATE) {
+                appendValue(overflowBehavior.getTruncationType());
+                appendNode(overflowBehavior.getTruncationFiller());
+            }
+            return close();
+        }
+
+        @Override
+        public Void visit(final SqlFunctionScalar function) throws AdapterException {
+            open(function);
+            appendValue(function.getFunctionName());
+            appendNodes(function.getArguments());
+            return close();
+        }
+
+        @Override
+        public Void visit(final SqlFunctionScalarCase function) throws AdapterException {
+            open(function);
+            appendNode(function.getBasis());
+            appendNodes(function.getArguments());
+            appendNodes(function.getResults());
+            return close();
+        }
+
+        @Override
+        public Void visit(final SqlFunctionScalarCast function) throws AdapterException {
+            open(function);
+            appendValue(function.getDataType());
+            appendNode(function.getArgument());
+            return close();
+        }
+
+        @Override
+        public Void visit(final SqlFunctionScalarExtract function) throws AdapterException {
+            open(function);
+            appendValue(function.getToExtract());
+            appendNode(function.getArgument());
+            return close();
+        }
+
+        @Override
+        public Void visit(final SqlFunctionScalarJsonValue function) throws AdapterException {
+            open(function);
+            appendNodes(function.getArguments());
+            appendValue(function.getReturningDataType());
+            appendBehavior(function.getEmptyBehavior());
+            appendBehavior(function.getErrorBehavior());
+            return close();
+        }
+
+        private void appendBehavior(final SqlFunctionScalarJsonValue.Behavior behavior) throws AdapterException {
+            appendValue(behavior.getBehaviorType());
+            appendNode(behavior.getExpression().orElse(null));
+        }
+
+        @Override
+        public Void visit(final SqlLimit limit) {
+            open(limit);
+            appendValue(limit.getLimit());
+            appendValue(limit.getOffset());
+            return close();
+        }
+
+        @Override
+        public Void visit(final SqlLiteralBool literal) {
+            return appendLeaf(literal, literal.getValue());
+        }
+
+        @Override
+        public Void visit(final SqlLiteralDate literal) {
+            return appendLeaf(literal, literal.getValue());
+        }
+
+        @Override
+        public Void visit(final SqlLiteralDouble literal) {
+            return appendLeaf(literal, literal.getValue());
+        }
+
+        @Override
+        public Void visit(final SqlLiteralExactnumeric literal) {
+            return appendLeaf(literal, literal.getValue());
+        }
+
+        @Override
+        public Void visit(final SqlLiteralNull literal) {
+            open(literal);
+            return close();
+        }
+
+        @Override
+        public Void visit(final SqlLiteralString literal) {
+            return appendLeaf(literal, literal.getValue());
+        }
+
+        @Override
+        public Void visit(final SqlLiteralTimestamp literal) {
+            return appendLeaf(literal, literal.getValue());
+        }
+
+        @Override
+        public Void visit(final SqlLiteralTimestampUtc literal) {
+            return appendLeaf(literal, literal.getValue());
+        }
+
+        @Override
+        public Void visit(final SqlLiteralInterval literal) {
+            open(literal);
+            appendValue(literal.getValue());
+            appendValue(literal.getDataType());
+            return close();
+        }
+
+        @Override
+        public Void visit(final SqlOrderBy orderBy) throws AdapterException {
+            open(orderBy);
+            appendNodes(orderBy.getExpressions());
+            appendValue(orderBy.isAscending());
+            appendValue(orderBy.nullsLast());
+            return close();
+        }
+
+        @Override
+        public Void visit(final SqlPredicateAnd predicate) throws AdapterException {
+            return appendList(predicate, predicate.getAndedPredicates());
+        }
+
+        @Override
+        public Void visit(final SqlPredicateBetween predicate) throws AdapterException {
+            open(predicate);
+            appendNode(predicate.getExpression());
+            appendNode(predicate.getBetweenLeft());
+            appendNode(predicate.getBetweenRight());
+            return close();
+        }
+
+        @Override
+        public Void visit(final SqlPredicateEqual predicate) throws AdapterException {
+            return appendBinary(predicate, predicate.getLeft(), predicate.getRight());
+        }
+
+        @Override
+        public Void visit(final SqlPredicateInConstList predicate) throws AdapterException {
+            open(predicate);
+            appendNode(predicate.getExpression());
+            appendNodes(predicate.getInArguments());
+            return close();
+        }
+
+        @Override
+        public Void visit(final SqlPredicateIsJson predicate) throws AdapterException {
+            return appendJsonPredicate(predicate);
+        }
+
+        @Override
+        public Void visit(final SqlPredicateIsNotJson predicate) throws AdapterException {
+            return appendJsonPredicate(predicate);
+        }
+
+        private Void appendJsonPredicate(final AbstractSqlPredicateJson predicate) throws AdapterException {
+            open(predicate);
+            appendNode(predicate.getExpression());
+            appendValue(predicate.getTypeConstraint());
+            appendValue(predicate.getKeyUniquenessConstraint());
+            return close();
+        }
+
+        @Override
+        public Void visit(final SqlPredicateLess predicate) throws AdapterException {
+            return appendBinary(predicate, predicate.getLeft(), predicate.getRight());
+        }
+
+        @Override
+        public Void visit(final SqlPredicateLessEqual predicate) throws AdapterException {
+            return appendBinary(predicate, predicate.getLeft(), predicate.getRight());
+        }
+
+        @Override
+        public Void visit(final SqlPredicateLike predicate) throws AdapterException {
+            open(predicate);
+            appendNode(predicate.getLeft());
+            appendNode(predicate.getPattern());
+            appendNode(predicate.getEscapeChar());
+            return close();
+        }
+
+        @Override
+        public Void visit(final SqlPredicateLikeRegexp predicate) throws AdapterException {
+            return appendBinary(predicate, predicate.getLeft(), predicate.getPattern());
+        }
+
+        @Override
+        public Void visit(final SqlPredicateNot predicate) throws AdapterException {
+            return appendUnary(predicate, predicate.getExpression());
+        }
+
+        @Override
+        public Void visit(final SqlPredicateNotEqual predicate) throws AdapterException {
+            return appendBinary(predicate, predicate.getLeft(), predicate.getRight());
+        }
+
+        @Override
+        public Void visit(final SqlPredicateOr predicate) throws AdapterException {
+            return appendList(predicate, predicate.getOrPredicates());
+        }
+
+        @Override
+        public Void visit(final SqlPredicateIsNotNull predicate) throws AdapterException {
+            return appendUnary(predicate, predicate.getExpression());
+        }
+
+        @Override
+        public Void visit(final SqlPredicateIsNull predicate) throws AdapterException {
+            return appendUnary(predicate, predicate.getExpression());
+        }
+
+        @Override
+        public Void visit(final SqlTable table) {
+            open(table);
+            appendValue(table.getName());
+            appendValue(table.getAlias());
+            appendValue(table.getMetadata());
+            return close();
+        }
+
+        @Override
+        public Void visit(final SqlJoin join) throws AdapterException {
+            open(join);
+            appendValue(join.getJoinType());
+            appendNode(join.getLeft());
+            appendNode(join.getRight());
+            appendNode(join.getCondition());
+            return close();
+        }
+    }
+}
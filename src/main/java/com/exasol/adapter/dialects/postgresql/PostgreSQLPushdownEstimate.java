@@ -0,0 +1,185 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import java.io.StringReader;
+import java.sql.*;
+
+import jakarta.json.*;
+
+import com.exasol.adapter.AdapterException;
+import com.exasol.adapter.AdapterProperties;
+import com.exasol.adapter.properties.PropertyValidationException;
+import com.exasol.adapter.properties.PropertyValidator;
+import com.exasol.errorreporting.ExaError;
+
+/**
+ * This class holds the planner's estimate for a push-down query and the adapter properties that act on it.
+ * <p>
+ * The adapter runs {@code EXPLAIN (FORMAT JSON)} on the generated query before it emits the IMPORT. Planning does not
+ * execute the query, so the estimate is cheap compared to the import. It serves two purposes: queries that would
+ * import more rows or bytes than the configured budget are refused before any data is transferred, and scans that
+ * return only a few rows are not split into parallel slices even if the table is large.
+ * </p>
+ */
+public final class PostgreSQLPushdownEstimate {
+    /** Name of adapter property with the maximum estimated number of rows a push-down may import **/
+    public static final String MAX_ROWS_PROPERTY = "POSTGRESQL_PUSHDOWN_MAX_ROWS";
+    /** Name of adapter property with the maximum estimated number of bytes a push-down may import **/
+    public static final String MAX_BYTES_PROPERTY = "POSTGRESQL_PUSHDOWN_MAX_BYTES";
+    /** Name of adapter property with the minimum estimated number of rows of a scan that is split into slices **/
+    public static final String SLICE_MIN_ROWS_PROPERTY = "POSTGRESQL_IMPORT_SLICE_MIN_ROWS";
+    private final double rows;
+    private final long width;
+    private final double cost;
+
+    /**
+     * Create a new estimate.
+     *
+     * @param rows  estimated number of result rows
+     * @param width estimated average width of a result row in bytes
+     * @param cost  estimated total cost in the planner's units
+     */
+    PostgreSQLPushdownEstimate(final double rows, final long width, final double cost) {
+        this.rows = rows;
+        this.width = width;
+        this.cost = cost;
+    }
+
+    /**
+     * Check if push-down queries are explained before they are imported.
+     *
+     * @param properties user-defined adapter properties
+     * @return <code>true</code> if a budget or the minimum number of rows for slicing is set
+     */
+    public static boolean isEnabled(final AdapterProperties properties) {
+        return properties.containsKey(MAX_ROWS_PROPERTY) || properties.containsKey(MAX_BYTES_PROPERTY)
+                || properties.containsKey(SLICE_MIN_ROWS_PROPERTY);
+    }
+
+    /**
+     * Check if push-down queries are limited by a row or byte budget.
+     *
+     * @param properties user-defined adapter properties
+     * @return <code>true</code> if a budget is set
+     */
+    public static boolean hasBudget(final AdapterProperties properties) {
+        return properties.containsKey(MAX_ROWS_PROPERTY) || properties.containsKey(MAX_BYTES_PROPERTY);
+    }
+
+    /**
+     * Estimate the result of a query with {@code EXPLAIN (FORMAT JSON)}.
+     *
+     * @param connection connection to the PostgreSQL database
+     * @param query      query to estimate
+     * @return estimate of the top plan node
+     * @throws SQLException if explaining the query fails
+     */
+    static PostgreSQLPushdownEstimate explain(final Connection connection, final String query)
+            throws SQLException {
+        try (final Statement statement = connection.createStatement();
+                final ResultSet result = statement.executeQuery("EXPLAIN (FORMAT JSON) " + query)) {
+            result.next();
+            return parse(result.getString(1));
+        }
+    }
+
+    /**
+     * Parse the output of {@code EXPLAIN (FORMAT JSON)}.
+     *
+     * @param plan plan in JSON format
+     * @return estimate of the top plan node
+     */
+    static PostgreSQLPushdownEstimate parse(final String plan) {
+        try (final JsonReader reader = Json.createReader(new StringReader(plan))) {
+            final JsonObject topNode = reader.readArray().getJsonObject(0).getJsonObject("Plan");
+            return new PostgreSQLPushdownEstimate(topNode.getJsonNumber("Plan Rows").doubleValue(),
+                    topNode.getJsonNumber("Plan Width").longValue(), topNode.getJsonNumber("Total Cost").doubleValue());
+        }
+    }
+
+    /**
+     * @return estimated number of result rows
+     */
+    double getRows() {
+        return this.rows;
+    }
+
+    /**
+     * @return estimated number of result bytes
+     */
+    double getBytes() {
+        return this.rows * this.width;
+    }
+
+    /**
+     * Check if the estimated result is large enough to be imported in parallel slices.
+     *
+     * @param properties user-defined adapter properties
+     * @return <code>true</code> if the estimated rows reach the configured minimum or no minimum is set
+     */
+    boolean isWorthSplitting(final AdapterProperties properties) {
+        return !properties.containsKey(SLICE_MIN_ROWS_PROPERTY)
+                || (this.rows >= Long.parseLong(properties.get(SLICE_MIN_ROWS_PROPERTY)));
+    }
+
+    /**
+     * Refuse the push-down if the estimated result exceeds the configured budget.
+     *
+     * @param properties user-defined adapter properties
+     * @throws AdapterException if the estimated rows or bytes exceed their budget
+     */
+    void checkBudget(final AdapterProperties properties) throws AdapterException {
+        if (properties.containsKey(MAX_ROWS_PROPERTY)
+                && (this.rows > Long.parseLong(properties.get(MAX_ROWS_PROPERTY)))) {
+            throw createBudgetException("rows", this.rows, MAX_ROWS_PROPERTY, properties);
+        }
+        if (properties.containsKey(MAX_BYTES_PROPERTY)
+                && (getBytes() > Long.parseLong(properties.get(MAX_BYTES_PROPERTY)))) {
+            throw createBudgetException("bytes", getBytes(), MAX_BYTES_PROPERTY, properties);
+        }
+    }
+
+    private static AdapterException createBudgetException(final String unit, final double estimate,
+            final String property, final AdapterProperties properties) {
+        return new AdapterException(ExaError.messageBuilder("E-VSPG-31")
+                .message("The push-down query would import an estimated {{estimate}} " + unit
+                        + ", which exceeds the budget of {{budget}} set in {{property}}.", (long) estimate,
+                        properties.get(property), property)
+                .mitigation("Add a filter or a limit to the query or raise the budget.").toString());
+    }
+
+    @Override
+    public String toString() {
+        return "rows=" + (long) this.rows + ", width=" + this.width + ", cost=" + this.cost;
+    }
+
+    /**
+     * @return validator for the adapter properties acting on the estimate
+     */
+    public static PropertyValidator validator() {
+        return PropertyValidator.chain() //
+                .add(PropertyValidator.optional(MAX_ROWS_PROPERTY,
+                        value -> validateCount(MAX_ROWS_PROPERTY, value, 1)))
+                .add(PropertyValidator.optional(MAX_BYTES_PROPERTY,
+                        value -> validateCount(MAX_BYTES_PROPERTY, value, 1)))
+                .add(PropertyValidator.optional(SLICE_MIN_ROWS_PROPERTY,
+                        value -> validateCount(SLICE_MIN_ROWS_PROPERTY, value, 0)));
+    }
+
+    private static void validateCount(final String property, final String value, final long minimum)
+            throws PropertyValidationException {
+        if (!isAtLeast(value, minimum)) {
+            throw new PropertyValidationException(ExaError.messageBuilder("E-VSPG-32") //
+                    .message("Invalid value {{value}} for property {{property}}.", value, property) //
+                    .mitigation("Use an integer of at least {{minimum}}.", minimum) //
+                    .toString());
+        }
+    }
+
+    private static boolean isAtLeast(final String value, final long minimum) {
+        try {
+            return Long.parseLong(value) >= minimum;
+        } catch (final NumberFormatException exception) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import java.sql.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+import com.exasol.*;
+import com.exasol.adapter.AdapterProperties;
+import com.exasol.adapter.properties.PropertyValidationException;
+import com.exasol.adapter.properties.PropertyValidator;
+import com.exasol.errorreporting.ExaError;
+
+/**
+ * This class materializes push-down results into Exasol tables and decides when a materialized result is still fresh.
+ * <p>
+ * Dashboards read the same slowly changing reference tables every few seconds. With the result cache, the adapter
+ * imports the result of a push-down once into a table in a dedicated Exasol schema and answers repeated push-downs with
+ * a local SELECT on that table.
+ * </p>
+ * <p>
+ * A cached result is fresh while the freshness token of its source tables is unchanged and the time to live has not
+ * passed. The token combines the file node of each table, which changes with {@code TRUNCATE} and rewrites, with the
+ * insert, update and delete counters from {@code pg_stat_user_tables}. Partitioned tables are expanded to their leaf
+ * partitions, which hold the data and the statistics. The statistics are collected asynchronously, so the time to live
+ * bounds how long a change can go unnoticed.
+ * </p>
+ * <p>
+ * Each materialization creates a table with a new name, so that it never conflicts with a query that reads the
+ * previous result. The table of a replaced result is dropped, and so is the table of the least recently used result
+ * when the cache holds more than the maximum number of entries.
+ * </p>
+ */
+public final class PostgreSQLResultCache {
+    /** Name of adapter property with the Exasol connection used to create the cache tables **/
+    public static final String CONNECTION_PROPERTY = "POSTGRESQL_RESULT_CACHE_CONNECTION";
+    /** Name of adapter property with the Exasol schema that holds the cache tables **/
+    public static final String SCHEMA_PROPERTY = "POSTGRESQL_RESULT_CACHE_SCHEMA";
+    /** Name of adapter property with the seconds after which a cached result is refreshed in any case **/
+    public static final String TTL_PROPERTY = "POSTGRESQL_RESULT_CACHE_TTL";
+    /** Name of adapter property with the maximum number of cached results **/
+    public static final String SIZE_PROPERTY = "POSTGRESQL_RESULT_CACHE_SIZE";
+    static final int DEFAULT_TTL_SECONDS = 300;
+    static final int DEFAULT_SIZE = 100;
+    private static final Logger LOGGER = Logger.getLogger(PostgreSQLResultCache.class.getName());
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z][A-Za-z0-9_]*");
+    private static final String TABLE_PREFIX = "PG_RESULT_";
+    private static final String FRESHNESS_QUERY = "SELECT c.relfilenode, s.n_tup_ins, s.n_tup_upd, s.n_tup_del,"
+            + " c.relkind, current_setting('server_version_num')::int"
+            + " FROM pg_catalog.pg_class c LEFT JOIN pg_catalog.pg_stat_user_tables s ON s.relid = c.oid"
+            + " WHERE c.oid = to_regclass(?)";
+    private static final String LEAF_FRESHNESS_QUERY = "SELECT c.relfilenode, s.n_tup_ins, s.n_tup_upd, s.n_tup_del"
+            + " FROM pg_catalog.pg_partition_tree(to_regclass(?)) t" //
+            + " JOIN pg_catalog.pg_class c ON c.oid = t.relid" //
+            + " LEFT JOIN pg_catalog.pg_stat_user_tables s ON s.relid = c.oid" //
+            + " WHERE t.isleaf ORDER BY c.oid";
+    /* Guarded by itself. Iterates from the least to the most recently used entry. */
+    private static final Map<String, Entry> ENTRIES = new LinkedHashMap<>(16, 0.75f, true);
+
+    private PostgreSQLResultCache() {
+        // prevent instantiation
+    }
+
+    /**
+     * Check if push-down results are materialized in Exasol.
+     *
+     * @param properties user-defined adapter properties
+     * @return <code>true</code> if the cache connection and schema are set
+     */
+    public static boolean isEnabled(final AdapterProperties properties) {
+        return properties.containsKey(CONNECTION_PROPERTY) && properties.containsKey(SCHEMA_PROPERTY);
+    }
+
+    /**
+     * Read the time to live of cached results from adapter properties.
+     *
+     * @param properties user-defined adapter properties
+     * @return time after which a cached result is refreshed
+     */
+    static Duration getTimeToLive(final AdapterProperties properties) {
+        return Duration.ofSeconds(properties.containsKey(TTL_PROPERTY) //
+                ? Integer.parseInt(properties.get(TTL_PROPERTY))
+                : DEFAULT_TTL_SECONDS);
+    }
+
+    /**
+     * Read the maximum number of cached results from adapter properties.
+     *
+     * @param properties user-defined adapter properties
+     * @return maximum number of cached results
+     */
+    static int getSize(final AdapterProperties properties) {
+        return properties.containsKey(SIZE_PROPERTY) //
+                ? Integer.parseInt(properties.get(SIZE_PROPERTY))
+                : DEFAULT_SIZE;
+    }
+
+    /**
+     * Read the freshness token of the tables that a push-down reads.
+     * <p>
+     * A partitioned table has no file node and no statistics of its own, so the token of a partitioned table is
+     * combined from the tokens of its leaf partitions.
+     * </p>
+     *
+     * @param connection          connection to the PostgreSQL database
+     * @param qualifiedTableNames quoted names of the tables, qualified with their schema
+     * @return freshness token or empty if a relation has no statistics, for example because it is a view
+     * @throws SQLException if reading the statistics fails
+     */
+    static Optional<String> readFreshnessToken(final Connection connection, final List<String> qualifiedTableNames)
+            throws SQLException {
+        final StringJoiner token = new StringJoiner(";");
+        try (final PreparedStatement statement = connection.prepareStatement(FRESHNESS_QUERY)) {
+            for (final String qualifiedTableName : qualifiedTableNames) {
+                statement.setString(1, qualifiedTableName);
+                try (final ResultSet result = statement.executeQuery()) {
+                    if (!result.next()) {
+                        return Optional.empty();
+                    }
+                    final Optional<String> tableToken = "p".equals(result.getString(5))
+                            ? readLeafFreshnessToken(connection, qualifiedTableName, result.getInt(6))
+                            : readStatistics(result);
+                    if (tableToken.isEmpty()) {
+                        return Optional.empty();
+                    }
+                    token.add(tableToken.get());
+                }
+            }
+        }
+        return Optional.of(token.toString());
+    }
+
+    /*
+     * Servers before PostgreSQL 12 cannot list the leaf partitions with pg_partition_tree, so their partitioned tables
+     * are not cached.
+     */
+    private static Optional<String> readLeafFreshnessToken(final Connection connection,
+            final String qualifiedTableName, final int serverVersion) throws SQLException {
+        if (serverVersion < PostgreSQLPartitions.MINIMUM_SERVER_VERSION) {
+            return Optional.empty();
+        }
+        final StringJoiner token = new StringJoiner(",");
+        try (final PreparedStatement statement = connection.prepareStatement(LEAF_FRESHNESS_QUERY)) {
+            statement.setString(1, qualifiedTableName);
+            try (final ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    final Optional<String> leafToken = readStatistics(result);
+                    if (leafToken.isEmpty()) {
+                        return Optional.empty();
+                    }
+                    token.add(leafToken.get());
+                }
+            }
+        }
+        return Optional.of(token.toString());
+    }
+
+    /*
+     * Views and foreign tables have no statistics.
+     */
+    private static Optional<String> readStatistics(final ResultSet result) throws SQLException {
+        final long inserted = result.getLong(2);
+        if (result.wasNull()) {
+            return Optional.empty();
+        }
+        return Optional.of(result.getLong(1) + "/" + inserted + "/" + result.getLong(3) + "/" + result.getLong(4));
+    }
+
+    /**
+     * Find a fresh cached result.
+     *
+     * @param key        cache key of the push-down request
+     * @param token      current freshness token of the source tables
+     * @param timeToLive time after which a cached result is refreshed
+     * @return qualified name of the cache table or empty if there is no fresh result
+     */
+    static Optional<String> lookup(final String key, final String token, final Duration timeToLive) {
+        final Entry entry;
+        synchronized (ENTRIES) {
+            entry = ENTRIES.get(key);
+        }
+        if ((entry == null) || !entry.token.equals(token)
+                || ((System.nanoTime() - entry.createdAt) >= timeToLive.toNanos())) {
+            return Optional.empty();
+        }
+        LOGGER.fine(() -> "Answering push-down from result cache table " + entry.tableName + ".");
+        return Optional.of(entry.tableName);
+    }
+
+    /**
+     * Import a push-down result into a new cache table.
+     * <p>
+     * The cache tables of the replaced result and of evicted results are dropped afterwards. A table that cannot be
+     * dropped is left behind and logged.
+     * </p>
+     *
+     * @param exasolConnection connection to the Exasol database
+     * @param key              cache key of the push-down request
+     * @param token            freshness token of the source tables, read before the import
+     * @param statement        rewritten push-down statement that imports the result
+     * @param properties       user-defined adapter properties
+     * @return qualified name of the cache table
+     * @throws SQLException if creating the cache table fails
+     */
+    static String materialize(final Connection exasolConnection, final String key, final String token,
+            final String statement, final AdapterProperties properties) throws SQLException {
+        final String tableName = properties.get(SCHEMA_PROPERTY).trim() + "." + TABLE_PREFIX
+                + key.substring(0, 32).toUpperCase(Locale.ROOT) + "_"
+                + Long.toHexString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE).toUpperCase(Locale.ROOT);
+        final long createdAt = System.nanoTime();
+        try (final Statement exasolStatement = exasolConnection.createStatement()) {
+            exasolStatement.executeUpdate("CREATE TABLE " + tableName + " AS SELECT * FROM (" + statement + ")");
+        }
+        LOGGER.fine(() -> "Materialized push-down result into cache table " + tableName + ".");
+        dropTables(exasolConnection, store(key, new Entry(tableName, token, createdAt), getSize(properties)));
+        return tableName;
+    }
+
+    private static List<String> store(final String key, final Entry entry, final int maxEntries) {
+        final List<String> obsoleteTables = new ArrayList<>();
+        synchronized (ENTRIES) {
+            final Entry replacedEntry = ENTRIES.put(key, entry);
+            if (replacedEntry != null) {
+                obsoleteTables.add(replacedEntry.tableName);
+            }
+            final Iterator<Entry> leastRecentlyUsed = ENTRIES.values().iterator();
+            while (ENTRIES.size() > maxEntries) {
+                obsoleteTables.add(leastRecentlyUsed.next().tableName);
+                leastRecentlyUsed.remove();
+            }
+        }
+        return obsoleteTables;
+    }
+
+    private static void dropTables(final Connection exasolConnection, final List<String> tableNames) {
+        for (final String tableName : tableNames) {
+            try (final Statement exasolStatement = exasolConnection.createStatement()) {
+                exasolStatement.executeUpdate("DROP TABLE IF EXISTS " + tableName);
+                LOGGER.fine(() -> "Dropped cache table " + tableName + ".");
+            } catch (final SQLException exception) {
+                LOGGER.warning(() -> "Unable to drop cache table " + tableName + ", leaving it behind: "
+                        + exception.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Open a connection to the Exasol database that holds the cache tables.
+     * <p>
+     * The Exasol JDBC driver must be added to the adapter script.
+     * </p>
+     *
+     * @param exaMetadata Exasol metadata
+     * @param properties  user-defined adapter properties
+     * @return connection to the Exasol database
+     * @throws SQLException if the connection cannot be opened
+     */
+    static Connection connect(final ExaMetadata exaMetadata, final AdapterProperties properties)
+            throws SQLException {
+        final String connectionName = properties.get(CONNECTION_PROPERTY).trim();
+        try {
+            final ExaConnectionInformation connectionInformation = exaMetadata.getConnection(connectionName);
+            return DriverManager.getConnection(connectionInformation.getAddress(), connectionInformation.getUser(),
+                    connectionInformation.getPassword());
+        } catch (final ExaConnectionAccessException exception) {
+            throw new SQLException(ExaError.messageBuilder("E-VSPG-29")
+                    .message("Unable to access information about the Exasol connection {{connection}}.",
+                            connectionName)
+                    .toString(), exception);
+        }
+    }
+
+    /**
+     * Forget all cached results. The cache tables are kept.
+     */
+    static void clear() {
+        synchronized (ENTRIES) {
+            ENTRIES.clear();
+        }
+    }
+
+    /**
+     * @return validator for the adapter properties controlling the result cache
+     */
+    public static PropertyValidator validator() {
+        return PropertyValidator.chain() //
+                .add(PostgreSQLResultCache::validateCompleteness)
+                .add(PropertyValidator.optional(CONNECTION_PROPERTY,
+                        value -> validateIdentifier(CONNECTION_PROPERTY, value)))
+                .add(PropertyValidator.optional(SCHEMA_PROPERTY, value -> validateIdentifier(SCHEMA_PROPERTY, value)))
+                .add(PropertyValidator.optional(TTL_PROPERTY, PostgreSQLResultCache::validateTimeToLive))
+                .add(PropertyValidator.optional(SIZE_PROPERTY, PostgreSQLResultCache::validateSize));
+    }
+
+    private static void validateCompleteness(final AdapterProperties properties) throws PropertyValidationException {
+        if (properties.containsKey(CONNECTION_PROPERTY) != properties.containsKey(SCHEMA_PROPERTY)) {
+            throw new PropertyValidationException(ExaError.messageBuilder("E-VSPG-28") //
+                    .message("Properties {{connection}} and {{schema}} must be set together.", CONNECTION_PROPERTY,
+                            SCHEMA_PROPERTY) //
+                    .toString());
+        }
+    }
+
+    private static void validateIdentifier(final String property, final String value)
+            throws PropertyValidationException {
+        if (!IDENTIFIER.matcher(value.trim()).matches()) {
+            throw createInvalidValueException(property, value, "Use an unquoted Exasol identifier.");
+        }
+    }
+
+    private static void validateTimeToLive(final String value) throws PropertyValidationException {
+        try {
+            if (Integer.parseInt(value) >= 0) {
+                return;
+            }
+        } catch (final NumberFormatException exception) {
+            // reported below
+        }
+        throw createInvalidValueException(TTL_PROPERTY, value, "Use a non-negative number of seconds.");
+    }
+
+    private static void validateSize(final String value) throws PropertyValidationException {
+        try {
+            if (Integer.parseInt(value) >= 1) {
+                return;
+            }
+        } catch (final NumberFormatException exception) {
+            // reported below
+        }
+        throw createInvalidValueException(SIZE_PROPERTY, value, "Use a positive number of results.");
+    }
+
+    private static PropertyValidationException createInvalidValueException(final String property, final String value,
+            final String mitigation) {
+        return new PropertyValidationException(ExaError.messageBuilder("E-VSPG-30") //
+                .message("Invalid value {{value}} for property {{property}}.", value, property) //
+                .mitigation(mitigation) //
+                .toString());
+    }
+
+    private static final class Entry {
+        private final String tableName;
+        private final String token;
+        private final long createdAt;
+
+        private Entry(final String tableName, final String token, final long createdAt) {
+            this.tableName = tableName;
+            this.token = token;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import com.exasol.adapter.metadata.DataType;
+import com.exasol.adapter.sql.*;
+
+/**
+ * This class derives the Exasol data types of a push-down query's result columns from the statement and the metadata of
+ * the virtual tables.
+ * <p>
+ * Older Exasol versions do not send the data types of the select list with the push-down request. The adapter then
+ * needs to describe the generated query on PostgreSQL, which costs an additional round trip. For columns, casts,
+ * literals and simple functions and aggregates the types are already known locally.
+ * </p>
+ */
+final class PostgreSQLResultTypes {
+    /** PostgreSQL returns {@code count} as {@code bigint} */
+    private static final DataType COUNT_TYPE = DataType.createDecimal(19, 0);
+    private static final Set<ScalarFunction> TYPE_PRESERVING_SCALAR_FUNCTIONS = Set.of(ScalarFunction.UPPER,
+            ScalarFunction.LOWER, ScalarFunction.TRIM, ScalarFunction.LTRIM, ScalarFunction.RTRIM);
+    private static final Set<AggregateFunction> TYPE_PRESERVING_AGGREGATE_FUNCTIONS = Set.of(AggregateFunction.MIN,
+            AggregateFunction.MAX, AggregateFunction.FIRST_VALUE, AggregateFunction.LAST_VALUE);
+
+    private PostgreSQLResultTypes() {
+        // prevent instantiation
+    }
+
+    /**
+     * Derive the data types of the result columns.
+     *
+     * @param statement push-down statement
+     * @return data types of the result columns or empty if the type of any column cannot be derived
+     */
+    static Optional<List<DataType>> derive(final SqlStatement statement) {
+        if (!(statement instanceof SqlStatementSelect)) {
+            return Optional.empty();
+        }
+        final SqlSelectList selectList = ((SqlStatementSelect) statement).getSelectList();
+        if (!selectList.hasExplicitColumnsList()) {
+            return Optional.of(List.of(DataType.createBool()));
+        }
+        final List<DataType> types = new ArrayList<>(selectList.getExpressions().size());
+        for (final SqlNode expression : selectList.getExpressions()) {
+            final Optional<DataType> type = deriveType(expression);
+            if (type.isEmpty()) {
+                return Optional.empty();
+            }
+            types.add(type.get());
+        }
+        return Optional.of(types);
+    }
+
+    private static Optional<DataType> deriveType(final SqlNode expression) {
+        if (expression instanceof SqlColumn) {
+            return supported(((SqlColumn) expression).getMetadata().getType());
+        } else if (expression instanceof SqlFunctionScalarCast) {
+            return supported(((SqlFunctionScalarCast) expression).getDataType());
+        } else if (expression instanceof SqlFunctionScalar) {
+            final SqlFunctionScalar function = (SqlFunctionScalar) expression;
+            return TYPE_PRESERVING_SCALAR_FUNCTIONS.contains(function.getFunction())
+                    ? deriveStringType(function.getArguments().get(0))
+                    : Optional.empty();
+        } else if (expression instanceof SqlFunctionAggregate) {
+            return deriveAggregateType((SqlFunctionAggregate) expression);
+        } else {
+            return deriveLiteralType(expression);
+        }
+    }
+
+    private static Optional<DataType> deriveStringType(final SqlNode argument) {
+        final Optional<DataType> type = deriveType(argument);
+        return type.filter(dataType -> (dataType.getExaDataType() == DataType.ExaDataType.VARCHAR)
+                || (dataType.getExaDataType() == DataType.ExaDataType.CHAR));
+    }
+
+    private static Optional<DataType> deriveAggregateType(final SqlFunctionAggregate function) {
+        if (function.getFunction() == AggregateFunction.COUNT) {
+            return Optional.of(COUNT_TYPE);
+        } else if (TYPE_PRESERVING_AGGREGATE_FUNCTIONS.contains(function.getFunction())
+                && (function.getArguments().size() == 1)) {
+            return deriveType(function.getArguments().get(0));
+        } else if ((function.getFunction() == AggregateFunction.EVERY)
+                || (function.getFunction() == AggregateFunction.SOME)) {
+            return Optional.of(DataType.createBool());
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<DataType> deriveLiteralType(final SqlNode literal) {
+        if (literal instanceof SqlLiteralBool) {
+            return Optional.of(DataType.createBool());
+        } else if (literal instanceof SqlLiteralDate) {
+            return Optional.of(DataType.createDate());
+        } else if (literal instanceof SqlLiteralTimestamp) {
+            return Optional.of(DataType.createTimestamp(false, 3));
+        } else if (literal instanceof SqlLiteralDouble) {
+            return Optional.of(DataType.createDouble());
+        } else if (literal instanceof SqlLiteralExactnumeric) {
+            return deriveDecimalType(((SqlLiteralExactnumeric) literal).getValue());
+        } else if (literal instanceof SqlLiteralString) {
+            final int length = ((SqlLiteralString) literal).getValue().length();
+            return (length <= DataType.MAX_EXASOL_VARCHAR_SIZE)
+                    ? Optional.of(DataType.createVarChar(Math.max(length, 1), DataType.ExaCharset.UTF8))
+                    : Optional.empty();
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<DataType> deriveDecimalType(final BigDecimal value) {
+        final BigDecimal normalizedValue = (value.scale() < 0) ? value.setScale(0) : value;
+        final int precision = Math.max(normalizedValue.precision(), normalizedValue.scale());
+        return (precision <= DataType.MAX_EXASOL_DECIMAL_PRECISION)
+                ? Optional.of(DataType.createDecimal(precision, normalizedValue.scale()))
+                : Optional.empty();
+    }
+
+    private static Optional<DataType> supported(final DataType type) {
+        return Optional.of(type).filter(dataType -> dataType.getExaDataType() != DataType.ExaDataType.UNSUPPORTED);
+    }
+}
@@ -14,15 +14,18 @@ import java.util.*;
 import java.util.function.Predicate;
 
 import com.exasol.ExaMetadata;
+import com.exasol.adapter.AdapterException;
 import com.exasol.adapter.AdapterProperties;
 import com.exasol.adapter.capabilities.Capabilities;
 import com.exasol.adapter.capabilities.ScalarFunctionCapability;
 import com.exasol.adapter.dialects.*;
 import com.exasol.adapter.dialects.postgresql.PostgreSQLIdentifierMapping.CaseFolding;
-import com.exasol.adapter.dialects.rewriting.ImportIntoTemporaryTableQueryRewriter;
 import com.exasol.adapter.dialects.rewriting.SqlGenerationContext;
 import com.exasol.adapter.jdbc.*;
+import com.exasol.adapter.metadata.DataType;
+import com.exasol.adapter.metadata.SchemaMetadata;
 import com.exasol.adapter.sql.ScalarFunction;
+import com.exasol.adapter.sql.SqlStatement;
 import com.exasol.errorreporting.ExaError;
 
 /**
@@ -100,10 +103,45 @@ public class PostgreSQLSqlDialect extends AbstractSqlDialect {
      */
     public PostgreSQLSqlDialect(final ConnectionFactory connectionFactory, final AdapterProperties properties,
             final ExaMetadata exaMetadata) {
-        super(connectionFactory, properties, exaMetadata,
-                Set.of(CATALOG_NAME_PROPERTY, SCHEMA_NAME_PROPERTY, IGNORE_ERRORS_PROPERTY,
-                        PostgreSQLIdentifierMapping.PROPERTY),
-                List.of(PostgreSQLIdentifierMapping.validator()));
+        super(createConnectionFactory(connectionFactory, properties, exaMetadata), properties, exaMetadata,
+                createSupportedProperties(),
+                List.of(PostgreSQLIdentifierMapping.validator(), PostgreSQLMetadataConnections.validator(),
+                        PostgreSQLNameFilter.validator(), PostgreSQLPartitionMapping.validator(),
+                        PostgreSQLDdlLog.validator(), PostgreSQLConnectionPooling.validator(),
+                        PostgreSQLParallelImport.validator(), PostgreSQLCitus.validator(),
+                        PostgreSQLCopyUdf.validator(), PostgreSQLPushdownCache.validator(),
+                        PostgreSQLResultCache.validator(), PostgreSQLPushdownEstimate.validator(),
+                        PostgreSQLApproximateCount.validator(), PostgreSQLTableSample.validator(),
+                        PostgreSQLAggregateViews.validator(), PostgreSQLPartialAggregation.validator(),
+                        PostgreSQLInList.validator(), PostgreSQLCaseInsensitiveMatch.validator()));
+    }
+
+    private static ConnectionFactory createConnectionFactory(final ConnectionFactory connectionFactory,
+            final AdapterProperties properties, final ExaMetadata exaMetadata) {
+        if (PostgreSQLConnectionPooling.isEnabled(properties)) {
+            return new PostgreSQLPooledConnectionFactory(exaMetadata, properties);
+        } else {
+            return connectionFactory;
+        }
+    }
+
+    private static Set<String> createSupportedProperties() {
+        final Set<String> properties = new HashSet<>(Set.of(CATALOG_NAME_PROPERTY, SCHEMA_NAME_PROPERTY,
+                IGNORE_ERRORS_PROPERTY, PostgreSQLIdentifierMapping.PROPERTY, PostgreSQLMetadataConnections.PROPERTY,
+                PostgreSQLPartitionMapping.PROPERTY, PostgreSQLDdlLog.PROPERTY,
+                PostgreSQLConnectionPooling.SIZE_PROPERTY, PostgreSQLConnectionPooling.IDLE_TIMEOUT_PROPERTY,
+                PostgreSQLParallelImport.SLICES_PROPERTY, PostgreSQLParallelImport.MIN_PAGES_PROPERTY,
+                PostgreSQLCitus.PROPERTY, PostgreSQLCopyUdf.PROPERTY, PostgreSQLPushdownCache.SIZE_PROPERTY,
+                PostgreSQLResultCache.CONNECTION_PROPERTY, PostgreSQLResultCache.SCHEMA_PROPERTY,
+                PostgreSQLResultCache.TTL_PROPERTY, PostgreSQLResultCache.SIZE_PROPERTY,
+                PostgreSQLPushdownEstimate.MAX_ROWS_PROPERTY,
+                PostgreSQLPushdownEstimate.MAX_BYTES_PROPERTY, PostgreSQLPushdownEstimate.SLICE_MIN_ROWS_PROPERTY,
+                PostgreSQLApproximateCount.PROPERTY, PostgreSQLTableSample.PROPERTY,
+                PostgreSQLAggregateViews.PROPERTY, PostgreSQLPartialAggregation.PROPERTY,
+                PostgreSQLInList.ARRAY_MIN_SIZE_PROPERTY, PostgreSQLInList.VALUES_MIN_SIZE_PROPERTY,
+                PostgreSQLCaseInsensitiveMatch.PROPERTY));
+        properties.addAll(PostgreSQLNameFilter.PROPERTIES);
+        return properties;
     }
 
     @Override
@@ -126,7 +164,46 @@ public class PostgreSQLSqlDialect extends AbstractSqlDialect {
 
     @Override
     protected QueryRewriter createQueryRewriter() {
-        return new ImportIntoTemporaryTableQueryRewriter(this, createRemoteMetadataReader(), this.connectionFactory);
+        return new PostgreSQLImportQueryRewriter(this,
+                new PostgreSQLLazyMetadataReader(this::createRemoteMetadataReader), this.connectionFactory);
+    }
+
+    @Override
+    public String rewriteQuery(final SqlStatement statement, final List<DataType> selectListDataTypes,
+            final ExaMetadata exaMetadata) throws AdapterException, SQLException {
+        try {
+            return super.rewriteQuery(statement, selectListDataTypes, exaMetadata);
+        } finally {
+            releaseConnection();
+        }
+    }
+
+    @Override
+    public SchemaMetadata readSchemaMetadata() {
+        try {
+            return super.readSchemaMetadata();
+        } finally {
+            releaseConnection();
+        }
+    }
+
+    @Override
+    public SchemaMetadata readSchemaMetadata(final List<String> tables) {
+        try {
+            return super.readSchemaMetadata(tables);
+        } finally {
+            releaseConnection();
+        }
+    }
+
+    /*
+     * The adapter framework never closes the connection it got from the factory. A pooled connection is therefore
+     * given back at the end of each call that can use it.
+     */
+    private void releaseConnection() {
+        if (this.connectionFactory instanceof PostgreSQLPooledConnectionFactory) {
+            ((PostgreSQLPooledConnectionFactory) this.connectionFactory).release();
+        }
     }
 
     @Override
@@ -194,7 +271,7 @@ public class PostgreSQLSqlDialect extends AbstractSqlDialect {
 
     @Override
     public SqlGenerator getSqlGenerator(final SqlGenerationContext context) {
-        return new PostgresSQLSqlGenerationVisitor(this, context);
+        return new PostgresSQLSqlGenerationVisitor(this, context, this.properties);
     }
 
     @Override
@@ -0,0 +1,177 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import com.exasol.adapter.AdapterProperties;
+import com.exasol.adapter.metadata.TableMetadata;
+
+/**
+ * This class keeps the mapped metadata of the tables read by the last metadata scan, indexed by the tables'
+ * fingerprints.
+ * <p>
+ * Exasol does not hand the previous metadata of a Virtual Schema to the adapter on a refresh, so the mapping results
+ * are kept per set of adapter properties for as long as the adapter's JVM lives. A refresh then only needs to map the
+ * tables whose fingerprint is unknown, which are the tables that were added or changed since the last scan.
+ * </p>
+ * <p>
+ * If the adapter reads the {@link PostgreSQLDdlLog}, the cache also remembers the position in the log up to which the
+ * tables are known, and a scan can be restricted to the relations changed since then.
+ * </p>
+ */
+final class PostgreSQLTableMetadataCache {
+    private static final Logger LOGGER = Logger.getLogger(PostgreSQLTableMetadataCache.class.getName());
+    private static final int MAX_CACHED_SCHEMAS = 16;
+    private static final Map<AdapterProperties, Snapshot> SNAPSHOTS = Collections
+            .synchronizedMap(new LinkedHashMap<>(MAX_CACHED_SCHEMAS, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<AdapterProperties, Snapshot> eldest) {
+                    return size() > MAX_CACHED_SCHEMAS;
+                }
+            });
+    private final AdapterProperties properties;
+    private final Snapshot previousScan;
+    private final Snapshot currentScan = new Snapshot();
+    private Set<Long> restrictedRelations = Collections.emptySet();
+
+    private PostgreSQLTableMetadataCache(final AdapterProperties properties, final Snapshot previousScan) {
+        this.properties = properties;
+        this.previousScan = previousScan;
+    }
+
+    /**
+     * Load the tables mapped by the last scan with the same adapter properties.
+     *
+     * @param properties user-defined adapter properties
+     * @return cache that contains the previously mapped tables
+     */
+    static PostgreSQLTableMetadataCache load(final AdapterProperties properties) {
+        return new PostgreSQLTableMetadataCache(properties, SNAPSHOTS.getOrDefault(properties, new Snapshot()));
+    }
+
+    /**
+     * Remove all cached tables.
+     */
+    static void clear() {
+        SNAPSHOTS.clear();
+    }
+
+    /**
+     * Get the fingerprints of all tables mapped by the last scan.
+     *
+     * @return fingerprints of the known tables
+     */
+    Set<String> getKnownFingerprints() {
+        return Collections.unmodifiableSet(this.previousScan.tables.keySet());
+    }
+
+    /**
+     * Get the table metadata mapped by the last scan for a table with the given fingerprint.
+     *
+     * @param fingerprint fingerprint of the table
+     * @return table metadata if the table is unchanged since the last scan
+     */
+    Optional<TableMetadata> get(final String fingerprint) {
+        return Optional.ofNullable(this.previousScan.tables.get(fingerprint));
+    }
+
+    /**
+     * Remember a table mapped by the current scan.
+     *
+     * @param fingerprint   fingerprint of the table
+     * @param tableOid      OID of the table
+     * @param tableMetadata mapped table metadata
+     */
+    void put(final String fingerprint, final long tableOid, final TableMetadata tableMetadata) {
+        this.currentScan.tables.put(fingerprint, tableMetadata);
+        this.currentScan.relations.put(fingerprint, tableOid);
+    }
+
+    /**
+     * Get the position in the DDL log up to which the last scan is up to date.
+     *
+     * @return position in the DDL log or empty if the last scan did not read the DDL log
+     */
+    OptionalLong getDdlLogPosition() {
+        return this.previousScan.ddlLogPosition;
+    }
+
+    /**
+     * Set the position in the DDL log up to which the current scan is up to date.
+     *
+     * @param position position in the DDL log
+     */
+    void setDdlLogPosition(final long position) {
+        this.currentScan.ddlLogPosition = OptionalLong.of(position);
+    }
+
+    /**
+     * Restrict the current scan to the given relations and keep all other tables of the last scan.
+     *
+     * @param relationOids OIDs of the relations to scan again
+     */
+    void restrictToRelations(final Set<Long> relationOids) {
+        this.restrictedRelations = Set.copyOf(relationOids);
+    }
+
+    /**
+     * Get the relations the current scan is restricted to.
+     *
+     * @return OIDs of the relations to scan or an empty set if the scan is not restricted
+     */
+    Set<Long> getRestrictedRelations() {
+        return this.restrictedRelations;
+    }
+
+    /**
+     * Get the tables of the last scan that are outside of the relations the current scan is restricted to.
+     *
+     * @return unchanged tables ordered by OID
+     */
+    List<TableMetadata> getUnchangedTables() {
+        return this.previousScan.relations.entrySet().stream() //
+                .filter(relation -> !this.restrictedRelations.contains(relation.getValue())) //
+                .sorted(Map.Entry.comparingByValue()) //
+                .map(relation -> this.previousScan.tables.get(relation.getKey())) //
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Replace the tables of the last scan by the tables of the current scan.
+     * <p>
+     * If the current scan was restricted to selected relations, the tables of the last scan outside of these relations
+     * are kept.
+     * </p>
+     *
+     * @param completeScan <code>true</code> if the current scan covered all tables, <code>false</code> if it was
+     *                     restricted to selected tables and the remaining tables of the last scan should be kept
+     */
+    void save(final boolean completeScan) {
+        final Snapshot snapshot = new Snapshot();
+        if (!completeScan) {
+            snapshot.tables.putAll(this.previousScan.tables);
+            snapshot.relations.putAll(this.previousScan.relations);
+        } else if (!this.restrictedRelations.isEmpty()) {
+            this.previousScan.relations.forEach((fingerprint, oid) -> {
+                if (!this.restrictedRelations.contains(oid)) {
+                    snapshot.tables.put(fingerprint, this.previousScan.tables.get(fingerprint));
+                    snapshot.relations.put(fingerprint, oid);
+                }
+            });
+        }
+        snapshot.tables.putAll(this.currentScan.tables);
+        snapshot.relations.putAll(this.currentScan.relations);
+        snapshot.ddlLogPosition = this.currentScan.ddlLogPosition;
+        LOGGER.fine(() -> "Caching the metadata of " + snapshot.tables.size() + " mapped tables.");
+        SNAPSHOTS.put(this.properties, snapshot);
+    }
+
+    private static final class Snapshot {
+        private final Map<String, TableMetadata> tables = new HashMap<>();
+        private final Map<String, Long> relations = new HashMap<>();
+        private OptionalLong ddlLogPosition = OptionalLong.empty();
+    }
+}
@@ -2,21 +2,37 @@ package com.exasol.adapter.dialects.postgresql;
 
 import static com.exasol.adapter.AdapterProperties.IGNORE_ERRORS_PROPERTY;
 
-import java.sql.Connection;
+import java.sql.*;
+import java.util.*;
 import java.util.logging.Logger;
 
+import jakarta.json.Json;
+import jakarta.json.JsonObjectBuilder;
+
 import com.exasol.ExaMetadata;
 import com.exasol.adapter.AdapterProperties;
 import com.exasol.adapter.dialects.IdentifierConverter;
 import com.exasol.adapter.dialects.postgresql.PostgreSQLIdentifierMapping.CaseFolding;
 import com.exasol.adapter.jdbc.*;
+import com.exasol.adapter.metadata.ColumnMetadata;
+import com.exasol.adapter.metadata.TableMetadata;
 import com.exasol.errorreporting.ExaError;
 
 /**
  * This class handles the specifics of mapping PostgreSQL table metadata to Exasol.
+ * <p>
+ * Tables whose fingerprint did not change since the last scan are taken from the {@link PostgreSQLTableMetadataCache}
+ * instead of being mapped again. The fingerprint is stored in the table's adapter notes together with the
+ * case-insensitive filters that the table's indexes support, see {@link PostgreSQLCaseInsensitiveMatch}.
+ * </p>
+ * <p>
+ * With a {@link PostgreSQLColumnMetadataReader} the columns are requested by table OID, so that they can be read from a
+ * cursor in the same order as the tables.
+ * </p>
  */
 public class PostgreSQLTableMetadataReader extends BaseTableMetadataReader {
     static final Logger LOGGER = Logger.getLogger(PostgreSQLTableMetadataReader.class.getName());
+    private final PostgreSQLTableMetadataCache tableMetadataCache;
 
     /**
      * Create a new {@link PostgreSQLTableMetadataReader} instance.
@@ -29,7 +45,73 @@ public class PostgreSQLTableMetadataReader extends BaseTableMetadataReader {
     public PostgreSQLTableMetadataReader(final Connection connection, final ColumnMetadataReader columnMetadataReader,
             final AdapterProperties properties, final ExaMetadata exaMetadata,
             final IdentifierConverter identifierConverter) {
+        this(connection, columnMetadataReader, properties, exaMetadata, identifierConverter,
+                PostgreSQLTableMetadataCache.load(properties));
+    }
+
+    PostgreSQLTableMetadataReader(final Connection connection, final ColumnMetadataReader columnMetadataReader,
+            final AdapterProperties properties, final ExaMetadata exaMetadata,
+            final IdentifierConverter identifierConverter, final PostgreSQLTableMetadataCache tableMetadataCache) {
         super(connection, columnMetadataReader, properties, exaMetadata, identifierConverter);
+        this.tableMetadataCache = tableMetadataCache;
+    }
+
+    @Override
+    public List<TableMetadata> mapTables(final ResultSet remoteTables, final List<String> filteredTables)
+            throws SQLException {
+        final List<TableMetadata> tables;
+        try {
+            tables = super.mapTables(remoteTables, filteredTables);
+        } finally {
+            if (this.columnMetadataReader instanceof PostgreSQLColumnMetadataReader) {
+                ((PostgreSQLColumnMetadataReader) this.columnMetadataReader).closeCursor();
+            }
+        }
+        this.tableMetadataCache.save(includeAllTables(filteredTables));
+        return tables;
+    }
+
+    @Override
+    protected TableMetadata mapTable(final ResultSet table, final String tableName) throws SQLException {
+        final String fingerprint = table.getString(PostgreSQLCatalogQuery.FINGERPRINT_COLUMN);
+        final Optional<TableMetadata> cachedTable = this.tableMetadataCache.get(fingerprint);
+        final TableMetadata tableMetadata;
+        if (cachedTable.isPresent()) {
+            LOGGER.finer(() -> "Table \"" + tableName + "\" is unchanged since the last scan. Using cached metadata.");
+            tableMetadata = cachedTable.get();
+        } else {
+            final String comment = Objects.requireNonNullElse(readComment(table), "");
+            tableMetadata = new TableMetadata(adjustIdentifierCase(tableName),
+                    createAdapterNotes(fingerprint, table.getString(PostgreSQLCatalogQuery.RELKIND_COLUMN),
+                            table.getString(PostgreSQLCatalogQuery.INDEXES_COLUMN)),
+                    mapColumns(table, tableName), comment);
+        }
+        if (tableHasColumns(tableMetadata)) {
+            this.tableMetadataCache.put(fingerprint, table.getLong(PostgreSQLCatalogQuery.OID_COLUMN), tableMetadata);
+        }
+        return tableMetadata;
+    }
+
+    private List<ColumnMetadata> mapColumns(final ResultSet table, final String tableName) throws SQLException {
+        if (this.columnMetadataReader instanceof PostgreSQLColumnMetadataReader) {
+            return ((PostgreSQLColumnMetadataReader) this.columnMetadataReader)
+                    .mapColumns(table.getLong(PostgreSQLCatalogQuery.OID_COLUMN), tableName);
+        } else {
+            return this.columnMetadataReader.mapColumns(tableName);
+        }
+    }
+
+    private static String createAdapterNotes(final String fingerprint, final String relationKind,
+            final String indexes) {
+        final JsonObjectBuilder builder = Json.createObjectBuilder().add("fingerprint", String.valueOf(fingerprint));
+        if (relationKind != null) {
+            builder.add(PostgreSQLTableSample.ADAPTER_NOTES_KEY, relationKind);
+        }
+        final Set<String> indexedFilters = PostgreSQLCaseInsensitiveMatch.getIndexedFilters(indexes);
+        if (!indexedFilters.isEmpty()) {
+            builder.add(PostgreSQLCaseInsensitiveMatch.ADAPTER_NOTES_KEY, Json.createArrayBuilder(indexedFilters));
+        }
+        return builder.build().toString();
     }
 
     /**
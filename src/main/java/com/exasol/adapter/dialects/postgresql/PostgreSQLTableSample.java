@@ -0,0 +1,132 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import java.io.StringReader;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import jakarta.json.*;
+
+import com.exasol.adapter.AdapterProperties;
+import com.exasol.adapter.metadata.TableMetadata;
+import com.exasol.adapter.properties.PropertyValidationException;
+import com.exasol.adapter.properties.PropertyValidator;
+import com.exasol.errorreporting.ExaError;
+
+/**
+ * This class holds the sampling methods that the SQL generator applies to table references.
+ * <p>
+ * Exploratory queries on huge tables rarely need all rows. With sampling configured, the generated query reads the
+ * table with {@code TABLESAMPLE SYSTEM}, which picks random blocks, or {@code TABLESAMPLE BERNOULLI}, which picks
+ * random rows from all blocks. An optional seed makes the sample repeatable as long as the table does not change.
+ * </p>
+ * <p>
+ * The property lists entries of the form {@code <table>=<method>(<percentage>) [REPEATABLE(<seed>)]}, separated by
+ * commas. The table {@code *} stands for all tables without an entry of their own.
+ * </p>
+ * <p>
+ * PostgreSQL only samples tables, partitioned tables and materialized views. The metadata reader records the kind of
+ * each relation in the table's adapter notes, and views are always read completely.
+ * </p>
+ */
+public final class PostgreSQLTableSample {
+    /** Name of adapter property with the sampling methods of the tables **/
+    public static final String PROPERTY = "POSTGRESQL_TABLESAMPLE";
+    /** Key of the table adapter notes that holds the kind of the relation **/
+    static final String ADAPTER_NOTES_KEY = "relkind";
+    private static final Set<String> SAMPLED_RELATION_KINDS = Set.of("r", "p", "m");
+    private static final String ALL_TABLES = "*";
+    private static final Pattern ENTRY = Pattern.compile("\\s*([^=,\\s]+)\\s*=\\s*(SYSTEM|BERNOULLI)\\s*"
+            + "\\(\\s*(\\d+(?:\\.\\d+)?)\\s*\\)(?:\\s+REPEATABLE\\s*\\(\\s*(-?\\d+)\\s*\\))?\\s*",
+            Pattern.CASE_INSENSITIVE);
+    private static final PostgreSQLTableSample NONE = new PostgreSQLTableSample(Map.of());
+    private final Map<String, String> clauses;
+
+    private PostgreSQLTableSample(final Map<String, String> clauses) {
+        this.clauses = clauses;
+    }
+
+    /**
+     * Read the sampling methods from adapter properties.
+     *
+     * @param properties user-defined adapter properties
+     * @return sampling methods of the tables
+     */
+    public static PostgreSQLTableSample from(final AdapterProperties properties) {
+        if (!properties.containsKey(PROPERTY)) {
+            return NONE;
+        }
+        final Map<String, String> clauses = new HashMap<>();
+        for (final String entry : properties.get(PROPERTY).split(",")) {
+            final Matcher matcher = ENTRY.matcher(entry);
+            if (matcher.matches()) {
+                clauses.put(matcher.group(1).toUpperCase(Locale.ROOT), createClause(matcher));
+            }
+        }
+        return new PostgreSQLTableSample(clauses);
+    }
+
+    /**
+     * @return sampling that leaves all tables unchanged
+     */
+    public static PostgreSQLTableSample none() {
+        return NONE;
+    }
+
+    private static String createClause(final Matcher matcher) {
+        final String clause = "TABLESAMPLE " + matcher.group(2).toUpperCase(Locale.ROOT) + " (" + matcher.group(3)
+                + ")";
+        return (matcher.group(4) == null) ? clause : clause + " REPEATABLE (" + matcher.group(4) + ")";
+    }
+
+    /**
+     * Get the sampling clause of a table.
+     *
+     * @param tableName name of the table
+     * @param metadata  metadata of the table or <code>null</code> if unknown
+     * @return {@code TABLESAMPLE} clause or empty if the table is read completely
+     */
+    public Optional<String> getClause(final String tableName, final TableMetadata metadata) {
+        if (this.clauses.isEmpty() || !isSampled(metadata)) {
+            return Optional.empty();
+        }
+        final String clause = this.clauses.get(tableName.toUpperCase(Locale.ROOT));
+        return Optional.ofNullable((clause == null) ? this.clauses.get(ALL_TABLES) : clause);
+    }
+
+    /*
+     * Adapter notes from older versions of the adapter do not record the kind of the relation. Those tables are sampled
+     * as before until the next refresh.
+     */
+    private static boolean isSampled(final TableMetadata metadata) {
+        if ((metadata == null) || !metadata.hasAdapterNote()) {
+            return true;
+        }
+        try (final JsonReader reader = Json.createReader(new StringReader(metadata.getAdapterNotes()))) {
+            final JsonString relationKind = reader.readObject().getJsonString(ADAPTER_NOTES_KEY);
+            return (relationKind == null) || SAMPLED_RELATION_KINDS.contains(relationKind.getString());
+        } catch (final JsonException | ClassCastException exception) {
+            return true;
+        }
+    }
+
+    /**
+     * @return validator for the adapter property with the sampling methods
+     */
+    public static PropertyValidator validator() {
+        return PropertyValidator.optional(PROPERTY, PostgreSQLTableSample::validatePropertyValue);
+    }
+
+    private static void validatePropertyValue(final String value) throws PropertyValidationException {
+        for (final String entry : value.split(",")) {
+            final Matcher matcher = ENTRY.matcher(entry);
+            if (!matcher.matches() || (Double.parseDouble(matcher.group(3)) > 100)) {
+                throw new PropertyValidationException(ExaError.messageBuilder("E-VSPG-33") //
+                        .message("Invalid entry {{entry}} in property {{property}}.", entry.trim(), PROPERTY) //
+                        .mitigation("Use entries like 'orders=SYSTEM(1) REPEATABLE(42)' or '*=BERNOULLI(0.5)'"
+                                + " with a percentage between 0 and 100, separated by commas.") //
+                        .toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import java.sql.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * This class holds the JDBC type and name of all data types in the PostgreSQL database.
+ * <p>
+ * The PostgreSQL JDBC driver knows the core types and looks up every other type with a separate query when it first
+ * sees it. The catalog reads all types with one query instead and resolves them the same way as the driver does in
+ * {@link DatabaseMetaData#getColumns}, so that the mapping of columns does not depend on where the type information
+ * comes from.
+ * </p>
+ */
+final class PostgreSQLTypeCatalog {
+    private static final Logger LOGGER = Logger.getLogger(PostgreSQLTypeCatalog.class.getName());
+    static final String QUERY = "SELECT t.oid, t.typname, t.typtype," //
+            + " t.typinput = 'pg_catalog.array_in'::regproc AS is_array," //
+            + " n.nspname, n.nspname = ANY(current_schemas(true)) AS on_path" //
+            + " FROM pg_catalog.pg_type t JOIN pg_catalog.pg_namespace n ON n.oid = t.typnamespace";
+    /*
+     * Core types for which the driver uses fixed JDBC types instead of looking them up.
+     */
+    private static final Map<Integer, Integer> CORE_JDBC_TYPES = Map.ofEntries( //
+            Map.entry(21, Types.SMALLINT), // int2
+            Map.entry(23, Types.INTEGER), // int4
+            Map.entry(26, Types.BIGINT), // oid
+            Map.entry(20, Types.BIGINT), // int8
+            Map.entry(790, Types.DOUBLE), // money
+            Map.entry(1700, Types.NUMERIC), // numeric
+            Map.entry(700, Types.REAL), // float4
+            Map.entry(701, Types.DOUBLE), // float8
+            Map.entry(18, Types.CHAR), // char
+            Map.entry(1042, Types.CHAR), // bpchar
+            Map.entry(1043, Types.VARCHAR), // varchar
+            Map.entry(1562, Types.OTHER), // varbit
+            Map.entry(25, Types.VARCHAR), // text
+            Map.entry(19, Types.VARCHAR), // name
+            Map.entry(17, Types.BINARY), // bytea
+            Map.entry(16, Types.BIT), // bool
+            Map.entry(1560, Types.BIT), // bit
+            Map.entry(1082, Types.DATE), // date
+            Map.entry(1083, Types.TIME), // time
+            Map.entry(1266, Types.TIME), // timetz
+            Map.entry(1114, Types.TIMESTAMP), // timestamp
+            Map.entry(1184, Types.TIMESTAMP), // timestamptz
+            Map.entry(1790, Types.REF_CURSOR), // refcursor
+            Map.entry(114, Types.OTHER), // json
+            Map.entry(600, Types.OTHER), // point
+            Map.entry(603, Types.OTHER)); // box
+    private final Map<Integer, Integer> jdbcTypes;
+    private final Map<Integer, String> typeNames;
+
+    private PostgreSQLTypeCatalog(final Map<Integer, Integer> jdbcTypes, final Map<Integer, String> typeNames) {
+        this.jdbcTypes = jdbcTypes;
+        this.typeNames = typeNames;
+    }
+
+    /**
+     * Read all data types from the PostgreSQL database.
+     *
+     * @param connection connection to the PostgreSQL database
+     * @return type catalog
+     * @throws SQLException if reading the types fails
+     */
+    static PostgreSQLTypeCatalog load(final Connection connection) throws SQLException {
+        final Map<Integer, Integer> jdbcTypes = new HashMap<>(CORE_JDBC_TYPES);
+        final Map<Integer, String> typeNames = new HashMap<>();
+        try (final Statement statement = connection.createStatement();
+                final ResultSet types = statement.executeQuery(QUERY)) {
+            while (types.next()) {
+                final int oid = (int) types.getLong("oid");
+                jdbcTypes.putIfAbsent(oid, getJdbcType(types.getString("typtype"), types.getBoolean("is_array")));
+                typeNames.put(oid, getTypeName(types.getString("typname"), types.getString("nspname"),
+                        types.getBoolean("on_path")));
+            }
+        }
+        LOGGER.fine(() -> "Loaded " + typeNames.size() + " PostgreSQL data types.");
+        return new PostgreSQLTypeCatalog(jdbcTypes, typeNames);
+    }
+
+    private static int getJdbcType(final String typeType, final boolean isArray) {
+        if (isArray) {
+            return Types.ARRAY;
+        }
+        switch (typeType) {
+            case "c":
+                return Types.STRUCT;
+            case "d":
+                return Types.DISTINCT;
+            case "e":
+                return Types.VARCHAR;
+            default:
+                return Types.OTHER;
+        }
+    }
+
+    private static String getTypeName(final String name, final String schema, final boolean onSearchPath) {
+        return onSearchPath ? name : "\"" + schema + "\".\"" + name + "\"";
+    }
+
+    /**
+     * Get the JDBC type of a data type.
+     *
+     * @param oid OID of the data type
+     * @return JDBC type from {@link Types}
+     */
+    int getJdbcType(final int oid) {
+        return this.jdbcTypes.getOrDefault(oid, Types.OTHER);
+    }
+
+    /**
+     * Get the name of a data type.
+     * <p>
+     * Types that are not on the search path are qualified with their schema.
+     * </p>
+     *
+     * @param oid OID of the data type
+     * @return name of the data type or <code>null</code> if the type is unknown
+     */
+    String getTypeName(final int oid) {
+        return this.typeNames.get(oid);
+    }
+}
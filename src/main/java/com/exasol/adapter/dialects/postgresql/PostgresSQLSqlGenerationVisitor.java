@@ -3,7 +3,9 @@ package com.exasol.adapter.dialects.postgresql;
 import java.util.*;
 
 import com.exasol.adapter.AdapterException;
+import com.exasol.adapter.AdapterProperties;
 import com.exasol.adapter.dialects.SqlDialect;
+import com.exasol.adapter.dialects.postgresql.PostgreSQLAggregateViews.AggregateView;
 import com.exasol.adapter.dialects.rewriting.SqlGenerationContext;
 import com.exasol.adapter.dialects.rewriting.SqlGenerationVisitor;
 import com.exasol.adapter.sql.*;
@@ -16,6 +18,13 @@ public class PostgresSQLSqlGenerationVisitor extends SqlGenerationVisitor {
             "path", "polygon", "circle", "cidr", "citext", "inet", "macaddr", "interval", "json", "jsonb", "uuid",
             "tsquery", "tsvector", "xml", "smallserial", "serial", "bigserial");
     private static final List<String> TYPE_NAMES_NOT_SUPPORTED = List.of("bytea");
+    private final SqlGenerationContext context;
+    private final AdapterProperties properties;
+    private final PostgreSQLTableSample tableSample;
+    private final PostgreSQLAggregateViews aggregateViews;
+    private final PostgreSQLInList inList;
+    private final PostgreSQLDateRanges dateRanges;
+    private final PostgreSQLCaseInsensitiveMatch caseInsensitiveMatch;
 
     /**
      * Create a new instance of the {@link PostgresSQLSqlGenerationVisitor}.
@@ -24,7 +33,33 @@ public class PostgresSQLSqlGenerationVisitor extends SqlGenerationVisitor {
      * @param context SQL generation context
      */
     public PostgresSQLSqlGenerationVisitor(final SqlDialect dialect, final SqlGenerationContext context) {
+        this(dialect, context, AdapterProperties.emptyProperties());
+    }
+
+    /**
+     * Create a new instance of the {@link PostgresSQLSqlGenerationVisitor} that applies table sampling, aggregate
+     * navigation, the rendering of long {@code IN} lists and the rewrite of case-insensitive filters as configured.
+     *
+     * @param dialect    {@link PostgreSQLSqlDialect} SQL dialect
+     * @param context    SQL generation context
+     * @param properties user-defined adapter properties
+     */
+    public PostgresSQLSqlGenerationVisitor(final SqlDialect dialect, final SqlGenerationContext context,
+            final AdapterProperties properties) {
+        this(dialect, context, properties, PostgreSQLAggregateViews.from(properties));
+    }
+
+    private PostgresSQLSqlGenerationVisitor(final SqlDialect dialect, final SqlGenerationContext context,
+            final AdapterProperties properties, final PostgreSQLAggregateViews aggregateViews) {
         super(dialect, context);
+        this.context = context;
+        this.properties = properties;
+        this.tableSample = PostgreSQLTableSample.from(properties);
+        this.aggregateViews = aggregateViews;
+        this.inList = PostgreSQLInList.from(properties);
+        this.dateRanges = new PostgreSQLDateRanges(this, dialect, this::getTypeNameFromColumn);
+        this.caseInsensitiveMatch = new PostgreSQLCaseInsensitiveMatch(properties, this, dialect,
+                this::getTypeNameFromColumn);
     }
 
     protected List<String> getListOfTypeNamesRequiringCast() {
@@ -40,6 +75,40 @@ public class PostgresSQLSqlGenerationVisitor extends SqlGenerationVisitor {
         return SqlConstants.ONE;
     }
 
+    /**
+     * An aggregation over a fact table is read from the first declared aggregate view that can answer it.
+     */
+    @Override
+    public String visit(final SqlStatementSelect select) throws AdapterException {
+        if (select.getFromClause() instanceof SqlTable) {
+            for (final AggregateView view : this.aggregateViews
+                    .getViews(((SqlTable) select.getFromClause()).getName())) {
+                final Optional<String> navigatedQuery = new AggregateNavigator(getDialect(), this.context,
+                        this.properties, view).navigate(select);
+                if (navigatedQuery.isPresent()) {
+                    return navigatedQuery.get();
+                }
+            }
+        }
+        return super.visit(select);
+    }
+
+    /**
+     * PostgreSQL expects the {@code TABLESAMPLE} clause after the alias of the table.
+     * <p>
+     * The table is also remembered for matching case-insensitive filters with its indexes. Table references are
+     * rendered before the {@code WHERE} clause, both in complete statements and in the slices of a parallel import.
+     * </p>
+     */
+    @Override
+    public String visit(final SqlTable table) {
+        this.caseInsensitiveMatch.addTable(table);
+        final String tableReference = super.visit(table);
+        return this.tableSample.getClause(table.getName(), table.getMetadata()) //
+                .map(clause -> tableReference + " " + clause) //
+                .orElse(tableReference);
+    }
+
     @Override
     public String visit(final SqlColumn column) throws AdapterException {
         final String projectionString = super.visit(column);
@@ -53,6 +122,64 @@ public class PostgresSQLSqlGenerationVisitor extends SqlGenerationVisitor {
                 : projectionString;
     }
 
+    /**
+     * Comparisons of date parts and date arithmetic with constants are rendered as ranges on the bare column, see
+     * {@link PostgreSQLDateRanges}. Case-insensitive comparisons are rendered in the form that an index supports, see
+     * {@link PostgreSQLCaseInsensitiveMatch}.
+     */
+    @Override
+    public String visit(final SqlPredicateEqual predicate) throws AdapterException {
+        final Optional<String> range = this.dateRanges.rewrite(predicate);
+        if (range.isPresent()) {
+            return range.get();
+        }
+        final Optional<String> match = this.caseInsensitiveMatch.rewrite(predicate);
+        return match.isPresent() ? match.get() : super.visit(predicate);
+    }
+
+    @Override
+    public String visit(final SqlPredicateLess predicate) throws AdapterException {
+        final Optional<String> range = this.dateRanges.rewrite(predicate);
+        return range.isPresent() ? range.get() : super.visit(predicate);
+    }
+
+    @Override
+    public String visit(final SqlPredicateLessEqual predicate) throws AdapterException {
+        final Optional<String> range = this.dateRanges.rewrite(predicate);
+        return range.isPresent() ? range.get() : super.visit(predicate);
+    }
+
+    @Override
+    public String visit(final SqlPredicateAnd predicate) throws AdapterException {
+        final Optional<String> ranges = this.dateRanges.rewrite(predicate);
+        return ranges.isPresent() ? ranges.get() : super.visit(predicate);
+    }
+
+    /**
+     * Case-insensitive pattern matches are rendered in the form that an index supports, see
+     * {@link PostgreSQLCaseInsensitiveMatch}.
+     */
+    @Override
+    public String visit(final SqlPredicateLike predicate) throws AdapterException {
+        final Optional<String> match = this.caseInsensitiveMatch.rewrite(predicate);
+        return match.isPresent() ? match.get() : super.visit(predicate);
+    }
+
+    /**
+     * Long lists of constants are rendered as a typed array or a {@code VALUES} list, see {@link PostgreSQLInList}.
+     */
+    @Override
+    public String visit(final SqlPredicateInConstList predicate) throws AdapterException {
+        if (this.inList.isLong(predicate) && (predicate.getExpression() instanceof SqlColumn)) {
+            final Optional<String> rendering = this.inList.render(predicate,
+                    getTypeNameFromColumn((SqlColumn) predicate.getExpression()), this, getDialect());
+            if (rendering.isPresent()) {
+                return rendering.get();
+            }
+        }
+        return super.visit(predicate);
+    }
+
     @Override
     public String visit(final SqlFunctionScalar function) throws AdapterException {
         final List<SqlNode> arguments = function.getArguments();
@@ -203,4 +330,104 @@ public class PostgresSQLSqlGenerationVisitor extends SqlGenerationVisitor {
         builder.append(") ");
         return builder.toString();
     }
-}
\ No newline at end of file
+
+    /**
+     * Generator that reads an aggregation from an aggregate view instead of the fact table.
+     * <p>
+     * Columns outside of aggregates must be grouping columns of the view. Aggregates are replaced by aggregates of the
+     * stored measures: counts and sums are summed up, minimums and maximums are aggregated again and averages are
+     * divided from the sums and counts. Distinct aggregates and minimums or maximums of grouping columns are computed
+     * from the grouping columns directly.
+     * </p>
+     */
+    private static final class AggregateNavigator extends PostgresSQLSqlGenerationVisitor {
+        private final AggregateView view;
+        private boolean answerable = true;
+        private boolean hasAggregate = false;
+
+        private AggregateNavigator(final SqlDialect dialect, final SqlGenerationContext context,
+                final AdapterProperties properties, final AggregateView view) {
+            super(dialect, context, properties, PostgreSQLAggregateViews.none());
+            this.view = view;
+        }
+
+        private Optional<String> navigate(final SqlStatementSelect select) throws AdapterException {
+            final String query = visit(select);
+            return (this.answerable && (select.hasGroupBy() || this.hasAggregate)) ? Optional.of(query)
+                    : Optional.empty();
+        }
+
+        /*
+         * The view is queried under the name or alias of the fact table, so that qualified column references stay
+         * valid. The indexes of the fact table do not exist on the view, so its metadata is not passed on.
+         */
+        @Override
+        public String visit(final SqlTable table) {
+            return super.visit(
+                    new SqlTable(this.view.getName(), table.hasAlias() ? table.getAlias() : table.getName(), null));
+        }
+
+        @Override
+        public String visit(final SqlColumn column) throws AdapterException {
+            if (!this.view.hasDimension(column.getName())) {
+                this.answerable = false;
+            }
+            return super.visit(column);
+        }
+
+        @Override
+        public String visit(final SqlFunctionAggregate function) throws AdapterException {
+            this.hasAggregate = true;
+            final List<SqlNode> arguments = function.getArguments();
+            final AggregateFunction aggregateFunction = function.getFunction();
+            if (function.hasDistinct() || (((aggregateFunction == AggregateFunction.MIN)
+                    || (aggregateFunction == AggregateFunction.MAX)) && isDimension(arguments))) {
+                return super.visit(function);
+            }
+            final String columnName = arguments.isEmpty() ? "*" : getColumnName(arguments);
+            switch (aggregateFunction) {
+            case COUNT:
+                return "COALESCE(SUM(" + measure(AggregateFunction.COUNT, columnName) + "), 0)";
+            case SUM:
+                return "SUM(" + measure(AggregateFunction.SUM, columnName) + ")";
+            case MIN:
+            case MAX:
+                return aggregateFunction.name() + "(" + measure(aggregateFunction, columnName) + ")";
+            case AVG:
+                return "(SUM(" + measure(AggregateFunction.SUM, columnName) + ")::numeric / NULLIF(SUM("
+                        + measure(AggregateFunction.COUNT, columnName) + "), 0))";
+            default:
+                this.answerable = false;
+                return "";
+            }
+        }
+
+        @Override
+        public String visit(final SqlFunctionAggregateGroupConcat function) {
+            this.answerable = false;
+            return "";
+        }
+
+        private boolean isDimension(final List<SqlNode> arguments) {
+            return (arguments.size() == 1) && (arguments.get(0) instanceof SqlColumn)
+                    && this.view.hasDimension(((SqlColumn) arguments.get(0)).getName());
+        }
+
+        private String getColumnName(final List<SqlNode> arguments) {
+            if ((arguments.size() == 1) && (arguments.get(0) instanceof SqlColumn)) {
+                return ((SqlColumn) arguments.get(0)).getName();
+            }
+            this.answerable = false;
+            return "";
+        }
+
+        private String measure(final AggregateFunction function, final String columnName) {
+            final Optional<String> measure = this.view.getMeasure(function, columnName);
+            if (measure.isEmpty()) {
+                this.answerable = false;
+                return "";
+            }
+            return getDialect().applyQuote(measure.get());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.*;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.exasol.adapter.metadata.*;
+import com.exasol.adapter.sql.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostgreSQLApproximateCountTest {
+    @Test
+    void testIsUnfilteredCountStar() {
+        assertThat(PostgreSQLApproximateCount.isUnfilteredCountStar(createCount(List.of(), false, null)),
+                equalTo(true));
+    }
+
+    @Test
+    void testIsNotUnfilteredCountStarWithFilter() {
+        final SqlNode filter = new SqlPredicateIsNotNull(createColumn());
+        assertThat(PostgreSQLApproximateCount.isUnfilteredCountStar(createCount(List.of(), false, filter)),
+                equalTo(false));
+    }
+
+    @Test
+    void testIsNotUnfilteredCountStarForColumnOrDistinctCount() {
+        assertAll(
+                () -> assertThat(PostgreSQLApproximateCount
+                        .isUnfilteredCountStar(createCount(List.of(createColumn()), false, null)), equalTo(false)),
+                () -> assertThat(PostgreSQLApproximateCount
+                        .isUnfilteredCountStar(createCount(List.of(createColumn()), true, null)), equalTo(false)));
+    }
+
+    @Test
+    void testReadEstimatedRowCount(@Mock final Connection connectionMock, @Mock final PreparedStatement statementMock,
+            @Mock final ResultSet resultSetMock) throws SQLException {
+        when(connectionMock.prepareStatement(anyString())).thenReturn(statementMock);
+        when(statementMock.executeQuery()).thenReturn(resultSetMock);
+        when(resultSetMock.next()).thenReturn(true);
+        when(resultSetMock.getBoolean(2)).thenReturn(true);
+        when(resultSetMock.getLong(1)).thenReturn(123456789L);
+        assertAll(
+                () -> assertThat(PostgreSQLApproximateCount.readEstimatedRowCount(connectionMock, "\"s\".\"t\""),
+                        equalTo(Optional.of(123456789L))),
+                () -> verify(statementMock).setString(1, "\"s\".\"t\""));
+    }
+
+    @Test
+    void testReadEstimatedRowCountWithoutStatisticsIsEmpty(@Mock final Connection connectionMock,
+            @Mock final PreparedStatement statementMock, @Mock final ResultSet resultSetMock) throws SQLException {
+        when(connectionMock.prepareStatement(anyString())).thenReturn(statementMock);
+        when(statementMock.executeQuery()).thenReturn(resultSetMock);
+        when(resultSetMock.next()).thenReturn(true);
+        when(resultSetMock.getBoolean(2)).thenReturn(false);
+        assertThat(PostgreSQLApproximateCount.readEstimatedRowCount(connectionMock, "\"s\".\"t\""),
+                equalTo(Optional.empty()));
+    }
+
+    private static SqlStatementSelect createCount(final List<SqlNode> arguments, final boolean distinct,
+            final SqlNode filter) {
+        return SqlStatementSelect.builder() //
+                .selectList(SqlSelectList.createRegularSelectList(
+                        List.of(new SqlFunctionAggregate(AggregateFunction.COUNT, arguments, distinct)))) //
+                .fromClause(new SqlTable("t", new TableMetadata("t", "", List.of(createColumnMetadata()), ""))) //
+                .whereClause(filter) //
+                .build();
+    }
+
+    private static SqlColumn createColumn() {
+        return new SqlColumn(0, createColumnMetadata());
+    }
+
+    private static ColumnMetadata createColumnMetadata() {
+        return ColumnMetadata.builder().name("id").adapterNotes("{\"jdbcDataType\":4, \"typeName\":\"int4\"}")
+                .type(DataType.createDecimal(10, 0)).build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PostgreSQLBinaryCopyReaderTest {
+    private static final byte[] SIGNATURE = { 'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0 };
+
+    @Test
+    void testReadRows() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = startCopy(bytes);
+        output.writeShort(9);
+        output.writeInt(4);
+        output.writeInt(42);
+        output.writeInt(8);
+        output.writeLong(-7L);
+        output.writeInt(12);
+        writeNumeric(output, 0, 0x4000, 4, 1234, 5600);
+        output.writeInt(4);
+        output.writeFloat(0.1f);
+        output.writeInt(4);
+        output.writeInt(31);
+        output.writeInt(8);
+        output.writeLong(1_500_000L);
+        output.writeInt(1);
+        output.writeBoolean(true);
+        output.writeInt(5);
+        output.write("abcä".getBytes(StandardCharsets.UTF_8));
+        output.writeInt(-1);
+        output.writeShort(-1);
+        final PostgreSQLBinaryCopyReader reader = new PostgreSQLBinaryCopyReader(
+                new ByteArrayInputStream(bytes.toByteArray()),
+                List.of("int4", "int8", "numeric", "float4", "date", "timestamp", "bool", "text", "varchar"));
+        final Object[] row = reader.readRow();
+        assertAll(() -> assertThat(row, arrayContaining(42, -7L, new BigDecimal("-1234.5600"), 0.1,
+                Date.valueOf("2000-02-01"), Timestamp.valueOf("2000-01-01 00:00:01.5"), true, "abcä", null)),
+                () -> assertThat(reader.readRow(), nullValue()));
+    }
+
+    @Test
+    void testReadSmallNumeric() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = startCopy(bytes);
+        output.writeShort(1);
+        output.writeInt(10);
+        writeNumeric(output, -1, 0, 6, 12);
+        output.writeShort(-1);
+        final PostgreSQLBinaryCopyReader reader = new PostgreSQLBinaryCopyReader(
+                new ByteArrayInputStream(bytes.toByteArray()), List.of("numeric"));
+        assertThat(reader.readRow(), arrayContaining(new BigDecimal("0.001200")));
+    }
+
+    @Test
+    void testReadInfiniteTimestampThrowsException() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = startCopy(bytes);
+        output.writeShort(1);
+        output.writeInt(8);
+        output.writeLong(Long.MAX_VALUE);
+        final PostgreSQLBinaryCopyReader reader = new PostgreSQLBinaryCopyReader(
+                new ByteArrayInputStream(bytes.toByteArray()), List.of("timestamp"));
+        final IOException exception = assertThrows(IOException.class, reader::readRow);
+        assertThat(exception.getMessage(), startsWith("E-VSPG-25"));
+    }
+
+    @Test
+    void testReadTextFormatThrowsException() {
+        final PostgreSQLBinaryCopyReader reader = new PostgreSQLBinaryCopyReader(
+                new ByteArrayInputStream("42\t1\n".repeat(4).getBytes()), List.of("int4", "int4"));
+        final IOException exception = assertThrows(IOException.class, reader::readRow);
+        assertThat(exception.getMessage(), startsWith("E-VSPG-24"));
+    }
+
+    private static DataOutputStream startCopy(final ByteArrayOutputStream bytes) throws IOException {
+        final DataOutputStream output = new DataOutputStream(bytes);
+        output.write(SIGNATURE);
+        output.writeInt(0);
+        output.writeInt(0);
+        return output;
+    }
+
+    private static void writeNumeric(final DataOutputStream output, final int weight, final int sign, final int scale,
+            final int... digits) throws IOException {
+        output.writeShort(digits.length);
+        output.writeShort(weight);
+        output.writeShort(sign);
+        output.writeShort(scale);
+        for (final int digit : digits) {
+            output.writeShort(digit);
+        }
+    }
+}
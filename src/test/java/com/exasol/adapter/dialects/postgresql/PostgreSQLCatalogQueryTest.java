@@ -0,0 +1,117 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import static com.exasol.adapter.AdapterProperties.CATALOG_NAME_PROPERTY;
+import static com.exasol.adapter.AdapterProperties.SCHEMA_NAME_PROPERTY;
+import static com.exasol.adapter.AdapterProperties.TABLE_FILTER_PROPERTY;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.*;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.exasol.adapter.AdapterProperties;
+
+@ExtendWith(MockitoExtension.class)
+class PostgreSQLCatalogQueryTest {
+    @Test
+    void testTablesQueryWithoutFilters() {
+        final PostgreSQLCatalogQuery query = PostgreSQLCatalogQuery.tables(AdapterProperties.emptyProperties());
+        assertAll(
+                () -> assertThat(query.getSql(),
+                        startsWith("SELECT c.oid AS \"TABLE_OID\", c.relname AS \"TABLE_NAME\"")),
+                () -> assertThat(query.getSql(), endsWith("ORDER BY c.oid")),
+                () -> assertThat(query.getSql(), not(containsString("?"))),
+                () -> assertThat(query.getParameters(), empty()));
+    }
+
+    @Test
+    void testTablesQueryFiltersCatalogAndSchema() {
+        final PostgreSQLCatalogQuery query = PostgreSQLCatalogQuery.tables(new AdapterProperties(
+                Map.of(CATALOG_NAME_PROPERTY, "the_database", SCHEMA_NAME_PROPERTY, "the_schema")));
+        assertAll(() -> assertThat(query.getSql(), containsString("current_database() = ?")),
+                () -> assertThat(query.getSql(), containsString("n.nspname LIKE ?")),
+                () -> assertThat(query.getParameters(), contains("the_database", "the_schema")));
+    }
+
+    @Test
+    void testColumnsQueryIsOrderedByTableAndPosition() {
+        final PostgreSQLCatalogQuery query = PostgreSQLCatalogQuery
+                .columns(new AdapterProperties(Map.of(SCHEMA_NAME_PROPERTY, "the_schema")));
+        assertAll(() -> assertThat(query.getSql(), endsWith("ORDER BY c.oid, a.attnum")),
+                () -> assertThat(query.getSql(), containsString("NOT a.attisdropped")),
+                () -> assertThat(query.getParameters(), contains("the_schema")));
+    }
+
+    @Test
+    void testPrepareBindsParameters(@Mock final Connection connectionMock,
+            @Mock final PreparedStatement statementMock) throws SQLException {
+        final PostgreSQLCatalogQuery query = PostgreSQLCatalogQuery.tables(new AdapterProperties(
+                Map.of(CATALOG_NAME_PROPERTY, "the_database", SCHEMA_NAME_PROPERTY, "the_schema")));
+        when(connectionMock.prepareStatement(query.getSql())).thenReturn(statementMock);
+        query.prepare(connectionMock);
+        verify(statementMock).setString(1, "the_database");
+        verify(statementMock).setString(2, "the_schema");
+        verify(statementMock).setFetchSize(PostgreSQLCatalogQuery.FETCH_SIZE);
+    }
+
+    @Test
+    void testColumnsQuerySkipsKnownFingerprints(@Mock final Connection connectionMock,
+            @Mock final PreparedStatement statementMock, @Mock final Array arrayMock) throws SQLException {
+        final PostgreSQLCatalogQuery query = PostgreSQLCatalogQuery
+                .columns(new AdapterProperties(Map.of(SCHEMA_NAME_PROPERTY, "the_schema")), Set.of("fp1"));
+        when(connectionMock.prepareStatement(query.getSql())).thenReturn(statementMock);
+        when(connectionMock.createArrayOf("text", new Object[] { "fp1" })).thenReturn(arrayMock);
+        query.prepare(connectionMock);
+        assertAll(() -> assertThat(query.getSql(), stringContainsInOrder(" = ANY(?)) OFFSET 0) c",
+                " JOIN pg_catalog.pg_attribute a ON a.attrelid = c.oid")),
+                () -> verify(statementMock).setString(1, "the_schema"),
+                () -> verify(statementMock).setArray(2, arrayMock));
+    }
+
+    @Test
+    void testTablesQueryEvaluatesTableFilterAndPatterns() {
+        final PostgreSQLCatalogQuery query = PostgreSQLCatalogQuery.tables(new AdapterProperties(Map.of( //
+                TABLE_FILTER_PROPERTY, "orders, customers", //
+                PostgreSQLNameFilter.INCLUDE_TABLES_PROPERTY, "sales%", //
+                PostgreSQLNameFilter.EXCLUDE_TABLES_PROPERTY, "%_tmp,%_bak", //
+                PostgreSQLNameFilter.INCLUDE_COLUMNS_PROPERTY, "id")));
+        assertAll(() -> assertThat(query.getSql(), containsString(" AND c.relname = ANY(?)")),
+                () -> assertThat(query.getSql(), containsString(" AND c.relname LIKE ANY(?)")),
+                () -> assertThat(query.getSql(), containsString(" AND NOT (c.relname LIKE ANY(?))")),
+                () -> assertThat(query.getSql(), not(containsString("a.attname LIKE"))),
+                () -> assertThat(query.getParameters(), contains(List.of("orders", "customers"), List.of("sales%"),
+                        List.of("%_tmp", "%_bak"))));
+    }
+
+    @Test
+    void testColumnsQueryEvaluatesColumnPatterns() {
+        final PostgreSQLCatalogQuery query = PostgreSQLCatalogQuery.columns(new AdapterProperties(Map.of( //
+                PostgreSQLNameFilter.INCLUDE_COLUMNS_PROPERTY, "id,name%", //
+                PostgreSQLNameFilter.EXCLUDE_COLUMNS_PROPERTY, "%secret%")));
+        assertAll(() -> assertThat(query.getSql(), containsString(" AND a.attname LIKE ANY(?)")),
+                () -> assertThat(query.getSql(), containsString(" AND NOT (a.attname LIKE ANY(?))")),
+                () -> assertThat(query.getParameters(), contains(List.of("id", "name%"), List.of("%secret%"))));
+    }
+
+    @Test
+    void testTablesQueryHidesPartitionsByDefault() {
+        final PostgreSQLCatalogQuery query = PostgreSQLCatalogQuery.tables(AdapterProperties.emptyProperties());
+        assertAll(() -> assertThat(query.getSql(), containsString("c.relkind IN ('r', 'p')")),
+                () -> assertThat(query.getSql(), containsString(" AND NOT c.relispartition")));
+    }
+
+    @Test
+    void testTablesQueryIncludesPartitionsIfEnabled() {
+        final PostgreSQLCatalogQuery query = PostgreSQLCatalogQuery
+                .tables(new AdapterProperties(Map.of(PostgreSQLPartitionMapping.PROPERTY, "true")));
+        assertThat(query.getSql(), not(containsString("relispartition")));
+    }
+}
@@ -1,12 +1,15 @@
 package com.exasol.adapter.dialects.postgresql;
 
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.Matchers.equalTo;
-import static org.mockito.Mockito.when;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
 
-import java.sql.Types;
-import java.util.HashMap;
-import java.util.Map;
+import java.sql.*;
+import java.util.*;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,12 +18,16 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.core.BaseConnection;
+import org.postgresql.core.TypeInfo;
 
 import com.exasol.ExaMetadata;
 import com.exasol.adapter.AdapterProperties;
 import com.exasol.adapter.dialects.BaseIdentifierConverter;
 import com.exasol.adapter.dialects.postgresql.PostgreSQLIdentifierMapping.CaseFolding;
 import com.exasol.adapter.jdbc.JDBCTypeDescription;
+import com.exasol.adapter.jdbc.RemoteMetadataReaderException;
+import com.exasol.adapter.metadata.ColumnMetadata;
 import com.exasol.adapter.metadata.DataType;
 
 @ExtendWith(MockitoExtension.class)
@@ -85,4 +92,146 @@ class PostgreSQLColumnMetadataReaderTest {
                 adapterProperties, exaMetadataMock, BaseIdentifierConverter.createDefault());
         assertThat(testee.getIdentifierMapping(), equalTo(CaseFolding.CONVERT_TO_UPPER));
     }
+
+    @Test
+    void testMapColumnsReadsAllTablesWithOneCatalogQuery(@Mock final Connection connectionMock,
+            @Mock final BaseConnection baseConnectionMock, @Mock final TypeInfo typeInfoMock,
+            @Mock final Statement typeStatementMock, @Mock final ResultSet typesMock,
+            @Mock final PreparedStatement statementMock, @Mock final ResultSet columnsMock) throws SQLException {
+        when(connectionMock.createStatement()).thenReturn(typeStatementMock);
+        mockTypeCatalog(typeStatementMock, typesMock);
+        when(connectionMock.prepareStatement(anyString())).thenReturn(statementMock);
+        when(statementMock.executeQuery()).thenReturn(columnsMock);
+        when(connectionMock.unwrap(BaseConnection.class)).thenReturn(baseConnectionMock);
+        when(baseConnectionMock.getTypeInfo()).thenReturn(typeInfoMock);
+        when(columnsMock.next()).thenReturn(true, true, false);
+        when(columnsMock.getString("relname")).thenReturn("t1", "t2");
+        when(columnsMock.getString("attname")).thenReturn("id", "name");
+        when(columnsMock.getLong("atttypid")).thenReturn(23L, 1043L);
+        when(columnsMock.getInt("atttypmod")).thenReturn(-1, 104);
+        when(columnsMock.getString("adsrc")).thenReturn("nextval('t1_id_seq'::regclass)")
+                .thenReturn(null);
+        when(columnsMock.getBoolean("attnotnull")).thenReturn(true, false);
+        when(typeInfoMock.getPrecision(23, -1)).thenReturn(10);
+        when(typeInfoMock.getPrecision(1043, 104)).thenReturn(100);
+        final PostgreSQLColumnMetadataReader reader = new PostgreSQLColumnMetadataReader(connectionMock,
+                AdapterProperties.emptyProperties(), exaMetadataMock, BaseIdentifierConverter.createDefault());
+        final ColumnMetadata idColumn = reader.mapColumns("t1").get(0);
+        final ColumnMetadata nameColumn = reader.mapColumns("t2").get(0);
+        assertAll(() -> assertThat(idColumn.getName(), equalTo("ID")),
+                () -> assertThat(idColumn.getType(), equalTo(DataType.createDecimal(10, 0))),
+                () -> assertThat(idColumn.getOriginalTypeName(), equalTo("serial")),
+                () -> assertThat(idColumn.isIdentity(), equalTo(true)),
+                () -> assertThat(idColumn.isNullable(), equalTo(false)),
+                () -> assertThat(nameColumn.getName(), equalTo("NAME")),
+                () -> assertThat(nameColumn.getType(), equalTo(DataType.createVarChar(100, DataType.ExaCharset.UTF8))),
+                () -> assertThat(nameColumn.isNullable(), equalTo(true)),
+                () -> assertThat(reader.mapColumns("unknown"), empty()),
+                () -> verify(connectionMock, times(1)).prepareStatement(anyString()),
+                () -> verify(typeInfoMock, never()).getSQLType(anyInt()),
+                () -> verify(typeInfoMock, never()).getPGType(anyInt()));
+    }
+
+    private void mockTypeCatalog(final Statement statementMock, final ResultSet typesMock) throws SQLException {
+        when(statementMock.executeQuery(PostgreSQLTypeCatalog.QUERY)).thenReturn(typesMock);
+        when(typesMock.next()).thenReturn(true, true, false);
+        when(typesMock.getLong("oid")).thenReturn(23L, 1043L);
+        when(typesMock.getString("typname")).thenReturn("int4", "varchar");
+        when(typesMock.getString("typtype")).thenReturn("b", "b");
+        when(typesMock.getBoolean("is_array")).thenReturn(false, false);
+        when(typesMock.getString("nspname")).thenReturn("pg_catalog", "pg_catalog");
+        when(typesMock.getBoolean("on_path")).thenReturn(true, true);
+    }
+
+    @Test
+    void testMapColumnsWrapsCatalogQueryFailure(@Mock final Connection connectionMock) throws SQLException {
+        when(connectionMock.createStatement()).thenThrow(new SQLException("query failed"));
+        final PostgreSQLColumnMetadataReader reader = new PostgreSQLColumnMetadataReader(connectionMock,
+                AdapterProperties.emptyProperties(), exaMetadataMock, BaseIdentifierConverter.createDefault());
+        final RemoteMetadataReaderException exception = assertThrows(RemoteMetadataReaderException.class,
+                () -> reader.mapColumns("t1"));
+        assertThat(exception.getMessage(), containsString("E-VSPG-10"));
+    }
+
+    @Test
+    void testMapColumnsReadsSlicesOnParallelConnections(@Mock final Connection connectionMock,
+            @Mock final Connection workerConnectionMock, @Mock final BaseConnection baseConnectionMock,
+            @Mock final TypeInfo typeInfoMock, @Mock final Statement statementMock,
+            @Mock final ResultSet freeConnectionsMock, @Mock final PreparedStatement mainStatementMock,
+            @Mock final PreparedStatement workerStatementMock, @Mock final ResultSet mainColumnsMock,
+            @Mock final ResultSet workerColumnsMock, @Mock final ResultSet typesMock) throws SQLException {
+        when(connectionMock.createStatement()).thenReturn(statementMock);
+        mockTypeCatalog(statementMock, typesMock);
+        when(statementMock.executeQuery(PostgreSQLCatalogQuery.FREE_CONNECTIONS)).thenReturn(freeConnectionsMock);
+        when(freeConnectionsMock.next()).thenReturn(true);
+        when(freeConnectionsMock.getInt(1)).thenReturn(10);
+        when(connectionMock.prepareStatement(anyString())).thenReturn(mainStatementMock);
+        when(workerConnectionMock.prepareStatement(anyString())).thenReturn(workerStatementMock);
+        when(mainStatementMock.executeQuery()).thenReturn(mainColumnsMock);
+        when(workerStatementMock.executeQuery()).thenReturn(workerColumnsMock);
+        when(connectionMock.unwrap(BaseConnection.class)).thenReturn(baseConnectionMock);
+        when(workerConnectionMock.unwrap(BaseConnection.class)).thenReturn(baseConnectionMock);
+        when(baseConnectionMock.getTypeInfo()).thenReturn(typeInfoMock);
+        mockColumn(mainColumnsMock, "t1", "id");
+        mockColumn(workerColumnsMock, "t2", "name");
+        when(typeInfoMock.getPrecision(23, -1)).thenReturn(10);
+        final PostgreSQLColumnMetadataReader reader = new PostgreSQLColumnMetadataReader(connectionMock,
+                new AdapterProperties(Map.of("POSTGRESQL_METADATA_CONNECTIONS", "2")), exaMetadataMock,
+                BaseIdentifierConverter.createDefault()) {
+            @Override
+            Connection openWorkerConnection() {
+                return workerConnectionMock;
+            }
+        };
+        assertAll(() -> assertThat(reader.mapColumns("t1").get(0).getName(), equalTo("ID")),
+                () -> assertThat(reader.mapColumns("t2").get(0).getName(), equalTo("NAME")),
+                () -> verify(connectionMock).prepareStatement(argThat(sql -> sql.contains("% 2 = 0"))),
+                () -> verify(workerConnectionMock).prepareStatement(argThat(sql -> sql.contains("% 2 = 1"))),
+                () -> verify(workerConnectionMock).close());
+    }
+
+    @Test
+    void testMapColumnsByOidReadsCursorAlongsideTables(@Mock final Connection connectionMock,
+            @Mock final BaseConnection baseConnectionMock, @Mock final TypeInfo typeInfoMock,
+            @Mock final Statement typeStatementMock, @Mock final ResultSet typesMock,
+            @Mock final PreparedStatement statementMock, @Mock final ResultSet columnsMock) throws SQLException {
+        when(connectionMock.createStatement()).thenReturn(typeStatementMock);
+        mockTypeCatalog(typeStatementMock, typesMock);
+        when(connectionMock.prepareStatement(anyString())).thenReturn(statementMock);
+        when(statementMock.executeQuery()).thenReturn(columnsMock);
+        when(connectionMock.unwrap(BaseConnection.class)).thenReturn(baseConnectionMock);
+        when(baseConnectionMock.getTypeInfo()).thenReturn(typeInfoMock);
+        when(columnsMock.next()).thenReturn(true, true, true, false);
+        when(columnsMock.getLong("attrelid")).thenReturn(10L, 15L, 30L);
+        when(columnsMock.getString("attname")).thenReturn("id", "name");
+        when(columnsMock.getLong("atttypid")).thenReturn(23L);
+        when(columnsMock.getInt("atttypmod")).thenReturn(-1);
+        when(columnsMock.getString("adsrc")).thenReturn(null);
+        when(columnsMock.getString("attidentity")).thenReturn(null);
+        when(columnsMock.getString("description")).thenReturn(null);
+        when(typeInfoMock.getPrecision(23, -1)).thenReturn(10);
+        final PostgreSQLColumnMetadataReader reader = new PostgreSQLColumnMetadataReader(connectionMock,
+                AdapterProperties.emptyProperties(), exaMetadataMock, BaseIdentifierConverter.createDefault());
+        final List<ColumnMetadata> firstTable = reader.mapColumns(10, "t1");
+        final List<ColumnMetadata> tableWithoutColumns = reader.mapColumns(20, "t2");
+        final List<ColumnMetadata> lastTable = reader.mapColumns(30, "t3");
+        reader.closeCursor();
+        assertAll(() -> assertThat(firstTable.get(0).getName(), equalTo("ID")),
+                () -> assertThat(tableWithoutColumns, empty()),
+                () -> assertThat(lastTable.get(0).getName(), equalTo("NAME")),
+                () -> verify(statementMock).setFetchSize(PostgreSQLCatalogQuery.FETCH_SIZE),
+                () -> verify(statementMock).close());
+    }
+
+    private void mockColumn(final ResultSet columnsMock, final String tableName, final String columnName)
+            throws SQLException {
+        when(columnsMock.next()).thenReturn(true, false);
+        when(columnsMock.getString("relname")).thenReturn(tableName);
+        when(columnsMock.getString("attname")).thenReturn(columnName);
+        when(columnsMock.getLong("atttypid")).thenReturn(23L);
+        when(columnsMock.getInt("atttypmod")).thenReturn(-1);
+        when(columnsMock.getString("adsrc")).thenReturn(null);
+        when(columnsMock.getString("attidentity")).thenReturn(null);
+        when(columnsMock.getString("description")).thenReturn(null);
+    }
 }
@@ -0,0 +1,85 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.exasol.adapter.jdbc.ConnectionFactory;
+
+@ExtendWith(MockitoExtension.class)
+class PostgreSQLConnectionPoolTest {
+    private static final Duration NO_WAIT = Duration.ofMillis(10);
+
+    @Test
+    void testBorrowReusesReleasedConnection(@Mock final ConnectionFactory physicalConnectionsMock,
+            @Mock final Connection connectionMock) throws SQLException {
+        when(physicalConnectionsMock.getConnection()).thenReturn(connectionMock);
+        when(connectionMock.getAutoCommit()).thenReturn(true);
+        when(connectionMock.isValid(anyInt())).thenReturn(true);
+        final PostgreSQLConnectionPool pool = new PostgreSQLConnectionPool(2, Duration.ofMinutes(5), NO_WAIT);
+        pool.release(pool.borrow(physicalConnectionsMock));
+        final Connection connection = pool.borrow(physicalConnectionsMock);
+        assertAll(() -> assertThat(connection, sameInstance(connectionMock)),
+                () -> assertThat(pool.getOpenConnections(), equalTo(1)),
+                () -> verify(physicalConnectionsMock, times(1)).getConnection());
+    }
+
+    @Test
+    void testBorrowReplacesConnectionFailingValidation(@Mock final ConnectionFactory physicalConnectionsMock,
+            @Mock final Connection brokenConnectionMock, @Mock final Connection newConnectionMock)
+            throws SQLException {
+        when(physicalConnectionsMock.getConnection()).thenReturn(brokenConnectionMock, newConnectionMock);
+        when(brokenConnectionMock.getAutoCommit()).thenReturn(true);
+        when(brokenConnectionMock.isValid(anyInt())).thenReturn(false);
+        final PostgreSQLConnectionPool pool = new PostgreSQLConnectionPool(1, Duration.ofMinutes(5), NO_WAIT);
+        pool.release(pool.borrow(physicalConnectionsMock));
+        final Connection connection = pool.borrow(physicalConnectionsMock);
+        assertAll(() -> assertThat(connection, sameInstance(newConnectionMock)),
+                () -> assertThat(pool.getOpenConnections(), equalTo(1)),
+                () -> verify(brokenConnectionMock).close());
+    }
+
+    @Test
+    void testReleaseRollsBackOpenTransaction(@Mock final ConnectionFactory physicalConnectionsMock,
+            @Mock final Connection connectionMock) throws SQLException {
+        when(physicalConnectionsMock.getConnection()).thenReturn(connectionMock);
+        when(connectionMock.getAutoCommit()).thenReturn(false);
+        final PostgreSQLConnectionPool pool = new PostgreSQLConnectionPool(1, Duration.ofMinutes(5), NO_WAIT);
+        pool.release(pool.borrow(physicalConnectionsMock));
+        assertAll(() -> verify(connectionMock).rollback(), () -> verify(connectionMock).setAutoCommit(true),
+                () -> verify(connectionMock, never()).close());
+    }
+
+    @Test
+    void testIdleConnectionIsClosedAfterTimeout(@Mock final ConnectionFactory physicalConnectionsMock,
+            @Mock final Connection connectionMock) throws SQLException {
+        when(physicalConnectionsMock.getConnection()).thenReturn(connectionMock);
+        when(connectionMock.getAutoCommit()).thenReturn(true);
+        final PostgreSQLConnectionPool pool = new PostgreSQLConnectionPool(1, Duration.ZERO, NO_WAIT);
+        pool.release(pool.borrow(physicalConnectionsMock));
+        assertAll(() -> assertThat(pool.getOpenConnections(), equalTo(0)), () -> verify(connectionMock).close());
+    }
+
+    @Test
+    void testBorrowFromExhaustedPoolFails(@Mock final ConnectionFactory physicalConnectionsMock,
+            @Mock final Connection connectionMock) throws SQLException {
+        when(physicalConnectionsMock.getConnection()).thenReturn(connectionMock);
+        final PostgreSQLConnectionPool pool = new PostgreSQLConnectionPool(1, Duration.ofMinutes(5), NO_WAIT);
+        pool.borrow(physicalConnectionsMock);
+        final SQLException exception = assertThrows(SQLException.class, () -> pool.borrow(physicalConnectionsMock));
+        assertThat(exception.getMessage(), containsString("E-VSPG-18"));
+    }
+}
@@ -0,0 +1,32 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PostgreSQLCopyUdfTest {
+    @Test
+    void testCreateCopyStatementCastsUnsupportedTypesToText() {
+        assertThat(PostgreSQLCopyUdf.createCopyStatement("SELECT \"id\", \"id\", \"tags\" FROM \"public\".\"t\"",
+                List.of("int8", "int8", "_varchar")),
+                equalTo("COPY (SELECT \"c1\", \"c2\", \"c3\"::text"
+                        + " FROM (SELECT \"id\", \"id\", \"tags\" FROM \"public\".\"t\")"
+                        + " AS \"t\"(\"c1\", \"c2\", \"c3\")) TO STDOUT (FORMAT binary)"));
+    }
+
+    @Test
+    void testConvertToOutputTypes() {
+        assertAll(() -> assertThat(PostgreSQLCopyUdf.convert(42, Long.class), equalTo(42L)),
+                () -> assertThat(PostgreSQLCopyUdf.convert(42L, Integer.class), equalTo(42)),
+                () -> assertThat(PostgreSQLCopyUdf.convert(42L, BigDecimal.class), equalTo(new BigDecimal(42))),
+                () -> assertThat(PostgreSQLCopyUdf.convert(new BigDecimal("1.50"), Double.class), equalTo(1.5)),
+                () -> assertThat(PostgreSQLCopyUdf.convert(new BigDecimal("1E+3"), String.class), equalTo("1000")),
+                () -> assertThat(PostgreSQLCopyUdf.convert("17", Long.class), equalTo(17L)),
+                () -> assertThat(PostgreSQLCopyUdf.convert(null, Long.class), equalTo(null)));
+    }
+}
@@ -0,0 +1,68 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.*;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.exasol.adapter.AdapterProperties;
+
+@ExtendWith(MockitoExtension.class)
+class PostgreSQLDdlLogTest {
+    private static final AdapterProperties PROPERTIES = new AdapterProperties(
+            Map.of(PostgreSQLDdlLog.PROPERTY, "public.ddl_log"));
+
+    @Test
+    void testReadSinceResolvesIndexesToTheirTables(@Mock final Connection connectionMock,
+            @Mock final PreparedStatement statementMock, @Mock final ResultSet resultSetMock,
+            @Mock final Array relationsMock) throws SQLException {
+        final ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        when(connectionMock.prepareStatement(sql.capture())).thenReturn(statementMock);
+        when(statementMock.executeQuery()).thenReturn(resultSetMock);
+        when(resultSetMock.getLong(1)).thenReturn(12L);
+        when(resultSetMock.getArray(2)).thenReturn(relationsMock);
+        when(relationsMock.getArray()).thenReturn(new Long[] { 100L, 200L });
+        final PostgreSQLDdlLog ddlLog = PostgreSQLDdlLog.readSince(connectionMock, PROPERTIES, 10);
+        assertAll(
+                () -> assertThat(sql.getValue(),
+                        stringContainsInOrder("SELECT pg_catalog.pg_snapshot_xmin(pg_catalog.pg_current_snapshot())",
+                                "coalesce(i.indrelid, l.relation)", "FROM public.ddl_log l",
+                                "LEFT JOIN pg_catalog.pg_index i ON i.indexrelid = l.relation",
+                                "WHERE l.xact_id >= ?::text::xid8")),
+                () -> verify(statementMock).setLong(1, 10L), //
+                () -> assertThat(ddlLog.getPosition(), equalTo(12L)),
+                () -> assertThat(ddlLog.getChangedRelations(), containsInAnyOrder(100L, 200L)),
+                () -> assertThat(ddlLog.requiresFullScan(), equalTo(false)));
+    }
+
+    @Test
+    void testReadPositionReturnsOldestRunningTransaction(@Mock final Connection connectionMock,
+            @Mock final Statement statementMock, @Mock final ResultSet resultSetMock) throws SQLException {
+        when(connectionMock.createStatement()).thenReturn(statementMock);
+        when(statementMock.executeQuery("SELECT pg_catalog.pg_snapshot_xmin(pg_catalog.pg_current_snapshot())"
+                + "::text::bigint")).thenReturn(resultSetMock);
+        when(resultSetMock.getLong(1)).thenReturn(4711L);
+        assertThat(PostgreSQLDdlLog.readPosition(connectionMock), equalTo(4711L));
+    }
+
+    @Test
+    void testReadSinceWithEntryWithoutRelationRequiresFullScan(@Mock final Connection connectionMock,
+            @Mock final PreparedStatement statementMock, @Mock final ResultSet resultSetMock) throws SQLException {
+        when(connectionMock.prepareStatement(anyString())).thenReturn(statementMock);
+        when(statementMock.executeQuery()).thenReturn(resultSetMock);
+        when(resultSetMock.getLong(1)).thenReturn(11L);
+        when(resultSetMock.getBoolean(3)).thenReturn(true);
+        assertThat(PostgreSQLDdlLog.readSince(connectionMock, PROPERTIES, 10).requiresFullScan(), equalTo(true));
+    }
+}
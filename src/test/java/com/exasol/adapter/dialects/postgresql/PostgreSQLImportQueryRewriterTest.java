@@ -0,0 +1,617 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import static com.exasol.adapter.AdapterProperties.CONNECTION_NAME_PROPERTY;
+import static com.exasol.adapter.AdapterProperties.SCHEMA_NAME_PROPERTY;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.exasol.ExaConnectionInformation;
+import com.exasol.ExaMetadata;
+import com.exasol.adapter.AdapterException;
+import com.exasol.adapter.AdapterProperties;
+import com.exasol.adapter.dialects.postgresql.PostgreSQLPartitions.Partition;
+import com.exasol.adapter.jdbc.ConnectionFactory;
+import com.exasol.adapter.jdbc.RemoteMetadataReader;
+import com.exasol.adapter.metadata.*;
+import com.exasol.adapter.sql.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostgreSQLImportQueryRewriterTest {
+    private static final List<DataType> SELECT_LIST_DATA_TYPES = List.of(DataType.createDecimal(18, 0));
+    private static final AdapterProperties PROPERTIES = new AdapterProperties(Map.of( //
+            CONNECTION_NAME_PROPERTY, "MY_CONN", //
+            SCHEMA_NAME_PROPERTY, "public", //
+            "POSTGRESQL_IMPORT_SLICES", "4", //
+            "POSTGRESQL_IMPORT_SLICE_MIN_PAGES", "100"));
+    private static final AdapterProperties CITUS_PROPERTIES = new AdapterProperties(Map.of( //
+            CONNECTION_NAME_PROPERTY, "MY_CONN", //
+            SCHEMA_NAME_PROPERTY, "public", //
+            "POSTGRESQL_CITUS_WORKERS", "worker1:5432=WORKER_1, worker2:5432=WORKER_2"));
+    private static final AdapterProperties PARTIAL_AGGREGATION_PROPERTIES = new AdapterProperties(Map.of( //
+            CONNECTION_NAME_PROPERTY, "MY_CONN", //
+            SCHEMA_NAME_PROPERTY, "public", //
+            "POSTGRESQL_IMPORT_SLICES", "4", //
+            "POSTGRESQL_IMPORT_SLICE_MIN_PAGES", "100", //
+            "POSTGRESQL_PARTIAL_AGGREGATION", "true"));
+    @Mock
+    private ConnectionFactory connectionFactoryMock;
+    @Mock
+    private RemoteMetadataReader remoteMetadataReaderMock;
+    @Mock
+    private ExaMetadata exaMetadataMock;
+
+    @Test
+    void testCreateBlockRanges() {
+        assertThat(PostgreSQLImportQueryRewriter.createBlockRanges(10, 4), contains( //
+                "ctid < '(2,0)'::tid", //
+                "ctid >= '(2,0)'::tid AND ctid < '(5,0)'::tid", //
+                "ctid >= '(5,0)'::tid AND ctid < '(7,0)'::tid", //
+                "ctid >= '(7,0)'::tid"));
+    }
+
+    @Test
+    void testCreateBlockRangesForTableSmallerThanSliceCount() {
+        assertThat(PostgreSQLImportQueryRewriter.createBlockRanges(2, 4),
+                contains("ctid < '(1,0)'::tid", "ctid >= '(1,0)'::tid"));
+    }
+
+    @Test
+    void testRewriteSplitsLargeTableScan(@Mock final Connection connectionMock,
+            @Mock final PreparedStatement statementMock, @Mock final ResultSet resultSetMock)
+            throws AdapterException, SQLException {
+        mockTableSize(connectionMock, statementMock, resultSetMock, 1000, 160004);
+        final String importStatement = rewrite(createFilteredScan());
+        assertAll(() -> assertThat(importStatement, startsWith("IMPORT INTO (c1 DECIMAL(18, 0)) FROM JDBC ")),
+                () -> assertThat(importStatement, stringContainsInOrder( //
+                        " STATEMENT 'SELECT \"id\" FROM \"public\".\"orders\" WHERE ctid < ''(250,0)''::tid"
+                                + " AND (\"id\" = E''a''''b'')'", //
+                        " STATEMENT 'SELECT \"id\" FROM \"public\".\"orders\" WHERE ctid >= ''(250,0)''::tid"
+                                + " AND ctid < ''(500,0)''::tid AND (\"id\" = E''a''''b'')'", //
+                        " STATEMENT 'SELECT \"id\" FROM \"public\".\"orders\" WHERE ctid >= ''(750,0)''::tid"
+                                + " AND (\"id\" = E''a''''b'')'")),
+                () -> verify(statementMock).setString(1, "\"public\".\"orders\""));
+    }
+
+    @Test
+    void testRewriteSlicesMatchCaseInsensitiveFilterWithIndex(@Mock final Connection connectionMock,
+            @Mock final PreparedStatement statementMock, @Mock final ResultSet resultSetMock)
+            throws AdapterException, SQLException {
+        mockTableSize(connectionMock, statementMock, resultSetMock, 1000, 160004);
+        final AdapterProperties properties = new AdapterProperties(Map.of( //
+                CONNECTION_NAME_PROPERTY, "MY_CONN", //
+                SCHEMA_NAME_PROPERTY, "public", //
+                "POSTGRESQL_IMPORT_SLICES", "4", //
+                "POSTGRESQL_IMPORT_SLICE_MIN_PAGES", "100", //
+                "POSTGRESQL_CASE_INSENSITIVE_INDEXES", "true"));
+        final ColumnMetadata name = ColumnMetadata.builder().name("name")
+                .adapterNotes("{\"jdbcDataType\":12, \"typeName\":\"text\"}")
+                .type(DataType.createVarChar(100, DataType.ExaCharset.UTF8)).build();
+        final SqlStatementSelect select = SqlStatementSelect.builder() //
+                .selectList(SqlSelectList.createRegularSelectList(List.of(createColumn()))) //
+                .fromClause(new SqlTable("orders", new TableMetadata("orders",
+                        "{\"fingerprint\":\"fp1\",\"caseInsensitiveIndexes\":[\"\\\"name\\\" ILIKE\"]}",
+                        List.of(createColumnMetadata(), name), ""))) //
+                .whereClause(new SqlPredicateLike(
+                        new SqlFunctionScalar(ScalarFunction.UPPER, List.of(new SqlColumn(1, name, "orders"))),
+                        new SqlLiteralString("FOO%"))) //
+                .build();
+        final String importStatement = rewrite(select, properties);
+        assertAll(() -> assertThat(importStatement, containsString("ctid >= ''(750,0)''::tid")),
+                () -> assertThat(importStatement, containsString("(\"orders\".\"name\" ILIKE E''FOO%'')")),
+                () -> assertThat(importStatement, not(containsString("UPPER("))));
+    }
+
+    @Test
+    void testRewriteSlicesRenderInListWithConfiguredThreshold(@Mock final Connection connectionMock,
+            @Mock final PreparedStatement statementMock, @Mock final ResultSet resultSetMock)
+            throws AdapterException, SQLException {
+        mockTableSize(connectionMock, statementMock, resultSetMock, 1000, 160004);
+        final AdapterProperties properties = new AdapterProperties(Map.of( //
+                CONNECTION_NAME_PROPERTY, "MY_CONN", //
+                SCHEMA_NAME_PROPERTY, "public", //
+                "POSTGRESQL_IMPORT_SLICES", "4", //
+                "POSTGRESQL_IMPORT_SLICE_MIN_PAGES", "100", //
+                "POSTGRESQL_IN_LIST_ARRAY_MIN_SIZE", "3"));
+        final SqlStatementSelect select = SqlStatementSelect.builder() //
+                .selectList(SqlSelectList.createRegularSelectList(List.of(createColumn()))) //
+                .fromClause(createTable()) //
+                .whereClause(new SqlPredicateInConstList(createColumn(),
+                        List.of(new SqlLiteralExactnumeric(BigDecimal.ONE), new SqlLiteralExactnumeric(BigDecimal.TEN),
+                                new SqlLiteralExactnumeric(BigDecimal.valueOf(100))))) //
+                .build();
+        final String importStatement = rewrite(select, properties);
+        assertAll(() -> assertThat(importStatement, containsString("ctid >= ''(750,0)''::tid")),
+                () -> assertThat(importStatement, containsString("(\"id\" = ANY(E''{1,10,100}''::int8[]))")));
+    }
+
+    @Test
+    void testRewriteKeepsSingleStatementForSmallTable(@Mock final Connection connectionMock,
+            @Mock final PreparedStatement statementMock, @Mock final ResultSet resultSetMock)
+            throws AdapterException, SQLException {
+        mockTableSize(connectionMock, statementMock, resultSetMock, 99, 160004);
+        assertThat(rewrite(createFilteredScan()), not(containsString("ctid")));
+    }
+
+    @Test
+    void testRewriteKeepsSingleStatementBeforePostgreSQL14(@Mock final Connection connectionMock,
+            @Mock final PreparedStatement statementMock, @Mock final ResultSet resultSetMock)
+            throws AdapterException, SQLException {
+        mockTableSize(connectionMock, statementMock, resultSetMock, 1000, 130010);
+        assertThat(rewrite(createFilteredScan()), not(containsString("ctid")));
+    }
+
+    @Test
+    void testRewriteDoesNotSplitAggregation() throws AdapterException, SQLException {
+        final SqlStatementSelect statement = SqlStatementSelect.builder()
+                .selectList(SqlSelectList.createRegularSelectList(
+                        List.of(new SqlFunctionAggregate(AggregateFunction.COUNT, List.of(createColumn()), false))))
+                .fromClause(createTable()) //
+                .build();
+        assertAll(() -> assertThat(rewrite(statement), not(containsString("ctid"))),
+                () -> verify(this.connectionFactoryMock, never()).getConnection());
+    }
+
+    @Test
+    void testRewriteDoesNotSplitWhenDisabled() throws AdapterException, SQLException {
+        final AdapterProperties properties = new AdapterProperties(
+                Map.of(CONNECTION_NAME_PROPERTY, "MY_CONN", SCHEMA_NAME_PROPERTY, "public"));
+        final String importStatement = createRewriter().rewrite(createFilteredScan(), SELECT_LIST_DATA_TYPES,
+                this.exaMetadataMock, properties);
+        assertAll(() -> assertThat(importStatement, not(containsString("ctid"))),
+                () -> verify(this.connectionFactoryMock, never()).getConnection());
+    }
+
+    @Test
+    void testRewriteImportsRemainingPartitionsInParallel(@Mock final Connection connectionMock,
+            @Mock final PreparedStatement sizeStatementMock, @Mock final ResultSet sizeMock,
+            @Mock final PreparedStatement partitionStatementMock, @Mock final ResultSet partitionsMock,
+            @Mock final Statement explainStatementMock, @Mock final ResultSet planMock)
+            throws AdapterException, SQLException {
+        when(this.connectionFactoryMock.getConnection()).thenReturn(connectionMock);
+        when(connectionMock.prepareStatement(ArgumentMatchers.startsWith("SELECT c.relpages")))
+                .thenReturn(sizeStatementMock);
+        when(sizeStatementMock.executeQuery()).thenReturn(sizeMock);
+        when(sizeMock.next()).thenReturn(true);
+        when(sizeMock.getInt(2)).thenReturn(150002);
+        when(sizeMock.getString(3)).thenReturn("p");
+        when(connectionMock.prepareStatement(ArgumentMatchers.contains("pg_partition_tree")))
+                .thenReturn(partitionStatementMock);
+        when(partitionStatementMock.executeQuery()).thenReturn(partitionsMock);
+        when(partitionsMock.next()).thenReturn(true, true, true, false);
+        when(partitionsMock.getString(1)).thenReturn("public");
+        when(partitionsMock.getString(2)).thenReturn("orders_2023", "orders_2024", "orders_2025");
+        when(partitionsMock.getLong(3)).thenReturn(300L, 200L, 100L);
+        when(connectionMock.createStatement()).thenReturn(explainStatementMock);
+        when(explainStatementMock.executeQuery("EXPLAIN (FORMAT JSON) SELECT 1 FROM \"public\".\"orders\""
+                + " WHERE \"id\" = E'a''b'")).thenReturn(planMock);
+        when(planMock.next()).thenReturn(true, false);
+        when(planMock.getString(1)).thenReturn("[{\"Plan\": {\"Node Type\": \"Append\", \"Plans\": ["
+                + "{\"Node Type\": \"Seq Scan\", \"Relation Name\": \"orders_2023\"},"
+                + "{\"Node Type\": \"Seq Scan\", \"Relation Name\": \"orders_2025\"}]}}]");
+        final String importStatement = rewrite(createFilteredScan());
+        assertAll(() -> assertThat(importStatement, endsWith( //
+                " STATEMENT 'SELECT \"id\" FROM \"public\".\"orders_2023\" \"orders\" WHERE \"id\" = E''a''''b'''"
+                        + " STATEMENT 'SELECT \"id\" FROM \"public\".\"orders_2025\" \"orders\""
+                        + " WHERE \"id\" = E''a''''b'''")),
+                () -> assertThat(importStatement, not(containsString("orders_2024"))),
+                () -> verify(partitionStatementMock).setString(1, "\"public\".\"orders\""));
+    }
+
+    @Test
+    void testRewriteImportsCitusShardsFromWorkers(@Mock final Connection connectionMock,
+            @Mock final PreparedStatement columnStatementMock, @Mock final ResultSet columnMock,
+            @Mock final PreparedStatement shardStatementMock, @Mock final ResultSet shardsMock)
+            throws AdapterException, SQLException {
+        mockCitusShards(connectionMock, columnStatementMock, columnMock, shardStatementMock, shardsMock);
+        final String importStatement = rewrite(createScan(), CITUS_PROPERTIES);
+        assertThat(importStatement, equalTo("SELECT * FROM (IMPORT INTO (c1 DECIMAL(18, 0)) FROM JDBC AT WORKER_1" //
+                + " STATEMENT 'SELECT \"id\" FROM orders_102008 \"orders\"'" //
+                + " STATEMENT 'SELECT \"id\" FROM orders_102010 \"orders\"')" //
+                + " UNION ALL SELECT * FROM (IMPORT INTO (c1 DECIMAL(18, 0)) FROM JDBC AT WORKER_2" //
+                + " STATEMENT 'SELECT \"id\" FROM orders_102009 \"orders\"')"));
+    }
+
+    @Test
+    void testRewriteRoutesCitusQueryToShardOfDistributionValue(@Mock final Connection connectionMock,
+            @Mock final PreparedStatement columnStatementMock, @Mock final ResultSet columnMock,
+            @Mock final PreparedStatement shardStatementMock, @Mock final ResultSet shardsMock,
+            @Mock final PreparedStatement shardIdStatementMock, @Mock final ResultSet shardIdMock)
+            throws AdapterException, SQLException {
+        mockCitusShards(connectionMock, columnStatementMock, columnMock, shardStatementMock, shardsMock);
+        when(connectionMock.prepareStatement(ArgumentMatchers.contains("get_shard_id_for_distribution_column")))
+                .thenReturn(shardIdStatementMock);
+        when(shardIdStatementMock.executeQuery()).thenReturn(shardIdMock);
+        when(shardIdMock.next()).thenReturn(true);
+        when(shardIdMock.getLong(1)).thenReturn(102009L);
+        final SqlStatementSelect statement = SqlStatementSelect.builder() //
+                .selectList(SqlSelectList.createRegularSelectList(List.of(createColumn()))) //
+                .fromClause(createTable()) //
+                .whereClause(new SqlPredicateEqual(createColumn(), new SqlLiteralExactnumeric(new BigDecimal(5)))) //
+                .build();
+        final String importStatement = rewrite(statement, CITUS_PROPERTIES);
+        assertAll(() -> assertThat(importStatement, equalTo("IMPORT INTO (c1 DECIMAL(18, 0)) FROM JDBC AT WORKER_2"
+                + " STATEMENT 'SELECT \"id\" FROM orders_102009 \"orders\" WHERE \"id\" = 5'")),
+                () -> verify(shardIdStatementMock).setString(2, "5"));
+    }
+
+    @Test
+    void testRewriteImportsThroughCoordinatorForUnmappedCitusWorker(@Mock final Connection connectionMock,
+            @Mock final PreparedStatement columnStatementMock, @Mock final ResultSet columnMock,
+            @Mock final PreparedStatement shardStatementMock, @Mock final ResultSet shardsMock)
+            throws AdapterException, SQLException {
+        mockCitusShards(connectionMock, columnStatementMock, columnMock, shardStatementMock, shardsMock);
+        final AdapterProperties properties = new AdapterProperties(Map.of(CONNECTION_NAME_PROPERTY, "MY_CONN",
+                SCHEMA_NAME_PROPERTY, "public", "POSTGRESQL_CITUS_WORKERS", "worker1:5432=WORKER_1"));
+        final String importStatement = rewrite(createScan(), properties);
+        assertAll(() -> assertThat(importStatement, not(containsString("WORKER_1"))),
+                () -> assertThat(importStatement, not(containsString("orders_1020"))));
+    }
+
+    @Test
+    void testRewriteDerivesMissingColumnTypesLocally() throws AdapterException, SQLException {
+        final AdapterProperties properties = new AdapterProperties(
+                Map.of(CONNECTION_NAME_PROPERTY, "MY_CONN", SCHEMA_NAME_PROPERTY, "public"));
+        final String importStatement = createRewriter().rewrite(createFilteredScan(), List.of(),
+                this.exaMetadataMock, properties);
+        assertAll(() -> assertThat(importStatement, startsWith("IMPORT INTO (c1 DECIMAL(18, 0)) FROM JDBC ")),
+                () -> verify(this.connectionFactoryMock, never()).getConnection(),
+                () -> verify(this.remoteMetadataReaderMock, never()).getColumnMetadataReader());
+    }
+
+    @Test
+    void testRewriteReturnsCachedStatement(@Mock final Connection connectionMock,
+            @Mock final PreparedStatement statementMock, @Mock final ResultSet resultSetMock)
+            throws AdapterException, SQLException {
+        mockTableSize(connectionMock, statementMock, resultSetMock, 1000, 160004);
+        final AdapterProperties properties = new AdapterProperties(Map.of(CONNECTION_NAME_PROPERTY, "MY_CONN",
+                SCHEMA_NAME_PROPERTY, "public", "POSTGRESQL_IMPORT_SLICES", "4", //
+                "POSTGRESQL_PUSHDOWN_CACHE_SIZE", "10"));
+        final PostgreSQLPushdownCache cache = PostgreSQLPushdownCache.get(properties);
+        cache.clear();
+        try {
+            final String importStatement = rewrite(createFilteredScan(), properties);
+            assertAll(() -> assertThat(rewrite(createFilteredScan(), properties), equalTo(importStatement)),
+                    () -> verify(this.connectionFactoryMock, times(1)).getConnection(),
+                    () -> assertThat(cache.getHits(), equalTo(1L)));
+        } finally {
+            cache.clear();
+        }
+    }
+
+    @Test
+    void testRewriteChecksBudgetBeforeReturningCachedStatement(@Mock final Connection connectionMock,
+            @Mock final Statement statementMock, @Mock final ResultSet resultSetMock)
+            throws AdapterException, SQLException {
+        mockEstimate(connectionMock, statementMock, resultSetMock, 10);
+        final AdapterProperties properties = new AdapterProperties(Map.of(CONNECTION_NAME_PROPERTY, "MY_CONN",
+                SCHEMA_NAME_PROPERTY, "public", "POSTGRESQL_PUSHDOWN_MAX_ROWS", "1000000", //
+                "POSTGRESQL_PUSHDOWN_CACHE_SIZE", "10"));
+        final PostgreSQLPushdownCache cache = PostgreSQLPushdownCache.get(properties);
+        cache.clear();
+        try {
+            rewrite(createFilteredScan(), properties);
+            when(resultSetMock.getString(1)).thenReturn("[{\"Plan\": {\"Node Type\": \"Seq Scan\","
+                    + " \"Total Cost\": 100.0, \"Plan Rows\": 5000000, \"Plan Width\": 8}}]");
+            final AdapterException exception = assertThrows(AdapterException.class,
+                    () -> rewrite(createFilteredScan(), properties));
+            assertAll(() -> assertThat(exception.getMessage(), containsString("E-VSPG-31")),
+                    () -> verify(statementMock, times(2)).executeQuery(ArgumentMatchers.startsWith("EXPLAIN")));
+        } finally {
+            cache.clear();
+        }
+    }
+
+    @Test
+    void testRewriteSelectsFromCopyUdf() throws AdapterException, SQLException {
+        final AdapterProperties properties = new AdapterProperties(Map.of(CONNECTION_NAME_PROPERTY, "MY_CONN",
+                SCHEMA_NAME_PROPERTY, "public", "POSTGRESQL_COPY_UDF", "ADAPTER.POSTGRESQL_COPY"));
+        assertAll(() -> assertThat(rewrite(createFilteredScan(), properties),
+                equalTo("SELECT ADAPTER.POSTGRESQL_COPY(CONNECTION_NAME, PUSHDOWN_QUERY) EMITS (c1 DECIMAL(18, 0))"
+                        + " FROM VALUES (1, 'MY_CONN', 'SELECT \"id\" FROM \"public\".\"orders\""
+                        + " WHERE \"id\" = E''a''''b''')"
+                        + " AS SLICES(SLICE_ID, CONNECTION_NAME, PUSHDOWN_QUERY) GROUP BY SLICE_ID")),
+                () -> verify(this.connectionFactoryMock, never()).getConnection());
+    }
+
+    @Test
+    void testRewriteFansCopyUdfOutOverCitusShards(@Mock final Connection connectionMock,
+            @Mock final PreparedStatement columnStatementMock, @Mock final ResultSet columnMock,
+            @Mock final PreparedStatement shardStatementMock, @Mock final ResultSet shardsMock)
+            throws AdapterException, SQLException {
+        mockCitusShards(connectionMock, columnStatementMock, columnMock, shardStatementMock, shardsMock);
+        final AdapterProperties properties = new AdapterProperties(Map.of(CONNECTION_NAME_PROPERTY, "MY_CONN",
+                SCHEMA_NAME_PROPERTY, "public", "POSTGRESQL_COPY_UDF", "POSTGRESQL_COPY", "POSTGRESQL_CITUS_WORKERS",
+                "worker1:5432=WORKER_1, worker2:5432=WORKER_2"));
+        assertThat(rewrite(createScan(), properties), equalTo(
+                "SELECT POSTGRESQL_COPY(CONNECTION_NAME, PUSHDOWN_QUERY) EMITS (c1 DECIMAL(18, 0)) FROM VALUES" //
+                        + " (1, 'WORKER_1', 'SELECT \"id\" FROM orders_102008 \"orders\"')," //
+                        + " (2, 'WORKER_2', 'SELECT \"id\" FROM orders_102009 \"orders\"')," //
+                        + " (3, 'WORKER_1', 'SELECT \"id\" FROM orders_102010 \"orders\"')" //
+                        + " AS SLICES(SLICE_ID, CONNECTION_NAME, PUSHDOWN_QUERY) GROUP BY SLICE_ID"));
+    }
+
+    @Test
+    void testRewriteImportsDirectlyWhenResultCacheTableCannotBeCreated(@Mock final Connection connectionMock,
+            @Mock final PreparedStatement statementMock, @Mock final ResultSet resultSetMock,
+            @Mock final ExaConnectionInformation exasolConnectionMock) throws Exception {
+        when(this.connectionFactoryMock.getConnection()).thenReturn(connectionMock);
+        when(connectionMock.prepareStatement(ArgumentMatchers.contains("pg_stat_user_tables")))
+                .thenReturn(statementMock);
+        when(statementMock.executeQuery()).thenReturn(resultSetMock);
+        when(resultSetMock.next()).thenReturn(true);
+        when(this.exaMetadataMock.getConnection(anyString())).thenReturn(exasolConnectionMock);
+        when(exasolConnectionMock.getAddress()).thenReturn("jdbc:unknown:localhost");
+        final AdapterProperties properties = new AdapterProperties(Map.of(CONNECTION_NAME_PROPERTY, "MY_CONN",
+                SCHEMA_NAME_PROPERTY, "public", "POSTGRESQL_RESULT_CACHE_CONNECTION", "EXA_CONN",
+                "POSTGRESQL_RESULT_CACHE_SCHEMA", "PG_CACHE"));
+        assertAll(() -> assertThat(rewrite(createFilteredScan(), properties), startsWith("IMPORT INTO ")),
+                () -> verify(statementMock).setString(1, "\"public\".\"orders\""));
+    }
+
+    @Test
+    void testRewriteImportsDirectlyWithoutFreshnessToken(@Mock final Connection connectionMock,
+            @Mock final PreparedStatement statementMock, @Mock final ResultSet resultSetMock)
+            throws AdapterException, SQLException {
+        when(this.connectionFactoryMock.getConnection()).thenReturn(connectionMock);
+        when(connectionMock.prepareStatement(anyString())).thenReturn(statementMock);
+        when(statementMock.executeQuery()).thenReturn(resultSetMock);
+        when(resultSetMock.next()).thenReturn(false);
+        final AdapterProperties properties = new AdapterProperties(Map.of(CONNECTION_NAME_PROPERTY, "MY_CONN",
+                SCHEMA_NAME_PROPERTY, "public", "POSTGRESQL_RESULT_CACHE_CONNECTION", "EXA_CONN",
+                "POSTGRESQL_RESULT_CACHE_SCHEMA", "PG_CACHE"));
+        assertAll(() -> assertThat(rewrite(createFilteredScan(), properties), startsWith("IMPORT INTO ")),
+                () -> verify(this.exaMetadataMock, never()).getConnection("EXA_CONN"));
+    }
+
+    @Test
+    void testRewriteRefusesQueryOverRowBudget(@Mock final Connection connectionMock,
+            @Mock final Statement statementMock, @Mock final ResultSet resultSetMock) throws SQLException {
+        mockEstimate(connectionMock, statementMock, resultSetMock, 5000000);
+        final AdapterProperties properties = new AdapterProperties(Map.of(CONNECTION_NAME_PROPERTY, "MY_CONN",
+                SCHEMA_NAME_PROPERTY, "public", "POSTGRESQL_PUSHDOWN_MAX_ROWS", "1000000"));
+        final AdapterException exception = assertThrows(AdapterException.class,
+                () -> rewrite(createFilteredScan(), properties));
+        assertAll(() -> assertThat(exception.getMessage(), containsString("E-VSPG-31")),
+                () -> verify(statementMock).executeQuery(
+                        "EXPLAIN (FORMAT JSON) SELECT \"id\" FROM \"public\".\"orders\" WHERE \"id\" = E'a''b'"));
+    }
+
+    @Test
+    void testRewriteKeepsSingleStatementForFewEstimatedRows(@Mock final Connection connectionMock,
+            @Mock final Statement statementMock, @Mock final ResultSet resultSetMock)
+            throws AdapterException, SQLException {
+        mockEstimate(connectionMock, statementMock, resultSetMock, 20);
+        final AdapterProperties properties = new AdapterProperties(Map.of(CONNECTION_NAME_PROPERTY, "MY_CONN",
+                SCHEMA_NAME_PROPERTY, "public", "POSTGRESQL_IMPORT_SLICES", "4",
+                "POSTGRESQL_IMPORT_SLICE_MIN_ROWS", "100000"));
+        assertAll(() -> assertThat(rewrite(createFilteredScan(), properties), not(containsString("ctid"))),
+                () -> verify(connectionMock, never()).prepareStatement(anyString()));
+    }
+
+    @Test
+    void testRewriteAnswersCountFromEstimate(@Mock final Connection connectionMock,
+            @Mock final PreparedStatement statementMock, @Mock final ResultSet resultSetMock)
+            throws AdapterException, SQLException {
+        when(this.connectionFactoryMock.getConnection()).thenReturn(connectionMock);
+        when(connectionMock.prepareStatement(ArgumentMatchers.contains("reltuples"))).thenReturn(statementMock);
+        when(statementMock.executeQuery()).thenReturn(resultSetMock);
+        when(resultSetMock.next()).thenReturn(true);
+        when(resultSetMock.getBoolean(2)).thenReturn(true);
+        when(resultSetMock.getLong(1)).thenReturn(98765L);
+        final AdapterProperties properties = new AdapterProperties(Map.of(CONNECTION_NAME_PROPERTY, "MY_CONN",
+                SCHEMA_NAME_PROPERTY, "public", "POSTGRESQL_APPROXIMATE_COUNT", "true"));
+        final String statement = createRewriter().rewrite(createCountStar(), List.of(), this.exaMetadataMock,
+                properties);
+        assertAll(() -> assertThat(statement, equalTo("SELECT CAST(98765 AS DECIMAL(19, 0))")),
+                () -> verify(statementMock).setString(1, "\"public\".\"orders\""));
+    }
+
+    @Test
+    void testRewriteCountsExactlyWithoutEstimate(@Mock final Connection connectionMock,
+            @Mock final PreparedStatement statementMock, @Mock final ResultSet resultSetMock)
+            throws AdapterException, SQLException {
+        when(this.connectionFactoryMock.getConnection()).thenReturn(connectionMock);
+        when(connectionMock.prepareStatement(anyString())).thenReturn(statementMock);
+        when(statementMock.executeQuery()).thenReturn(resultSetMock);
+        when(resultSetMock.next()).thenReturn(true);
+        when(resultSetMock.getBoolean(2)).thenReturn(false);
+        final AdapterProperties properties = new AdapterProperties(Map.of(CONNECTION_NAME_PROPERTY, "MY_CONN",
+                SCHEMA_NAME_PROPERTY, "public", "POSTGRESQL_APPROXIMATE_COUNT", "true"));
+        assertThat(rewrite(createCountStar(), properties), containsString("COUNT(*)"));
+    }
+
+    @Test
+    void testRewriteDoesNotSplitSampledTable() throws AdapterException, SQLException {
+        final AdapterProperties properties = new AdapterProperties(Map.of(CONNECTION_NAME_PROPERTY, "MY_CONN",
+                SCHEMA_NAME_PROPERTY, "public", "POSTGRESQL_IMPORT_SLICES", "4",
+                "POSTGRESQL_TABLESAMPLE", "orders=SYSTEM(1)"));
+        final String importStatement = createRewriter(properties).rewrite(createFilteredScan(),
+                SELECT_LIST_DATA_TYPES, this.exaMetadataMock, properties);
+        assertAll(() -> assertThat(importStatement,
+                containsString("FROM \"public\".\"orders\" TABLESAMPLE SYSTEM (1) WHERE")),
+                () -> verify(this.connectionFactoryMock, never()).getConnection());
+    }
+
+    @Test
+    void testRewriteAggregatesPartiallyInSlices(@Mock final Connection connectionMock,
+            @Mock final PreparedStatement statementMock, @Mock final ResultSet resultSetMock)
+            throws AdapterException, SQLException {
+        mockTableSize(connectionMock, statementMock, resultSetMock, 1000, 160004);
+        final SqlStatementSelect statement = createGroupedAggregation(
+                new SqlFunctionAggregate(AggregateFunction.COUNT, List.of(), false),
+                new SqlFunctionAggregate(AggregateFunction.AVG, List.of(createColumn()), false));
+        final String rewrittenStatement = createRewriter().rewrite(statement, List.of(DataType.createDecimal(18, 0),
+                DataType.createDecimal(36, 0), DataType.createDouble()), this.exaMetadataMock,
+                PARTIAL_AGGREGATION_PROPERTIES);
+        assertAll(() -> assertThat(rewrittenStatement, startsWith("SELECT CAST(c1 AS DECIMAL(18, 0)),"
+                + " CAST(SUM(c2) AS DECIMAL(36, 0)), CAST(SUM(c3) / NULLIF(SUM(c4), 0) AS DOUBLE)"
+                + " FROM (IMPORT INTO (c1 DECIMAL(18, 0), c2 DECIMAL(36, 0), c3 DOUBLE, c4 DECIMAL(36, 0))"
+                + " FROM JDBC ")),
+                () -> assertThat(rewrittenStatement, containsString(" STATEMENT 'SELECT \"id\", COUNT(*),"
+                        + " SUM(CAST(\"id\" AS DOUBLE PRECISION)), COUNT(\"id\") FROM \"public\".\"orders\""
+                        + " WHERE ctid < ''(250,0)''::tid GROUP BY \"id\"'")),
+                () -> assertThat(rewrittenStatement, endsWith(") GROUP BY c1")));
+    }
+
+    @Test
+    void testRewriteCombinesVarianceWithMeanPerGroup(@Mock final Connection connectionMock,
+            @Mock final PreparedStatement statementMock, @Mock final ResultSet resultSetMock)
+            throws AdapterException, SQLException {
+        mockTableSize(connectionMock, statementMock, resultSetMock, 1000, 160004);
+        final SqlStatementSelect statement = createGroupedAggregation(
+                new SqlFunctionAggregate(AggregateFunction.VAR_POP, List.of(createColumn()), false));
+        final String rewrittenStatement = createRewriter().rewrite(statement,
+                List.of(DataType.createDecimal(18, 0), DataType.createDouble()), this.exaMetadataMock,
+                PARTIAL_AGGREGATION_PROPERTIES);
+        assertAll(() -> assertThat(rewrittenStatement, startsWith("SELECT CAST(c1 AS DECIMAL(18, 0)),"
+                + " CAST(GREATEST((SUM(c4) + SUM(c2 * POWER(c3 - w1, 2))) / NULLIF(SUM(c2), 0), 0) AS DOUBLE)"
+                + " FROM (SELECT c1, c2, c3, c4, SUM(c2 * c3) OVER (PARTITION BY c1)"
+                + " / NULLIF(SUM(c2) OVER (PARTITION BY c1), 0) AS w1 FROM (IMPORT INTO")),
+                () -> assertThat(rewrittenStatement, endsWith(")) GROUP BY c1")));
+    }
+
+    @Test
+    void testRewriteDoesNotAggregateDistinctCountPartially() throws AdapterException, SQLException {
+        final SqlStatementSelect statement = createGroupedAggregation(
+                new SqlFunctionAggregate(AggregateFunction.COUNT, List.of(createColumn()), true));
+        final String rewrittenStatement = createRewriter().rewrite(statement,
+                List.of(DataType.createDecimal(18, 0), DataType.createDecimal(36, 0)), this.exaMetadataMock,
+                PARTIAL_AGGREGATION_PROPERTIES);
+        assertAll(() -> assertThat(rewrittenStatement, not(containsString("ctid"))),
+                () -> verify(this.connectionFactoryMock, never()).getConnection());
+    }
+
+    @Test
+    void testDistributePartitionsBalancesPages() {
+        final List<List<Partition>> slices = PostgreSQLPartitions.distribute(List.of(new Partition("s", "a", 500),
+                new Partition("s", "b", 300), new Partition("s", "c", 200), new Partition("s", "d", 100)), 2);
+        assertThat(slices.stream().map(slice -> slice.stream().map(Partition::getName).collect(Collectors.toList()))
+                .collect(Collectors.toList()), contains(List.of("a", "d"), List.of("b", "c")));
+    }
+
+    private void mockTableSize(final Connection connectionMock, final PreparedStatement statementMock,
+            final ResultSet resultSetMock, final long pages, final int serverVersion) throws SQLException {
+        when(this.connectionFactoryMock.getConnection()).thenReturn(connectionMock);
+        when(connectionMock.prepareStatement(anyString())).thenReturn(statementMock);
+        when(statementMock.executeQuery()).thenReturn(resultSetMock);
+        when(resultSetMock.next()).thenReturn(true);
+        when(resultSetMock.getLong(1)).thenReturn(pages);
+        when(resultSetMock.getInt(2)).thenReturn(serverVersion);
+        when(resultSetMock.getString(3)).thenReturn("r");
+    }
+
+    private void mockEstimate(final Connection connectionMock, final Statement statementMock,
+            final ResultSet resultSetMock, final long rows) throws SQLException {
+        when(this.connectionFactoryMock.getConnection()).thenReturn(connectionMock);
+        when(connectionMock.createStatement()).thenReturn(statementMock);
+        when(statementMock.executeQuery(ArgumentMatchers.startsWith("EXPLAIN (FORMAT JSON) ")))
+                .thenReturn(resultSetMock);
+        when(resultSetMock.getString(1)).thenReturn("[{\"Plan\": {\"Node Type\": \"Seq Scan\", \"Total Cost\": 100.0,"
+                + " \"Plan Rows\": " + rows + ", \"Plan Width\": 8}}]");
+    }
+
+    private void mockCitusShards(final Connection connectionMock, final PreparedStatement columnStatementMock,
+            final ResultSet columnMock, final PreparedStatement shardStatementMock, final ResultSet shardsMock)
+            throws SQLException {
+        when(this.connectionFactoryMock.getConnection()).thenReturn(connectionMock);
+        when(connectionMock.prepareStatement(ArgumentMatchers.contains("pg_dist_partition")))
+                .thenReturn(columnStatementMock);
+        when(columnStatementMock.executeQuery()).thenReturn(columnMock);
+        when(columnMock.next()).thenReturn(true);
+        when(columnMock.getString(1)).thenReturn("id");
+        when(connectionMock.prepareStatement(ArgumentMatchers.contains("pg_dist_shard")))
+                .thenReturn(shardStatementMock);
+        when(shardStatementMock.executeQuery()).thenReturn(shardsMock);
+        when(shardsMock.next()).thenReturn(true, true, true, false);
+        when(shardsMock.getLong(1)).thenReturn(102008L, 102009L, 102010L);
+        when(shardsMock.getString(2)).thenReturn("orders_102008", "orders_102009", "orders_102010");
+        when(shardsMock.getString(3)).thenReturn("worker1", "worker2", "worker1");
+        when(shardsMock.getInt(4)).thenReturn(5432);
+    }
+
+    private String rewrite(final SqlStatement statement) throws AdapterException, SQLException {
+        return rewrite(statement, PROPERTIES);
+    }
+
+    private String rewrite(final SqlStatement statement, final AdapterProperties properties)
+            throws AdapterException, SQLException {
+        return createRewriter().rewrite(statement, SELECT_LIST_DATA_TYPES, this.exaMetadataMock, properties);
+    }
+
+    private PostgreSQLImportQueryRewriter createRewriter() {
+        return createRewriter(PROPERTIES);
+    }
+
+    private PostgreSQLImportQueryRewriter createRewriter(final AdapterProperties properties) {
+        final PostgreSQLSqlDialect dialect = new PostgreSQLSqlDialect(this.connectionFactoryMock, properties,
+                this.exaMetadataMock);
+        return new PostgreSQLImportQueryRewriter(dialect, this.remoteMetadataReaderMock, this.connectionFactoryMock);
+    }
+
+    private static SqlStatementSelect createScan() {
+        return SqlStatementSelect.builder() //
+                .selectList(SqlSelectList.createRegularSelectList(List.of(createColumn()))) //
+                .fromClause(createTable()) //
+                .build();
+    }
+
+    private static SqlStatementSelect createCountStar() {
+        return SqlStatementSelect.builder() //
+                .selectList(SqlSelectList.createRegularSelectList(
+                        List.of(new SqlFunctionAggregate(AggregateFunction.COUNT, List.of(), false)))) //
+                .fromClause(createTable()) //
+                .build();
+    }
+
+    private static SqlStatementSelect createGroupedAggregation(final SqlNode... aggregates) {
+        final List<SqlNode> selectList = new ArrayList<>();
+        selectList.add(createColumn());
+        selectList.addAll(List.of(aggregates));
+        return SqlStatementSelect.builder() //
+                .selectList(SqlSelectList.createRegularSelectList(selectList)) //
+                .fromClause(createTable()) //
+                .groupBy(new SqlGroupBy(List.of(createColumn()))) //
+                .build();
+    }
+
+    private static SqlStatementSelect createFilteredScan() {
+        return SqlStatementSelect.builder() //
+                .selectList(SqlSelectList.createRegularSelectList(List.of(createColumn()))) //
+                .fromClause(createTable()) //
+                .whereClause(new SqlPredicateEqual(createColumn(), new SqlLiteralString("a'b"))) //
+                .build();
+    }
+
+    private static SqlTable createTable() {
+        return new SqlTable("orders", new TableMetadata("orders", "", List.of(createColumnMetadata()), ""));
+    }
+
+    private static SqlColumn createColumn() {
+        return new SqlColumn(0, createColumnMetadata());
+    }
+
+    private static ColumnMetadata createColumnMetadata() {
+        return ColumnMetadata.builder().name("id").adapterNotes("{\"jdbcDataType\":-5, \"typeName\":\"int8\"}")
+                .type(DataType.createDecimal(18, 0)).build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.*;
+
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.exasol.adapter.jdbc.RemoteMetadataReader;
+
+@ExtendWith(MockitoExtension.class)
+class PostgreSQLLazyMetadataReaderTest {
+    @Test
+    void testDelegateIsNotCreatedBeforeFirstUse(@Mock final Supplier<RemoteMetadataReader> factoryMock) {
+        final PostgreSQLLazyMetadataReader reader = new PostgreSQLLazyMetadataReader(factoryMock);
+        assertAll(() -> assertThat(reader.isInitialized(), equalTo(false)),
+                () -> verify(factoryMock, never()).get());
+    }
+
+    @Test
+    void testDelegateIsCreatedOnce(@Mock final Supplier<RemoteMetadataReader> factoryMock,
+            @Mock final RemoteMetadataReader delegateMock) {
+        when(factoryMock.get()).thenReturn(delegateMock);
+        when(delegateMock.getSchemaNameFilter()).thenReturn("the_schema");
+        final PostgreSQLLazyMetadataReader reader = new PostgreSQLLazyMetadataReader(factoryMock);
+        reader.getColumnMetadataReader();
+        assertAll(() -> assertThat(reader.getSchemaNameFilter(), equalTo("the_schema")),
+                () -> assertThat(reader.isInitialized(), equalTo(true)),
+                () -> verify(factoryMock, times(1)).get());
+    }
+}
@@ -1,14 +1,20 @@
 package com.exasol.adapter.dialects.postgresql;
 
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.Matchers.equalTo;
-import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Test;
+import java.sql.*;
+import java.util.*;
+
+import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -16,6 +22,7 @@ import com.exasol.ExaMetadata;
 import com.exasol.adapter.AdapterProperties;
 import com.exasol.adapter.dialects.IdentifierCaseHandling;
 import com.exasol.adapter.dialects.IdentifierConverter;
+import com.exasol.adapter.metadata.*;
 
 @ExtendWith(MockitoExtension.class)
 class PostgreSQLMetadataReaderTest {
@@ -48,4 +55,74 @@ class PostgreSQLMetadataReaderTest {
                 () -> assertThat(identifierConverter.getUnquotedIdentifierHandling(),
                         equalTo(IdentifierCaseHandling.INTERPRET_AS_LOWER)));
     }
+
+    @AfterEach
+    void afterEach() {
+        PostgreSQLTableMetadataCache.clear();
+    }
+
+    @Test
+    void testRefreshWithoutLoggedChangesDoesNotScanCatalog(@Mock final Connection connectionMock,
+            @Mock final DatabaseMetaData databaseMetadataMock, @Mock final PreparedStatement logStatementMock,
+            @Mock final ResultSet logMock) throws SQLException {
+        final AdapterProperties properties = new AdapterProperties(Map.of(PostgreSQLDdlLog.PROPERTY, "ddl_log"));
+        cacheTables(properties, 5);
+        mockDatabaseMetadata(connectionMock, databaseMetadataMock);
+        when(connectionMock.prepareStatement(anyString())).thenReturn(logStatementMock);
+        when(logStatementMock.executeQuery()).thenReturn(logMock);
+        when(logMock.getLong(1)).thenReturn(5L);
+        final SchemaMetadata schema = new PostgreSQLMetadataReader(connectionMock, properties, this.exaMetadataMock)
+                .readRemoteSchemaMetadata();
+        final SchemaMetadata secondSchema = new PostgreSQLMetadataReader(connectionMock, properties,
+                this.exaMetadataMock).readRemoteSchemaMetadata();
+        assertAll(() -> assertThat(schema.getTables().size(), equalTo(2)),
+                () -> assertThat(secondSchema.getTables().size(), equalTo(2)),
+                () -> verify(connectionMock, times(2)).prepareStatement(anyString()),
+                () -> verify(logStatementMock, times(2)).setLong(1, 5L),
+                () -> verify(connectionMock, never()).createStatement());
+    }
+
+    @Test
+    void testRefreshScansOnlyLoggedRelations(@Mock final Connection connectionMock,
+            @Mock final DatabaseMetaData databaseMetadataMock, @Mock final PreparedStatement logStatementMock,
+            @Mock final ResultSet logMock, @Mock final Array changedRelationsMock,
+            @Mock final PreparedStatement tablesStatementMock, @Mock final ResultSet tablesMock) throws SQLException {
+        final AdapterProperties properties = new AdapterProperties(Map.of(PostgreSQLDdlLog.PROPERTY, "ddl_log"));
+        cacheTables(properties, 5);
+        mockDatabaseMetadata(connectionMock, databaseMetadataMock);
+        when(connectionMock.prepareStatement(ArgumentMatchers.contains("WHERE l.xact_id >= ?")))
+                .thenReturn(logStatementMock);
+        when(logStatementMock.executeQuery()).thenReturn(logMock);
+        when(logMock.getLong(1)).thenReturn(8L);
+        when(logMock.getArray(2)).thenReturn(changedRelationsMock);
+        when(changedRelationsMock.getArray()).thenReturn(new Long[] { 200L });
+        when(connectionMock.prepareStatement(ArgumentMatchers.contains("c.oid = ANY(?::oid[])")))
+                .thenReturn(tablesStatementMock);
+        when(tablesStatementMock.executeQuery()).thenReturn(tablesMock);
+        final SchemaMetadata schema = new PostgreSQLMetadataReader(connectionMock, properties, this.exaMetadataMock)
+                .readRemoteSchemaMetadata();
+        final PostgreSQLTableMetadataCache cache = PostgreSQLTableMetadataCache.load(properties);
+        assertAll(() -> assertThat(schema.getTables().get(0).getName(), equalTo("T1")),
+                () -> assertThat(schema.getTables().size(), equalTo(1)),
+                () -> verify(connectionMock).createArrayOf("text", new Object[] { "200" }),
+                () -> assertThat(cache.getKnownFingerprints(), contains("fp1")),
+                () -> assertThat(cache.getDdlLogPosition().getAsLong(), equalTo(8L)));
+    }
+
+    private static void mockDatabaseMetadata(final Connection connectionMock,
+            final DatabaseMetaData databaseMetadataMock) throws SQLException {
+        when(connectionMock.getMetaData()).thenReturn(databaseMetadataMock);
+        when(databaseMetadataMock.getCatalogSeparator()).thenReturn(".");
+        when(databaseMetadataMock.getIdentifierQuoteString()).thenReturn("\"");
+    }
+
+    private static void cacheTables(final AdapterProperties properties, final long ddlLogPosition) {
+        final List<ColumnMetadata> columns = List.of(ColumnMetadata.builder().name("C1")
+                .type(DataType.createBool()).build());
+        final PostgreSQLTableMetadataCache cache = PostgreSQLTableMetadataCache.load(properties);
+        cache.put("fp1", 100, new TableMetadata("T1", "", columns, ""));
+        cache.put("fp2", 200, new TableMetadata("T2", "", columns, ""));
+        cache.setDdlLogPosition(ddlLogPosition);
+        cache.save(true);
+    }
 }
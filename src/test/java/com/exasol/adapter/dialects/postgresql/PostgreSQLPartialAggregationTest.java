@@ -0,0 +1,91 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.exasol.adapter.AdapterException;
+import com.exasol.adapter.AdapterProperties;
+import com.exasol.adapter.dialects.rewriting.SqlGenerationContext;
+import com.exasol.adapter.metadata.*;
+import com.exasol.adapter.sql.*;
+
+class PostgreSQLPartialAggregationTest {
+    private static final DataType DOUBLE = DataType.createDouble();
+
+    @Test
+    void testDecomposesStandardDeviationIntoDeviationsPerSlice() throws AdapterException {
+        final PostgreSQLPartialAggregation aggregation = decompose(
+                new SqlFunctionAggregate(AggregateFunction.STDDEV_SAMP, List.of(createColumn()), false)).get();
+        assertAll(() -> assertThat(aggregation.getSelectList(), equalTo("COUNT(\"amount\"),"
+                + " AVG(CAST(\"amount\" AS DOUBLE PRECISION)),"
+                + " VAR_POP(CAST(\"amount\" AS DOUBLE PRECISION)) * COUNT(\"amount\")")),
+                () -> assertThat(aggregation.getPartialTypes(),
+                        equalTo(List.of(DataType.createDecimal(36, 0), DOUBLE, DOUBLE))),
+                () -> assertThat(aggregation.combine("PARTIALS"), equalTo("SELECT CAST(SQRT(GREATEST((SUM(c3)"
+                        + " + SUM(c1 * POWER(c2 - w1, 2))) / NULLIF(SUM(c1) - 1, 0), 0)) AS DOUBLE)"
+                        + " FROM (SELECT c1, c2, c3, SUM(c1 * c2) OVER () / NULLIF(SUM(c1) OVER (), 0) AS w1"
+                        + " FROM (PARTIALS))")));
+    }
+
+    // Slices {1e9} and {1e9 + 1, 1e9 + 2}, combined in double precision like the generated query.
+    @Test
+    void testCombinesVarianceOfLargeNearlyEqualValuesWithoutCancellation() {
+        final long[] counts = { 1, 2 };
+        final double[] means = { 1e9, 1e9 + 1.5 };
+        final double[] deviations = { 0, 0.25 * 2 };
+        double weightedSum = 0;
+        long count = 0;
+        for (int slice = 0; slice < counts.length; ++slice) {
+            weightedSum += counts[slice] * means[slice];
+            count += counts[slice];
+        }
+        final double groupMean = weightedSum / count;
+        double combinedDeviations = 0;
+        for (int slice = 0; slice < counts.length; ++slice) {
+            combinedDeviations += deviations[slice]
+                    + counts[slice] * Math.pow(means[slice] - groupMean, 2);
+        }
+        assertThat(Math.max(combinedDeviations / count, 0), closeTo(2.0 / 3.0, 1e-12));
+    }
+
+    @Test
+    void testDoesNotDecomposeMedian() throws AdapterException {
+        assertThat(decompose(new SqlFunctionAggregate(AggregateFunction.MEDIAN, List.of(createColumn()), false))
+                .isPresent(), equalTo(false));
+    }
+
+    @Test
+    void testDoesNotDecomposeDistinctSum() throws AdapterException {
+        assertThat(decompose(new SqlFunctionAggregate(AggregateFunction.SUM, List.of(createColumn()), true))
+                .isPresent(), equalTo(false));
+    }
+
+    @Test
+    void testDoesNotDecomposeSelectListWithoutAggregate() throws AdapterException {
+        assertThat(decompose(createColumn()).isPresent(), equalTo(false));
+    }
+
+    private static Optional<PostgreSQLPartialAggregation> decompose(final SqlNode selectListEntry)
+            throws AdapterException {
+        final SqlStatementSelect select = SqlStatementSelect.builder() //
+                .selectList(SqlSelectList.createRegularSelectList(List.of(selectListEntry))) //
+                .fromClause(new SqlTable("payments", null)) //
+                .build();
+        final PostgresSQLSqlGenerationVisitor generator = new PostgresSQLSqlGenerationVisitor(
+                new PostgreSQLSqlDialect(null, AdapterProperties.emptyProperties(), null),
+                new SqlGenerationContext("catalog", "schema", false));
+        return PostgreSQLPartialAggregation.from(select, List.of(DOUBLE), generator);
+    }
+
+    private static SqlColumn createColumn() {
+        return new SqlColumn(0, ColumnMetadata.builder().name("amount")
+                .adapterNotes("{\"jdbcDataType\":8, \"typeName\":\"float8\"}").type(DOUBLE).build());
+    }
+}
@@ -0,0 +1,104 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import static com.exasol.adapter.AdapterProperties.CONNECTION_NAME_PROPERTY;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.exasol.adapter.AdapterException;
+import com.exasol.adapter.AdapterProperties;
+import com.exasol.adapter.metadata.*;
+import com.exasol.adapter.sql.*;
+
+class PostgreSQLPushdownCacheTest {
+    private static final AdapterProperties PROPERTIES = new AdapterProperties(
+            Map.of(CONNECTION_NAME_PROPERTY, "MY_CONN", "POSTGRESQL_PUSHDOWN_CACHE_SIZE", "2"));
+
+    @AfterEach
+    void afterEach() {
+        PostgreSQLPushdownCache.get(PROPERTIES).clear();
+    }
+
+    @Test
+    void testLookupCountsHitsAndMisses() {
+        final PostgreSQLPushdownCache cache = PostgreSQLPushdownCache.get(PROPERTIES);
+        cache.put("a", "IMPORT a");
+        assertAll(() -> assertThat(cache.lookup("a"), equalTo(Optional.of("IMPORT a"))),
+                () -> assertThat(cache.lookup("b"), equalTo(Optional.empty())),
+                () -> assertThat(cache.getHits(), equalTo(1L)), //
+                () -> assertThat(cache.getMisses(), equalTo(1L)));
+    }
+
+    @Test
+    void testPutEvictsLeastRecentlyUsedEntry() {
+        final PostgreSQLPushdownCache cache = PostgreSQLPushdownCache.get(PROPERTIES);
+        cache.put("a", "IMPORT a");
+        cache.put("b", "IMPORT b");
+        cache.lookup("a");
+        cache.put("c", "IMPORT c");
+        assertAll(() -> assertThat(cache.size(), equalTo(2)),
+                () -> assertThat(cache.lookup("b"), equalTo(Optional.empty())),
+                () -> assertThat(cache.lookup("a"), equalTo(Optional.of("IMPORT a"))));
+    }
+
+    @Test
+    void testKeyChangesWithTableMetadata() throws AdapterException {
+        final String key = PostgreSQLPushdownCache.createKey(List.of(), createSelect("int4"), PROPERTIES);
+        assertAll(
+                () -> assertThat(PostgreSQLPushdownCache.createKey(List.of(), createSelect("int4"), PROPERTIES),
+                        equalTo(key)),
+                () -> assertThat(PostgreSQLPushdownCache.createKey(List.of(), createSelect("int8"), PROPERTIES),
+                        not(equalTo(key))));
+    }
+
+    @Test
+    void testKeyChangesWithProperties() throws AdapterException {
+        final AdapterProperties otherProperties = new AdapterProperties(Map.of(CONNECTION_NAME_PROPERTY, "OTHER_CONN",
+                "POSTGRESQL_PUSHDOWN_CACHE_SIZE", "2"));
+        assertThat(PostgreSQLPushdownCache.createKey(List.of(), createSelect("int4"), PROPERTIES),
+                not(equalTo(PostgreSQLPushdownCache.createKey(List.of(), createSelect("int4"), otherProperties))));
+    }
+
+    @Test
+    void testKeyChangesWithFilter() throws AdapterException {
+        final String key = PostgreSQLPushdownCache.createKey(List.of(), createFilteredSelect("1"), PROPERTIES);
+        assertAll(
+                () -> assertThat(PostgreSQLPushdownCache.createKey(List.of(), createFilteredSelect("1"), PROPERTIES),
+                        equalTo(key)),
+                () -> assertThat(PostgreSQLPushdownCache.createKey(List.of(), createFilteredSelect("11"), PROPERTIES),
+                        not(equalTo(key))),
+                () -> assertThat(PostgreSQLPushdownCache.createKey(List.of(), createSelect("int4"), PROPERTIES),
+                        not(equalTo(key))));
+    }
+
+    private static SqlStatementSelect createFilteredSelect(final String value) {
+        final ColumnMetadata column = createColumn("int4");
+        return SqlStatementSelect.builder() //
+                .selectList(SqlSelectList.createAnyValueSelectList()) //
+                .fromClause(new SqlTable("t", new TableMetadata("t", "", List.of(column), ""))) //
+                .whereClause(new SqlPredicateEqual(new SqlColumn(0, column, "t"), new SqlLiteralString(value))) //
+                .build();
+    }
+
+    private static SqlStatementSelect createSelect(final String typeName) {
+        final ColumnMetadata column = createColumn(typeName);
+        return SqlStatementSelect.builder() //
+                .selectList(SqlSelectList.createAnyValueSelectList()) //
+                .fromClause(new SqlTable("t", new TableMetadata("t", "", List.of(column), ""))) //
+                .build();
+    }
+
+    private static ColumnMetadata createColumn(final String typeName) {
+        return ColumnMetadata.builder().name("id")
+                .adapterNotes("{\"jdbcDataType\":4, \"typeName\":\"" + typeName + "\"}")
+                .type(DataType.createDecimal(18, 0)).build();
+    }
+}
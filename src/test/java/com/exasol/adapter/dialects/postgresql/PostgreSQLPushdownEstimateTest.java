@@ -0,0 +1,62 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.exasol.adapter.AdapterException;
+import com.exasol.adapter.AdapterProperties;
+
+class PostgreSQLPushdownEstimateTest {
+    private static final String PLAN = "[{\"Plan\": {\"Node Type\": \"Seq Scan\", \"Startup Cost\": 0.00,"
+            + " \"Total Cost\": 18334.00, \"Plan Rows\": 1000000, \"Plan Width\": 97,"
+            + " \"Plans\": [{\"Node Type\": \"Hash\", \"Plan Rows\": 5, \"Plan Width\": 4}]}}]";
+
+    @Test
+    void testParseReadsTopPlanNode() {
+        final PostgreSQLPushdownEstimate estimate = PostgreSQLPushdownEstimate.parse(PLAN);
+        assertAll(() -> assertThat(estimate.getRows(), equalTo(1000000.0)),
+                () -> assertThat(estimate.getBytes(), equalTo(97000000.0)),
+                () -> assertThat(estimate.toString(), equalTo("rows=1000000, width=97, cost=18334.0")));
+    }
+
+    @Test
+    void testCheckBudgetRefusesTooManyRows() {
+        final AdapterException exception = assertThrows(AdapterException.class,
+                () -> PostgreSQLPushdownEstimate.parse(PLAN).checkBudget(
+                        new AdapterProperties(Map.of("POSTGRESQL_PUSHDOWN_MAX_ROWS", "999999"))));
+        assertThat(exception.getMessage(), containsString("E-VSPG-31: The push-down query would import an estimated"
+                + " 1000000 rows, which exceeds the budget of '999999' set in 'POSTGRESQL_PUSHDOWN_MAX_ROWS'."));
+    }
+
+    @Test
+    void testCheckBudgetRefusesTooManyBytes() {
+        final AdapterException exception = assertThrows(AdapterException.class,
+                () -> PostgreSQLPushdownEstimate.parse(PLAN).checkBudget(new AdapterProperties(
+                        Map.of("POSTGRESQL_PUSHDOWN_MAX_ROWS", "1000000", "POSTGRESQL_PUSHDOWN_MAX_BYTES", "1000"))));
+        assertThat(exception.getMessage(), containsString("estimated 97000000 bytes"));
+    }
+
+    @Test
+    void testCheckBudgetAcceptsEstimateWithinBudget() {
+        assertDoesNotThrow(() -> PostgreSQLPushdownEstimate.parse(PLAN).checkBudget(new AdapterProperties(
+                Map.of("POSTGRESQL_PUSHDOWN_MAX_ROWS", "1000000", "POSTGRESQL_PUSHDOWN_MAX_BYTES", "97000000"))));
+    }
+
+    @Test
+    void testIsWorthSplitting() {
+        final PostgreSQLPushdownEstimate estimate = new PostgreSQLPushdownEstimate(1000, 8, 10.0);
+        assertAll(() -> assertThat(estimate.isWorthSplitting(AdapterProperties.emptyProperties()), equalTo(true)),
+                () -> assertThat(estimate.isWorthSplitting(
+                        new AdapterProperties(Map.of("POSTGRESQL_IMPORT_SLICE_MIN_ROWS", "1000"))), equalTo(true)),
+                () -> assertThat(estimate.isWorthSplitting(
+                        new AdapterProperties(Map.of("POSTGRESQL_IMPORT_SLICE_MIN_ROWS", "1001"))), equalTo(false)));
+    }
+}
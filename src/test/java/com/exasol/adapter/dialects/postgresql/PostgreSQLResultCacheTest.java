@@ -0,0 +1,177 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+import java.sql.*;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.exasol.adapter.AdapterProperties;
+
+@ExtendWith(MockitoExtension.class)
+class PostgreSQLResultCacheTest {
+    private static final String KEY = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+    private static final AdapterProperties PROPERTIES = new AdapterProperties(
+            Map.of("POSTGRESQL_RESULT_CACHE_CONNECTION", "EXA_CONN", "POSTGRESQL_RESULT_CACHE_SCHEMA", "PG_CACHE"));
+
+    @AfterEach
+    void afterEach() {
+        PostgreSQLResultCache.clear();
+    }
+
+    @Test
+    void testReadFreshnessToken(@Mock final Connection connectionMock, @Mock final PreparedStatement statementMock,
+            @Mock final ResultSet resultSetMock) throws SQLException {
+        when(connectionMock.prepareStatement(anyString())).thenReturn(statementMock);
+        when(statementMock.executeQuery()).thenReturn(resultSetMock);
+        when(resultSetMock.next()).thenReturn(true);
+        when(resultSetMock.getLong(1)).thenReturn(16384L, 16390L);
+        when(resultSetMock.getLong(2)).thenReturn(10L, 20L);
+        when(resultSetMock.getLong(3)).thenReturn(1L, 0L);
+        when(resultSetMock.getLong(4)).thenReturn(2L, 0L);
+        assertAll(
+                () -> assertThat(PostgreSQLResultCache.readFreshnessToken(connectionMock, List.of("a", "b")),
+                        equalTo(Optional.of("16384/10/1/2;16390/20/0/0"))),
+                () -> verify(statementMock).setString(1, "b"));
+    }
+
+    @Test
+    void testReadFreshnessTokenOfViewIsEmpty(@Mock final Connection connectionMock,
+            @Mock final PreparedStatement statementMock, @Mock final ResultSet resultSetMock) throws SQLException {
+        when(connectionMock.prepareStatement(anyString())).thenReturn(statementMock);
+        when(statementMock.executeQuery()).thenReturn(resultSetMock);
+        when(resultSetMock.next()).thenReturn(false);
+        assertThat(PostgreSQLResultCache.readFreshnessToken(connectionMock, List.of("v")), equalTo(Optional.empty()));
+    }
+
+    @Test
+    void testReadFreshnessTokenOfPartitionedTableCombinesLeafPartitions(@Mock final Connection connectionMock,
+            @Mock final PreparedStatement tableStatementMock, @Mock final PreparedStatement leafStatementMock,
+            @Mock final ResultSet tableResultMock, @Mock final ResultSet leafResultMock) throws SQLException {
+        when(connectionMock.prepareStatement(contains("pg_stat_user_tables s ON s.relid = c.oid WHERE")))
+                .thenReturn(tableStatementMock);
+        when(connectionMock.prepareStatement(contains("pg_partition_tree"))).thenReturn(leafStatementMock);
+        when(tableStatementMock.executeQuery()).thenReturn(tableResultMock);
+        when(tableResultMock.next()).thenReturn(true);
+        when(tableResultMock.getString(5)).thenReturn("p");
+        when(tableResultMock.getInt(6)).thenReturn(150000);
+        when(leafStatementMock.executeQuery()).thenReturn(leafResultMock);
+        when(leafResultMock.next()).thenReturn(true, true, false);
+        when(leafResultMock.getLong(1)).thenReturn(16400L, 16410L);
+        when(leafResultMock.getLong(2)).thenReturn(5L, 7L);
+        when(leafResultMock.getLong(3)).thenReturn(0L, 1L);
+        when(leafResultMock.getLong(4)).thenReturn(0L, 0L);
+        assertAll(
+                () -> assertThat(PostgreSQLResultCache.readFreshnessToken(connectionMock, List.of("p")),
+                        equalTo(Optional.of("16400/5/0/0,16410/7/1/0"))),
+                () -> verify(leafStatementMock).setString(1, "p"));
+    }
+
+    @Test
+    void testReadFreshnessTokenOfPartitionedTableOnPostgreSQL11IsEmpty(@Mock final Connection connectionMock,
+            @Mock final PreparedStatement statementMock, @Mock final ResultSet resultSetMock) throws SQLException {
+        when(connectionMock.prepareStatement(anyString())).thenReturn(statementMock);
+        when(statementMock.executeQuery()).thenReturn(resultSetMock);
+        when(resultSetMock.next()).thenReturn(true);
+        when(resultSetMock.getString(5)).thenReturn("p");
+        when(resultSetMock.getInt(6)).thenReturn(110000);
+        assertThat(PostgreSQLResultCache.readFreshnessToken(connectionMock, List.of("p")), equalTo(Optional.empty()));
+    }
+
+    @Test
+    void testReadFreshnessTokenWithoutStatisticsIsEmpty(@Mock final Connection connectionMock,
+            @Mock final PreparedStatement statementMock, @Mock final ResultSet resultSetMock) throws SQLException {
+        when(connectionMock.prepareStatement(anyString())).thenReturn(statementMock);
+        when(statementMock.executeQuery()).thenReturn(resultSetMock);
+        when(resultSetMock.next()).thenReturn(true);
+        when(resultSetMock.getString(5)).thenReturn("v");
+        when(resultSetMock.wasNull()).thenReturn(true);
+        assertThat(PostgreSQLResultCache.readFreshnessToken(connectionMock, List.of("v")), equalTo(Optional.empty()));
+    }
+
+    @Test
+    void testMaterializedResultIsFreshUntilTokenChanges(@Mock final Connection exasolConnectionMock,
+            @Mock final Statement statementMock) throws SQLException {
+        when(exasolConnectionMock.createStatement()).thenReturn(statementMock);
+        final String tableName = PostgreSQLResultCache.materialize(exasolConnectionMock, KEY, "1/2/3/4",
+                "IMPORT FROM JDBC AT C STATEMENT 'SELECT 1'", PROPERTIES);
+        final Duration timeToLive = Duration.ofMinutes(5);
+        assertAll(
+                () -> assertThat(tableName,
+                        matchesPattern("PG_CACHE\\.PG_RESULT_0123456789ABCDEF0123456789ABCDEF_[0-9A-F]+")),
+                () -> verify(statementMock).executeUpdate("CREATE TABLE " + tableName
+                        + " AS SELECT * FROM (IMPORT FROM JDBC AT C STATEMENT 'SELECT 1')"),
+                () -> assertThat(PostgreSQLResultCache.lookup(KEY, "1/2/3/4", timeToLive),
+                        equalTo(Optional.of(tableName))),
+                () -> assertThat(PostgreSQLResultCache.lookup(KEY, "1/3/3/4", timeToLive), equalTo(Optional.empty())),
+                () -> assertThat(PostgreSQLResultCache.lookup("other", "1/2/3/4", timeToLive),
+                        equalTo(Optional.empty())));
+    }
+
+    @Test
+    void testMaterializedResultExpires(@Mock final Connection exasolConnectionMock,
+            @Mock final Statement statementMock) throws SQLException {
+        when(exasolConnectionMock.createStatement()).thenReturn(statementMock);
+        PostgreSQLResultCache.materialize(exasolConnectionMock, KEY, "1/2/3/4", "SELECT 1", PROPERTIES);
+        assertThat(PostgreSQLResultCache.lookup(KEY, "1/2/3/4", Duration.ZERO), equalTo(Optional.empty()));
+    }
+
+    @Test
+    void testMaterializeDropsTableOfReplacedResult(@Mock final Connection exasolConnectionMock,
+            @Mock final Statement statementMock) throws SQLException {
+        when(exasolConnectionMock.createStatement()).thenReturn(statementMock);
+        final String oldTableName = PostgreSQLResultCache.materialize(exasolConnectionMock, KEY, "1/2/3/4",
+                "SELECT 1", PROPERTIES);
+        final String newTableName = PostgreSQLResultCache.materialize(exasolConnectionMock, KEY, "1/3/3/4",
+                "SELECT 1", PROPERTIES);
+        assertAll(() -> assertThat(newTableName, not(equalTo(oldTableName))),
+                () -> verify(statementMock).executeUpdate("DROP TABLE IF EXISTS " + oldTableName),
+                () -> assertThat(PostgreSQLResultCache.lookup(KEY, "1/3/3/4", Duration.ofMinutes(5)),
+                        equalTo(Optional.of(newTableName))));
+    }
+
+    @Test
+    void testMaterializeEvictsLeastRecentlyUsedResult(@Mock final Connection exasolConnectionMock,
+            @Mock final Statement statementMock) throws SQLException {
+        when(exasolConnectionMock.createStatement()).thenReturn(statementMock);
+        final AdapterProperties properties = new AdapterProperties(Map.of("POSTGRESQL_RESULT_CACHE_CONNECTION",
+                "EXA_CONN", "POSTGRESQL_RESULT_CACHE_SCHEMA", "PG_CACHE", "POSTGRESQL_RESULT_CACHE_SIZE", "2"));
+        final Duration timeToLive = Duration.ofMinutes(5);
+        final String firstTableName = PostgreSQLResultCache.materialize(exasolConnectionMock, "1" + KEY, "t",
+                "SELECT 1", properties);
+        final String secondTableName = PostgreSQLResultCache.materialize(exasolConnectionMock, "2" + KEY, "t",
+                "SELECT 2", properties);
+        PostgreSQLResultCache.lookup("1" + KEY, "t", timeToLive);
+        PostgreSQLResultCache.materialize(exasolConnectionMock, "3" + KEY, "t", "SELECT 3", properties);
+        assertAll(() -> verify(statementMock).executeUpdate("DROP TABLE IF EXISTS " + secondTableName),
+                () -> verify(statementMock, never()).executeUpdate("DROP TABLE IF EXISTS " + firstTableName),
+                () -> assertThat(PostgreSQLResultCache.lookup("2" + KEY, "t", timeToLive), equalTo(Optional.empty())),
+                () -> assertThat(PostgreSQLResultCache.lookup("1" + KEY, "t", timeToLive),
+                        equalTo(Optional.of(firstTableName))));
+    }
+
+    @Test
+    void testMaterializeKeepsResultWhenDroppingEvictedTableFails(@Mock final Connection exasolConnectionMock,
+            @Mock final Statement statementMock) throws SQLException {
+        when(exasolConnectionMock.createStatement()).thenReturn(statementMock);
+        when(statementMock.executeUpdate(anyString())).thenReturn(0, 0).thenThrow(new SQLException("locked"));
+        PostgreSQLResultCache.materialize(exasolConnectionMock, KEY, "1/2/3/4", "SELECT 1", PROPERTIES);
+        final String tableName = PostgreSQLResultCache.materialize(exasolConnectionMock, KEY, "1/3/3/4",
+                "SELECT 1", PROPERTIES);
+        assertThat(PostgreSQLResultCache.lookup(KEY, "1/3/3/4", Duration.ofMinutes(5)),
+                equalTo(Optional.of(tableName)));
+    }
+}
@@ -0,0 +1,64 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.exasol.adapter.metadata.*;
+import com.exasol.adapter.sql.*;
+
+class PostgreSQLResultTypesTest {
+    private static final DataType VARCHAR_TYPE = DataType.createVarChar(20, DataType.ExaCharset.UTF8);
+    private static final DataType TIMESTAMP_TYPE = DataType.createTimestamp(false, 3);
+
+    @Test
+    void testDeriveTypesOfColumnsFunctionsAndLiterals() {
+        final SqlStatementSelect statement = createSelect(createColumn("name", VARCHAR_TYPE),
+                new SqlFunctionScalar(ScalarFunction.UPPER, List.of(createColumn("name", VARCHAR_TYPE))),
+                new SqlFunctionScalarCast(DataType.createDouble(), createColumn("name", VARCHAR_TYPE)),
+                new SqlFunctionAggregate(AggregateFunction.COUNT, List.of(), false),
+                new SqlFunctionAggregate(AggregateFunction.MAX, List.of(createColumn("created", TIMESTAMP_TYPE)),
+                        false),
+                new SqlLiteralExactnumeric(new BigDecimal("0.05")), new SqlLiteralString("abc"));
+        assertThat(PostgreSQLResultTypes.derive(statement).orElseThrow(), contains(VARCHAR_TYPE, VARCHAR_TYPE,
+                DataType.createDouble(), DataType.createDecimal(19, 0), TIMESTAMP_TYPE, DataType.createDecimal(2, 2),
+                DataType.createVarChar(3, DataType.ExaCharset.UTF8)));
+    }
+
+    @Test
+    void testDeriveTypeOfAnyValueSelectList() {
+        final SqlStatementSelect statement = SqlStatementSelect.builder()
+                .selectList(SqlSelectList.createAnyValueSelectList()).fromClause(new SqlTable("t", null)).build();
+        assertThat(PostgreSQLResultTypes.derive(statement).orElseThrow(), contains(DataType.createBool()));
+    }
+
+    @Test
+    void testDeriveTypesFailsForUntypedExpression() {
+        final SqlStatementSelect statement = createSelect(createColumn("name", VARCHAR_TYPE),
+                new SqlFunctionAggregate(AggregateFunction.SUM, List.of(createColumn("name", VARCHAR_TYPE)), false));
+        assertThat(PostgreSQLResultTypes.derive(statement), equalTo(Optional.empty()));
+    }
+
+    @Test
+    void testDeriveTypesFailsForUnsupportedColumn() {
+        final SqlStatementSelect statement = createSelect(createColumn("geometry", DataType.createUnsupported()));
+        assertThat(PostgreSQLResultTypes.derive(statement), equalTo(Optional.empty()));
+    }
+
+    private static SqlStatementSelect createSelect(final SqlNode... expressions) {
+        return SqlStatementSelect.builder() //
+                .selectList(SqlSelectList.createRegularSelectList(List.of(expressions))) //
+                .fromClause(new SqlTable("t", null)) //
+                .build();
+    }
+
+    private static SqlColumn createColumn(final String name, final DataType type) {
+        return new SqlColumn(0, ColumnMetadata.builder().name(name).type(type).build());
+    }
+}
@@ -12,10 +12,14 @@ import static org.hamcrest.collection.IsIterableContainingInAnyOrder.containsInA
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.hamcrest.CoreMatchers;
@@ -28,14 +32,18 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.exasol.ExaConnectionAccessException;
+import com.exasol.ExaConnectionInformation;
 import com.exasol.ExaMetadata;
+import com.exasol.adapter.AdapterException;
 import com.exasol.adapter.AdapterProperties;
 import com.exasol.adapter.capabilities.Capabilities;
-import com.exasol.adapter.dialects.SqlDialect;
-import com.exasol.adapter.dialects.rewriting.ImportIntoTemporaryTableQueryRewriter;
+import com.exasol.adapter.dialects.*;
 import com.exasol.adapter.jdbc.ConnectionFactory;
 import com.exasol.adapter.jdbc.RemoteMetadataReaderException;
+import com.exasol.adapter.metadata.DataType;
 import com.exasol.adapter.properties.PropertyValidationException;
+import com.exasol.adapter.sql.SqlStatement;
 
 @ExtendWith(MockitoExtension.class)
 class PostgreSQLSqlDialectTest {
@@ -66,7 +74,18 @@ class PostgreSQLSqlDialectTest {
 
     @Test
     void testCreateQueryRewriter() {
-        assertThat(this.dialect.createQueryRewriter(), instanceOf(ImportIntoTemporaryTableQueryRewriter.class));
+        assertThat(this.dialect.createQueryRewriter(), instanceOf(PostgreSQLImportQueryRewriter.class));
+    }
+
+    @Test
+    void testPushdownWithKnownDataTypesDoesNotConnect() throws AdapterException, SQLException {
+        final AdapterProperties properties = new AdapterProperties(Map.of(CONNECTION_NAME_PROPERTY, "MY_CONN"));
+        final QueryRewriter rewriter = testee(properties).createQueryRewriter();
+        final String importStatement = rewriter.rewrite((SqlStatement) DialectTestData.getTestSqlNode(),
+                List.of(DataType.createDecimal(18, 0), DataType.createDecimal(18, 0)), this.exaMetadataMock,
+                properties);
+        assertAll(() -> assertThat(importStatement, startsWith("IMPORT INTO (c1 DECIMAL(18, 0)")),
+                () -> verify(this.connectionFactoryMock, never()).getConnection());
     }
 
     @Test
@@ -158,6 +177,235 @@ class PostgreSQLSqlDialectTest {
         sqlDialect.validateProperties();
     }
 
+    @Test
+    void testValidateMetadataConnectionsProperty() throws PropertyValidationException {
+        final SqlDialect sqlDialect = testee(Map.of(
+                CONNECTION_NAME_PROPERTY, "MY_CONN",
+                "POSTGRESQL_METADATA_CONNECTIONS", "4"));
+        sqlDialect.validateProperties();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "0", "17", "-1", "many" })
+    void testValidateMetadataConnectionsPropertyOutOfRangeThrowsException(final String value) {
+        final SqlDialect sqlDialect = testee(Map.of(
+                CONNECTION_NAME_PROPERTY, "MY_CONN",
+                "POSTGRESQL_METADATA_CONNECTIONS", value));
+        final PropertyValidationException exception = assertThrows(PropertyValidationException.class,
+                sqlDialect::validateProperties);
+        assertThat(exception.getMessage(), containsString("E-VSPG-12"));
+    }
+
+    @Test
+    void testValidateNameFilterProperties() throws PropertyValidationException {
+        final SqlDialect sqlDialect = testee(Map.of(
+                CONNECTION_NAME_PROPERTY, "MY_CONN",
+                TABLE_FILTER_PROPERTY, "orders,customers",
+                "POSTGRESQL_INCLUDE_TABLES", "sales%",
+                "POSTGRESQL_EXCLUDE_TABLES", "%_tmp",
+                "POSTGRESQL_INCLUDE_COLUMNS", "id,name",
+                "POSTGRESQL_EXCLUDE_COLUMNS", "%secret%"));
+        sqlDialect.validateProperties();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = { "TABLE_FILTER;orders,,customers", "POSTGRESQL_INCLUDE_TABLES;''",
+            "POSTGRESQL_EXCLUDE_COLUMNS;id, ,name" })
+    void testValidateNameFilterWithEmptyEntryThrowsException(final String property, final String value) {
+        final SqlDialect sqlDialect = testee(Map.of(
+                CONNECTION_NAME_PROPERTY, "MY_CONN",
+                property, value));
+        final PropertyValidationException exception = assertThrows(PropertyValidationException.class,
+                sqlDialect::validateProperties);
+        assertThat(exception.getMessage(), containsString("E-VSPG-15"));
+    }
+
+    @Test
+    void testValidateIncludePartitionsPropertyThrowsExceptionForNonBooleanValue() {
+        final SqlDialect sqlDialect = testee(Map.of(
+                CONNECTION_NAME_PROPERTY, "MY_CONN",
+                "POSTGRESQL_INCLUDE_PARTITIONS", "yes"));
+        final PropertyValidationException exception = assertThrows(PropertyValidationException.class,
+                sqlDialect::validateProperties);
+        assertThat(exception.getMessage(), containsString("E-VSCJDBC-15"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "orders=SYSTEM", "orders=RANDOM(1)", "orders=SYSTEM(101)", "orders=SYSTEM(1), x" })
+    void testValidateInvalidTableSamplePropertyThrowsException(final String value) {
+        final SqlDialect sqlDialect = testee(Map.of(
+                CONNECTION_NAME_PROPERTY, "MY_CONN",
+                "POSTGRESQL_TABLESAMPLE", value));
+        final PropertyValidationException exception = assertThrows(PropertyValidationException.class,
+                sqlDialect::validateProperties);
+        assertThat(exception.getMessage(), containsString("E-VSPG-33"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "sales_daily ON sales", "sales_daily ON sales GROUP BY store_id MEASURES AVG(amount) AS a",
+            "sales_daily ON sales GROUP BY store_id MEASURES SUM(*) AS s" })
+    void testValidateInvalidAggregateViewsPropertyThrowsException(final String value) {
+        final SqlDialect sqlDialect = testee(Map.of(
+                CONNECTION_NAME_PROPERTY, "MY_CONN",
+                "POSTGRESQL_AGGREGATE_VIEWS", value));
+        final PropertyValidationException exception = assertThrows(PropertyValidationException.class,
+                sqlDialect::validateProperties);
+        assertThat(exception.getMessage(), containsString("E-VSPG-34"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "1", "many", "-5" })
+    void testValidateInvalidInListSizeThrowsException(final String value) {
+        final SqlDialect sqlDialect = testee(Map.of(
+                CONNECTION_NAME_PROPERTY, "MY_CONN",
+                "POSTGRESQL_IN_LIST_ARRAY_MIN_SIZE", value));
+        final PropertyValidationException exception = assertThrows(PropertyValidationException.class,
+                sqlDialect::validateProperties);
+        assertThat(exception.getMessage(), containsString("E-VSPG-35"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "exasol_ddl_log", "audit.exasol_ddl_log" })
+    void testValidateDdlLogTableProperty(final String value) throws PropertyValidationException {
+        final SqlDialect sqlDialect = testee(Map.of(
+                CONNECTION_NAME_PROPERTY, "MY_CONN",
+                "POSTGRESQL_DDL_LOG_TABLE", value));
+        sqlDialect.validateProperties();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "\"Log\"", "log; DROP TABLE t", "a.b.c" })
+    void testValidateInvalidDdlLogTablePropertyThrowsException(final String value) {
+        final SqlDialect sqlDialect = testee(Map.of(
+                CONNECTION_NAME_PROPERTY, "MY_CONN",
+                "POSTGRESQL_DDL_LOG_TABLE", value));
+        final PropertyValidationException exception = assertThrows(PropertyValidationException.class,
+                sqlDialect::validateProperties);
+        assertThat(exception.getMessage(), containsString("E-VSPG-16"));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = { "POSTGRESQL_CONNECTION_POOL_SIZE;0", "POSTGRESQL_CONNECTION_POOL_SIZE;33",
+            "POSTGRESQL_CONNECTION_POOL_IDLE_TIMEOUT;-1", "POSTGRESQL_CONNECTION_POOL_IDLE_TIMEOUT;forever" })
+    void testValidateInvalidConnectionPoolPropertyThrowsException(final String property, final String value) {
+        final SqlDialect sqlDialect = testee(Map.of(
+                CONNECTION_NAME_PROPERTY, "MY_CONN",
+                property, value));
+        final PropertyValidationException exception = assertThrows(PropertyValidationException.class,
+                sqlDialect::validateProperties);
+        assertThat(exception.getMessage(), containsString("E-VSPG-17"));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = { "POSTGRESQL_IMPORT_SLICES;1", "POSTGRESQL_IMPORT_SLICES;65",
+            "POSTGRESQL_IMPORT_SLICE_MIN_PAGES;-1", "POSTGRESQL_IMPORT_SLICE_MIN_PAGES;large" })
+    void testValidateInvalidParallelImportPropertyThrowsException(final String property, final String value) {
+        final SqlDialect sqlDialect = testee(Map.of(
+                CONNECTION_NAME_PROPERTY, "MY_CONN",
+                property, value));
+        final PropertyValidationException exception = assertThrows(PropertyValidationException.class,
+                sqlDialect::validateProperties);
+        assertThat(exception.getMessage(), containsString("E-VSPG-21"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "worker1:5432", "worker1=CONN", "worker1:5432=CONN;worker2:5432=CONN",
+            "worker1:5432=CONN,", "worker1:port=CONN" })
+    void testValidateInvalidCitusWorkersPropertyThrowsException(final String value) {
+        final SqlDialect sqlDialect = testee(Map.of(
+                CONNECTION_NAME_PROPERTY, "MY_CONN",
+                "POSTGRESQL_CITUS_WORKERS", value));
+        final PropertyValidationException exception = assertThrows(PropertyValidationException.class,
+                sqlDialect::validateProperties);
+        assertThat(exception.getMessage(), containsString("E-VSPG-22"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "ADAPTER.", "ADAPTER.POSTGRESQL_COPY.RUN", "\"adapter\".\"copy\"" })
+    void testValidateInvalidCopyUdfPropertyThrowsException(final String value) {
+        final SqlDialect sqlDialect = testee(Map.of(
+                CONNECTION_NAME_PROPERTY, "MY_CONN",
+                "POSTGRESQL_COPY_UDF", value));
+        final PropertyValidationException exception = assertThrows(PropertyValidationException.class,
+                sqlDialect::validateProperties);
+        assertThat(exception.getMessage(), containsString("E-VSPG-23"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "0", "100001", "large" })
+    void testValidateInvalidPushdownCachePropertyThrowsException(final String value) {
+        final SqlDialect sqlDialect = testee(Map.of(
+                CONNECTION_NAME_PROPERTY, "MY_CONN",
+                "POSTGRESQL_PUSHDOWN_CACHE_SIZE", value));
+        final PropertyValidationException exception = assertThrows(PropertyValidationException.class,
+                sqlDialect::validateProperties);
+        assertThat(exception.getMessage(), containsString("E-VSPG-26"));
+    }
+
+    @Test
+    void testValidateIncompleteResultCachePropertiesThrowsException() {
+        final SqlDialect sqlDialect = testee(Map.of(
+                CONNECTION_NAME_PROPERTY, "MY_CONN",
+                "POSTGRESQL_RESULT_CACHE_SCHEMA", "PG_CACHE"));
+        final PropertyValidationException exception = assertThrows(PropertyValidationException.class,
+                sqlDialect::validateProperties);
+        assertThat(exception.getMessage(), containsString("E-VSPG-28"));
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "POSTGRESQL_RESULT_CACHE_SCHEMA, PG-CACHE", "POSTGRESQL_RESULT_CACHE_TTL, -1",
+            "POSTGRESQL_RESULT_CACHE_TTL, soon", "POSTGRESQL_RESULT_CACHE_SIZE, 0",
+            "POSTGRESQL_RESULT_CACHE_SIZE, many" })
+    void testValidateInvalidResultCachePropertyThrowsException(final String property, final String value) {
+        final Map<String, String> properties = new HashMap<>(Map.of(
+                CONNECTION_NAME_PROPERTY, "MY_CONN",
+                "POSTGRESQL_RESULT_CACHE_CONNECTION", "EXA_CONN",
+                "POSTGRESQL_RESULT_CACHE_SCHEMA", "PG_CACHE"));
+        properties.put(property, value);
+        final SqlDialect sqlDialect = testee(properties);
+        final PropertyValidationException exception = assertThrows(PropertyValidationException.class,
+                sqlDialect::validateProperties);
+        assertThat(exception.getMessage(), containsString("E-VSPG-30"));
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "POSTGRESQL_PUSHDOWN_MAX_ROWS, 0", "POSTGRESQL_PUSHDOWN_MAX_BYTES, 10GB",
+            "POSTGRESQL_IMPORT_SLICE_MIN_ROWS, -1" })
+    void testValidateInvalidPushdownEstimatePropertyThrowsException(final String property, final String value) {
+        final SqlDialect sqlDialect = testee(Map.of(
+                CONNECTION_NAME_PROPERTY, "MY_CONN",
+                property, value));
+        final PropertyValidationException exception = assertThrows(PropertyValidationException.class,
+                sqlDialect::validateProperties);
+        assertThat(exception.getMessage(), containsString("E-VSPG-32"));
+    }
+
+    @Test
+    void testValidateInvalidApproximateCountPropertyThrowsException() {
+        final SqlDialect sqlDialect = testee(Map.of(
+                CONNECTION_NAME_PROPERTY, "MY_CONN",
+                "POSTGRESQL_APPROXIMATE_COUNT", "sometimes"));
+        final PropertyValidationException exception = assertThrows(PropertyValidationException.class,
+                sqlDialect::validateProperties);
+        assertThat(exception.getMessage(), containsString("E-VSCJDBC-15"));
+    }
+
+    @Test
+    void testReadSchemaMetadataUsesPooledConnections(@Mock final ExaConnectionInformation connectionInformationMock)
+            throws ExaConnectionAccessException {
+        final AdapterProperties properties = new AdapterProperties(Map.of(
+                CONNECTION_NAME_PROPERTY, "MY_CONN",
+                "POSTGRESQL_CONNECTION_POOL_SIZE", "2"));
+        when(this.exaMetadataMock.getConnection("MY_CONN")).thenReturn(connectionInformationMock);
+        when(connectionInformationMock.getAddress()).thenReturn("jdbc:postgresql://localhost:1/db");
+        when(connectionInformationMock.getUser()).thenReturn("user");
+        when(connectionInformationMock.getPassword()).thenReturn("password");
+        final PostgreSQLSqlDialect sqlDialect = new PostgreSQLSqlDialect(this.connectionFactoryMock, properties,
+                this.exaMetadataMock);
+        assertAll(() -> assertThrows(RemoteMetadataReaderException.class, sqlDialect::readSchemaMetadata),
+                () -> verify(this.connectionFactoryMock, never()).getConnection());
+    }
+
     private PostgreSQLSqlDialect testee(final Map<String, String> properties) {
         return testee(new AdapterProperties(properties));
     }
@@ -1,24 +1,37 @@
 package com.exasol.adapter.dialects.postgresql;
 
 import static com.exasol.adapter.AdapterProperties.IGNORE_ERRORS_PROPERTY;
+import static com.exasol.adapter.AdapterProperties.SCHEMA_NAME_PROPERTY;
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.Matchers.containsString;
-import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.*;
+import java.util.function.BiFunction;
 
-import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.core.BaseConnection;
+import org.postgresql.core.TypeInfo;
 
+import com.exasol.ExaMetadata;
 import com.exasol.adapter.AdapterProperties;
 import com.exasol.adapter.dialects.BaseIdentifierConverter;
 import com.exasol.adapter.dialects.postgresql.PostgreSQLIdentifierMapping.CaseFolding;
+import com.exasol.adapter.jdbc.ColumnMetadataReader;
 import com.exasol.adapter.jdbc.RemoteMetadataReaderException;
+import com.exasol.adapter.properties.TableCountLimit;
+import com.exasol.adapter.metadata.*;
 
+@ExtendWith(MockitoExtension.class)
 class PostgreSQLTableMetadataReaderTest {
     private Map<String, String> rawProperties;
     private PostgreSQLTableMetadataReader reader;
@@ -67,4 +80,150 @@ class PostgreSQLTableMetadataReaderTest {
                 () -> this.reader.isTableIncludedByMapping("\"FooBar\""));
         assertThat(exception.getMessage(), containsString("E-VSPG-6"));
     }
+
+    @AfterEach
+    void afterEach() {
+        PostgreSQLTableMetadataCache.clear();
+    }
+
+    @Test
+    void testRefreshMapsOnlyChangedTables(@Mock final ColumnMetadataReader columnReaderMock,
+            @Mock final ResultSet firstScanMock, @Mock final ResultSet secondScanMock) throws SQLException {
+        final AdapterProperties properties = new AdapterProperties(Map.of(SCHEMA_NAME_PROPERTY, "refreshed"));
+        final List<ColumnMetadata> columns = List.of(ColumnMetadata.builder().name("C1")
+                .type(DataType.createBool()).build());
+        when(columnReaderMock.mapColumns(anyString())).thenReturn(columns);
+        when(firstScanMock.next()).thenReturn(true, true, false);
+        when(firstScanMock.getString("TABLE_NAME")).thenReturn("t1", "t2");
+        when(firstScanMock.getString("FINGERPRINT")).thenReturn("fp1", "fp2");
+        when(secondScanMock.next()).thenReturn(true, true, true, false);
+        when(secondScanMock.getString("TABLE_NAME")).thenReturn("t1", "t2", "t3");
+        when(secondScanMock.getString("FINGERPRINT")).thenReturn("fp1", "fp2-changed", "fp3");
+        createReader(columnReaderMock, properties).mapTables(firstScanMock, Collections.emptyList());
+        final List<TableMetadata> tables = createReader(columnReaderMock, properties).mapTables(secondScanMock,
+                Collections.emptyList());
+        assertAll(() -> assertThat(tables.size(), equalTo(3)),
+                () -> assertThat(tables.get(1).getAdapterNotes(), equalTo("{\"fingerprint\":\"fp2-changed\"}")),
+                () -> verify(columnReaderMock, times(1)).mapColumns("t1"),
+                () -> verify(columnReaderMock, times(2)).mapColumns("t2"),
+                () -> verify(columnReaderMock, times(1)).mapColumns("t3"));
+    }
+
+    @Test
+    void testMapTablesRecordsCaseInsensitiveIndexes(@Mock final ColumnMetadataReader columnReaderMock,
+            @Mock final ResultSet tablesMock) throws SQLException {
+        final AdapterProperties properties = new AdapterProperties(Map.of(SCHEMA_NAME_PROPERTY, "indexed"));
+        when(columnReaderMock.mapColumns(anyString()))
+                .thenReturn(List.of(ColumnMetadata.builder().name("C1").type(DataType.createBool()).build()));
+        when(tablesMock.next()).thenReturn(true, false);
+        when(tablesMock.getString("TABLE_NAME")).thenReturn("customers");
+        when(tablesMock.getString("FINGERPRINT")).thenReturn("fp1");
+        when(tablesMock.getString("REMARKS")).thenReturn("customer master data");
+        when(tablesMock.getString("RELKIND")).thenReturn("r");
+        when(tablesMock.getString("INDEXES")).thenReturn("btree int4_ops id;btree text_ops lower(email)"
+                + ";btree text_pattern_ops upper(\"Name\"::text);gin gin_trgm_ops city;gin gin_trgm_ops zip_code"
+                + ";gist gist_trgm_ops lower(street)");
+        final List<TableMetadata> tables = createReader(columnReaderMock, properties).mapTables(tablesMock,
+                Collections.emptyList());
+        assertThat(tables.get(0).getAdapterNotes(), equalTo("{\"fingerprint\":\"fp1\",\"relkind\":\"r\","
+                + "\"caseInsensitiveIndexes\":[\"\\\"city\\\" ILIKE\",\"\\\"zip_code\\\" ILIKE\","
+                + "\"lower(\\\"email\\\") =\","
+                + "\"lower(\\\"street\\\") LIKE\",\"upper(\\\"Name\\\") =\",\"upper(\\\"Name\\\") LIKE\"]}"));
+    }
+
+    @Test
+    void testMapTablesStreamsColumnsOfLargeCatalog(@Mock final Connection connectionMock,
+            @Mock final BaseConnection baseConnectionMock, @Mock final Statement typeStatementMock,
+            @Mock final ResultSet typesMock, @Mock final PreparedStatement columnStatementMock,
+            @Mock final ExaMetadata exaMetadataMock) throws SQLException {
+        final int numberOfTables = 50_000;
+        final int columnsPerTable = 4;
+        final AdapterProperties properties = new AdapterProperties(
+                Map.of(TableCountLimit.MAXTABLES_PROPERTY, String.valueOf(numberOfTables)));
+        final int[] tableRow = { -1 };
+        final int[] columnRow = { -1 };
+        final int[] maximumLead = { 0 };
+        final ResultSet tables = createSyntheticResultSet(tableRow, numberOfTables, (row, label) -> {
+            switch (label) {
+                case "TABLE_OID":
+                    return 16384L + row;
+                case "TABLE_NAME":
+                    return "t" + row;
+                case "FINGERPRINT":
+                    return "fp" + row;
+                default:
+                    return null;
+            }
+        });
+        final ResultSet columns = createSyntheticResultSet(columnRow, numberOfTables * columnsPerTable,
+                (row, label) -> {
+                    maximumLead[0] = Math.max(maximumLead[0], (row / columnsPerTable) - tableRow[0]);
+                    switch (label) {
+                        case "attrelid":
+                            return 16384L + (row / columnsPerTable);
+                        case "attname":
+                            return "c" + (row % columnsPerTable);
+                        case "atttypid":
+                            return 23L;
+                        case "atttypmod":
+                            return -1;
+                        case "attnotnull":
+                            return false;
+                        default:
+                            return null;
+                    }
+                });
+        when(connectionMock.createStatement()).thenReturn(typeStatementMock);
+        when(typeStatementMock.executeQuery(PostgreSQLTypeCatalog.QUERY)).thenReturn(typesMock);
+        when(typesMock.next()).thenReturn(true, false);
+        when(typesMock.getLong("oid")).thenReturn(23L);
+        when(typesMock.getString("typname")).thenReturn("int4");
+        when(typesMock.getString("typtype")).thenReturn("b");
+        when(typesMock.getBoolean("is_array")).thenReturn(false);
+        when(typesMock.getString("nspname")).thenReturn("pg_catalog");
+        when(typesMock.getBoolean("on_path")).thenReturn(true);
+        when(connectionMock.prepareStatement(anyString())).thenReturn(columnStatementMock);
+        when(columnStatementMock.executeQuery()).thenReturn(columns);
+        when(connectionMock.unwrap(BaseConnection.class)).thenReturn(baseConnectionMock);
+        when(baseConnectionMock.getTypeInfo()).thenReturn(createSyntheticTypeInfo());
+        when(exaMetadataMock.getDatabaseVersion()).thenReturn("8.34.0");
+        final PostgreSQLColumnMetadataReader columnReader = new PostgreSQLColumnMetadataReader(connectionMock,
+                properties, exaMetadataMock, BaseIdentifierConverter.createDefault());
+        final List<TableMetadata> mappedTables = createReader(columnReader, properties).mapTables(tables,
+                Collections.emptyList());
+        assertAll(() -> assertThat(mappedTables.size(), equalTo(numberOfTables)),
+                () -> assertThat(mappedTables.get(numberOfTables - 1).getColumns().size(), equalTo(columnsPerTable)),
+                () -> assertThat("rows read ahead of the mapped table", maximumLead[0], lessThanOrEqualTo(1)),
+                () -> verify(columnStatementMock).setFetchSize(PostgreSQLCatalogQuery.FETCH_SIZE),
+                () -> verify(columnStatementMock).close());
+    }
+
+    /*
+     * The synthetic objects are plain proxies instead of mocks, because mocks record every invocation and the test would
+     * then need memory proportional to the size of the catalog itself.
+     */
+    private static ResultSet createSyntheticResultSet(final int[] currentRow, final int numberOfRows,
+            final BiFunction<Integer, String, Object> valueOfColumn) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+                (proxy, method, arguments) -> {
+                    if (method.getName().equals("next")) {
+                        return ++currentRow[0] < numberOfRows;
+                    } else if ((arguments != null) && (arguments.length == 1) && (arguments[0] instanceof String)) {
+                        return valueOfColumn.apply(currentRow[0], (String) arguments[0]);
+                    } else {
+                        return null;
+                    }
+                });
+    }
+
+    private static TypeInfo createSyntheticTypeInfo() {
+        return (TypeInfo) Proxy.newProxyInstance(TypeInfo.class.getClassLoader(), new Class<?>[] { TypeInfo.class },
+                (proxy, method, arguments) -> method.getName().equals("getPrecision") ? 10 : 0);
+    }
+
+    private PostgreSQLTableMetadataReader createReader(final ColumnMetadataReader columnMetadataReader,
+            final AdapterProperties properties) {
+        return new PostgreSQLTableMetadataReader(null, columnMetadataReader, properties, null,
+                BaseIdentifierConverter.createDefault());
+    }
 }
@@ -0,0 +1,42 @@
+package com.exasol.adapter.dialects.postgresql;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.when;
+
+import java.sql.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PostgreSQLTypeCatalogTest {
+    @Test
+    void testLoadResolvesTypesLikeTheDriver(@Mock final Connection connectionMock,
+            @Mock final Statement statementMock, @Mock final ResultSet typesMock) throws SQLException {
+        when(connectionMock.createStatement()).thenReturn(statementMock);
+        when(statementMock.executeQuery(PostgreSQLTypeCatalog.QUERY)).thenReturn(typesMock);
+        when(typesMock.next()).thenReturn(true, true, true, true, true, false);
+        when(typesMock.getLong("oid")).thenReturn(23L, 1007L, 16400L, 16410L, 16420L);
+        when(typesMock.getString("typname")).thenReturn("int4", "_int4", "mood", "geometry", "citext");
+        when(typesMock.getString("typtype")).thenReturn("b", "b", "e", "b", "b");
+        when(typesMock.getBoolean("is_array")).thenReturn(false, true, false, false, false);
+        when(typesMock.getString("nspname")).thenReturn("pg_catalog", "pg_catalog", "public", "gis", "public");
+        when(typesMock.getBoolean("on_path")).thenReturn(true, true, true, false, true);
+        final PostgreSQLTypeCatalog catalog = PostgreSQLTypeCatalog.load(connectionMock);
+        assertAll(() -> assertThat(catalog.getJdbcType(23), equalTo(Types.INTEGER)),
+                () -> assertThat(catalog.getTypeName(23), equalTo("int4")),
+                () -> assertThat(catalog.getJdbcType(1007), equalTo(Types.ARRAY)),
+                () -> assertThat(catalog.getTypeName(1007), equalTo("_int4")),
+                () -> assertThat(catalog.getJdbcType(16400), equalTo(Types.VARCHAR)),
+                () -> assertThat(catalog.getJdbcType(16410), equalTo(Types.OTHER)),
+                () -> assertThat(catalog.getTypeName(16410), equalTo("\"gis\".\"geometry\"")),
+                () -> assertThat(catalog.getTypeName(16420), equalTo("citext")),
+                () -> assertThat(catalog.getJdbcType(99999), equalTo(Types.OTHER)),
+                () -> assertThat(catalog.getTypeName(99999), nullValue()));
+    }
+}
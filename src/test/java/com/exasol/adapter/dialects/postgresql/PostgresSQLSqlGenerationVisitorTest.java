@@ -2,12 +2,15 @@ package com.exasol.adapter.dialects.postgresql;
 
 import static com.exasol.adapter.dialects.VisitorAssertions.assertSqlNodeConvertedToOne;
 import static com.exasol.adapter.sql.ScalarFunction.POSIX_TIME;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,6 +28,7 @@ import com.exasol.adapter.dialects.rewriting.SqlGenerationContext;
 import com.exasol.adapter.jdbc.ConnectionFactory;
 import com.exasol.adapter.metadata.ColumnMetadata;
 import com.exasol.adapter.metadata.DataType;
+import com.exasol.adapter.metadata.TableMetadata;
 import com.exasol.adapter.sql.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -117,4 +121,360 @@ class PostgresSQLSqlGenerationVisitorTest {
                 .builder(argument).separator(new SqlLiteralString("'")).orderBy(orderBy).build();
         assertThat(this.visitor.visit(sqlFunctionAggregateGroupConcat), equalTo("STRING_AGG(E'test', E'''') "));
     }
+
+    @CsvSource(delimiter = ';', value = { "clicks=SYSTEM(1); \"test_schema\".\"clicks\" TABLESAMPLE SYSTEM (1)",
+            "*=bernoulli(0.5) repeatable(42); \"test_schema\".\"clicks\" TABLESAMPLE BERNOULLI (0.5) REPEATABLE (42)",
+            "*=SYSTEM(10), CLICKS=BERNOULLI(1); \"test_schema\".\"clicks\" TABLESAMPLE BERNOULLI (1)",
+            "orders=SYSTEM(1); \"test_schema\".\"clicks\"" })
+    @ParameterizedTest
+    void testVisitSqlTableWithSample(final String sample, final String expected) {
+        final PostgresSQLSqlGenerationVisitor samplingVisitor = createSamplingVisitor(sample);
+        assertThat(samplingVisitor.visit(new SqlTable("clicks", null)), equalTo(expected));
+    }
+
+    @Test
+    void testVisitSqlTableWithSampleAfterAlias() {
+        final PostgresSQLSqlGenerationVisitor samplingVisitor = createSamplingVisitor("clicks=SYSTEM(1)");
+        assertThat(samplingVisitor.visit(new SqlTable("clicks", "c", null)),
+                equalTo("\"test_schema\".\"clicks\" \"c\" TABLESAMPLE SYSTEM (1)"));
+    }
+
+    @CsvSource({ "r, \"test_schema\".\"clicks\" TABLESAMPLE SYSTEM (1)",
+            "p, \"test_schema\".\"clicks\" TABLESAMPLE SYSTEM (1)",
+            "m, \"test_schema\".\"clicks\" TABLESAMPLE SYSTEM (1)", //
+            "v, \"test_schema\".\"clicks\"", //
+            "f, \"test_schema\".\"clicks\"" })
+    @ParameterizedTest
+    void testVisitSqlTableWithSampleOnlySamplesTablesAndMaterializedViews(final String relationKind,
+            final String expected) {
+        final PostgresSQLSqlGenerationVisitor samplingVisitor = createSamplingVisitor("*=SYSTEM(1)");
+        final TableMetadata metadata = new TableMetadata("clicks",
+                "{\"fingerprint\":\"fp1\",\"relkind\":\"" + relationKind + "\"}", List.of(), "");
+        assertThat(samplingVisitor.visit(new SqlTable("clicks", metadata)), equalTo(expected));
+    }
+
+    private PostgresSQLSqlGenerationVisitor createSamplingVisitor(final String sample) {
+        final AdapterProperties properties = new AdapterProperties(Map.of("POSTGRESQL_TABLESAMPLE", sample));
+        final SqlDialect dialect = new PostgreSQLSqlDialect(null, properties, null);
+        return (PostgresSQLSqlGenerationVisitor) dialect
+                .getSqlGenerator(new SqlGenerationContext("test_catalog", "test_schema", false));
+    }
+
+    @Test
+    void testVisitAggregationReadsAggregateView() throws AdapterException {
+        final SqlStatementSelect select = createSalesAggregation(createSalesColumn("store_id"),
+                new SqlFunctionAggregate(AggregateFunction.SUM, List.of(createSalesColumn("amount")), false),
+                new SqlFunctionAggregate(AggregateFunction.COUNT, List.of(), false),
+                new SqlFunctionAggregate(AggregateFunction.AVG, List.of(createSalesColumn("amount")), false));
+        assertThat(createNavigatingVisitor().visit(select), equalTo("SELECT \"store_id\", SUM(\"amount_sum\"),"
+                + " COALESCE(SUM(\"row_count\"), 0),"
+                + " (SUM(\"amount_sum\")::numeric / NULLIF(SUM(\"amount_count\"), 0))"
+                + " FROM \"test_schema\".\"sales_daily\" \"sales\" GROUP BY \"store_id\""));
+    }
+
+    @Test
+    void testVisitAggregationOfDimensionReadsAggregateView() throws AdapterException {
+        final SqlStatementSelect select = createSalesAggregation(null,
+                new SqlFunctionAggregate(AggregateFunction.MAX, List.of(createSalesColumn("sale_date")), false),
+                new SqlFunctionAggregate(AggregateFunction.COUNT, List.of(createSalesColumn("store_id")), true));
+        assertThat(createNavigatingVisitor().visit(select),
+                equalTo("SELECT MAX(\"sale_date\"), COUNT(DISTINCT \"store_id\")"
+                        + " FROM \"test_schema\".\"sales_daily\" \"sales\""));
+    }
+
+    @Test
+    void testVisitAggregationByOtherColumnReadsFactTable() throws AdapterException {
+        final SqlStatementSelect select = createSalesAggregation(createSalesColumn("customer_id"),
+                new SqlFunctionAggregate(AggregateFunction.SUM, List.of(createSalesColumn("amount")), false));
+        assertThat(createNavigatingVisitor().visit(select), equalTo("SELECT \"customer_id\", SUM(\"amount\")"
+                + " FROM \"test_schema\".\"sales\" GROUP BY \"customer_id\""));
+    }
+
+    @Test
+    void testVisitAggregationOfUndeclaredMeasureReadsFactTable() throws AdapterException {
+        final SqlStatementSelect select = createSalesAggregation(null,
+                new SqlFunctionAggregate(AggregateFunction.MIN, List.of(createSalesColumn("amount")), false));
+        assertThat(createNavigatingVisitor().visit(select),
+                equalTo("SELECT MIN(\"amount\") FROM \"test_schema\".\"sales\""));
+    }
+
+    private PostgresSQLSqlGenerationVisitor createNavigatingVisitor() {
+        final AdapterProperties properties = new AdapterProperties(Map.of("POSTGRESQL_AGGREGATE_VIEWS",
+                "sales_daily ON sales GROUP BY store_id, sale_date MEASURES SUM(amount) AS amount_sum,"
+                        + " COUNT(amount) AS amount_count, COUNT(*) AS row_count"));
+        final SqlDialect dialect = new PostgreSQLSqlDialect(null, properties, null);
+        return (PostgresSQLSqlGenerationVisitor) dialect
+                .getSqlGenerator(new SqlGenerationContext("test_catalog", "test_schema", false));
+    }
+
+    private static SqlStatementSelect createSalesAggregation(final SqlColumn groupByColumn,
+            final SqlNode... aggregates) {
+        final List<SqlNode> selectList = new ArrayList<>();
+        if (groupByColumn != null) {
+            selectList.add(groupByColumn);
+        }
+        selectList.addAll(List.of(aggregates));
+        return SqlStatementSelect.builder() //
+                .selectList(SqlSelectList.createRegularSelectList(selectList)) //
+                .fromClause(new SqlTable("sales", null)) //
+                .groupBy((groupByColumn == null) ? null : new SqlGroupBy(List.of(groupByColumn))) //
+                .build();
+    }
+
+    private static SqlColumn createSalesColumn(final String name) {
+        return new SqlColumn(1, ColumnMetadata.builder().name(name)
+                .adapterNotes("{\"jdbcDataType\":4, \"typeName\":\"int4\"}").type(DataType.createDecimal(10, 0))
+                .build());
+    }
+
+    @Test
+    void testVisitShortInListKeepsPlainForm() throws AdapterException {
+        final SqlPredicateInConstList predicate = createInList(createInListColumn("id", "int8"), 1, 2);
+        assertThat(this.visitor.visit(predicate), equalTo("\"id\" IN (1, 2)"));
+    }
+
+    @Test
+    void testVisitLongInListRendersTypedArray() throws AdapterException {
+        final SqlPredicateInConstList predicate = createInList(createInListColumn("id", "int8"), 1, 2, 3);
+        assertThat(createInListVisitor(3, 10).visit(predicate), equalTo("\"id\" = ANY(E'{1,2,3}'::int8[])"));
+    }
+
+    @CsvSource({ "smallserial, int2", "serial, int4", "bigserial, int8" })
+    @ParameterizedTest
+    void testVisitLongInListOnSerialColumnRendersArrayOfIntegerType(final String serialType,
+            final String integerType) throws AdapterException {
+        final SqlPredicateInConstList predicate = createInList(createInListColumn("id", serialType), 1, 2, 3);
+        assertThat(createInListVisitor(3, 10).visit(predicate),
+                equalTo("\"id\" = ANY(E'{1,2,3}'::" + integerType + "[])"));
+    }
+
+    @Test
+    void testVisitLongInListQuotesArrayElements() throws AdapterException {
+        final SqlPredicateInConstList predicate = new SqlPredicateInConstList(createInListColumn("name", "varchar"),
+                List.of(new SqlLiteralString("a"), new SqlLiteralString("b\"c"), new SqlLiteralString("d'e\\")));
+        assertThat(createInListVisitor(3, 10).visit(predicate),
+                equalTo("\"name\" = ANY(E'{\"a\",\"b\\\\\"c\",\"d''e\\\\\\\\\"}'::varchar[])"));
+    }
+
+    @Test
+    void testVisitVeryLongInListRendersValues() throws AdapterException {
+        final SqlPredicateInConstList predicate = createInList(createInListColumn("id", "int4"), 1, 2, 3);
+        assertThat(createInListVisitor(2, 3).visit(predicate),
+                equalTo("\"id\" IN (VALUES (CAST(1 AS int4)), (2), (3))"));
+    }
+
+    @Test
+    void testVisitLongInListWithFractionOnIntegerColumnKeepsPlainForm() throws AdapterException {
+        final SqlPredicateInConstList predicate = new SqlPredicateInConstList(createInListColumn("id", "int4"),
+                List.of(new SqlLiteralExactnumeric(BigDecimal.ONE), new SqlLiteralExactnumeric(new BigDecimal("1.5")),
+                        new SqlLiteralExactnumeric(BigDecimal.TEN)));
+        assertThat(createInListVisitor(3, 10).visit(predicate), equalTo("\"id\" IN (1, 1.5, 10)"));
+    }
+
+    @Test
+    void testVisitLongInListWithConstantOutOfRangeKeepsPlainForm() throws AdapterException {
+        final SqlPredicateInConstList predicate = new SqlPredicateInConstList(createInListColumn("id", "int4"),
+                List.of(new SqlLiteralExactnumeric(BigDecimal.ONE), new SqlLiteralExactnumeric(BigDecimal.TEN),
+                        new SqlLiteralExactnumeric(new BigDecimal("3000000000"))));
+        assertThat(createInListVisitor(2, 3).visit(predicate), equalTo("\"id\" IN (1, 10, 3000000000)"));
+    }
+
+    @Test
+    void testVisitLongInListOnFloat4ColumnKeepsPlainForm() throws AdapterException {
+        final SqlPredicateInConstList predicate = new SqlPredicateInConstList(createInListColumn("ratio", "float4"),
+                List.of(new SqlLiteralDouble(0.1), new SqlLiteralDouble(0.2), new SqlLiteralDouble(0.3)));
+        assertThat(createInListVisitor(3, 10).visit(predicate), not(containsString("ANY(")));
+    }
+
+    @Test
+    void testVisitLongInListWithoutThresholdsKeepsPlainForm() throws AdapterException {
+        final SqlPredicateInConstList predicate = createInList(createInListColumn("id", "int8"), 1, 2, 3);
+        assertThat(this.visitor.visit(predicate), equalTo("\"id\" IN (1, 2, 3)"));
+    }
+
+    @Test
+    void testVisitLongInListWithOnlyValuesThresholdRendersValues() throws AdapterException {
+        final AdapterProperties properties = new AdapterProperties(
+                Map.of("POSTGRESQL_IN_LIST_VALUES_MIN_SIZE", "3"));
+        final SqlDialect dialect = new PostgreSQLSqlDialect(null, properties, null);
+        final PostgresSQLSqlGenerationVisitor visitor = (PostgresSQLSqlGenerationVisitor) dialect
+                .getSqlGenerator(new SqlGenerationContext("test_catalog", "test_schema", false));
+        final SqlPredicateInConstList predicate = createInList(createInListColumn("id", "int8"), 1, 2, 3);
+        assertThat(visitor.visit(predicate), equalTo("\"id\" IN (VALUES (CAST(1 AS int8)), (2), (3))"));
+    }
+
+    private static PostgresSQLSqlGenerationVisitor createInListVisitor(final int arrayMinSize,
+            final int valuesMinSize) {
+        final AdapterProperties properties = new AdapterProperties(
+                Map.of("POSTGRESQL_IN_LIST_ARRAY_MIN_SIZE", String.valueOf(arrayMinSize),
+                        "POSTGRESQL_IN_LIST_VALUES_MIN_SIZE", String.valueOf(valuesMinSize)));
+        final SqlDialect dialect = new PostgreSQLSqlDialect(null, properties, null);
+        return (PostgresSQLSqlGenerationVisitor) dialect
+                .getSqlGenerator(new SqlGenerationContext("test_catalog", "test_schema", false));
+    }
+
+    private static SqlPredicateInConstList createInList(final SqlColumn column, final int... values) {
+        final List<SqlNode> arguments = new ArrayList<>();
+        for (final int value : values) {
+            arguments.add(new SqlLiteralExactnumeric(BigDecimal.valueOf(value)));
+        }
+        return new SqlPredicateInConstList(column, arguments);
+    }
+
+    private static SqlColumn createInListColumn(final String name, final String typeName) {
+        return new SqlColumn(1, ColumnMetadata.builder().name(name)
+                .adapterNotes("{\"jdbcDataType\":4, \"typeName\":\"" + typeName + "\"}")
+                .type(DataType.createDecimal(10, 0)).build());
+    }
+
+    @Test
+    void testVisitYearEqualityRendersRange() throws AdapterException {
+        final SqlPredicateEqual predicate = new SqlPredicateEqual(createDatePart(ScalarFunction.YEAR, "date"),
+                new SqlLiteralExactnumeric(BigDecimal.valueOf(2024)));
+        assertThat(this.visitor.visit(predicate),
+                equalTo("(\"sold\" >= DATE E'2024-01-01' AND \"sold\" < DATE E'2025-01-01')"));
+    }
+
+    @CsvSource(delimiter = ';', value = { "false; false; \"sold\" < DATE E'2024-01-01'",
+            "false; true; \"sold\" < DATE E'2025-01-01'", //
+            "true; false; \"sold\" >= DATE E'2025-01-01'", //
+            "true; true; \"sold\" >= DATE E'2024-01-01'" })
+    @ParameterizedTest
+    void testVisitYearComparisonRendersBound(final boolean constantOnLeft, final boolean orEqual,
+            final String expected) throws AdapterException {
+        final SqlNode year = createDatePart(ScalarFunction.YEAR, "timestamp");
+        final SqlNode constant = new SqlLiteralExactnumeric(BigDecimal.valueOf(2024));
+        final SqlNode left = constantOnLeft ? constant : year;
+        final SqlNode right = constantOnLeft ? year : constant;
+        final SqlNode predicate = orEqual ? new SqlPredicateLessEqual(left, right) : new SqlPredicateLess(left, right);
+        assertThat(predicate.accept(this.visitor), equalTo(expected));
+    }
+
+    @Test
+    void testVisitYearAndMonthEqualitiesRenderMonthRange() throws AdapterException {
+        final SqlPredicateAnd predicate = new SqlPredicateAnd(List.of(
+                new SqlPredicateEqual(createDatePart(ScalarFunction.YEAR, "date"),
+                        new SqlLiteralExactnumeric(BigDecimal.valueOf(2024))),
+                new SqlPredicateIsNotNull(createDateColumn("date")),
+                new SqlPredicateEqual(new SqlLiteralExactnumeric(BigDecimal.valueOf(2)),
+                        createDatePart(ScalarFunction.MONTH, "date"))));
+        assertThat(this.visitor.visit(predicate), equalTo("((\"sold\" >= DATE E'2024-02-01'"
+                + " AND \"sold\" < DATE E'2024-03-01') AND (\"sold\") IS NOT NULL)"));
+    }
+
+    @Test
+    void testVisitMonthEqualityKeepsDatePart() throws AdapterException {
+        final SqlPredicateEqual predicate = new SqlPredicateEqual(createDatePart(ScalarFunction.MONTH, "date"),
+                new SqlLiteralExactnumeric(BigDecimal.valueOf(2)));
+        assertThat(this.visitor.visit(predicate), equalTo("CAST(DATE_PART('MONTH',\"sold\") AS DECIMAL(2,0)) = 2"));
+    }
+
+    @Test
+    void testVisitAddDaysComparisonMovesIntervalToConstant() throws AdapterException {
+        final SqlPredicateLess predicate = new SqlPredicateLess(createAddDays("timestamp"),
+                new SqlLiteralDate("2024-01-01"));
+        assertThat(this.visitor.visit(predicate),
+                equalTo("\"sold\" < (DATE E'2024-01-01' - make_interval(days => 7))"));
+    }
+
+    @Test
+    void testVisitAddDaysComparisonOnTimestampWithTimeZoneKeepsArithmetic() throws AdapterException {
+        final SqlPredicateLess predicate = new SqlPredicateLess(createAddDays("timestamptz"),
+                new SqlLiteralDate("2024-01-01"));
+        assertThat(this.visitor.visit(predicate),
+                equalTo("\"sold\" + make_interval(days => 7) < DATE E'2024-01-01'"));
+    }
+
+    @Test
+    void testVisitAddHoursComparisonOnTimestampWithTimeZoneSubtractsInAbsoluteTime() throws AdapterException {
+        final SqlPredicateLess predicate = new SqlPredicateLess(
+                new SqlFunctionScalar(ScalarFunction.ADD_HOURS,
+                        List.of(createDateColumn("timestamptz"), new SqlLiteralExactnumeric(BigDecimal.valueOf(3)))),
+                new SqlLiteralTimestamp("2024-03-31 02:30:00"));
+        assertThat(this.visitor.visit(predicate), equalTo("\"sold\" < (CAST(TIMESTAMP E'2024-03-31 02:30:00'"
+                + " AS timestamptz) - make_interval(hours => 3))"));
+    }
+
+    private static SqlFunctionScalar createDatePart(final ScalarFunction function, final String typeName) {
+        return new SqlFunctionScalar(function, List.of(createDateColumn(typeName)));
+    }
+
+    private static SqlFunctionScalar createAddDays(final String typeName) {
+        return new SqlFunctionScalar(ScalarFunction.ADD_DAYS,
+                List.of(createDateColumn(typeName), new SqlLiteralExactnumeric(BigDecimal.valueOf(7))));
+    }
+
+    private static SqlColumn createDateColumn(final String typeName) {
+        return new SqlColumn(1, ColumnMetadata.builder().name("sold")
+                .adapterNotes("{\"jdbcDataType\":91, \"typeName\":\"" + typeName + "\"}").type(DataType.createDate())
+                .build());
+    }
+
+    @Test
+    void testVisitUpperLikeRendersIlikeForTrigramIndex() throws AdapterException {
+        final SqlStatementSelect select = createCustomerFilter("[\"\\\"name\\\" ILIKE\"]",
+                new SqlPredicateLike(createCaseFunction(ScalarFunction.UPPER, "text"), new SqlLiteralString("FOO%")));
+        assertThat(createCaseInsensitiveVisitor("true").visit(select), equalTo(
+                "SELECT 1 FROM \"test_schema\".\"customers\" WHERE \"customers\".\"name\" ILIKE E'FOO%'"));
+    }
+
+    @Test
+    void testVisitUpperEqualityRendersLowerForLowerIndex() throws AdapterException {
+        final SqlStatementSelect select = createCustomerFilter("[\"lower(\\\"name\\\") =\"]",
+                new SqlPredicateEqual(new SqlLiteralString("O'NEIL"),
+                        createCaseFunction(ScalarFunction.UPPER, "text")));
+        assertThat(createCaseInsensitiveVisitor("true").visit(select), equalTo("SELECT 1 FROM \"test_schema\""
+                + ".\"customers\" WHERE LOWER(\"customers\".\"name\") = E'o''neil'"));
+    }
+
+    @Test
+    void testVisitLowerEqualityRendersIlikeWithEscapedWildcards() throws AdapterException {
+        final SqlStatementSelect select = createCustomerFilter("[\"\\\"name\\\" ILIKE\"]",
+                new SqlPredicateEqual(createCaseFunction(ScalarFunction.LOWER, "varchar"),
+                        new SqlLiteralString("100%_sure")));
+        assertThat(createCaseInsensitiveVisitor("true").visit(select), equalTo("SELECT 1 FROM \"test_schema\""
+                + ".\"customers\" WHERE \"customers\".\"name\" ILIKE E'100\\\\%\\\\_sure'"));
+    }
+
+    @Test
+    void testVisitLowerEqualityKeepsFormSupportedByIndex() throws AdapterException {
+        final SqlStatementSelect select = createCustomerFilter(
+                "[\"lower(\\\"name\\\") =\", \"\\\"name\\\" ILIKE\"]",
+                new SqlPredicateEqual(createCaseFunction(ScalarFunction.LOWER, "text"), new SqlLiteralString("foo")));
+        assertThat(createCaseInsensitiveVisitor("true").visit(select), equalTo("SELECT 1 FROM \"test_schema\""
+                + ".\"customers\" WHERE LOWER(\"customers\".\"name\") = E'foo'"));
+    }
+
+    @CsvSource({ "true, Foo%", "true, F\u00d6\u00d6%", "false, FOO%" })
+    @ParameterizedTest
+    void testVisitUpperLikeKeepsForm(final String enabled, final String pattern) throws AdapterException {
+        final SqlStatementSelect select = createCustomerFilter("[\"\\\"name\\\" ILIKE\"]",
+                new SqlPredicateLike(createCaseFunction(ScalarFunction.UPPER, "text"), new SqlLiteralString(pattern)));
+        assertThat(createCaseInsensitiveVisitor(enabled).visit(select), equalTo("SELECT 1 FROM \"test_schema\""
+                + ".\"customers\" WHERE UPPER(\"customers\".\"name\") LIKE E'" + pattern + "'"));
+    }
+
+    private static PostgresSQLSqlGenerationVisitor createCaseInsensitiveVisitor(final String enabled) {
+        final AdapterProperties properties = new AdapterProperties(
+                Map.of("POSTGRESQL_CASE_INSENSITIVE_INDEXES", enabled));
+        final SqlDialect dialect = new PostgreSQLSqlDialect(null, properties, null);
+        return (PostgresSQLSqlGenerationVisitor) dialect
+                .getSqlGenerator(new SqlGenerationContext("test_catalog", "test_schema", false));
+    }
+
+    private static SqlStatementSelect createCustomerFilter(final String indexedFilters, final SqlNode filter) {
+        final TableMetadata table = new TableMetadata("customers",
+                "{\"fingerprint\":\"fp1\", \"caseInsensitiveIndexes\":" + indexedFilters + "}", List.of(), "");
+        return SqlStatementSelect.builder() //
+                .selectList(SqlSelectList.createAnyValueSelectList()) //
+                .fromClause(new SqlTable("customers", table)) //
+                .whereClause(filter) //
+                .build();
+    }
+
+    private static SqlFunctionScalar createCaseFunction(final ScalarFunction function, final String typeName) {
+        return new SqlFunctionScalar(function, List.of(new SqlColumn(1, ColumnMetadata.builder().name("name")
+                .adapterNotes("{\"jdbcDataType\":12, \"typeName\":\"" + typeName + "\"}")
+                .type(DataType.createVarChar(100, DataType.ExaCharset.UTF8)).build(), "customers")));
+    }
 }